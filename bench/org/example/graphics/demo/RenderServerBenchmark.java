@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Load tests the render server with several clients at once over the 
+ * loopback interface. Throughput mode gives requests per second, and sample 
+ * time mode gives the latency percentiles. Cached requests are for a few 
+ * seeds rendered during setup, revalidated requests send the entity tag back 
+ * and get a 304, and fresh requests ask for a new seed every time, so they 
+ * measure rendering and encoding.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@Threads(8)
+@State(Scope.Benchmark)
+public class RenderServerBenchmark {
+    
+    private static final int CACHED_SEED_COUNT = 16;
+    
+    @Param({"320x240", "800x600"})
+    public String size;
+    
+    private RenderServer server;
+    
+    private HttpClient client;
+    
+    private URI[] cachedURIs;
+    
+    private String[] cachedTags;
+    
+    private final AtomicLong nextSeed = new AtomicLong(1L << 40);
+    
+    private final AtomicLong nextIndex = new AtomicLong();
+    
+    private URI uriFor(long seed) {
+        String[] dimensions = this.size.split("x");
+        return URI.create("http://127.0.0.1:" + this.server.getPort() 
+                + RenderServer.PATH + "?seed=" + seed + "&width=" 
+                + dimensions[0] + "&height=" + dimensions[1]);
+    }
+    
+    private HttpResponse<byte[]> send(URI uri, String ifNoneMatch) 
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri);
+        if (ifNoneMatch != null) {
+            builder.header("If-None-Match", ifNoneMatch);
+        }
+        HttpResponse<byte[]> response = this.client.send(builder.build(), 
+                HttpResponse.BodyHandlers.ofByteArray());
+        int status = response.statusCode();
+        if (status != 200 && status != 304) {
+            throw new IOException("Server answered " + status);
+        }
+        return response;
+    }
+    
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        GraphicsDemo.parseSize(this.size);
+        this.server = new RenderServer(0);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1).build();
+        this.cachedURIs = new URI[CACHED_SEED_COUNT];
+        this.cachedTags = new String[CACHED_SEED_COUNT];
+        for (int i = 0; i < CACHED_SEED_COUNT; i++) {
+            this.cachedURIs[i] = this.uriFor(i);
+            this.cachedTags[i] = this.send(this.cachedURIs[i], null)
+                    .headers().firstValue("ETag").orElseThrow();
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        this.server.close();
+    }
+    
+    private int nextCachedIndex() {
+        return (int) (this.nextIndex.getAndIncrement() % CACHED_SEED_COUNT);
+    }
+    
+    @Benchmark
+    public byte[] fetchCached() throws IOException, InterruptedException {
+        return this.send(this.cachedURIs[this.nextCachedIndex()], null)
+                .body();
+    }
+    
+    @Benchmark
+    public int revalidate() throws IOException, InterruptedException {
+        int index = this.nextCachedIndex();
+        return this.send(this.cachedURIs[index], this.cachedTags[index])
+                .statusCode();
+    }
+    
+    @Benchmark
+    public byte[] fetchFresh() throws IOException, InterruptedException {
+        return this.send(this.uriFor(this.nextSeed.getAndIncrement()), null)
+                .body();
+    }
+    
+}
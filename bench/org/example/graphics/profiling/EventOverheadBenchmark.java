@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what timing a layer paint or a cache lookup costs, with no 
+ * recording running and with a recording that has the events turned on, 
+ * compared to just counting it.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventOverheadBenchmark {
+    
+    private static final Rectangle AREA = new Rectangle(0, 200, 480, 400);
+    
+    @Param({"false", "true"})
+    public boolean recording;
+    
+    private Recording activeRecording;
+    
+    private long key = 0L;
+    
+    @Setup
+    public void setUp() {
+        if (this.recording) {
+            this.activeRecording = new Recording();
+            this.activeRecording.enable(LayerPaintEvent.class);
+            this.activeRecording.enable(CacheLookupEvent.class);
+            this.activeRecording.setToDisk(false);
+            this.activeRecording.start();
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        if (this.activeRecording != null) {
+            this.activeRecording.close();
+            this.activeRecording = null;
+        }
+    }
+    
+    @Benchmark
+    public void countOnly() {
+        Counters.countLayerPaint();
+    }
+    
+    @Benchmark
+    public void layerPaintEvent() {
+        LayerPaintEvent event = LayerPaintEvent.start();
+        event.finish(LayerPaintEvent.TREES, AREA);
+    }
+    
+    @Benchmark
+    public void cacheLookupEvent() {
+        CacheLookupEvent event = CacheLookupEvent.start();
+        event.finish(CacheLookupEvent.TREE_SPRITES, this.key++, true);
+    }
+    
+}
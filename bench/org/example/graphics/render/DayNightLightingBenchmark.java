@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.example.randomness.SeededRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures relighting a whole frame with a lookup table pass. At noon the 
+ * table is the identity and the pass is a plain copy, which makes a baseline.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class DayNightLightingBenchmark {
+    
+    @Param({"1920x1080", "3840x2160"})
+    public String size;
+    
+    private DayNightLighting lighting;
+    
+    private BufferedImage unlit;
+    
+    private BufferedImage lit;
+    
+    private Rectangle bounds;
+    
+    private int slot = 0;
+    
+    @Setup
+    public void setUp() {
+        int index = this.size.indexOf('x');
+        this.bounds = new Rectangle(
+                Integer.parseInt(this.size.substring(0, index)), 
+                Integer.parseInt(this.size.substring(index + 1)));
+        this.unlit = new BufferedImage(this.bounds.width, this.bounds.height, 
+                BufferedImage.TYPE_INT_RGB);
+        this.lit = new BufferedImage(this.bounds.width, this.bounds.height, 
+                BufferedImage.TYPE_INT_RGB);
+        SeededRandom random = new SeededRandom(20251017L);
+        for (int y = 0; y < this.bounds.height; y++) {
+            for (int x = 0; x < this.bounds.width; x++) {
+                this.unlit.setRGB(x, y, random.nextInt());
+            }
+        }
+        this.lighting = new DayNightLighting();
+    }
+    
+    /**
+     * Steps through the evening and night, when no table is the identity.
+     * @return A time of day from 0.75 to 1.25.
+     */
+    private double nextTime() {
+        int count = DayNightLighting.DEFAULT_SLOT_COUNT;
+        this.slot = (this.slot + 1) % (count / 2);
+        return 0.75 + (double) this.slot / count;
+    }
+    
+    @Benchmark
+    public BufferedImage relightFrame() {
+        this.lighting.setTimeOfDay(this.nextTime());
+        this.lighting.apply(this.unlit, this.lit, this.bounds);
+        return this.lit;
+    }
+    
+    @Benchmark
+    public BufferedImage copyFrameAtNoon() {
+        this.lighting.setTimeOfDay(0.5);
+        this.lighting.apply(this.unlit, this.lit, this.bounds);
+        return this.lit;
+    }
+    
+}
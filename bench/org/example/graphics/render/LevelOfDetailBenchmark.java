@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.example.graphics.scene.Scene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to paint a whole scene at several zoom levels, with 
+ * every tree at full detail against a {@link LevelOfDetailPainter} with the 
+ * default thresholds. The frame is the size of the scene times the zoom.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class LevelOfDetailBenchmark {
+    
+    private static final Dimension SCENE_SIZE = new Dimension(2400, 1800);
+    
+    @Param({"1.0", "0.5", "0.25", "0.125"})
+    public double zoom;
+    
+    @Param({"3000"})
+    public int treeCount;
+    
+    private Scene scene;
+    
+    private final LevelOfDetailPainter painter = new LevelOfDetailPainter();
+    
+    private BufferedImage frame;
+    
+    private Graphics2D g;
+    
+    @Setup
+    public void setUp() {
+        this.scene = Scene.generate(20251017L, SCENE_SIZE, this.treeCount);
+        this.frame = new BufferedImage((int) Math.ceil(SCENE_SIZE.width 
+                * this.zoom), (int) Math.ceil(SCENE_SIZE.height * this.zoom), 
+                BufferedImage.TYPE_INT_RGB);
+        this.g = this.frame.createGraphics();
+        this.g.scale(this.zoom, this.zoom);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        this.g.dispose();
+    }
+    
+    @Benchmark
+    public BufferedImage paintFullDetail() {
+        this.scene.setTreePainter(null);
+        this.scene.paint(this.g);
+        return this.frame;
+    }
+    
+    @Benchmark
+    public BufferedImage paintLevelOfDetail() {
+        this.scene.setTreePainter(this.painter);
+        this.scene.paint(this.g);
+        return this.frame;
+    }
+    
+}
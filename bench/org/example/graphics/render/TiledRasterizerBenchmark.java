@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.example.graphics.scene.Scene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how tiled rendering of a large scene scales with the number of 
+ * threads, in headless mode.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class TiledRasterizerBenchmark {
+    
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+    
+    @Param({"256"})
+    public int tileSize;
+    
+    private Scene scene;
+    
+    private TiledRasterizer rasterizer;
+    
+    private BufferedImage target;
+    
+    @Setup
+    public void setUp() {
+        Dimension size = new Dimension(3840, 2160);
+        this.scene = Scene.generate(20251017L, size, 20000);
+        this.rasterizer = new TiledRasterizer(this.tileSize, this.parallelism);
+        this.target = new BufferedImage(size.width, size.height, 
+                BufferedImage.TYPE_INT_RGB);
+    }
+    
+    @Benchmark
+    public BufferedImage renderTiled() {
+        this.rasterizer.render(this.scene, this.target);
+        return this.target;
+    }
+    
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.example.graphics.scene.Forest;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares drawing a forest as vector shapes against blitting sprites from a 
+ * {@link TreeSpriteCache}, for palettes of different sizes. The sprite 
+ * benchmark also counts the cache's hits, misses and evictions, totalled 
+ * over each iteration.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TreeSpriteCacheBenchmark {
+    
+    private static final int WIDTH = 1920;
+    
+    private static final int HEIGHT = 1080;
+    
+    @Param({"8", "64", "4096"})
+    public int paletteSize;
+    
+    @Param({"2000"})
+    public int treeCount;
+    
+    private Forest forest;
+    
+    private TreeSpriteCache cache;
+    
+    private BufferedImage canvas;
+    
+    private Graphics2D graphics;
+    
+    private final Rectangle bounds = new Rectangle(0, 0, WIDTH, HEIGHT);
+    
+    /**
+     * Sprite cache lookups, reported alongside the time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Lookups {
+        
+        public long hits;
+        
+        public long misses;
+        
+        public long evictions;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.hits = 0L;
+            this.misses = 0L;
+            this.evictions = 0L;
+        }
+        
+    }
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(20251017L);
+        int[] palette = new int[this.paletteSize];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = 0xFF000000 | random.nextInt(0x1000000);
+        }
+        this.forest = new Forest(this.treeCount);
+        for (int i = 0; i < this.treeCount; i++) {
+            this.forest.add(random.nextInt(WIDTH), random.nextInt(HEIGHT), 
+                    30 + 4 * random.nextInt(4), 60 + 8 * random.nextInt(4), 
+                    palette[random.nextInt(palette.length)]);
+        }
+        this.cache = new TreeSpriteCache();
+        this.canvas = new BufferedImage(WIDTH, HEIGHT, 
+                BufferedImage.TYPE_INT_RGB);
+        this.graphics = this.canvas.createGraphics();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.graphics.dispose();
+    }
+    
+    @Benchmark
+    public BufferedImage drawVector() {
+        this.forest.draw(this.graphics, this.bounds);
+        return this.canvas;
+    }
+    
+    @Benchmark
+    public BufferedImage drawSprites(Lookups lookups) {
+        this.cache.resetStatistics();
+        this.forest.draw(this.graphics, this.bounds, this.cache);
+        lookups.hits += this.cache.getHits();
+        lookups.misses += this.cache.getMisses();
+        lookups.evictions += this.cache.getEvictions();
+        return this.canvas;
+    }
+    
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one frame of a drifting cloud with its cached texture, against 
+ * computing the noise for the cloud afresh every frame.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class CloudBenchmark {
+    
+    @Param({"160x50", "480x160"})
+    public String size;
+    
+    private Rectangle bounds;
+    
+    private Cloud cloud;
+    
+    private long seed = 20251017L;
+    
+    private BufferedImage frame;
+    
+    private Graphics2D g;
+    
+    @Setup
+    public void setUp() {
+        int index = this.size.indexOf('x');
+        this.bounds = new Rectangle(0, 0, 
+                Integer.parseInt(this.size.substring(0, index)), 
+                Integer.parseInt(this.size.substring(index + 1)));
+        this.frame = new BufferedImage(2 * this.bounds.width, 
+                this.bounds.height, BufferedImage.TYPE_INT_RGB);
+        this.g = this.frame.createGraphics();
+        this.cloud = new Cloud(this.bounds, this.seed);
+        this.cloud.setDrift(0.25, this.frame.getWidth());
+        this.cloud.getTexture();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        this.g.dispose();
+    }
+    
+    @Benchmark
+    public BufferedImage stepAndDrawCached() {
+        this.cloud.step();
+        this.cloud.draw(this.g);
+        return this.frame;
+    }
+    
+    @Benchmark
+    public BufferedImage drawUncached() {
+        Cloud fresh = new Cloud(this.bounds, this.seed++);
+        fresh.draw(this.g);
+        return this.frame;
+    }
+    
+}
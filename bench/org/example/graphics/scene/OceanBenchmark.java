@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one animation frame of the ocean: a step and a full redraw. For 
+ * comparison, {@code drawWithSines} draws a similar number of wave bands by 
+ * evaluating sines for every column, one column at a time.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class OceanBenchmark {
+    
+    @Param({"320x400", "1536x1440"})
+    public String size;
+    
+    private Rectangle bounds;
+    
+    private Ocean ocean;
+    
+    private BufferedImage frame;
+    
+    private Graphics2D g;
+    
+    private double time = 0.0;
+    
+    @Setup
+    public void setUp() {
+        int index = this.size.indexOf('x');
+        this.bounds = new Rectangle(0, 0, 
+                Integer.parseInt(this.size.substring(0, index)), 
+                Integer.parseInt(this.size.substring(index + 1)));
+        this.ocean = new Ocean(this.bounds, Ocean.DEFAULT_COLOR, 20251017L);
+        this.frame = new BufferedImage(this.bounds.width, this.bounds.height, 
+                BufferedImage.TYPE_INT_RGB);
+        this.g = this.frame.createGraphics();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        this.g.dispose();
+    }
+    
+    @Benchmark
+    public BufferedImage stepAndDraw() {
+        this.ocean.step();
+        this.ocean.setInterpolation(0.5);
+        this.ocean.draw(this.g, this.bounds);
+        return this.frame;
+    }
+    
+    @Benchmark
+    public BufferedImage drawWithSines() {
+        this.time += 1.0 / 60.0;
+        int h = this.bounds.height;
+        int bandCount = Math.clamp(h / 32, 1, 12);
+        int maxAmplitude = Math.clamp(h / 40, 1, 16);
+        for (int k = 0; k < bandCount; k++) {
+            int baseline = h * k / bandCount;
+            int amplitude = maxAmplitude * k / bandCount;
+            this.g.setColor(new Color(0x1F, 0x5F, 0x99 + 5 * k));
+            double speed = 8.0 + 32.0 * k / bandCount;
+            for (int x = 0; x < this.bounds.width; x++) {
+                double u = 2.0 * Math.PI * (x + speed * this.time) / 256.0;
+                double wave = Math.sin(2.0 * u + k) + 0.5 * Math.sin(3.0 * u) 
+                        + 0.25 * Math.sin(5.0 * u + 1.0);
+                int top = baseline + (int) (amplitude * wave / 1.75);
+                this.g.fillRect(x, top, 1, h - top);
+            }
+        }
+        return this.frame;
+    }
+    
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to place a forest of non-overlapping trees with {@link 
+ * PoissonDiskSampler}, with even density and with a density that falls off 
+ * away from a shore along the right edge. The area is large enough that the 
+ * limit on the number of trees is reached before the area fills up. 
+ * Overlapping placement with {@link ForestGenerator} is measured for 
+ * comparison.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PoissonDiskBenchmark {
+    
+    private static final Rectangle AREA = new Rectangle(0, 0, 24000, 24000);
+    
+    private static final int MAX_GAP = 40;
+    
+    private static final double SHORE_FALLOFF = 8000.0;
+    
+    private static final double MIN_DENSITY = 0.1;
+    
+    @Param({"10000", "100000"})
+    public int treeCount;
+    
+    private long seed = 20251017L;
+    
+    @Benchmark
+    public Forest sampleEven() {
+        return new PoissonDiskSampler(this.seed++, AREA, Scene.MAX_TREE_SIZE)
+                .sample(this.treeCount);
+    }
+    
+    @Benchmark
+    public Forest sampleNearShore() {
+        return new PoissonDiskSampler(this.seed++, AREA, Scene.MAX_TREE_SIZE, 
+                MAX_GAP, (x, y) -> Math.max(MIN_DENSITY, 1.0 - (AREA.width - x) 
+                        / SHORE_FALLOFF))
+                .sample(this.treeCount);
+    }
+    
+    @Benchmark
+    public Forest generateOverlapping() {
+        return new ForestGenerator(this.seed++, AREA, Scene.MAX_TREE_SIZE)
+                .generate(this.treeCount);
+    }
+    
+}
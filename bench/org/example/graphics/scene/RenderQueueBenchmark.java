@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares drawing a forest tree by tree, in index order, with drawing it 
+ * through a {@link RenderQueue}, sorted by depth and batched by color. The 
+ * queued benchmark also counts the color changes with and without batching, 
+ * totalled over each iteration.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderQueueBenchmark {
+    
+    private static final Dimension SIZE = new Dimension(1920, 1080);
+    
+    private static final int TREE_LAYER = 0;
+    
+    @Param({"1000", "10000"})
+    public int treeCount;
+    
+    @Param({"8", "32"})
+    public int bandHeight;
+    
+    private Forest forest;
+    
+    private RenderQueue queue;
+    
+    private BufferedImage image;
+    
+    private Graphics2D g;
+    
+    private final Rectangle area = new Rectangle(SIZE);
+    
+    /**
+     * Color changes, reported alongside the time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StateChanges {
+        
+        public long batched;
+        
+        public long unbatched;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.batched = 0L;
+            this.unbatched = 0L;
+        }
+        
+    }
+    
+    @Setup
+    public void setUp() {
+        this.forest = Scene.generate(20251017L, SIZE, this.treeCount)
+                .getForest();
+        this.queue = new RenderQueue(this.bandHeight, "Trees");
+        this.image = new BufferedImage(SIZE.width, SIZE.height, 
+                BufferedImage.TYPE_INT_RGB);
+        this.g = this.image.createGraphics();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        this.g.dispose();
+    }
+    
+    @Benchmark
+    public BufferedImage drawImmediate() {
+        this.forest.draw(this.g, this.area);
+        return this.image;
+    }
+    
+    @Benchmark
+    public BufferedImage drawQueued(StateChanges changes) {
+        this.forest.enqueue(this.queue, TREE_LAYER, this.area, null);
+        this.queue.flush(this.g, this.area);
+        changes.batched += this.queue.getStateChangeCount();
+        changes.unbatched += this.queue.getUnbatchedStateChangeCount();
+        return this.image;
+    }
+    
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures generating a scene and painting a full frame of it on one thread, 
+ * at the demo window size and at full HD.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class SceneBenchmark {
+    
+    @Param({"800x600", "1920x1080"})
+    public String size;
+    
+    @Param({"40", "1000"})
+    public int treeCount;
+    
+    private Dimension dimension;
+    
+    private long seed = 20251017L;
+    
+    private Scene scene;
+    
+    private BufferedImage frame;
+    
+    private Graphics2D g;
+    
+    @Setup
+    public void setUp() {
+        int index = this.size.indexOf('x');
+        this.dimension = new Dimension(
+                Integer.parseInt(this.size.substring(0, index)), 
+                Integer.parseInt(this.size.substring(index + 1)));
+        this.scene = Scene.generate(this.seed, this.dimension, 
+                this.treeCount);
+        this.frame = new BufferedImage(this.dimension.width, 
+                this.dimension.height, BufferedImage.TYPE_INT_RGB);
+        this.g = this.frame.createGraphics();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        this.g.dispose();
+    }
+    
+    @Benchmark
+    public Scene generate() {
+        return Scene.generate(this.seed++, this.dimension, this.treeCount);
+    }
+    
+    @Benchmark
+    public BufferedImage paintFullFrame() {
+        this.scene.paint(this.g);
+        return this.frame;
+    }
+    
+}
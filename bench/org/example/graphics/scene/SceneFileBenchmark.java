@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures saving and loading a scene in the binary scene format, against 
+ * object serialization of one record per tree. Loading either way gives a 
+ * scene with a spatial index, ready to paint. Opening the mapped file and 
+ * reading a single tree shows what it costs to get at part of a big scene.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SceneFileBenchmark {
+    
+    @Param({"100000", "1000000"})
+    public int treeCount;
+    
+    private Scene scene;
+    
+    private Path dir;
+    
+    private Path binaryFile;
+    
+    private Path serializedFile;
+    
+    @Setup
+    public void setUp() throws IOException {
+        this.scene = Scene.generate(20251017L, new Dimension(8000, 6000), 
+                this.treeCount);
+        this.dir = Files.createTempDirectory("scenebench");
+        this.binaryFile = this.dir.resolve("scene.gdsc");
+        this.serializedFile = this.dir.resolve("scene.ser");
+        this.saveBinary();
+        this.saveSerialized();
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.binaryFile);
+        Files.deleteIfExists(this.serializedFile);
+        Files.deleteIfExists(this.dir);
+    }
+    
+    @Benchmark
+    public long saveBinary() throws IOException {
+        SceneWriter.save(this.scene, this.binaryFile);
+        return Files.size(this.binaryFile);
+    }
+    
+    @Benchmark
+    public long saveSerialized() throws IOException {
+        Forest forest = this.scene.getForest();
+        List<TreeRecord> records = new ArrayList<>(forest.size());
+        for (int i = 0; i < forest.size(); i++) {
+            records.add(new TreeRecord(forest.getX(i), forest.getY(i), 
+                    forest.getWidth(i), forest.getHeight(i), 
+                    forest.getLeafARGB(i)));
+        }
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(
+                        this.serializedFile)))) {
+            out.writeObject(records);
+        }
+        return Files.size(this.serializedFile);
+    }
+    
+    // Mappings are only released by garbage collection, so opening in a tight 
+    // loop would run out of them; each open is timed on its own instead
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 100)
+    @Measurement(iterations = 500)
+    public int openMappedAndReadOneTree() throws IOException {
+        MappedScene mapped = MappedScene.open(this.binaryFile);
+        return mapped.getLeafARGB(mapped.getTreeCount() / 2);
+    }
+    
+    @Benchmark
+    public Scene loadBinary() throws IOException {
+        return MappedScene.open(this.binaryFile).toScene();
+    }
+    
+    @Benchmark
+    public Scene loadSerialized() throws IOException, ClassNotFoundException {
+        List<?> records;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(
+                        this.serializedFile)))) {
+            records = (List<?>) in.readObject();
+        }
+        Forest forest = new Forest(records.size());
+        for (Object obj : records) {
+            TreeRecord record = (TreeRecord) obj;
+            forest.add(record.x(), record.y(), record.width(), 
+                    record.height(), record.leafARGB());
+        }
+        Dimension size = this.scene.getSize();
+        forest.attachIndex(new SpatialGrid(new Rectangle(size), 
+                Scene.GRID_CELL_SIZE));
+        return new Scene(size, this.scene.getHorizon(), this.scene.getOcean(), 
+                this.scene.getSun(), this.scene.getMoon(), 
+                this.scene.getClouds(), forest);
+    }
+    
+    private record TreeRecord(int x, int y, int width, int height, 
+            int leafARGB) implements Serializable {}
+    
+}
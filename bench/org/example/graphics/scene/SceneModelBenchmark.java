@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what a commit to a {@link SceneModel} costs, with one edit and 
+ * with a frame's worth of edits batched together, and what getting the 
+ * latest snapshot costs.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SceneModelBenchmark {
+    
+    private static final Dimension SIZE = new Dimension(1920, 1080);
+    
+    private static final int EDITS_PER_FRAME = 16;
+    
+    @Param({"1000", "100000"})
+    public int treeCount;
+    
+    private SceneModel model;
+    
+    private int x = 0;
+    
+    @Setup
+    public void setUp() {
+        this.model = new SceneModel(Scene.generate(20251017L, SIZE, 
+                this.treeCount));
+    }
+    
+    private void submitMove() {
+        int newX = this.x++ % SIZE.width;
+        this.model.submit(scene -> scene.getForest().moveTo(0, newX, 500));
+    }
+    
+    @Benchmark
+    public SceneModel.Snapshot commitOne() {
+        this.submitMove();
+        return this.model.commit();
+    }
+    
+    @Benchmark
+    public SceneModel.Snapshot commitFrame() {
+        for (int i = 0; i < EDITS_PER_FRAME; i++) {
+            this.submitMove();
+        }
+        this.model.submit(Scene::step);
+        return this.model.commit();
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public SceneModel.Snapshot getSnapshot() {
+        return this.model.getSnapshot();
+    }
+    
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to build a {@link ShoreDistanceField} for a full HD 
+ * scene, and the time to snap a point to land with it, for comparison with 
+ * finding the nearest land by walking along the row and up and down the 
+ * {@link Shoreline}.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShoreDistanceFieldBenchmark {
+    
+    private static final Dimension SIZE = new Dimension(1920, 1080);
+    
+    private Scene scene;
+    
+    private ShoreDistanceField field;
+    
+    private int x = 0;
+    
+    private int y = 0;
+    
+    @Setup
+    public void setUp() {
+        this.scene = Scene.generate(20251017L, SIZE, 100);
+        this.field = this.scene.getShoreField();
+    }
+    
+    private void advance() {
+        this.x = (this.x + 397) % SIZE.width;
+        this.y = (this.y + 211) % SIZE.height;
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ShoreDistanceField build() {
+        return new ShoreDistanceField(this.scene, 
+                ShoreDistanceField.DEFAULT_CELL_SIZE);
+    }
+    
+    @Benchmark
+    public Point snapWithField() {
+        this.advance();
+        return this.field.snapToLand(this.x, this.y);
+    }
+    
+    @Benchmark
+    public Point snapWithGeometry() {
+        this.advance();
+        Shoreline shoreline = this.scene.getOcean().getShoreline();
+        int horizon = this.scene.getHorizon();
+        Point best = new Point(this.x, this.y);
+        if (this.y >= horizon && !shoreline.isWater(this.x, this.y)) {
+            return best;
+        }
+        long bestSquare = Long.MAX_VALUE;
+        for (int row = horizon; row < SIZE.height; row++) {
+            int landX = Math.min(this.x, shoreline.waterStartAt(row) - 1);
+            long dx = this.x - landX;
+            long dy = this.y - row;
+            long square = dx * dx + dy * dy;
+            if (landX >= 0 && square < bestSquare) {
+                bestSquare = square;
+                best = new Point(landX, row);
+            }
+        }
+        return best;
+    }
+    
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures pick latency against tree count, with and without a spatial index, 
+ * and the cost of dragging one tree by a few pixels.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpatialGridBenchmark {
+    
+    private static final Dimension AREA = new Dimension(8192, 8192);
+    
+    private static final int POINT_COUNT = 1024;
+    
+    @Param({"1000", "10000", "100000"})
+    public int treeCount;
+    
+    private Forest unindexed;
+    
+    private Forest indexed;
+    
+    private final int[] xs = new int[POINT_COUNT];
+    
+    private final int[] ys = new int[POINT_COUNT];
+    
+    private int next = 0;
+    
+    @Setup
+    public void setUp() {
+        this.unindexed = new ForestGenerator(20251017L, AREA, 
+                new Dimension(50, 100)).generate(this.treeCount);
+        this.indexed = new ForestGenerator(20251017L, AREA, 
+                new Dimension(50, 100)).generate(this.treeCount);
+        this.indexed.attachIndex(new SpatialGrid(new Rectangle(AREA), 64));
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < POINT_COUNT; i++) {
+            this.xs[i] = random.nextInt(AREA.width);
+            this.ys[i] = random.nextInt(AREA.height);
+        }
+    }
+    
+    private int nextPoint() {
+        this.next = (this.next + 1) & (POINT_COUNT - 1);
+        return this.next;
+    }
+    
+    @Benchmark
+    public int pickLinearScan() {
+        int i = this.nextPoint();
+        return this.unindexed.pick(this.xs[i], this.ys[i]);
+    }
+    
+    @Benchmark
+    public int pickWithGrid() {
+        int i = this.nextPoint();
+        return this.indexed.pick(this.xs[i], this.ys[i]);
+    }
+    
+    @Benchmark
+    public int queryViewportWithGrid() {
+        int i = this.nextPoint();
+        return this.indexed.query(this.xs[i], this.ys[i], 640, 480, id -> {});
+    }
+    
+    @Benchmark
+    public void dragWithGrid() {
+        int i = this.nextPoint();
+        int tree = i % this.treeCount;
+        int dx = (i & 1) == 0 ? 3 : -3;
+        this.indexed.moveTo(tree, this.indexed.getX(tree) + dx, 
+                this.indexed.getY(tree));
+    }
+    
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.example.randomness.SeededRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures constructing and drawing single trees.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TreeBenchmark {
+    
+    private static final int TREE_COUNT = 256;
+    
+    private final Color[] colors = new Color[TREE_COUNT];
+    
+    private final Dimension[] sizes = new Dimension[TREE_COUNT];
+    
+    private final Tree[] trees = new Tree[TREE_COUNT];
+    
+    private int index = 0;
+    
+    private BufferedImage image;
+    
+    private Graphics2D g;
+    
+    @Setup
+    public void setUp() {
+        SeededRandom random = new SeededRandom(20251017L);
+        Dimension bound = Scene.MAX_TREE_SIZE;
+        for (int i = 0; i < TREE_COUNT; i++) {
+            this.colors[i] = random.nextColor();
+            this.sizes[i] = random.nextDimension(bound);
+            this.trees[i] = new Tree(this.colors[i], this.sizes[i], 
+                    random.nextPoint(new Dimension(400, 300)));
+        }
+        this.image = new BufferedImage(512, 512, BufferedImage.TYPE_INT_RGB);
+        this.g = this.image.createGraphics();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        this.g.dispose();
+    }
+    
+    private int next() {
+        this.index = (this.index + 1) & (TREE_COUNT - 1);
+        return this.index;
+    }
+    
+    @Benchmark
+    public Tree construct() {
+        int i = this.next();
+        return new Tree(this.colors[i], this.sizes[i]);
+    }
+    
+    @Benchmark
+    public BufferedImage draw() {
+        this.trees[this.next()].draw(this.g);
+        return this.image;
+    }
+    
+    @Benchmark
+    public BufferedImage drawStatic() {
+        int i = this.next();
+        Dimension size = this.sizes[i];
+        Tree.draw(this.g, i, i, size.width, size.height, this.colors[i]);
+        return this.image;
+    }
+    
+}
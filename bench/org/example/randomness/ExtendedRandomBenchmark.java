@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.randomness;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the shared {@code java.util.Random} path of {@link ExtendedRandom} 
+ * against the per-thread path, with one thread and with as many threads as 
+ * there are cores. With one thread the two modes should be about the same; 
+ * with many threads the shared mode should fall behind. There are also 
+ * comparisons of one object per item against the bulk procedures that fill 
+ * primitive arrays.
+ * @author Alonso del Arte
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtendedRandomBenchmark {
+    
+    private static final Dimension BOUND = new Dimension(1920, 1080);
+    
+    private static final int BATCH_SIZE = 1024;
+    
+    @Param({"SHARED", "PER_THREAD"})
+    public GeneratorMode mode;
+    
+    private final Color[] colors = new Color[BATCH_SIZE];
+    
+    private final int[] argbs = new int[BATCH_SIZE];
+    
+    private final Dimension[] dimensions = new Dimension[BATCH_SIZE];
+    
+    private final long[] packedDimensions = new long[BATCH_SIZE];
+    
+    @Setup
+    public void setUp() {
+        ExtendedRandom.setGeneratorMode(this.mode);
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public int nextIntSingleThread() {
+        return ExtendedRandom.nextInt();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int nextIntAllThreads() {
+        return ExtendedRandom.nextInt();
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public Color nextColorSingleThread() {
+        return ExtendedRandom.nextColor();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Color nextColorAllThreads() {
+        return ExtendedRandom.nextColor();
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Dimension nextDimensionAllThreads() {
+        return ExtendedRandom.nextDimension(BOUND);
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int nextPowerOfTwoAllThreads() {
+        return ExtendedRandom.nextPowerOfTwo();
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public Color[] colorBatchOneAtATime() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.colors[i] = ExtendedRandom.nextColor();
+        }
+        return this.colors;
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public int[] colorBatchBulk() {
+        ExtendedRandom.nextColors(this.argbs);
+        return this.argbs;
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public Dimension[] dimensionBatchOneAtATime() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.dimensions[i] = ExtendedRandom.nextDimension(BOUND);
+        }
+        return this.dimensions;
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public long[] dimensionBatchBulk() {
+        ExtendedRandom.nextDimensions(this.packedDimensions, BOUND);
+        return this.packedDimensions;
+    }
+    
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.imageio.ImageIO;
+
+import org.example.graphics.scene.Scene;
+
+/**
+ * Renders one scene per seed in a range and writes each to a PNG file, 
+ * without needing a display. The work is a pipeline of three stages: scene 
+ * generation, rasterization, and PNG encoding and writing. The stages are 
+ * connected by bounded queues, so a slow stage makes the stages before it 
+ * wait rather than pile up images in memory. Generation runs on one thread, 
+ * rasterization on one platform thread per processor, and encoding and 
+ * writing on virtual threads. Since every processor already has a scene of 
+ * its own to rasterize, each scene is painted whole on its thread rather 
+ * than split into tiles with a {@link 
+ * org.example.graphics.render.TiledRasterizer}.
+ * @author Alonso del Arte
+ */
+public class BatchRenderer {
+    
+    /**
+     * The default capacity of each queue between stages.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+    
+    private static final Job END = new Job(Long.MIN_VALUE, null, null);
+    
+    private final long firstSeed;
+    
+    private final long lastSeed;
+    
+    private final Dimension size;
+    
+    private final int treeCount;
+    
+    private final Path outputDirectory;
+    
+    private final int queueCapacity;
+    
+    private final int rasterThreads;
+    
+    private final int writerThreads;
+    
+    /**
+     * Gives the name of the file for a seed, e.g., "scene-42.png".
+     * @param seed The seed. For example, 42.
+     * @return The file name.
+     */
+    public static String fileNameFor(long seed) {
+        return "scene-" + seed + ".png";
+    }
+    
+    /**
+     * Runs the whole batch. This blocks until every scene has been written or 
+     * a stage has failed.
+     * @return Throughput and per-stage timing for the batch.
+     * @throws IOException If the output directory can't be created or a file 
+     * can't be written. Once a stage has failed, the remaining scenes are 
+     * skipped.
+     * @throws InterruptedException If the calling thread is interrupted 
+     * while waiting for the stages to finish.
+     */
+    public Statistics run() throws IOException, InterruptedException {
+        Files.createDirectories(this.outputDirectory);
+        BlockingQueue<Job> generated 
+                = new ArrayBlockingQueue<>(this.queueCapacity);
+        BlockingQueue<Job> rasterized 
+                = new ArrayBlockingQueue<>(this.queueCapacity);
+        Statistics stats = new Statistics();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicInteger rastersRunning = new AtomicInteger(this.rasterThreads);
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        threads.add(Thread.ofPlatform().name("batch-generate").start(() 
+                -> this.generate(generated, stats, failure)));
+        for (int i = 0; i < this.rasterThreads; i++) {
+            threads.add(Thread.ofPlatform().name("batch-raster-", i)
+                    .start(() -> this.rasterize(generated, rasterized, 
+                            rastersRunning, stats, failure)));
+        }
+        for (int i = 0; i < this.writerThreads; i++) {
+            threads.add(Thread.ofVirtual().name("batch-write-", i)
+                    .start(() -> this.write(rasterized, stats, failure)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        stats.wallNanos = System.nanoTime() - start;
+        Exception exc = failure.get();
+        if (exc instanceof IOException ioe) {
+            throw ioe;
+        } else if (exc != null) {
+            throw new IOException("Batch rendering failed", exc);
+        }
+        return stats;
+    }
+    
+    private static void put(BlockingQueue<Job> queue, Job job) {
+        try {
+            queue.put(job);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing", ie);
+        }
+    }
+    
+    private static Job take(BlockingQueue<Job> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", ie);
+        }
+    }
+    
+    private void generate(BlockingQueue<Job> out, Statistics stats, 
+            AtomicReference<Exception> failure) {
+        try {
+            for (long seed = this.firstSeed; seed <= this.lastSeed 
+                    && failure.get() == null; seed++) {
+                long begin = System.nanoTime();
+                Scene scene = Scene.generate(seed, this.size, this.treeCount);
+                stats.generateNanos.add(System.nanoTime() - begin);
+                put(out, new Job(seed, scene, null));
+                if (seed == Long.MAX_VALUE) {
+                    break;
+                }
+            }
+        } catch (RuntimeException re) {
+            failure.compareAndSet(null, re);
+        } finally {
+            for (int i = 0; i < this.rasterThreads; i++) {
+                put(out, END);
+            }
+        }
+    }
+    
+    private void rasterize(BlockingQueue<Job> in, BlockingQueue<Job> out, 
+            AtomicInteger running, Statistics stats, 
+            AtomicReference<Exception> failure) {
+        try {
+            Job job = take(in);
+            while (job != END) {
+                if (failure.get() == null) {
+                    try {
+                        long begin = System.nanoTime();
+                        BufferedImage image = new BufferedImage(
+                                this.size.width, this.size.height, 
+                                BufferedImage.TYPE_INT_RGB);
+                        Graphics2D g = image.createGraphics();
+                        job.scene.paint(g);
+                        g.dispose();
+                        stats.rasterizeNanos.add(System.nanoTime() - begin);
+                        put(out, new Job(job.seed, null, image));
+                    } catch (RuntimeException re) {
+                        failure.compareAndSet(null, re);
+                    }
+                }
+                job = take(in);
+            }
+        } finally {
+            if (running.decrementAndGet() == 0) {
+                for (int i = 0; i < this.writerThreads; i++) {
+                    put(out, END);
+                }
+            }
+        }
+    }
+    
+    private void write(BlockingQueue<Job> in, Statistics stats, 
+            AtomicReference<Exception> failure) {
+        Job job = take(in);
+        while (job != END) {
+            if (failure.get() == null) {
+                Path file = this.outputDirectory.resolve(fileNameFor(job.seed));
+                long begin = System.nanoTime();
+                try (OutputStream stream = Files.newOutputStream(file)) {
+                    ImageIO.write(job.image, "png", stream);
+                    stats.writeNanos.add(System.nanoTime() - begin);
+                    stats.scenes.increment();
+                    stats.bytes.add(Files.size(file));
+                } catch (IOException | RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+            job = take(in);
+        }
+    }
+    
+    /**
+     * Sets up a batch. Nothing is rendered until {@link #run()} is called.
+     * @param firstSeed The first seed in the range. For example, 0.
+     * @param lastSeed The last seed in the range, inclusive. For example, 999.
+     * @param size The size of each image. For example, 160 &times; 120.
+     * @param treeCount How many trees to put in each scene. For example, 40.
+     * @param outputDirectory Where to write the PNG files. It's created if it 
+     * doesn't exist.
+     * @throws IllegalArgumentException If {@code lastSeed} is less than 
+     * {@code firstSeed}.
+     */
+    public BatchRenderer(long firstSeed, long lastSeed, Dimension size, 
+            int treeCount, Path outputDirectory) {
+        this(firstSeed, lastSeed, size, treeCount, outputDirectory, 
+                DEFAULT_QUEUE_CAPACITY, 
+                Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Sets up a batch with a specified queue capacity and number of 
+     * rasterization threads.
+     * @param firstSeed The first seed in the range. For example, 0.
+     * @param lastSeed The last seed in the range, inclusive. For example, 999.
+     * @param size The size of each image. For example, 160 &times; 120.
+     * @param treeCount How many trees to put in each scene. For example, 40.
+     * @param outputDirectory Where to write the PNG files.
+     * @param queueCapacity How many scenes or images each queue between 
+     * stages can hold. For example, 8.
+     * @param rasterThreads How many threads rasterize. For example, 4.
+     * @throws IllegalArgumentException If {@code lastSeed} is less than 
+     * {@code firstSeed}, or if {@code queueCapacity} or {@code rasterThreads} 
+     * is not positive.
+     */
+    public BatchRenderer(long firstSeed, long lastSeed, Dimension size, 
+            int treeCount, Path outputDirectory, int queueCapacity, 
+            int rasterThreads) {
+        if (lastSeed < firstSeed) {
+            String excMsg = "Seed range " + firstSeed + " to " + lastSeed 
+                    + " is empty";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (queueCapacity < 1 || rasterThreads < 1) {
+            String excMsg = "Queue capacity " + queueCapacity 
+                    + " and raster threads " + rasterThreads 
+                    + " should both be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.firstSeed = firstSeed;
+        this.lastSeed = lastSeed;
+        this.size = new Dimension(size);
+        this.treeCount = treeCount;
+        this.outputDirectory = outputDirectory;
+        this.queueCapacity = queueCapacity;
+        this.rasterThreads = rasterThreads;
+        this.writerThreads = 2 * rasterThreads;
+    }
+    
+    private static final class Job {
+        
+        private final long seed;
+        
+        private final Scene scene;
+        
+        private final BufferedImage image;
+        
+        Job(long seed, Scene scene, BufferedImage image) {
+            this.seed = seed;
+            this.scene = scene;
+            this.image = image;
+        }
+        
+    }
+    
+    /**
+     * Throughput and timing for a finished batch. Stage times are summed over 
+     * all the threads of the stage, so they can add up to more than the wall 
+     * time.
+     */
+    public static final class Statistics {
+        
+        private final LongAdder scenes = new LongAdder();
+        
+        private final LongAdder bytes = new LongAdder();
+        
+        private final LongAdder generateNanos = new LongAdder();
+        
+        private final LongAdder rasterizeNanos = new LongAdder();
+        
+        private final LongAdder writeNanos = new LongAdder();
+        
+        private long wallNanos;
+        
+        /**
+         * How many scenes were written.
+         * @return The number of scenes written. For example, 1000.
+         */
+        public long getSceneCount() {
+            return this.scenes.sum();
+        }
+        
+        /**
+         * How many bytes of PNG files were written.
+         * @return The total size of the files. For example, 7500000.
+         */
+        public long getByteCount() {
+            return this.bytes.sum();
+        }
+        
+        /**
+         * How long the whole batch took, from start to finish.
+         * @return The elapsed time in nanoseconds.
+         */
+        public long getWallNanos() {
+            return this.wallNanos;
+        }
+        
+        /**
+         * Time spent generating scenes.
+         * @return The total generation time in nanoseconds.
+         */
+        public long getGenerateNanos() {
+            return this.generateNanos.sum();
+        }
+        
+        /**
+         * Time spent rasterizing scenes, summed over all raster threads.
+         * @return The total rasterization time in nanoseconds.
+         */
+        public long getRasterizeNanos() {
+            return this.rasterizeNanos.sum();
+        }
+        
+        /**
+         * Time spent encoding and writing PNG files, summed over all writer 
+         * threads.
+         * @return The total encoding and writing time in nanoseconds.
+         */
+        public long getWriteNanos() {
+            return this.writeNanos.sum();
+        }
+        
+        /**
+         * Gives the number of scenes written per second of wall time.
+         * @return Scenes per second. For example, 250.0.
+         */
+        public double getScenesPerSecond() {
+            return this.wallNanos == 0L ? 0.0 
+                    : this.getSceneCount() * 1.0E9 / this.wallNanos;
+        }
+        
+        private static double perSceneMillis(long nanos, long count) {
+            return count == 0L ? 0.0 : nanos / 1.0E6 / count;
+        }
+        
+        /**
+         * Summarizes the statistics on a few lines, suitable for printing at 
+         * the end of a batch.
+         * @return A summary. For example, "1000 scenes in 4.021 s (248.7 
+         * scenes/s, 12.3 MB written)" followed by a line per stage.
+         */
+        @Override
+        public String toString() {
+            long count = this.getSceneCount();
+            return String.format(Locale.ROOT, 
+                    "%d scenes in %.3f s (%.1f scenes/s, %.1f MB written)%n" 
+                    + "  generate:  %.3f ms/scene%n" 
+                    + "  rasterize: %.3f ms/scene%n" 
+                    + "  encode and write: %.3f ms/scene", 
+                    count, this.wallNanos / 1.0E9, this.getScenesPerSecond(), 
+                    this.getByteCount() / 1.0E6, 
+                    perSceneMillis(this.getGenerateNanos(), count), 
+                    perSceneMillis(this.getRasterizeNanos(), count), 
+                    perSceneMillis(this.getWriteNanos(), count));
+        }
+        
+    }
+    
+}
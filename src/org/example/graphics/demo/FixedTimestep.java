@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+/**
+ * Keeps a simulation running at a fixed rate no matter how often frames are 
+ * drawn. Each frame, the time since the last frame goes into an accumulator, 
+ * and the simulation is stepped once for every whole step's worth of time in 
+ * it. What's left over, as a fraction of a step, is how far to interpolate 
+ * between the last two steps when drawing.
+ * @author Alonso del Arte
+ */
+public class FixedTimestep {
+    
+    /**
+     * The default step length, 1/60 of a second.
+     */
+    public static final long DEFAULT_STEP_NANOS = 1_000_000_000L / 60L;
+    
+    /**
+     * The default maximum number of steps per frame. After a long pause, 
+     * such as the window being dragged, the simulation skips ahead rather 
+     * than spending several frames catching up.
+     */
+    public static final int DEFAULT_MAX_STEPS = 5;
+    
+    private final long stepNanos;
+    
+    private final int maxSteps;
+    
+    private long accumulator = 0L;
+    
+    private long lastTime;
+    
+    private boolean started = false;
+    
+    public long getStepNanos() {
+        return this.stepNanos;
+    }
+    
+    /**
+     * Tells how far between the last two steps the simulation should be 
+     * drawn.
+     * @return A number from 0.0 to 1.0, but less than 1.0.
+     */
+    public double getAlpha() {
+        return (double) this.accumulator / this.stepNanos;
+    }
+    
+    /**
+     * Forgets any accumulated time, so that the next call to {@link 
+     * #advance(long)} starts counting afresh.
+     */
+    public void reset() {
+        this.accumulator = 0L;
+        this.started = false;
+    }
+    
+    /**
+     * Adds the time since the last call to the accumulator and says how many 
+     * times to step the simulation. The first call after construction or 
+     * {@link #reset()} only starts the clock.
+     * @param now The current time, from {@code System.nanoTime()}.
+     * @return How many steps to take, from 0 to the maximum per frame.
+     */
+    public int advance(long now) {
+        if (!this.started) {
+            this.started = true;
+            this.lastTime = now;
+            return 0;
+        }
+        this.accumulator += Math.max(0L, now - this.lastTime);
+        this.lastTime = now;
+        long steps = this.accumulator / this.stepNanos;
+        this.accumulator -= steps * this.stepNanos;
+        return (int) Math.min(steps, this.maxSteps);
+    }
+    
+    public FixedTimestep() {
+        this(DEFAULT_STEP_NANOS, DEFAULT_MAX_STEPS);
+    }
+    
+    /**
+     * Sets up a fixed timestep.
+     * @param stepNanos How long a step is, in nanoseconds. For example, 
+     * 16,666,666 for 60 steps a second.
+     * @param maxSteps The most steps to take in one frame. For example, 5.
+     * @throws IllegalArgumentException If {@code stepNanos} or {@code 
+     * maxSteps} is not positive.
+     */
+    public FixedTimestep(long stepNanos, int maxSteps) {
+        if (stepNanos < 1L || maxSteps < 1) {
+            String excMsg = "Step length " + stepNanos + " ns and maximum " 
+                    + maxSteps + " steps should both be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.stepNanos = stepNanos;
+        this.maxSteps = maxSteps;
+    }
+    
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.function.LongConsumer;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import org.example.graphics.profiling.FrameEvent;
+
+/**
+ * Runs frames on the event dispatch thread and measures them. A frame is an 
+ * update, which advances whatever has changed, followed by a paint, which 
+ * redraws it. How long each part takes goes into a {@link 
+ * FrameTimeHistogram}, and so does the time for the whole frame, so that tail 
+ * latencies can be seen and not just averages. A frame whose work takes 
+ * longer than the frame budget counts as having dropped one frame for every 
+ * whole budget it overran.
+ * <p>All methods should be called on the event dispatch thread.</p>
+ * @author Alonso del Arte
+ */
+public class FrameScheduler {
+    
+    /**
+     * The default frame budget, 1/60 of a second.
+     */
+    public static final long DEFAULT_FRAME_NANOS = 1_000_000_000L / 60L;
+    
+    private static final long FPS_WINDOW_NANOS = 1_000_000_000L;
+    
+    private static final double NANOS_PER_MILLI = 1.0E6;
+    
+    private static final Color OVERLAY_BACKGROUND = new Color(0x80000000, true);
+    
+    private static final int OVERLAY_PADDING = 4;
+    
+    private static final int OVERLAY_LINE_COUNT = 4;
+    
+    private final LongConsumer update;
+    
+    private final Runnable paint;
+    
+    private final long frameNanos;
+    
+    private Timer timer = null;
+    
+    private final FrameTimeHistogram updateTimes = new FrameTimeHistogram();
+    
+    private final FrameTimeHistogram paintTimes = new FrameTimeHistogram();
+    
+    private final FrameTimeHistogram frameTimes = new FrameTimeHistogram();
+    
+    private final StringBuilder overlayText = new StringBuilder();
+    
+    private RenderMode mode = RenderMode.ON_DEMAND;
+    
+    private boolean framePending = false;
+    
+    private long droppedFrames = 0L;
+    
+    private long windowStart = 0L;
+    
+    private int windowFrames = 0;
+    
+    private double framesPerSecond = 0.0;
+    
+    public RenderMode getMode() {
+        return this.mode;
+    }
+    
+    /**
+     * Switches between running frames on demand and continuously. The timer 
+     * for continuous mode is made the first time it's needed.
+     * @param mode The mode to switch to.
+     * @throws NullPointerException If {@code mode} is null.
+     */
+    public void setMode(RenderMode mode) {
+        if (mode == null) {
+            throw new NullPointerException("Mode should not be null");
+        }
+        this.mode = mode;
+        if (mode == RenderMode.CONTINUOUS) {
+            if (this.timer == null) {
+                this.timer = new Timer((int) (this.frameNanos / 1_000_000L), 
+                        event -> this.runFrame());
+                this.timer.setCoalesce(true);
+            }
+            this.timer.start();
+        } else if (this.timer != null) {
+            this.timer.stop();
+        }
+    }
+    
+    public long getFrameNanos() {
+        return this.frameNanos;
+    }
+    
+    /**
+     * Asks for a frame to be run. In continuous mode this does nothing, since 
+     * the next frame is coming anyway. In on-demand mode the frame runs 
+     * later on the event dispatch thread, and requests made before it runs 
+     * are folded into it.
+     */
+    public void requestFrame() {
+        if (this.mode == RenderMode.CONTINUOUS || this.framePending) {
+            return;
+        }
+        this.framePending = true;
+        SwingUtilities.invokeLater(this::runFrame);
+    }
+    
+    /**
+     * Runs one frame right away and records how long it took, along with a 
+     * {@link FrameEvent}.
+     */
+    public void runFrame() {
+        this.framePending = false;
+        FrameEvent event = FrameEvent.start();
+        long start = System.nanoTime();
+        this.update.accept(start);
+        long updated = System.nanoTime();
+        this.paint.run();
+        long end = System.nanoTime();
+        long work = end - start;
+        this.updateTimes.record(updated - start);
+        this.paintTimes.record(end - updated);
+        this.frameTimes.record(work);
+        long dropped = work / this.frameNanos;
+        this.droppedFrames += dropped;
+        event.finish(updated - start, dropped);
+        if (this.windowFrames == 0) {
+            this.windowStart = start;
+        }
+        this.windowFrames++;
+        long elapsed = end - this.windowStart;
+        if (elapsed >= FPS_WINDOW_NANOS) {
+            this.framesPerSecond = this.windowFrames * 1.0E9 / elapsed;
+            this.windowFrames = 0;
+        }
+    }
+    
+    /**
+     * Gives the times taken by updates.
+     * @return The histogram of update times. It's live, not a copy.
+     */
+    public FrameTimeHistogram getUpdateTimes() {
+        return this.updateTimes;
+    }
+    
+    /**
+     * Gives the times taken by paints.
+     * @return The histogram of paint times. It's live, not a copy.
+     */
+    public FrameTimeHistogram getPaintTimes() {
+        return this.paintTimes;
+    }
+    
+    /**
+     * Gives the times taken by whole frames, update and paint together.
+     * @return The histogram of frame times. It's live, not a copy.
+     */
+    public FrameTimeHistogram getFrameTimes() {
+        return this.frameTimes;
+    }
+    
+    /**
+     * Tells how many frames were dropped because frames took longer than the 
+     * frame budget.
+     * @return The number of dropped frames. For example, 3.
+     */
+    public long getDroppedFrames() {
+        return this.droppedFrames;
+    }
+    
+    /**
+     * Tells how many frames ran in the last complete second or so. In 
+     * on-demand mode this is only as many frames as were asked for.
+     * @return The frame rate. For example, 59.8. Until the first second has 
+     * gone by, 0.0.
+     */
+    public double getFramesPerSecond() {
+        return this.framesPerSecond;
+    }
+    
+    /**
+     * Forgets all the measurements so far.
+     */
+    public void resetStatistics() {
+        this.updateTimes.reset();
+        this.paintTimes.reset();
+        this.frameTimes.reset();
+        this.droppedFrames = 0L;
+        this.windowFrames = 0;
+        this.framesPerSecond = 0.0;
+    }
+    
+    private void appendMillis(long nanos) {
+        long hundredths = Math.round(nanos / (NANOS_PER_MILLI / 100.0));
+        this.overlayText.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            this.overlayText.append('0');
+        }
+        this.overlayText.append(fraction);
+    }
+    
+    private void appendPercentiles(String label, FrameTimeHistogram times) {
+        this.overlayText.setLength(0);
+        this.overlayText.append(label).append(" p50 ");
+        this.appendMillis(times.getPercentileNanos(50.0));
+        this.overlayText.append(" p95 ");
+        this.appendMillis(times.getPercentileNanos(95.0));
+        this.overlayText.append(" p99 ");
+        this.appendMillis(times.getPercentileNanos(99.0));
+        this.overlayText.append(" ms");
+    }
+    
+    /**
+     * Tells where the overlay would be drawn, so that it can be repainted.
+     * @param g A graphics context with the font the overlay will be drawn 
+     * in.
+     * @param x The <i>x</i> coordinate of the upper left corner of the 
+     * overlay. For example, 8.
+     * @param y The <i>y</i> coordinate of the upper left corner of the 
+     * overlay. For example, 8.
+     * @return The bounds of the overlay.
+     */
+    public Rectangle getOverlayBounds(Graphics g, int x, int y) {
+        FontMetrics metrics = g.getFontMetrics();
+        int width = metrics.stringWidth("update p50 000.00 p95 000.00 p99 "
+                + "000.00 ms") + 2 * OVERLAY_PADDING;
+        int height = OVERLAY_LINE_COUNT * metrics.getHeight() 
+                + 2 * OVERLAY_PADDING;
+        return new Rectangle(x, y, width, height);
+    }
+    
+    /**
+     * Draws the frame rate, dropped frames and frame time percentiles in a 
+     * translucent box.
+     * @param g The graphics context to draw on.
+     * @param x The <i>x</i> coordinate of the upper left corner of the 
+     * overlay. For example, 8.
+     * @param y The <i>y</i> coordinate of the upper left corner of the 
+     * overlay. For example, 8.
+     */
+    public void drawOverlay(Graphics g, int x, int y) {
+        Rectangle bounds = this.getOverlayBounds(g, x, y);
+        g.setColor(OVERLAY_BACKGROUND);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g.setColor(Color.WHITE);
+        FontMetrics metrics = g.getFontMetrics();
+        int lineHeight = metrics.getHeight();
+        int textX = x + OVERLAY_PADDING;
+        int baseline = y + OVERLAY_PADDING + metrics.getAscent();
+        this.overlayText.setLength(0);
+        this.overlayText.append(this.mode).append("  FPS ")
+                .append(Math.round(this.framesPerSecond)).append("  dropped ")
+                .append(this.droppedFrames);
+        g.drawString(this.overlayText.toString(), textX, baseline);
+        this.appendPercentiles("frame ", this.frameTimes);
+        g.drawString(this.overlayText.toString(), textX, 
+                baseline + lineHeight);
+        this.appendPercentiles("update", this.updateTimes);
+        g.drawString(this.overlayText.toString(), textX, 
+                baseline + 2 * lineHeight);
+        this.appendPercentiles("paint ", this.paintTimes);
+        g.drawString(this.overlayText.toString(), textX, 
+                baseline + 3 * lineHeight);
+    }
+    
+    /**
+     * Sets up a frame scheduler with the default frame budget. It starts in 
+     * on-demand mode.
+     * @param update What to do at the start of each frame. It's given the 
+     * time the frame started, from {@code System.nanoTime()}.
+     * @param paint What to do after the update, to redraw what changed.
+     */
+    public FrameScheduler(LongConsumer update, Runnable paint) {
+        this(update, paint, DEFAULT_FRAME_NANOS);
+    }
+    
+    /**
+     * Sets up a frame scheduler. It starts in on-demand mode.
+     * @param update What to do at the start of each frame. It's given the 
+     * time the frame started, from {@code System.nanoTime()}.
+     * @param paint What to do after the update, to redraw what changed.
+     * @param frameNanos The frame budget, which is also how often frames run 
+     * in continuous mode, in nanoseconds. For example, 16,666,666 for 60 
+     * frames a second.
+     * @throws IllegalArgumentException If {@code frameNanos} is less than a 
+     * millisecond.
+     */
+    public FrameScheduler(LongConsumer update, Runnable paint, 
+            long frameNanos) {
+        if (frameNanos < 1_000_000L) {
+            String excMsg = "Frame budget " + frameNanos 
+                    + " ns should be at least 1 ms";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.update = update;
+        this.paint = paint;
+        this.frameNanos = frameNanos;
+    }
+    
+}
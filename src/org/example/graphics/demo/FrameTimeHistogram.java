@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.util.Arrays;
+
+/**
+ * Counts durations in buckets that get wider as the durations get longer, so 
+ * that percentiles can be read off at any time with a bounded relative error. 
+ * Durations are kept to the microsecond. Below 32 microseconds each bucket is 
+ * a single microsecond, and above that each power of two is split into 32 
+ * buckets, for a relative error of about 3%. Recording never allocates, so it 
+ * can be done on every frame without troubling the garbage collector.
+ * <p>This class is not thread-safe. The frame scheduler only uses it on the 
+ * event dispatch thread.</p>
+ * @author Alonso del Arte
+ */
+public final class FrameTimeHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 5;
+    
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    
+    private static final int MAX_EXPONENT = 31;
+    
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) 
+            * SUB_BUCKET_COUNT;
+    
+    private static final long NANOS_PER_MICRO = 1000L;
+    
+    private final long[] counts = new long[BUCKET_COUNT];
+    
+    private long totalCount = 0L;
+    
+    private long maxNanos = 0L;
+    
+    private long sumNanos = 0L;
+    
+    static int bucketFor(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) Math.max(0L, micros);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT 
+                + (int) ((micros >> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+    
+    static long highestMicrosIn(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        long lowest = (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) 
+                << shift;
+        return lowest + (1L << shift) - 1L;
+    }
+    
+    /**
+     * Records a duration.
+     * @param nanos The duration in nanoseconds. Negative durations are 
+     * counted as 0.
+     */
+    public void record(long nanos) {
+        long clamped = Math.max(0L, nanos);
+        this.counts[bucketFor(clamped / NANOS_PER_MICRO)]++;
+        this.totalCount++;
+        this.sumNanos += clamped;
+        if (clamped > this.maxNanos) {
+            this.maxNanos = clamped;
+        }
+    }
+    
+    public long getCount() {
+        return this.totalCount;
+    }
+    
+    /**
+     * Gives the longest duration recorded, exactly.
+     * @return The longest duration in nanoseconds, or 0 if nothing has been 
+     * recorded.
+     */
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+    
+    /**
+     * Gives the mean of the durations recorded, exactly.
+     * @return The mean in nanoseconds, or 0.0 if nothing has been recorded.
+     */
+    public double getMeanNanos() {
+        return this.totalCount == 0L ? 0.0 
+                : (double) this.sumNanos / this.totalCount;
+    }
+    
+    /**
+     * Gives the duration at or below which a given percentage of the 
+     * recorded durations fall. The answer is the top of the bucket the 
+     * percentile lands in, but never more than the longest duration recorded.
+     * @param percentile The percentile. For example, 99.0 for the 99th 
+     * percentile.
+     * @return The duration in nanoseconds, or 0 if nothing has been recorded.
+     * @throws IllegalArgumentException If {@code percentile} is not greater 
+     * than 0.0 and at most 100.0.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (!(percentile > 0.0 && percentile <= 100.0)) {
+            String excMsg = "Percentile " + percentile 
+                    + " should be greater than 0 and at most 100";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (this.totalCount == 0L) {
+            return 0L;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * this.totalCount);
+        long seen = 0L;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += this.counts[bucket];
+            if (seen >= rank) {
+                long nanos = (highestMicrosIn(bucket) + 1L) * NANOS_PER_MICRO 
+                        - 1L;
+                return Math.min(nanos, this.maxNanos);
+            }
+        }
+        return this.maxNanos;
+    }
+    
+    /**
+     * Forgets everything recorded so far.
+     */
+    public void reset() {
+        Arrays.fill(this.counts, 0L);
+        this.totalCount = 0L;
+        this.maxNanos = 0L;
+        this.sumNanos = 0L;
+    }
+    
+}
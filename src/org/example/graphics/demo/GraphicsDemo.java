@@ -1,20 +1,247 @@
 /*
- * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
- * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Main.java to edit this template
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
  */
 package org.example.graphics.demo;
 
+import java.awt.Dimension;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+import javax.swing.WindowConstants;
+
+import org.example.graphics.render.StreamingPngExporter;
+import org.example.graphics.render.TreeSpriteCache;
+import org.example.graphics.scene.DayCycle;
+import org.example.graphics.scene.Scene;
+
 /**
- *
- * @author al
+ * Draws a bunch of trees near a shore and lets the user move them around. Run 
+ * with {@code --batch} to render scenes to PNG files without a window instead, 
+ * e.g., {@code --batch 0 999 160x120 thumbs}, optionally followed by a tree 
+ * count. Run with {@code --export} to write one scene, however large, to a 
+ * PNG file a band at a time, e.g., {@code --export 42 20000x15000 big.png}, 
+ * optionally followed by a tree count. Run with {@code --serve} to serve 
+ * scene images over HTTP on the loopback interface, optionally followed by a 
+ * port, e.g., {@code --serve 8080}, and then fetch {@code 
+ * /scene?seed=42&width=800&height=600}. Run with {@code --world} to pan and 
+ * zoom along a shoreline that goes on without end instead, optionally 
+ * followed by a seed.
+ * @author Alonso del Arte
  */
 public class GraphicsDemo {
-
+    
+    static final Dimension DEFAULT_SIZE = new Dimension(800, 600);
+    
+    static final int DEFAULT_TREE_COUNT = 40;
+    
+    static final double STARTING_TIME_OF_DAY = 0.4;
+    
+    static final String BATCH_OPTION = "--batch";
+    
+    static final String EXPORT_OPTION = "--export";
+    
+    static final String SERVE_OPTION = "--serve";
+    
+    static final String WORLD_OPTION = "--world";
+    
+    static final int WORLD_THREADS = 2;
+    
+    private static final String BATCH_USAGE = "Usage: " + BATCH_OPTION 
+            + " FIRST_SEED LAST_SEED WIDTHxHEIGHT OUTPUT_DIR [TREE_COUNT]";
+    
+    private static final String EXPORT_USAGE = "Usage: " + EXPORT_OPTION 
+            + " SEED WIDTHxHEIGHT OUTPUT_FILE [TREE_COUNT]";
+    
+    private static final String SERVE_USAGE = "Usage: " + SERVE_OPTION 
+            + " [PORT]";
+    
+    /**
+     * Parses an image size like "160x120".
+     * @param s The size. For example, "160x120".
+     * @return The size. For example, 160 &times; 120.
+     * @throws NumberFormatException If {@code s} is not two positive integers 
+     * separated by "x".
+     */
+    static Dimension parseSize(String s) {
+        int index = s.toLowerCase().indexOf('x');
+        if (index < 0) {
+            throw new NumberFormatException("Size \"" + s 
+                    + "\" should be WIDTHxHEIGHT");
+        }
+        int w = Integer.parseInt(s.substring(0, index));
+        int h = Integer.parseInt(s.substring(index + 1));
+        if (w < 1 || h < 1) {
+            throw new NumberFormatException("Size \"" + s 
+                    + "\" should be positive");
+        }
+        return new Dimension(w, h);
+    }
+    
+    private static void runBatch(String[] args) {
+        if (args.length < 5 || args.length > 6) {
+            System.err.println(BATCH_USAGE);
+            return;
+        }
+        BatchRenderer renderer;
+        try {
+            long firstSeed = Long.parseLong(args[1]);
+            long lastSeed = Long.parseLong(args[2]);
+            Dimension size = parseSize(args[3]);
+            int treeCount = args.length == 6 ? Integer.parseInt(args[5]) 
+                    : DEFAULT_TREE_COUNT;
+            renderer = new BatchRenderer(firstSeed, lastSeed, size, treeCount, 
+                    Path.of(args[4]));
+        } catch (IllegalArgumentException iae) {
+            System.err.println(iae.getMessage());
+            System.err.println(BATCH_USAGE);
+            return;
+        }
+        try {
+            System.out.println(renderer.run());
+        } catch (IOException ioe) {
+            System.err.println("Batch failed: " + ioe.getMessage());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch interrupted");
+        }
+    }
+    
+    private static void runExport(String[] args) {
+        if (args.length < 4 || args.length > 5) {
+            System.err.println(EXPORT_USAGE);
+            return;
+        }
+        Scene scene;
+        try {
+            long seed = Long.parseLong(args[1]);
+            Dimension size = parseSize(args[2]);
+            int treeCount = args.length == 5 ? Integer.parseInt(args[4]) 
+                    : DEFAULT_TREE_COUNT;
+            scene = Scene.generate(seed, size, treeCount);
+        } catch (IllegalArgumentException iae) {
+            System.err.println(iae.getMessage());
+            System.err.println(EXPORT_USAGE);
+            return;
+        }
+        try {
+            System.out.println(new StreamingPngExporter().export(scene, 
+                    Path.of(args[3])));
+        } catch (IOException ioe) {
+            System.err.println("Export failed: " + ioe.getMessage());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            System.err.println("Export interrupted");
+        }
+    }
+    
+    private static void runServer(String[] args) {
+        if (args.length > 2) {
+            System.err.println(SERVE_USAGE);
+            return;
+        }
+        int port;
+        try {
+            port = args.length == 2 ? Integer.parseInt(args[1]) 
+                    : RenderServer.DEFAULT_PORT;
+        } catch (NumberFormatException nfe) {
+            System.err.println(nfe.getMessage());
+            System.err.println(SERVE_USAGE);
+            return;
+        }
+        try {
+            RenderServer server = new RenderServer(port);
+            System.out.println("Serving scenes at http://localhost:" 
+                    + server.getPort() + RenderServer.PATH 
+                    + "?seed=42&width=800&height=600");
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Server could not start: " + e.getMessage());
+        }
+    }
+    
+    private static void showWindow(Scene scene) {
+        JFrame frame = new JFrame("Graphics Demo");
+        frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        // Dragging repaints the same trees over and over, so they're drawn
+        // from sprites; a size step of 1 keeps each sprite within its tree's
+        // bounds, which are what get repainted when the tree moves
+        scene.setTreePainter(new TreeSpriteCache(
+                TreeSpriteCache.DEFAULT_MAX_BYTES, 
+                TreeSpriteCache.DEFAULT_COLOR_BITS, 1, null));
+        ScenePanel panel = ScenePanel.create(scene);
+        frame.add(panel);
+        frame.pack();
+        frame.setResizable(false);
+        frame.setVisible(true);
+        panel.startAnimation();
+    }
+    
+    private static void showWorldWindow(long seed) {
+        JFrame frame = new JFrame("Graphics Demo");
+        frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        WorldPanel panel = WorldPanel.create(seed, DEFAULT_SIZE, 
+                WORLD_THREADS);
+        frame.add(panel);
+        frame.pack();
+        frame.setVisible(true);
+    }
+    
     /**
      * @param args the command line arguments
      */
     public static void main(String[] args) {
-        // TODO code application logic here
+        if (args.length > 0 && args[0].equals(BATCH_OPTION)) {
+            System.setProperty("java.awt.headless", "true");
+            runBatch(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(EXPORT_OPTION)) {
+            System.setProperty("java.awt.headless", "true");
+            runExport(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals(SERVE_OPTION)) {
+            System.setProperty("java.awt.headless", "true");
+            runServer(args);
+            return;
+        }
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("No display available for the demo window");
+            return;
+        }
+        if (args.length > 0 && args[0].equals(WORLD_OPTION)) {
+            long seed;
+            try {
+                seed = args.length > 1 ? Long.parseLong(args[1]) 
+                        : System.currentTimeMillis();
+            } catch (NumberFormatException nfe) {
+                System.err.println("Usage: " + WORLD_OPTION + " [SEED]");
+                return;
+            }
+            SwingUtilities.invokeLater(() -> showWorldWindow(seed));
+            return;
+        }
+        Scene scene = Scene.generate(System.currentTimeMillis(), DEFAULT_SIZE, 
+                DEFAULT_TREE_COUNT);
+        DayCycle cycle = new DayCycle();
+        cycle.setTimeOfDay(STARTING_TIME_OF_DAY);
+        scene.setDayCycle(cycle);
+        SwingUtilities.invokeLater(() -> showWindow(scene));
     }
     
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+/**
+ * Chooses when the {@link FrameScheduler} runs frames.
+ * @author Alonso del Arte
+ */
+public enum RenderMode {
+    
+    /**
+     * A frame runs only when one is requested, such as when a tree is 
+     * dragged. Several requests before the frame gets to run are coalesced 
+     * into one frame. Nothing runs while the scene is still.
+     */
+    ON_DEMAND,
+    
+    /**
+     * Frames run at a steady rate whether or not anything asked for one, as 
+     * needed for animation.
+     */
+    CONTINUOUS
+    
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import javax.imageio.ImageIO;
+
+import org.example.graphics.scene.Scene;
+
+/**
+ * Serves scene images over HTTP on the loopback interface, for other tools 
+ * to fetch on demand. A request like {@code GET 
+ * /scene?seed=42&width=800&height=600&trees=40} gets the scene for that seed 
+ * at that size as a PNG. The size and tree count are optional and default to 
+ * those of the demo window.
+ * <p>Each request is handled on a virtual thread of its own. The PNGs are 
+ * kept in a {@link SceneImageCache}, so a scene asked for again is served 
+ * without rendering it, and a scene asked for by several requests at once is 
+ * rendered once for all of them. No more scenes are rendered at once than 
+ * there are render permits, which keeps a burst of requests for different 
+ * scenes from holding a burst of images in memory. Each scene is painted 
+ * whole on the thread that renders it rather than split into tiles with a 
+ * {@link org.example.graphics.render.TiledRasterizer}: by default there are 
+ * as many permits as processors, so under load the processors are busy with 
+ * different scenes, and most of the time for a miss goes to PNG encoding, 
+ * which tiling doesn't speed up.</p>
+ * <p>Each image is sent with an entity tag and {@code Cache-Control: 
+ * no-cache}, so a client that sends the tag back in {@code If-None-Match} 
+ * gets a 304 Not Modified with no body if it already has the image.</p>
+ * <p>The JDK server writes the headers and the body of a response 
+ * separately, which with Nagle's algorithm on makes a small response wait 
+ * for the client's delayed acknowledgment, about 40 milliseconds a request. 
+ * So unless {@code sun.net.httpserver.nodelay} has been set already, this 
+ * class sets it to true before the first server is created.</p>
+ * @author Alonso del Arte
+ */
+public final class RenderServer implements AutoCloseable {
+    
+    /**
+     * The port to listen on unless told otherwise.
+     */
+    public static final int DEFAULT_PORT = 8080;
+    
+    /**
+     * The path scene images are served at.
+     */
+    public static final String PATH = "/scene";
+    
+    /**
+     * The largest width or height served, in pixels.
+     */
+    public static final int MAX_DIMENSION = 4096;
+    
+    /**
+     * The most trees a scene may be asked for with.
+     */
+    public static final int MAX_TREE_COUNT = 10000;
+    
+    private static final String PNG_TYPE = "image/png";
+    
+    private static final String TEXT_TYPE = "text/plain; charset=utf-8";
+    
+    private static final String NO_DELAY_PROPERTY 
+            = "sun.net.httpserver.nodelay";
+    
+    static {
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+    }
+    
+    private final HttpServer server;
+    
+    private final ExecutorService executor;
+    
+    private final SceneImageCache cache;
+    
+    private final Semaphore renderPermits;
+    
+    /**
+     * Tells which port the server is listening on. This is useful when the 
+     * server was created with port 0 to let the system choose.
+     * @return The port. For example, 8080.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+    
+    public SceneImageCache getCache() {
+        return this.cache;
+    }
+    
+    /**
+     * Renders a scene to a PNG. This is what the cache calls on a miss.
+     * @param key Which scene and at what size. For example, seed 42 at 800 
+     * &times; 600 with 40 trees.
+     * @return The PNG.
+     * @throws IllegalArgumentException If the scene is too small to fit a 
+     * tree.
+     */
+    static byte[] render(SceneImageCache.Key key) {
+        Dimension size = new Dimension(key.getWidth(), key.getHeight());
+        Scene scene = Scene.generate(key.getSeed(), size, key.getTreeCount());
+        BufferedImage image = new BufferedImage(size.width, size.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        scene.paint(g);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", out);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        return out.toByteArray();
+    }
+    
+    private byte[] renderWithPermit(SceneImageCache.Key key) {
+        try {
+            this.renderPermits.acquire();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to " 
+                    + "render", ie);
+        }
+        try {
+            return render(key);
+        } finally {
+            this.renderPermits.release();
+        }
+    }
+    
+    /**
+     * Parses the query part of a URI into names and values. Names given more 
+     * than once keep the last value.
+     * @param rawQuery The query, still percent-encoded. For example, 
+     * "seed=42&amp;width=800". May be null.
+     * @return The names and values, decoded. Empty if {@code rawQuery} is 
+     * null.
+     * @throws IllegalArgumentException If the percent-encoding is malformed.
+     */
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int index = pair.indexOf('=');
+            String name = index < 0 ? pair : pair.substring(0, index);
+            String value = index < 0 ? "" : pair.substring(index + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), 
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+    
+    private static int parseBounded(Map<String, String> params, String name, 
+            int defaultValue, int min, int max) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        int n = Integer.parseInt(value);
+        if (n < min || n > max) {
+            String excMsg = "Parameter " + name + " = " + n 
+                    + " should be from " + min + " to " + max;
+            throw new IllegalArgumentException(excMsg);
+        }
+        return n;
+    }
+    
+    /**
+     * Works out which scene a query asks for.
+     * @param params The names and values of the query. For example, seed = 
+     * 42, width = 800, height = 600.
+     * @return The key for the scene.
+     * @throws IllegalArgumentException If the seed is missing, or if a 
+     * parameter is not a number or is out of range.
+     */
+    static SceneImageCache.Key keyFor(Map<String, String> params) {
+        String seed = params.get("seed");
+        if (seed == null) {
+            String excMsg = "Parameter seed is required";
+            throw new IllegalArgumentException(excMsg);
+        }
+        return new SceneImageCache.Key(Long.parseLong(seed), 
+                parseBounded(params, "width", GraphicsDemo.DEFAULT_SIZE.width, 
+                        1, MAX_DIMENSION), 
+                parseBounded(params, "height", 
+                        GraphicsDemo.DEFAULT_SIZE.height, 1, MAX_DIMENSION), 
+                parseBounded(params, "trees", GraphicsDemo.DEFAULT_TREE_COUNT, 
+                        0, MAX_TREE_COUNT));
+    }
+    
+    /**
+     * Tells whether an {@code If-None-Match} header matches an entity tag. 
+     * As HTTP says for this header, weak tags match strong tags with the 
+     * same value.
+     * @param ifNoneMatch The header. For example, "\"3f2a9c1b-1d4c0\", 
+     * W/\"77\"". May be null.
+     * @param entityTag The tag of the image. For example, 
+     * "\"3f2a9c1b-1d4c0\"".
+     * @return True if the header is "*" or lists the tag, false otherwise.
+     */
+    static boolean matches(String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(entityTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static void sendText(HttpExchange exchange, int status, 
+            String text) throws IOException {
+        byte[] body = (text + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", TEXT_TYPE);
+        boolean head = exchange.getRequestMethod().equals("HEAD");
+        exchange.sendResponseHeaders(status, head ? -1 : body.length);
+        if (!head) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                sendText(exchange, 405, "Method " + method + " not allowed");
+                return;
+            }
+            if (!exchange.getRequestURI().getPath().equals(PATH)) {
+                sendText(exchange, 404, "Scenes are served at " + PATH);
+                return;
+            }
+            SceneImageCache.Key key;
+            SceneImageCache.Entry entry;
+            try {
+                key = keyFor(parseQuery(exchange.getRequestURI()
+                        .getRawQuery()));
+                entry = this.cache.get(key);
+            } catch (IllegalArgumentException iae) {
+                sendText(exchange, 400, iae.getMessage());
+                return;
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                sendText(exchange, 503, "Interrupted while rendering");
+                return;
+            } catch (RuntimeException re) {
+                sendText(exchange, 500, "Scene could not be rendered: " 
+                        + re.getMessage());
+                return;
+            }
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("ETag", entry.getEntityTag());
+            headers.set("Cache-Control", "no-cache");
+            String ifNoneMatch 
+                    = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (matches(ifNoneMatch, entry.getEntityTag())) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            headers.set("Content-Type", PNG_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, entry.getLength());
+            try (OutputStream out = exchange.getResponseBody()) {
+                entry.writeTo(out);
+            }
+        }
+    }
+    
+    /**
+     * Stops the server. Requests being handled are given up to a second to 
+     * finish.
+     */
+    @Override
+    public void close() {
+        this.server.stop(1);
+        this.executor.shutdown();
+    }
+    
+    /**
+     * Starts a server with the default memory cap for the cache and as many 
+     * render permits as there are processors.
+     * @param port The port to listen on. For example, 8080. If 0, the system 
+     * chooses a free port, which {@link #getPort()} then tells.
+     * @throws IOException If the port can't be listened on, such as because 
+     * another program is using it.
+     */
+    public RenderServer(int port) throws IOException {
+        this(port, SceneImageCache.DEFAULT_MAX_BYTES, 
+                Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Starts a server.
+     * @param port The port to listen on. For example, 8080. If 0, the system 
+     * chooses a free port, which {@link #getPort()} then tells.
+     * @param maxBytes The memory cap for the cache, in bytes. For example, 64 
+     * mebibytes.
+     * @param renderPermits How many scenes may be rendered at once. For 
+     * example, 4.
+     * @throws IOException If the port can't be listened on, such as because 
+     * another program is using it.
+     * @throws IllegalArgumentException If {@code port} is out of range, 
+     * {@code maxBytes} is negative or {@code renderPermits} is not positive.
+     */
+    public RenderServer(int port, long maxBytes, int renderPermits) 
+            throws IOException {
+        if (renderPermits < 1) {
+            String excMsg = "Render permits " + renderPermits 
+                    + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.cache = new SceneImageCache(this::renderWithPermit, maxBytes);
+        this.renderPermits = new Semaphore(renderPermits);
+        this.server = HttpServer.create(new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server.setExecutor(this.executor);
+        this.server.createContext(PATH, this::handle);
+        this.server.start();
+    }
+    
+}
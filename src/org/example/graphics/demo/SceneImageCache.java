@@ -0,0 +1,377 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import org.example.graphics.profiling.CacheLookupEvent;
+
+/**
+ * Keeps rendered scene images around, encoded as PNG, up to a memory cap. 
+ * When the images held add up to more than the cap, the least recently used 
+ * images are evicted. An image bigger than the cap on its own is rendered 
+ * and handed out but not kept.
+ * <p>Asking for an image that's not in the cache renders it on the calling 
+ * thread. If other threads ask for the same image while it's being rendered, 
+ * they wait for that rendering rather than start their own, so each image is 
+ * rendered only once however many requests for it come in at once. A 
+ * rendering that fails is not cached, and the threads waiting for it get the 
+ * same exception.</p>
+ * <p>All methods of this class are safe to call from any thread.</p>
+ * @author Alonso del Arte
+ */
+public final class SceneImageCache {
+    
+    /**
+     * The default memory cap, 64 mebibytes.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+    
+    private final Function<Key, byte[]> renderer;
+    
+    private final long maxBytes;
+    
+    private final LinkedHashMap<Key, Entry> entries 
+            = new LinkedHashMap<>(16, 0.75F, true);
+    
+    private final ConcurrentHashMap<Key, CompletableFuture<Entry>> inFlight 
+            = new ConcurrentHashMap<>();
+    
+    private long byteCount = 0L;
+    
+    private final AtomicLong hits = new AtomicLong();
+    
+    private final AtomicLong misses = new AtomicLong();
+    
+    private final AtomicLong renders = new AtomicLong();
+    
+    private final AtomicLong joins = new AtomicLong();
+    
+    private final AtomicLong evictions = new AtomicLong();
+    
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+    
+    /**
+     * Tells how much memory the images held take up.
+     * @return The total size of the PNGs held, in bytes. For example, 
+     * 3500000.
+     */
+    public synchronized long getByteCount() {
+        return this.byteCount;
+    }
+    
+    public synchronized int size() {
+        return this.entries.size();
+    }
+    
+    public synchronized boolean contains(Key key) {
+        return this.entries.containsKey(key);
+    }
+    
+    public long getHits() {
+        return this.hits.get();
+    }
+    
+    public long getMisses() {
+        return this.misses.get();
+    }
+    
+    public long getRenderCount() {
+        return this.renders.get();
+    }
+    
+    /**
+     * Tells how many misses waited for a rendering already under way instead 
+     * of rendering the image again.
+     * @return The count. For example, 12.
+     */
+    public long getJoinCount() {
+        return this.joins.get();
+    }
+    
+    public long getEvictionCount() {
+        return this.evictions.get();
+    }
+    
+    private synchronized Entry lookUp(Key key) {
+        Entry entry = this.entries.get(key);
+        if (entry == null) {
+            this.misses.incrementAndGet();
+        } else {
+            this.hits.incrementAndGet();
+        }
+        return entry;
+    }
+    
+    private synchronized void store(Key key, Entry entry) {
+        if (entry.getLength() > this.maxBytes) {
+            return;
+        }
+        Entry previous = this.entries.put(key, entry);
+        if (previous != null) {
+            this.byteCount -= previous.getLength();
+        }
+        this.byteCount += entry.getLength();
+        Iterator<Map.Entry<Key, Entry>> iterator 
+                = this.entries.entrySet().iterator();
+        while (this.byteCount > this.maxBytes && iterator.hasNext()) {
+            Map.Entry<Key, Entry> eldest = iterator.next();
+            this.byteCount -= eldest.getValue().getLength();
+            iterator.remove();
+            this.evictions.incrementAndGet();
+        }
+    }
+    
+    private static Entry await(CompletableFuture<Entry> future) 
+            throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Image could not be rendered", 
+                    cause);
+        }
+    }
+    
+    /**
+     * Gives the image for a key, rendering it if it's not in the cache. If 
+     * the image is already being rendered for another thread, this waits for 
+     * that rendering to finish.
+     * @param key Which scene and at what size. For example, seed 42 at 800 
+     * &times; 600 with 40 trees.
+     * @return The image. Never null.
+     * @throws InterruptedException If the calling thread is interrupted while 
+     * waiting for another thread's rendering.
+     * @throws RuntimeException If the rendering fails, with whatever the 
+     * renderer threw.
+     */
+    public Entry get(Key key) throws InterruptedException {
+        CacheLookupEvent event = CacheLookupEvent.start();
+        Entry entry = this.lookUp(key);
+        if (entry != null) {
+            event.finish(CacheLookupEvent.SCENE_IMAGES, key.getSeed(), true);
+            return entry;
+        }
+        try {
+            return this.fill(key);
+        } finally {
+            event.finish(CacheLookupEvent.SCENE_IMAGES, key.getSeed(), false);
+        }
+    }
+    
+    private Entry fill(Key key) throws InterruptedException {
+        CompletableFuture<Entry> future = new CompletableFuture<>();
+        CompletableFuture<Entry> running 
+                = this.inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            this.joins.incrementAndGet();
+            return await(running);
+        }
+        try {
+            Entry entry;
+            synchronized (this) {
+                entry = this.entries.get(key);
+            }
+            if (entry == null) {
+                entry = new Entry(this.renderer.apply(key));
+                this.renders.incrementAndGet();
+                this.store(key, entry);
+            }
+            future.complete(entry);
+            return entry;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlight.remove(key, future);
+        }
+    }
+    
+    /**
+     * Creates a cache.
+     * @param renderer What renders the PNG for a key. It's called on the 
+     * threads that miss the cache, so it must be safe to call from several 
+     * threads at once.
+     * @param maxBytes The memory cap, in bytes. For example, 64 mebibytes.
+     * @throws IllegalArgumentException If {@code maxBytes} is negative.
+     * @throws NullPointerException If {@code renderer} is null.
+     */
+    public SceneImageCache(Function<Key, byte[]> renderer, long maxBytes) {
+        if (renderer == null) {
+            String excMsg = "Renderer should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        if (maxBytes < 0L) {
+            String excMsg = "Memory cap " + maxBytes 
+                    + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.renderer = renderer;
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * Identifies a scene image by what it's generated from: the seed, the 
+     * size and the number of trees. Scene generation is deterministic, so 
+     * two equal keys always give the same image.
+     */
+    public static final class Key {
+        
+        private final long seed;
+        
+        private final int width;
+        
+        private final int height;
+        
+        private final int treeCount;
+        
+        public long getSeed() {
+            return this.seed;
+        }
+        
+        public int getWidth() {
+            return this.width;
+        }
+        
+        public int getHeight() {
+            return this.height;
+        }
+        
+        public int getTreeCount() {
+            return this.treeCount;
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key other)) {
+                return false;
+            }
+            return this.seed == other.seed && this.width == other.width 
+                    && this.height == other.height 
+                    && this.treeCount == other.treeCount;
+        }
+        
+        @Override
+        public int hashCode() {
+            int hash = Long.hashCode(this.seed);
+            hash = 31 * hash + this.width;
+            hash = 31 * hash + this.height;
+            return 31 * hash + this.treeCount;
+        }
+        
+        /**
+         * Gives a text representation of the key.
+         * @return A representation like "seed 42, 800x600, 40 trees".
+         */
+        @Override
+        public String toString() {
+            return "seed " + this.seed + ", " + this.width + "x" 
+                    + this.height + ", " + this.treeCount + " trees";
+        }
+        
+        /**
+         * Creates a key.
+         * @param seed The seed. For example, 42.
+         * @param width The width of the image. For example, 800.
+         * @param height The height of the image. For example, 600.
+         * @param treeCount How many trees. For example, 40.
+         * @throws IllegalArgumentException If {@code width} or {@code 
+         * height} is not positive, or if {@code treeCount} is negative.
+         */
+        public Key(long seed, int width, int height, int treeCount) {
+            if (width < 1 || height < 1) {
+                String excMsg = "Size " + width + "x" + height 
+                        + " should be positive";
+                throw new IllegalArgumentException(excMsg);
+            }
+            if (treeCount < 0) {
+                String excMsg = "Tree count " + treeCount 
+                        + " should not be negative";
+                throw new IllegalArgumentException(excMsg);
+            }
+            this.seed = seed;
+            this.width = width;
+            this.height = height;
+            this.treeCount = treeCount;
+        }
+        
+    }
+    
+    /**
+     * A rendered image, encoded as PNG, with an entity tag for HTTP 
+     * revalidation. The tag is a checksum of the PNG, so it changes if and 
+     * only if the bytes do, even across restarts of the server.
+     */
+    public static final class Entry {
+        
+        private final byte[] png;
+        
+        private final String entityTag;
+        
+        public int getLength() {
+            return this.png.length;
+        }
+        
+        /**
+         * Gives the entity tag, quoted as HTTP wants it.
+         * @return The tag. For example, "\"3f2a9c1b-1d4c0\"".
+         */
+        public String getEntityTag() {
+            return this.entityTag;
+        }
+        
+        /**
+         * Writes the PNG to a stream.
+         * @param out The stream. It's not closed afterwards.
+         * @throws IOException If the stream can't be written to.
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(this.png);
+        }
+        
+        Entry(byte[] png) {
+            CRC32 crc = new CRC32();
+            crc.update(png);
+            this.png = png;
+            this.entityTag = "\"" + Long.toHexString(crc.getValue()) + "-" 
+                    + Integer.toHexString(png.length) + "\"";
+        }
+        
+    }
+    
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.KeyStroke;
+
+import org.example.graphics.render.DamageTracker;
+import org.example.graphics.render.DayNightLighting;
+import org.example.graphics.scene.DayCycle;
+import org.example.graphics.scene.Forest;
+import org.example.graphics.scene.Scene;
+
+/**
+ * Shows a scene and lets the user drag trees around. The scene is kept in a 
+ * back buffer. When a tree is dragged, only the regions it moved out of and 
+ * into are repainted in the back buffer, and only those regions are copied to 
+ * the screen. Repainting is done in frames run by a {@link FrameScheduler}, 
+ * on demand while the scene is still and continuously while it's animated, 
+ * in which case the ocean is stepped at a fixed rate and its area repainted 
+ * on every frame. Pressing F3 shows or hides the frame time overlay.
+ * <p>If the scene has a day cycle, the scene is painted unlit into one 
+ * buffer and lit for the time of day into the back buffer. Regions repainted 
+ * in a frame are lit on their way across, and when the time of day moves on 
+ * to the next lighting table, the whole buffer is lit again in one pass.</p>
+ * @author Alonso del Arte
+ */
+public class ScenePanel extends JComponent {
+    
+    private static final long serialVersionUID = 4553241787962013190L;
+    
+    private static final int OVERLAY_MARGIN = 8;
+    
+    private final transient Scene scene;
+    
+    private final transient BufferedImage sceneBuffer;
+    
+    private final transient BufferedImage backBuffer;
+    
+    private final transient DayNightLighting lighting;
+    
+    private final transient DamageTracker damage;
+    
+    private final transient FixedTimestep timestep = new FixedTimestep();
+    
+    private transient FrameScheduler scheduler;
+    
+    private boolean overlayVisible = false;
+    
+    private Rectangle overlayBounds = null;
+    
+    private int draggedTree = -1;
+    
+    private int grabOffsetX;
+    
+    private int grabOffsetY;
+    
+    public Scene getScene() {
+        return this.scene;
+    }
+    
+    public FrameScheduler getScheduler() {
+        return this.scheduler;
+    }
+    
+    public boolean isOverlayVisible() {
+        return this.overlayVisible;
+    }
+    
+    /**
+     * Shows or hides the frame time overlay in the upper left corner.
+     * @param visible Whether the overlay should be shown.
+     */
+    public void setOverlayVisible(boolean visible) {
+        this.overlayVisible = visible;
+        this.repaintOverlay();
+    }
+    
+    private void repaintOverlay() {
+        if (this.overlayBounds == null) {
+            Graphics g = this.backBuffer.getGraphics();
+            g.setFont(this.getFont());
+            this.overlayBounds = this.scheduler.getOverlayBounds(g, 
+                    OVERLAY_MARGIN, OVERLAY_MARGIN);
+            g.dispose();
+        }
+        this.repaint(this.overlayBounds);
+    }
+    
+    private void flushDamage() {
+        List<Rectangle> regions = List.of();
+        if (!this.damage.isEmpty()) {
+            Graphics2D g = this.sceneBuffer.createGraphics();
+            regions = this.damage.repaint(g, this.scene);
+            g.dispose();
+        }
+        if (this.lighting != null) {
+            DayCycle cycle = this.scene.getDayCycle();
+            double timeOfDay = cycle == null ? 0.5 : cycle.getTimeOfDay();
+            if (this.lighting.setTimeOfDay(timeOfDay)) {
+                regions = List.of(this.scene.getBounds());
+            }
+            for (Rectangle region : regions) {
+                this.lighting.apply(this.sceneBuffer, this.backBuffer, region);
+            }
+        }
+        for (Rectangle region : regions) {
+            this.repaint(region);
+        }
+        if (this.overlayVisible) {
+            this.repaintOverlay();
+        }
+    }
+    
+    /**
+     * Moves a tree and asks for a frame to repaint the regions affected. A 
+     * tree can't stand in the water or in the sky, so if the middle of its 
+     * base would end up there, the tree is moved to the nearest land instead.
+     * @param index The index of the tree in the scene's forest.
+     * @param x The new <i>x</i> coordinate of the tree.
+     * @param y The new <i>y</i> coordinate of the tree.
+     */
+    void moveTree(int index, int x, int y) {
+        Forest forest = this.scene.getForest();
+        Rectangle oldBounds = new Rectangle(forest.getX(index), 
+                forest.getY(index), forest.getWidth(index), 
+                forest.getHeight(index));
+        Point base = this.scene.getShoreField().snapToLand(x 
+                + oldBounds.width / 2, y + oldBounds.height - 1);
+        Rectangle newBounds = new Rectangle(base.x - oldBounds.width / 2, 
+                base.y - oldBounds.height + 1, oldBounds.width, 
+                oldBounds.height);
+        forest.moveTo(index, newBounds.x, newBounds.y);
+        this.damage.addMove(oldBounds, newBounds);
+        this.scheduler.requestFrame();
+    }
+    
+    /**
+     * Updates the scene for a frame. While animating, the scene is stepped as 
+     * many times as the fixed timestep calls for, and the animated parts are 
+     * marked for repainting where they were and where they are now.
+     * @param now The time the frame started, from {@code System.nanoTime()}.
+     */
+    void update(long now) {
+        if (this.scheduler.getMode() == RenderMode.CONTINUOUS) {
+            for (Rectangle region : this.scene.getAnimatedRegions()) {
+                this.damage.add(region);
+            }
+            int steps = this.timestep.advance(now);
+            for (int i = 0; i < steps; i++) {
+                this.scene.step();
+            }
+            this.scene.setInterpolation(this.timestep.getAlpha());
+            for (Rectangle region : this.scene.getAnimatedRegions()) {
+                this.damage.add(region);
+            }
+        }
+    }
+    
+    /**
+     * Starts animating the scene. Frames run about 60 times a second, but 
+     * the scene is stepped according to how much time has actually passed.
+     */
+    public void startAnimation() {
+        this.timestep.reset();
+        this.scheduler.setMode(RenderMode.CONTINUOUS);
+    }
+    
+    public void stopAnimation() {
+        this.scheduler.setMode(RenderMode.ON_DEMAND);
+    }
+    
+    public boolean isAnimating() {
+        return this.scheduler.getMode() == RenderMode.CONTINUOUS;
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, this.getWidth(), this.getHeight());
+        }
+        int right = clip.x + clip.width;
+        int bottom = clip.y + clip.height;
+        g.drawImage(this.backBuffer, clip.x, clip.y, right, bottom, clip.x, 
+                clip.y, right, bottom, null);
+        if (this.overlayVisible) {
+            this.scheduler.drawOverlay(g, OVERLAY_MARGIN, OVERLAY_MARGIN);
+        }
+    }
+    
+    /**
+     * Creates a panel for a scene, ready to be added to a window.
+     * @param scene The scene to show. For example, a scene of 40 trees at 800 
+     * &times; 600.
+     * @return A new panel, with its frame scheduler, mouse listeners and key 
+     * bindings set up.
+     */
+    public static ScenePanel create(Scene scene) {
+        ScenePanel panel = new ScenePanel(scene);
+        panel.listen();
+        return panel;
+    }
+    
+    // Wires up everything that calls back into the panel, which is done
+    // after construction so that the panel doesn't escape half built
+    private void listen() {
+        this.scheduler = new FrameScheduler(this::update, this::flushDamage);
+        MouseAdapter dragger = new MouseAdapter() {
+            
+            @Override
+            public void mousePressed(MouseEvent event) {
+                Forest forest = ScenePanel.this.scene.getForest();
+                int index = forest.pick(event.getX(), event.getY());
+                ScenePanel.this.draggedTree = index;
+                if (index > -1) {
+                    ScenePanel.this.grabOffsetX 
+                            = event.getX() - forest.getX(index);
+                    ScenePanel.this.grabOffsetY 
+                            = event.getY() - forest.getY(index);
+                }
+            }
+            
+            @Override
+            public void mouseDragged(MouseEvent event) {
+                int index = ScenePanel.this.draggedTree;
+                if (index > -1) {
+                    ScenePanel.this.moveTree(index, 
+                            event.getX() - ScenePanel.this.grabOffsetX, 
+                            event.getY() - ScenePanel.this.grabOffsetY);
+                }
+            }
+            
+            @Override
+            public void mouseReleased(MouseEvent event) {
+                ScenePanel.this.draggedTree = -1;
+            }
+            
+        };
+        this.addMouseListener(dragger);
+        this.addMouseMotionListener(dragger);
+        String toggleOverlay = "toggleOverlay";
+        this.getInputMap(WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), toggleOverlay);
+        this.getActionMap().put(toggleOverlay, new AbstractAction() {
+            
+            private static final long serialVersionUID 
+                    = 4553241787962013192L;
+            
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                ScenePanel.this.setOverlayVisible(
+                        !ScenePanel.this.overlayVisible);
+            }
+            
+        });
+    }
+    
+    private ScenePanel(Scene scene) {
+        this.scene = scene;
+        Rectangle bounds = scene.getBounds();
+        this.backBuffer = new BufferedImage(bounds.width, bounds.height, 
+                BufferedImage.TYPE_INT_RGB);
+        if (scene.getDayCycle() == null) {
+            this.sceneBuffer = this.backBuffer;
+            this.lighting = null;
+        } else {
+            this.sceneBuffer = new BufferedImage(bounds.width, bounds.height, 
+                    BufferedImage.TYPE_INT_RGB);
+            this.lighting = new DayNightLighting();
+            this.lighting.setTimeOfDay(scene.getDayCycle().getTimeOfDay());
+        }
+        this.damage = new DamageTracker(bounds);
+        Graphics2D g = this.sceneBuffer.createGraphics();
+        scene.paint(g);
+        g.dispose();
+        if (this.lighting != null) {
+            this.lighting.apply(this.sceneBuffer, this.backBuffer, bounds);
+        }
+        this.setPreferredSize(scene.getSize());
+        this.setOpaque(true);
+    }
+    
+}
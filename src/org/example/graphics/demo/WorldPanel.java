@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+import org.example.graphics.profiling.FrameEvent;
+import org.example.graphics.world.ChunkCache;
+import org.example.graphics.world.ShorelineWorld;
+import org.example.graphics.world.WorldView;
+
+/**
+ * Shows a shoreline world that goes on without end. Dragging pans along the 
+ * shore and the mouse wheel zooms around the pointer. Chunks are generated on 
+ * background threads, and the panel is repainted as each one arrives.
+ * @author Alonso del Arte
+ */
+public class WorldPanel extends JComponent {
+    
+    private static final long serialVersionUID = 4553241787962013193L;
+    
+    private static final double WHEEL_ZOOM_STEP = 1.25;
+    
+    private final transient WorldView view;
+    
+    private int lastDragX;
+    
+    public WorldView getView() {
+        return this.view;
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        FrameEvent event = FrameEvent.start();
+        this.view.paint((Graphics2D) g, this.getWidth(), this.getHeight());
+        event.finish(0L, 0L);
+    }
+    
+    /**
+     * Stops generating chunks. Should be called when the panel is no longer 
+     * needed.
+     */
+    public void dispose() {
+        this.view.getCache().close();
+    }
+    
+    /**
+     * Creates a panel for a new world. The panel is as tall as the world.
+     * @param seed The seed for the world. For example, 20251017.
+     * @param size The preferred size of the panel. For example, 800 &times; 
+     * 600.
+     * @param threads How many background threads to generate chunks on. For 
+     * example, 2.
+     * @return A new panel, repainted as chunks arrive and with its mouse 
+     * listeners set up.
+     */
+    public static WorldPanel create(long seed, Dimension size, int threads) {
+        WorldPanel panel = new WorldPanel(seed, size, threads);
+        panel.listen();
+        return panel;
+    }
+    
+    // Wires up everything that calls back into the panel, which is done
+    // after construction so that the panel doesn't escape half built
+    private void listen() {
+        this.view.getCache().setListener(chunk 
+                -> SwingUtilities.invokeLater(this::repaint));
+        MouseAdapter handler = new MouseAdapter() {
+            
+            @Override
+            public void mousePressed(MouseEvent event) {
+                WorldPanel.this.lastDragX = event.getX();
+            }
+            
+            @Override
+            public void mouseDragged(MouseEvent event) {
+                WorldPanel.this.view.pan(WorldPanel.this.lastDragX 
+                        - event.getX());
+                WorldPanel.this.lastDragX = event.getX();
+                WorldPanel.this.repaint();
+            }
+            
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent event) {
+                WorldPanel.this.view.zoomAt(Math.pow(WHEEL_ZOOM_STEP, 
+                        -event.getPreciseWheelRotation()), event.getX());
+                WorldPanel.this.repaint();
+            }
+            
+        };
+        this.addMouseListener(handler);
+        this.addMouseMotionListener(handler);
+        this.addMouseWheelListener(handler);
+    }
+    
+    private WorldPanel(long seed, Dimension size, int threads) {
+        ShorelineWorld world = new ShorelineWorld(seed, size.height);
+        ChunkCache cache = new ChunkCache(world::generateChunk, 
+                ChunkCache.DEFAULT_MAX_BYTES, threads);
+        this.view = new WorldView(world, cache);
+        this.setPreferredSize(size);
+        this.setOpaque(true);
+    }
+    
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A lookup in one of the caches, such as the tree sprite cache, the world 
+ * chunk cache or the scene image cache. A miss is timed along with whatever 
+ * it does to fill the cache, such as rendering a sprite.
+ * <p>Hits can happen thousands of times a frame, so this event is turned off 
+ * unless a recording's settings turn it on. The {@link CountersEvent} gives 
+ * the totals of hits and misses without that cost.</p>
+ * <p>The event is meant to be used like this:</p>
+ * <pre>    CacheLookupEvent event = CacheLookupEvent.start();
+ *    // Look up, and fill on a miss
+ *    event.finish(CacheLookupEvent.TREE_SPRITES, key, hit);</pre>
+ * @author Alonso del Arte
+ */
+@Name("org.example.graphics.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Graphics Demo", "Caches"})
+@Description("A lookup in one of the caches")
+@Enabled(false)
+@StackTrace(false)
+public final class CacheLookupEvent extends Event {
+    
+    public static final String TREE_SPRITES = "Tree sprites";
+    
+    public static final String WORLD_CHUNKS = "World chunks";
+    
+    public static final String SCENE_IMAGES = "Scene images";
+    
+    @Label("Cache")
+    String cache;
+    
+    @Label("Key")
+    long key;
+    
+    @Label("Hit")
+    boolean hit;
+    
+    /**
+     * Starts timing a cache lookup.
+     * @return A new event, already started.
+     */
+    public static CacheLookupEvent start() {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Stops timing a cache lookup, counts it, and records it if a recording 
+     * wants it.
+     * @param cache Which cache was looked in. Should be one of the constants 
+     * of this class. For example, {@link #TREE_SPRITES}.
+     * @param key The key that was looked up. For example, 195.
+     * @param hit Whether the cache had what was looked up.
+     */
+    public void finish(String cache, long key, boolean hit) {
+        this.end();
+        Counters.countLookup(hit);
+        if (this.shouldCommit()) {
+            this.cache = cache;
+            this.key = key;
+            this.hit = hit;
+            this.commit();
+        }
+    }
+    
+    private CacheLookupEvent() {
+        // Use start() instead
+    }
+    
+}
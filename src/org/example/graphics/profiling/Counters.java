@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Running totals of frames, layer paints, generation batches, cache lookups 
+ * and paint state changes since the program started. They're kept whether or 
+ * not a flight recording is running, in counters that threads can add to 
+ * without getting in each other's way, so counting costs a few nanoseconds 
+ * at most. While a recording is running, the totals are recorded once a 
+ * second as a {@link CountersEvent}.
+ * <p>The events of this package add to the counters when they finish, so 
+ * there's no need to call the counting functions directly.</p>
+ * @author Alonso del Arte
+ */
+public final class Counters {
+    
+    private static final LongAdder FRAMES = new LongAdder();
+    
+    private static final LongAdder LAYER_PAINTS = new LongAdder();
+    
+    private static final LongAdder GENERATIONS = new LongAdder();
+    
+    private static final LongAdder GENERATED_ITEMS = new LongAdder();
+    
+    private static final LongAdder CACHE_HITS = new LongAdder();
+    
+    private static final LongAdder CACHE_MISSES = new LongAdder();
+    
+    private static final LongAdder STATE_CHANGES = new LongAdder();
+    
+    private static final LongAdder UNBATCHED_STATE_CHANGES = new LongAdder();
+    
+    static {
+        FlightRecorder.addPeriodicEvent(CountersEvent.class, 
+                CountersEvent::emit);
+    }
+    
+    static void countFrame() {
+        FRAMES.increment();
+    }
+    
+    static void countLayerPaint() {
+        LAYER_PAINTS.increment();
+    }
+    
+    static void countGeneration(int itemCount) {
+        GENERATIONS.increment();
+        GENERATED_ITEMS.add(itemCount);
+    }
+    
+    static void countLookup(boolean hit) {
+        if (hit) {
+            CACHE_HITS.increment();
+        } else {
+            CACHE_MISSES.increment();
+        }
+    }
+    
+    static void countStateChanges(int stateChanges, 
+            int unbatchedStateChanges) {
+        STATE_CHANGES.add(stateChanges);
+        UNBATCHED_STATE_CHANGES.add(unbatchedStateChanges);
+    }
+    
+    public static long getFrameCount() {
+        return FRAMES.sum();
+    }
+    
+    public static long getLayerPaintCount() {
+        return LAYER_PAINTS.sum();
+    }
+    
+    /**
+     * How many generation batches have finished, such as whole scenes, 
+     * forests and world chunks. A scene's forest counts as a batch of its 
+     * own, as well as being part of the scene's batch.
+     * @return The number of batches. For example, 12.
+     */
+    public static long getGenerationCount() {
+        return GENERATIONS.sum();
+    }
+    
+    /**
+     * How many items the generation batches have made between them.
+     * @return The number of items, such as trees. For example, 4800.
+     */
+    public static long getGeneratedItemCount() {
+        return GENERATED_ITEMS.sum();
+    }
+    
+    public static long getCacheHitCount() {
+        return CACHE_HITS.sum();
+    }
+    
+    public static long getCacheMissCount() {
+        return CACHE_MISSES.sum();
+    }
+    
+    /**
+     * How many times render queues have changed the paint state, such as the 
+     * color, while drawing.
+     * @return The number of state changes. For example, 41000.
+     */
+    public static long getStateChangeCount() {
+        return STATE_CHANGES.sum();
+    }
+    
+    /**
+     * How many times render queues would have changed the paint state if 
+     * they had drawn in the order the draws were added, without batching.
+     * @return The number of state changes. For example, 80000.
+     */
+    public static long getUnbatchedStateChangeCount() {
+        return UNBATCHED_STATE_CHANGES.sum();
+    }
+    
+    private Counters() {
+        // Only static members
+    }
+    
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * The running totals kept by {@link Counters}, recorded once a second while a 
+ * flight recording is running. Each total counts from when the program 
+ * started, so the rate over an interval is the difference between two 
+ * events divided by the time between them.
+ * @author Alonso del Arte
+ */
+@Name("org.example.graphics.Counters")
+@Label("Graphics Counters")
+@Category({"Graphics Demo", "Counters"})
+@Description("Running totals of frames, layer paints, generation batches, "
+        + "cache lookups and paint state changes") 
+@Period("1 s")
+@StackTrace(false)
+public final class CountersEvent extends Event {
+    
+    @Label("Frames")
+    long frames;
+    
+    @Label("Layer Paints")
+    long layerPaints;
+    
+    @Label("Generation Batches")
+    long generations;
+    
+    @Label("Generated Items")
+    long generatedItems;
+    
+    @Label("Cache Hits")
+    long cacheHits;
+    
+    @Label("Cache Misses")
+    long cacheMisses;
+    
+    @Label("State Changes")
+    long stateChanges;
+    
+    @Label("Unbatched State Changes")
+    @Description("How many state changes there would have been without "
+            + "batching") 
+    long unbatchedStateChanges;
+    
+    static void emit() {
+        CountersEvent event = new CountersEvent();
+        event.frames = Counters.getFrameCount();
+        event.layerPaints = Counters.getLayerPaintCount();
+        event.generations = Counters.getGenerationCount();
+        event.generatedItems = Counters.getGeneratedItemCount();
+        event.cacheHits = Counters.getCacheHitCount();
+        event.cacheMisses = Counters.getCacheMissCount();
+        event.stateChanges = Counters.getStateChangeCount();
+        event.unbatchedStateChanges = Counters.getUnbatchedStateChangeCount();
+        event.commit();
+    }
+    
+    private CountersEvent() {
+        // Only made by emit()
+    }
+    
+}
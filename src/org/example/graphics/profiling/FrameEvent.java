@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One frame of a demo window, from the start of its update to the end of its 
+ * paint. The layer paints of the frame, if any, show up as {@link 
+ * LayerPaintEvent} events within it on the same thread.
+ * <p>The event is meant to be used like this:</p>
+ * <pre>    FrameEvent event = FrameEvent.start();
+ *    // Update and paint
+ *    event.finish(updateNanos, droppedFrames);</pre>
+ * <p>If no flight recording is running, or the recording has this event 
+ * turned off, nothing is recorded and the event costs next to nothing, apart 
+ * from adding to the {@link Counters#getFrameCount() frame count}.</p>
+ * @author Alonso del Arte
+ */
+@Name("org.example.graphics.Frame")
+@Label("Frame")
+@Category({"Graphics Demo", "Painting"})
+@Description("An update and paint of a demo window")
+@StackTrace(false)
+public final class FrameEvent extends Event {
+    
+    @Label("Update Time")
+    @Timespan
+    long updateTime;
+    
+    @Label("Dropped Frames")
+    @Description("How many frame budgets the frame overran")
+    long droppedFrames;
+    
+    /**
+     * Starts timing a frame.
+     * @return A new event, already started.
+     */
+    public static FrameEvent start() {
+        FrameEvent event = new FrameEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Stops timing the frame, counts it, and records it if a recording wants 
+     * it.
+     * @param updateNanos How long the update took, in nanoseconds. For 
+     * example, 150000. 0 if the frame had no update.
+     * @param droppedFrames How many frames were dropped because this one ran 
+     * long. For example, 0.
+     */
+    public void finish(long updateNanos, long droppedFrames) {
+        this.end();
+        Counters.countFrame();
+        if (this.shouldCommit()) {
+            this.updateTime = updateNanos;
+            this.droppedFrames = droppedFrames;
+            this.commit();
+        }
+    }
+    
+    private FrameEvent() {
+        // Use start() instead
+    }
+    
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A batch of procedural generation from a seed, such as a whole scene, the 
+ * trees of a forest or a chunk of a world. Batches can nest: generating a 
+ * scene generates its forest, so the forest's event falls within the 
+ * scene's.
+ * <p>The event is meant to be used like this:</p>
+ * <pre>    GenerationEvent event = GenerationEvent.start();
+ *    // Generate
+ *    event.finish(GenerationEvent.FOREST, seed, forest.size());</pre>
+ * <p>If no flight recording is running, or the recording has this event 
+ * turned off, nothing is recorded and the event costs next to nothing, apart 
+ * from adding to the {@link Counters#getGenerationCount() generation 
+ * counts}.</p>
+ * @author Alonso del Arte
+ */
+@Name("org.example.graphics.Generation")
+@Label("Generation")
+@Category({"Graphics Demo", "Generation"})
+@Description("A batch of procedural generation from a seed")
+@StackTrace(false)
+public final class GenerationEvent extends Event {
+    
+    public static final String SCENE = "Scene";
+    
+    public static final String FOREST = "Forest";
+    
+    public static final String POISSON_DISK = "Poisson disk";
+    
+    public static final String WORLD_CHUNK = "World chunk";
+    
+    @Label("Kind")
+    String kind;
+    
+    @Label("Seed")
+    long seed;
+    
+    @Label("Item Count")
+    @Description("How many items, such as trees, were generated")
+    int itemCount;
+    
+    /**
+     * Starts timing a generation batch.
+     * @return A new event, already started.
+     */
+    public static GenerationEvent start() {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Stops timing a generation batch, counts it, and records it if a 
+     * recording wants it.
+     * @param kind What was generated. Should be one of the constants of this 
+     * class. For example, {@link #FOREST}.
+     * @param seed The seed it was generated from. For example, 20251017.
+     * @param itemCount How many items were generated. For example, 40.
+     */
+    public void finish(String kind, long seed, int itemCount) {
+        this.end();
+        Counters.countGeneration(itemCount);
+        if (this.shouldCommit()) {
+            this.kind = kind;
+            this.seed = seed;
+            this.itemCount = itemCount;
+            this.commit();
+        }
+    }
+    
+    private GenerationEvent() {
+        // Use start() instead
+    }
+    
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import java.awt.Rectangle;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The painting of one layer of a scene, such as the clouds or the trees, 
+ * within some area. Layers that are skipped because they don't overlap the 
+ * area aren't timed.
+ * <p>The event is meant to be used like this:</p>
+ * <pre>    LayerPaintEvent event = LayerPaintEvent.start();
+ *    // Paint the layer
+ *    event.finish(LayerPaintEvent.TREES, area);</pre>
+ * <p>If no flight recording is running, or the recording has this event 
+ * turned off, nothing is recorded and the event costs next to nothing, apart 
+ * from adding to the {@link Counters#getLayerPaintCount() layer paint 
+ * count}.</p>
+ * @author Alonso del Arte
+ */
+@Name("org.example.graphics.LayerPaint")
+@Label("Layer Paint")
+@Category({"Graphics Demo", "Painting"})
+@Description("The painting of one layer of a scene")
+@StackTrace(false)
+public final class LayerPaintEvent extends Event {
+    
+    public static final String SKY = "Sky";
+    
+    public static final String SUN = "Sun";
+    
+    public static final String MOON = "Moon";
+    
+    public static final String CLOUDS = "Clouds";
+    
+    public static final String LAND = "Land";
+    
+    public static final String OCEAN = "Ocean";
+    
+    public static final String TREES = "Trees";
+    
+    @Label("Layer")
+    String layer;
+    
+    @Label("Area")
+    @Description("How many pixels of the scene were to be painted")
+    long pixelCount;
+    
+    /**
+     * Starts timing the painting of a layer.
+     * @return A new event, already started.
+     */
+    public static LayerPaintEvent start() {
+        LayerPaintEvent event = new LayerPaintEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Stops timing the painting of a layer, counts it, and records it if a 
+     * recording wants it.
+     * @param layer Which layer was painted. Should be one of the constants of 
+     * this class. For example, {@link #TREES}.
+     * @param area The area that was painted. For example, (0, 200) to (480, 
+     * 600).
+     */
+    public void finish(String layer, Rectangle area) {
+        this.end();
+        Counters.countLayerPaint();
+        if (this.shouldCommit()) {
+            this.layer = layer;
+            this.pixelCount = (long) area.width * area.height;
+            this.commit();
+        }
+    }
+    
+    private LayerPaintEvent() {
+        // Use start() instead
+    }
+    
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The sorting and drawing of the commands in a render queue, with how many 
+ * times the paint state changed and how many times it would have changed 
+ * without batching. The layer paints of the flush show up as {@link 
+ * LayerPaintEvent} events within it on the same thread.
+ * <p>The event is meant to be used like this:</p>
+ * <pre>    RenderQueueFlushEvent event = RenderQueueFlushEvent.start();
+ *    // Sort and draw
+ *    event.finish(commandCount, stateChanges, unbatchedStateChanges);</pre>
+ * <p>If no flight recording is running, or the recording has this event 
+ * turned off, nothing is recorded and the event costs next to nothing, apart 
+ * from adding to the {@link Counters#getStateChangeCount() state change 
+ * counts}.</p>
+ * @author Alonso del Arte
+ */
+@Name("org.example.graphics.RenderQueueFlush")
+@Label("Render Queue Flush")
+@Category({"Graphics Demo", "Painting"})
+@Description("The sorting and drawing of the commands in a render queue")
+@StackTrace(false)
+public final class RenderQueueFlushEvent extends Event {
+    
+    @Label("Command Count")
+    int commandCount;
+    
+    @Label("State Changes")
+    int stateChanges;
+    
+    @Label("Unbatched State Changes")
+    @Description("How many state changes there would have been without "
+            + "batching") 
+    int unbatchedStateChanges;
+    
+    /**
+     * Starts timing a flush.
+     * @return A new event, already started.
+     */
+    public static RenderQueueFlushEvent start() {
+        RenderQueueFlushEvent event = new RenderQueueFlushEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Stops timing a flush, counts its state changes, and records it if a 
+     * recording wants it.
+     * @param commandCount How many commands were drawn. For example, 2001.
+     * @param stateChanges How many times the paint state changed. For 
+     * example, 1040.
+     * @param unbatchedStateChanges How many times the paint state would have 
+     * changed without batching. For example, 2000.
+     */
+    public void finish(int commandCount, int stateChanges, 
+            int unbatchedStateChanges) {
+        this.end();
+        Counters.countStateChanges(stateChanges, unbatchedStateChanges);
+        if (this.shouldCommit()) {
+            this.commandCount = commandCount;
+            this.stateChanges = stateChanges;
+            this.unbatchedStateChanges = unbatchedStateChanges;
+            this.commit();
+        }
+    }
+    
+    private RenderQueueFlushEvent() {
+        // Use start() instead
+    }
+    
+}
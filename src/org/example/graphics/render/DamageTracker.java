@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.graphics.scene.Scene;
+
+/**
+ * Keeps track of which parts of a scene need repainting. When a scene object 
+ * moves, both its old bounds and its new bounds are recorded. Regions that 
+ * overlap or touch are merged, so each pixel is repainted at most once per 
+ * frame. If the regions get too numerous, they're all merged into one.
+ * @author Alonso del Arte
+ */
+public class DamageTracker {
+    
+    /**
+     * The most regions kept separately before they are merged into one.
+     */
+    public static final int MAX_REGIONS = 32;
+    
+    private final Rectangle bounds;
+    
+    private final List<Rectangle> regions = new ArrayList<>();
+    
+    public boolean isEmpty() {
+        return this.regions.isEmpty();
+    }
+    
+    /**
+     * Gives the regions currently recorded, after merging.
+     * @return A copy of the list of regions. No two of them overlap or touch.
+     */
+    public List<Rectangle> getRegions() {
+        List<Rectangle> copies = new ArrayList<>(this.regions.size());
+        for (Rectangle region : this.regions) {
+            copies.add(new Rectangle(region));
+        }
+        return copies;
+    }
+    
+    // Touching regions are merged too, since painting them as one costs no 
+    // more pixels than painting them separately
+    private static boolean touches(Rectangle a, Rectangle b) {
+        return a.x <= b.x + b.width && b.x <= a.x + a.width 
+                && a.y <= b.y + b.height && b.y <= a.y + a.height;
+    }
+    
+    /**
+     * Records a region as needing repainting. The region is clipped to the 
+     * tracker's bounds and merged with any recorded regions it touches.
+     * @param region The region. For example, the old bounds of a tree that 
+     * was dragged.
+     */
+    public void add(Rectangle region) {
+        Rectangle merged = region.intersection(this.bounds);
+        if (merged.isEmpty()) {
+            return;
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = this.regions.size() - 1; i > -1; i--) {
+                Rectangle existing = this.regions.get(i);
+                if (touches(existing, merged)) {
+                    merged = merged.union(existing);
+                    this.regions.remove(i);
+                    changed = true;
+                }
+            }
+        }
+        this.regions.add(merged);
+        if (this.regions.size() > MAX_REGIONS) {
+            Rectangle all = this.regions.get(0);
+            for (Rectangle other : this.regions) {
+                all = all.union(other);
+            }
+            this.regions.clear();
+            this.regions.add(all);
+        }
+    }
+    
+    /**
+     * Records a move, so that both where the object was and where it is now 
+     * get repainted.
+     * @param oldBounds The bounds before the move.
+     * @param newBounds The bounds after the move.
+     */
+    public void addMove(Rectangle oldBounds, Rectangle newBounds) {
+        this.add(oldBounds);
+        this.add(newBounds);
+    }
+    
+    public void clear() {
+        this.regions.clear();
+    }
+    
+    /**
+     * Repaints the recorded regions of a scene and then clears them. Each 
+     * region is painted separately, clipped, with all the scene's layers in 
+     * back to front order.
+     * @param g The graphics context to paint on, such as that of a back 
+     * buffer.
+     * @param scene The scene to paint.
+     * @return The regions that were repainted, e.g., so that a component can 
+     * ask for just those regions to be shown.
+     */
+    public List<Rectangle> repaint(Graphics g, Scene scene) {
+        List<Rectangle> painted = this.getRegions();
+        for (Rectangle region : painted) {
+            scene.paint(g, region);
+        }
+        this.regions.clear();
+        return painted;
+    }
+    
+    /**
+     * Creates a tracker with no recorded regions.
+     * @param bounds The area within which regions are tracked, usually the 
+     * bounds of the scene. For example, 0, 0, 800, 600.
+     */
+    public DamageTracker(Rectangle bounds) {
+        this.bounds = new Rectangle(bounds);
+    }
+    
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+import org.example.graphics.scene.DayCycle;
+
+/**
+ * Lights rendered pixels for the time of day. The day is divided into a fixed 
+ * number of slots, and for each slot there is a precomputed lookup table that 
+ * says what each red, green and blue value turns into at that time. Changing 
+ * the time of day selects a table, and lighting is then one pass over packed 
+ * ARGB pixels with three lookups per pixel, no matter how many trees, clouds 
+ * or waves went into those pixels. No {@code Color} objects are involved.
+ * <p>The tables are worked out from how high the sun and the moon are. At 
+ * noon the table is the identity. As the sun sets, the light warms and dims, 
+ * and at night it's a dim blue, brighter when the moon is high. Bright colors 
+ * are dimmed less than dark ones, so that the moon and the sun still stand 
+ * out.</p>
+ * <p>The tables never change once built, so lighting may be applied from 
+ * several threads at once, for example to different tiles.</p>
+ * @author Alonso del Arte
+ */
+public final class DayNightLighting {
+    
+    /**
+     * The default number of time slots in a day, one for every 15 minutes.
+     */
+    public static final int DEFAULT_SLOT_COUNT = 96;
+    
+    private static final int LEVELS = 256;
+    
+    private static final int GREEN_OFFSET = LEVELS;
+    
+    private static final int BLUE_OFFSET = 2 * LEVELS;
+    
+    private static final double[] NIGHT_LIGHT = {0.12, 0.15, 0.28};
+    
+    private static final double[] MOON_LIGHT = {0.06, 0.06, 0.10};
+    
+    private static final double[] TWILIGHT_TINT = {0.3, -0.05, -0.4};
+    
+    private static final double HIGHLIGHT_KEEP = 0.25;
+    
+    private static final double TWILIGHT_WIDTH = 0.2;
+    
+    private final int[][] tables;
+    
+    private final boolean[] identities;
+    
+    private volatile int slot;
+    
+    public int getSlotCount() {
+        return this.tables.length;
+    }
+    
+    /**
+     * Tells which time slot is selected.
+     * @return The slot, from 0 for midnight to one less than the slot count.
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+    
+    /**
+     * Selects the table for a time of day.
+     * @param timeOfDay The time of day, as a fraction of a day. For example, 
+     * 0.75 for sunset.
+     * @return True if this selected a different table than before, in which 
+     * case everything lit with the old table needs lighting again; false if 
+     * the table is the same.
+     */
+    public boolean setTimeOfDay(double timeOfDay) {
+        double fraction = timeOfDay - Math.floor(timeOfDay);
+        int count = this.tables.length;
+        int selected = (int) Math.round(fraction * count) % count;
+        boolean changed = selected != this.slot;
+        this.slot = selected;
+        return changed;
+    }
+    
+    /**
+     * Tells whether the selected table leaves colors as they are.
+     * @return True at midday, false otherwise.
+     */
+    public boolean isIdentity() {
+        return this.identities[this.slot];
+    }
+    
+    /**
+     * Lights a single packed ARGB color with the selected table.
+     * @param argb The color. For example, 0xFF87CEEB.
+     * @return The lit color, with the same alpha.
+     */
+    public int light(int argb) {
+        int[] table = this.tables[this.slot];
+        return (argb & 0xFF000000) | table[(argb >> 16) & 0xFF] 
+                | table[GREEN_OFFSET + ((argb >> 8) & 0xFF)] 
+                | table[BLUE_OFFSET + (argb & 0xFF)];
+    }
+    
+    /**
+     * Lights a run of packed ARGB pixels with the selected table, in the 
+     * manner of {@code System.arraycopy()}. The source and destination may be 
+     * the same array and range, to light pixels in place.
+     * @param source The pixels to light.
+     * @param sourcePos Where in {@code source} to start.
+     * @param destination Where to put the lit pixels.
+     * @param destinationPos Where in {@code destination} to start.
+     * @param length How many pixels to light.
+     */
+    public void apply(int[] source, int sourcePos, int[] destination, 
+            int destinationPos, int length) {
+        int current = this.slot;
+        if (this.identities[current]) {
+            if (source != destination || sourcePos != destinationPos) {
+                System.arraycopy(source, sourcePos, destination, 
+                        destinationPos, length);
+            }
+            return;
+        }
+        int[] table = this.tables[current];
+        for (int i = 0; i < length; i++) {
+            int argb = source[sourcePos + i];
+            destination[destinationPos + i] = (argb & 0xFF000000) 
+                    | table[(argb >> 16) & 0xFF] 
+                    | table[GREEN_OFFSET + ((argb >> 8) & 0xFF)] 
+                    | table[BLUE_OFFSET + (argb & 0xFF)];
+        }
+    }
+    
+    private static int[] pixelsOf(BufferedImage image) {
+        int type = image.getType();
+        if (type != BufferedImage.TYPE_INT_RGB 
+                && type != BufferedImage.TYPE_INT_ARGB) {
+            String excMsg = "Image type " + type 
+                    + " is not supported, use TYPE_INT_RGB or TYPE_INT_ARGB";
+            throw new IllegalArgumentException(excMsg);
+        }
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+    
+    /**
+     * Lights part of an image, copying the lit pixels into another image of 
+     * the same size. The source image is left as it is, so it can be lit 
+     * again when the time of day changes.
+     * @param source The unlit image.
+     * @param target The image to put the lit pixels in. It may be the same as 
+     * {@code source}.
+     * @param region The part of the image to light. It's clipped to the 
+     * images.
+     * @throws IllegalArgumentException If either image is not of type {@code 
+     * TYPE_INT_RGB} or {@code TYPE_INT_ARGB}, or if the images are not the 
+     * same width.
+     */
+    public void apply(BufferedImage source, BufferedImage target, 
+            Rectangle region) {
+        int[] from = pixelsOf(source);
+        int[] to = pixelsOf(target);
+        int stride = source.getWidth();
+        if (target.getWidth() != stride) {
+            String excMsg = "Images should be the same width, not " + stride 
+                    + " and " + target.getWidth();
+            throw new IllegalArgumentException(excMsg);
+        }
+        Rectangle area = region.intersection(new Rectangle(stride, 
+                Math.min(source.getHeight(), target.getHeight())));
+        if (area.isEmpty()) {
+            return;
+        }
+        for (int y = area.y; y < area.y + area.height; y++) {
+            int offset = y * stride + area.x;
+            this.apply(from, offset, to, offset, area.width);
+        }
+    }
+    
+    private static int toLevel(double value) {
+        return (int) Math.round(Math.clamp(value, 0.0, 1.0) * (LEVELS - 1));
+    }
+    
+    private static int[] makeTable(double timeOfDay) {
+        double sun = DayCycle.getSunElevation(timeOfDay);
+        double moon = Math.max(0.0, DayCycle.getMoonElevation(timeOfDay));
+        double t = Math.clamp((sun + 0.1) / 0.4, 0.0, 1.0);
+        double day = t * t * (3.0 - 2.0 * t);
+        double twilight = Math.exp(-(sun / TWILIGHT_WIDTH) 
+                * (sun / TWILIGHT_WIDTH)) * day;
+        int[] table = new int[3 * LEVELS];
+        for (int channel = 0; channel < 3; channel++) {
+            double night = NIGHT_LIGHT[channel] + moon * MOON_LIGHT[channel];
+            double gain = (night + (1.0 - night) * day) 
+                    * (1.0 + TWILIGHT_TINT[channel] * twilight);
+            double keep = HIGHLIGHT_KEEP * (1.0 - day);
+            int shift = 16 - 8 * channel;
+            for (int level = 0; level < LEVELS; level++) {
+                double x = (double) level / (LEVELS - 1);
+                double lit = gain * x + keep * x * x;
+                table[channel * LEVELS + level] = toLevel(lit) << shift;
+            }
+        }
+        return table;
+    }
+    
+    private static boolean isIdentity(int[] table) {
+        for (int channel = 0; channel < 3; channel++) {
+            int shift = 16 - 8 * channel;
+            for (int level = 0; level < LEVELS; level++) {
+                if (table[channel * LEVELS + level] != level << shift) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    public DayNightLighting() {
+        this(DEFAULT_SLOT_COUNT);
+    }
+    
+    /**
+     * Builds the lookup tables for the day. Noon is selected to begin with.
+     * @param slotCount How many time slots to divide the day into. For 
+     * example, 96.
+     * @throws IllegalArgumentException If {@code slotCount} is not positive.
+     */
+    public DayNightLighting(int slotCount) {
+        if (slotCount < 1) {
+            String excMsg = "Slot count " + slotCount + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.tables = new int[slotCount][];
+        this.identities = new boolean[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            this.tables[i] = makeTable((double) i / slotCount);
+            this.identities[i] = isIdentity(this.tables[i]);
+        }
+        this.slot = (slotCount / 2) % slotCount;
+    }
+    
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+/**
+ * How much detail a tree is painted with, depending on how big it is on 
+ * screen. Chosen by {@link LevelOfDetailPainter}.
+ * @author Alonso del Arte
+ */
+public enum DetailLevel {
+    
+    /**
+     * The trunk and an oval canopy, or whatever the full detail painter 
+     * paints, such as a sprite.
+     */
+    FULL,
+    
+    /**
+     * The trunk and a canopy of three rectangles.
+     */
+    SIMPLIFIED,
+    
+    /**
+     * A single rectangle of leaf color, which may be as small as a pixel.
+     */
+    BLOCK
+    
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+
+import org.example.graphics.scene.Tree;
+import org.example.graphics.scene.TreePainter;
+
+/**
+ * Paints each tree with as much detail as its size on screen calls for. The 
+ * size on screen is the larger of the width and height of the tree, times the 
+ * scale of the graphics context's transform, so zooming out with {@code 
+ * Graphics2D.scale()} brings the cheaper levels in without the scene knowing 
+ * about the zoom.
+ * <ul>
+ * <li>At or above the full detail threshold, the tree is painted by the full 
+ * detail painter.</li>
+ * <li>Below that, down to the block threshold, the tree is drawn with {@link 
+ * Tree#drawSimplified(Graphics, int, int, int, int, Color)}.</li>
+ * <li>Below the block threshold, the tree is drawn with {@link 
+ * Tree#drawBlock(Graphics, int, int, int, int, Color)}.</li>
+ * </ul>
+ * <p>Painting a run of trees through the painter from {@link 
+ * #forPass(Graphics)} works out the scale once for the whole run, and makes 
+ * a new {@code Color} only when the leaf color changes from one tree to the 
+ * next, rather than once per tree. This painter holds no mutable state, so 
+ * it can be shared by several rendering threads, as long as the full detail 
+ * painter can be.</p>
+ * @author Alonso del Arte
+ */
+public class LevelOfDetailPainter implements TreePainter {
+    
+    /**
+     * The default smallest size on screen, in pixels, for full detail.
+     */
+    public static final int DEFAULT_FULL_THRESHOLD = 24;
+    
+    /**
+     * The default smallest size on screen, in pixels, for simplified trees.
+     */
+    public static final int DEFAULT_BLOCK_THRESHOLD = 8;
+    
+    private static final TreePainter VECTOR_DRAWING 
+            = (g, x, y, width, height, leafARGB) -> Tree.draw(g, x, y, width, 
+                    height, new Color(leafARGB, true));
+    
+    private final TreePainter fullDetail;
+    
+    private final int fullThreshold;
+    
+    private final int blockThreshold;
+    
+    public int getFullThreshold() {
+        return this.fullThreshold;
+    }
+    
+    public int getBlockThreshold() {
+        return this.blockThreshold;
+    }
+    
+    /**
+     * Chooses the detail level for a tree of a given size on screen.
+     * @param onScreenSize The larger of the width and height of the tree on 
+     * screen, in pixels. For example, 12.5.
+     * @return The detail level. For example, {@link DetailLevel#SIMPLIFIED} 
+     * with the default thresholds.
+     */
+    public DetailLevel levelFor(double onScreenSize) {
+        if (onScreenSize >= this.fullThreshold) {
+            return DetailLevel.FULL;
+        }
+        if (onScreenSize >= this.blockThreshold) {
+            return DetailLevel.SIMPLIFIED;
+        }
+        return DetailLevel.BLOCK;
+    }
+    
+    /**
+     * Tells how much a graphics context enlarges what's drawn on it.
+     * @param g The graphics context.
+     * @return The larger of the horizontal and vertical scale of the 
+     * transform. For example, 0.25 when zoomed out to a quarter. Always 1.0 
+     * if {@code g} is not a {@code Graphics2D}.
+     */
+    static double scaleOf(Graphics g) {
+        if (g instanceof Graphics2D g2) {
+            AffineTransform transform = g2.getTransform();
+            return Math.max(Math.hypot(transform.getScaleX(), 
+                    transform.getShearY()), Math.hypot(transform.getShearX(), 
+                    transform.getScaleY()));
+        }
+        return 1.0;
+    }
+    
+    /**
+     * Gives a painter for a run of trees that uses the scale of a graphics 
+     * context as it is now, for as long as the run lasts.
+     * @param g The graphics context the trees are to be painted on.
+     * @return A painter for the run, to be used only by the calling thread.
+     */
+    @Override
+    public TreePainter forPass(Graphics g) {
+        return new Pass(scaleOf(g), this.fullDetail.forPass(g));
+    }
+    
+    /**
+     * Paints one tree at the detail level for its size on screen. This looks 
+     * at the transform of {@code g}, so for more than a few trees, it's 
+     * quicker to paint them through {@link #forPass(Graphics)}.
+     * @param g The graphics context to paint on.
+     * @param x The <i>x</i> coordinate of the top left corner. For example, 
+     * 200.
+     * @param y The <i>y</i> coordinate of the top left corner. For example, 
+     * 350.
+     * @param width The width of the tree. For example, 50.
+     * @param height The height of the tree. For example, 100.
+     * @param leafARGB The leaf color packed as ARGB. For example, 0xFF228B22.
+     */
+    @Override
+    public void paint(Graphics g, int x, int y, int width, int height, 
+            int leafARGB) {
+        this.forPass(g).paint(g, x, y, width, height, leafARGB);
+    }
+    
+    /**
+     * Creates a painter with the default thresholds that draws full detail 
+     * trees as vector shapes.
+     */
+    public LevelOfDetailPainter() {
+        this(VECTOR_DRAWING, DEFAULT_FULL_THRESHOLD, DEFAULT_BLOCK_THRESHOLD);
+    }
+    
+    /**
+     * Creates a painter.
+     * @param fullDetail What paints trees at full detail, such as a {@link 
+     * TreeSpriteCache}.
+     * @param fullThreshold The smallest size on screen, in pixels, for full 
+     * detail. For example, 24.
+     * @param blockThreshold The smallest size on screen, in pixels, for 
+     * simplified trees; trees smaller than this are drawn as blocks. May be 
+     * equal to {@code fullThreshold}, in which case no trees are simplified. 
+     * For example, 8.
+     * @throws IllegalArgumentException If {@code blockThreshold} is negative 
+     * or greater than {@code fullThreshold}.
+     * @throws NullPointerException If {@code fullDetail} is null.
+     */
+    public LevelOfDetailPainter(TreePainter fullDetail, int fullThreshold, 
+            int blockThreshold) {
+        if (fullDetail == null) {
+            String excMsg = "Full detail painter should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        if (blockThreshold < 0 || blockThreshold > fullThreshold) {
+            String excMsg = "Block threshold " + blockThreshold 
+                    + " should be from 0 to full detail threshold " 
+                    + fullThreshold;
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.fullDetail = fullDetail;
+        this.fullThreshold = fullThreshold;
+        this.blockThreshold = blockThreshold;
+    }
+    
+    // Paints trees at one scale, keeping the last leaf color so that trees
+    // of the same color, which a render queue puts next to each other,
+    // share one Color
+    private final class Pass implements TreePainter {
+        
+        private final double scale;
+        
+        private final TreePainter fullDetailPass;
+        
+        private Color leafColor = null;
+        
+        private int leafColorARGB = 0;
+        
+        private Color colorFor(int leafARGB) {
+            if (this.leafColor == null || leafARGB != this.leafColorARGB) {
+                this.leafColor = new Color(leafARGB, true);
+                this.leafColorARGB = leafARGB;
+            }
+            return this.leafColor;
+        }
+        
+        @Override
+        public void paint(Graphics g, int x, int y, int width, int height, 
+                int leafARGB) {
+            double onScreenSize = Math.max(width, height) * this.scale;
+            switch (LevelOfDetailPainter.this.levelFor(onScreenSize)) {
+                case FULL -> {
+                    if (this.fullDetailPass == VECTOR_DRAWING) {
+                        Tree.draw(g, x, y, width, height, 
+                                this.colorFor(leafARGB));
+                    } else {
+                        this.fullDetailPass.paint(g, x, y, width, height, 
+                                leafARGB);
+                    }
+                }
+                case SIMPLIFIED -> Tree.drawSimplified(g, x, y, width, 
+                        height, this.colorFor(leafARGB));
+                case BLOCK -> Tree.drawBlock(g, x, y, width, height, 
+                        this.colorFor(leafARGB));
+            }
+        }
+        
+        Pass(double scale, TreePainter fullDetailPass) {
+            this.scale = scale;
+            this.fullDetailPass = fullDetailPass;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,554 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.example.graphics.scene.Scene;
+
+/**
+ * Renders a scene straight into a PNG file, one band of scanlines at a time, 
+ * without ever holding the whole image. This is meant for images too big to 
+ * keep in memory, such as a 16384 &times; 16384 poster.
+ * <p>Each band is rendered, filtered and compressed on its own by a pool of 
+ * threads. Each row is filtered with whichever of the PNG Sub and Up filters 
+ * gives the smaller sum of absolute differences. The first row of a band 
+ * always uses Sub, since it can't see the row above it. The band is then 
+ * compressed into a separate stretch of the deflate stream, ended with a 
+ * sync flush so that the stretches can be joined end to end. The last 
+ * stretch is finished instead. The stream's Adler-32 checksum is put 
+ * together from the checksums of the bands, as zlib does it. The calling 
+ * thread writes the bands out in order as IDAT chunks, each with its CRC.</p>
+ * <p>No more than a fixed number of bands are in flight at once, rendered or 
+ * being rendered but not yet written. A slow output makes the renderers wait 
+ * rather than pile up bands in memory. Peak memory is therefore a few bands, 
+ * plus whatever the scene itself takes.</p>
+ * <p>The scene must not be changed while it's being exported.</p>
+ * @author Alonso del Arte
+ */
+public class StreamingPngExporter {
+    
+    /**
+     * The default height of a band, in rows.
+     */
+    public static final int DEFAULT_BAND_HEIGHT = 32;
+    
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', 
+        '\r', '\n', 0x1A, '\n'};
+    
+    private static final int IHDR = chunkType("IHDR");
+    
+    private static final int IDAT = chunkType("IDAT");
+    
+    private static final int IEND = chunkType("IEND");
+    
+    private static final byte[] ZLIB_HEADER = {0x78, (byte) 0x9C};
+    
+    private static final int ADLER_BASE = 65521;
+    
+    private static final int BYTES_PER_PIXEL = 3;
+    
+    private static final byte FILTER_SUB = 1;
+    
+    private static final byte FILTER_UP = 2;
+    
+    private final int bandHeight;
+    
+    private final int parallelism;
+    
+    private final int maxBandsInFlight;
+    
+    private final int compressionLevel;
+    
+    public int getBandHeight() {
+        return this.bandHeight;
+    }
+    
+    public int getParallelism() {
+        return this.parallelism;
+    }
+    
+    /**
+     * Tells how many bands may be in flight at once.
+     * @return Twice the parallelism, so that each thread has a band to work 
+     * on while the bands before it are being written.
+     */
+    public int getMaxBandsInFlight() {
+        return this.maxBandsInFlight;
+    }
+    
+    private static int chunkType(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+        return (bytes[0] << 24) | (bytes[1] << 16) | (bytes[2] << 8) 
+                | bytes[3];
+    }
+    
+    /**
+     * Combines the Adler-32 checksums of two stretches of data into the 
+     * checksum of the two stretches one after the other, the same way as 
+     * zlib's {@code adler32_combine()}.
+     * @param first The checksum of the first stretch.
+     * @param second The checksum of the second stretch.
+     * @param secondLength The length of the second stretch, in bytes.
+     * @return The checksum of both stretches together.
+     */
+    static long combineAdler32(long first, long second, long secondLength) {
+        long remainder = secondLength % ADLER_BASE;
+        long sum1 = first & 0xFFFF;
+        long sum2 = (remainder * sum1) % ADLER_BASE;
+        sum1 += (second & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += ((first >> 16) & 0xFFFF) + ((second >> 16) & 0xFFFF) 
+                + ADLER_BASE - remainder;
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum2 >= 2 * ADLER_BASE) {
+            sum2 -= 2 * ADLER_BASE;
+        }
+        if (sum2 >= ADLER_BASE) {
+            sum2 -= ADLER_BASE;
+        }
+        return sum1 | (sum2 << 16);
+    }
+    
+    private static int writeChunk(DataOutputStream out, int type, 
+            byte[] data, int length) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(type >>> 24);
+        crc.update(type >>> 16);
+        crc.update(type >>> 8);
+        crc.update(type);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.writeInt(type);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+        return 12 + length;
+    }
+    
+    private static void filterRow(int[] pixels, int width, int row, 
+            byte[] out, int offset) {
+        int rowStart = row * width;
+        long subSum = 0L;
+        long upSum = 0L;
+        for (int x = 0; x < width; x++) {
+            int pixel = pixels[rowStart + x];
+            int left = x == 0 ? 0 : pixels[rowStart + x - 1];
+            int above = row == 0 ? 0 : pixels[rowStart - width + x];
+            for (int shift = 16; shift >= 0; shift -= 8) {
+                int value = (pixel >> shift) & 0xFF;
+                subSum += Math.abs((byte) (value - ((left >> shift) & 0xFF)));
+                upSum += Math.abs((byte) (value - ((above >> shift) & 0xFF)));
+            }
+        }
+        boolean up = row > 0 && upSum < subSum;
+        out[offset] = up ? FILTER_UP : FILTER_SUB;
+        int o = offset + 1;
+        for (int x = 0; x < width; x++) {
+            int pixel = pixels[rowStart + x];
+            int reference;
+            if (up) {
+                reference = pixels[rowStart - width + x];
+            } else {
+                reference = x == 0 ? 0 : pixels[rowStart + x - 1];
+            }
+            out[o++] = (byte) ((pixel >> 16) - (reference >> 16));
+            out[o++] = (byte) ((pixel >> 8) - (reference >> 8));
+            out[o++] = (byte) (pixel - reference);
+        }
+    }
+    
+    private Band encodeBand(Scene scene, int width, int top, int rows, 
+            boolean last) {
+        long start = System.nanoTime();
+        BufferedImage image = new BufferedImage(width, rows, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.translate(0, -top);
+        scene.paint(g, new Rectangle(0, top, width, rows));
+        g.dispose();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        long rendered = System.nanoTime();
+        int rowBytes = 1 + BYTES_PER_PIXEL * width;
+        byte[] filtered = new byte[rowBytes * rows];
+        for (int row = 0; row < rows; row++) {
+            filterRow(pixels, width, row, filtered, row * rowBytes);
+        }
+        Adler32 adler = new Adler32();
+        adler.update(filtered);
+        Deflater deflater = new Deflater(this.compressionLevel, true);
+        byte[] compressed = new byte[filtered.length / 8 + 64];
+        int length = 0;
+        try {
+            deflater.setInput(filtered);
+            if (last) {
+                deflater.finish();
+            }
+            while (true) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, 2 * length);
+                }
+                int room = compressed.length - length;
+                int n = deflater.deflate(compressed, length, room, 
+                        last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                length += n;
+                boolean done = last ? deflater.finished() : n < room;
+                if (done) {
+                    break;
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        return new Band(compressed, length, adler.getValue(), 
+                filtered.length, rendered - start, 
+                System.nanoTime() - rendered);
+    }
+    
+    /**
+     * Exports a scene to a PNG file.
+     * @param scene The scene to export. The whole scene is exported, at its 
+     * own size.
+     * @param path Where to write the file. It's replaced if it already 
+     * exists.
+     * @return Statistics for the export.
+     * @throws IOException If the file can't be written.
+     * @throws InterruptedException If the calling thread is interrupted while 
+     * waiting for a band.
+     */
+    public Statistics export(Scene scene, Path path) throws IOException, 
+            InterruptedException {
+        try (OutputStream out = Files.newOutputStream(path)) {
+            return this.export(scene, out);
+        }
+    }
+    
+    /**
+     * Exports a scene as a PNG image to a stream.
+     * @param scene The scene to export. The whole scene is exported, at its 
+     * own size.
+     * @param stream Where to write the image. It's not closed afterwards.
+     * @return Statistics for the export.
+     * @throws IOException If the stream can't be written to.
+     * @throws InterruptedException If the calling thread is interrupted while 
+     * waiting for a band.
+     */
+    public Statistics export(Scene scene, OutputStream stream) 
+            throws IOException, InterruptedException {
+        Statistics stats = new Statistics();
+        long start = System.nanoTime();
+        Rectangle bounds = scene.getBounds();
+        int width = bounds.width;
+        int height = bounds.height;
+        stats.width = width;
+        stats.height = height;
+        DataOutputStream out = new DataOutputStream(stream);
+        out.write(SIGNATURE);
+        long byteCount = SIGNATURE.length;
+        byte[] header = new byte[13];
+        header[0] = (byte) (width >>> 24);
+        header[1] = (byte) (width >>> 16);
+        header[2] = (byte) (width >>> 8);
+        header[3] = (byte) width;
+        header[4] = (byte) (height >>> 24);
+        header[5] = (byte) (height >>> 16);
+        header[6] = (byte) (height >>> 8);
+        header[7] = (byte) height;
+        header[8] = 8;
+        header[9] = 2;
+        byteCount += writeChunk(out, IHDR, header, header.length);
+        byteCount += writeChunk(out, IDAT, ZLIB_HEADER, ZLIB_HEADER.length);
+        int bandCount = (height + this.bandHeight - 1) / this.bandHeight;
+        stats.bandCount = bandCount;
+        long adler = 1L;
+        ExecutorService pool = Executors.newFixedThreadPool(this.parallelism);
+        try {
+            Queue<Future<Band>> inFlight = new ArrayDeque<>();
+            int submitted = 0;
+            for (int written = 0; written < bandCount; written++) {
+                while (submitted < bandCount 
+                        && inFlight.size() < this.maxBandsInFlight) {
+                    int top = submitted * this.bandHeight;
+                    int rows = Math.min(this.bandHeight, height - top);
+                    boolean last = submitted == bandCount - 1;
+                    inFlight.add(pool.submit(() -> this.encodeBand(scene, 
+                            width, top, rows, last)));
+                    submitted++;
+                    stats.peakBandsInFlight = Math.max(stats.peakBandsInFlight, 
+                            inFlight.size());
+                }
+                Band band = awaitBand(inFlight.remove());
+                byteCount += writeChunk(out, IDAT, band.compressed, 
+                        band.length);
+                adler = combineAdler32(adler, band.adler, band.rawLength);
+                stats.renderNanos += band.renderNanos;
+                stats.deflateNanos += band.deflateNanos;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        byte[] trailer = {(byte) (adler >>> 24), (byte) (adler >>> 16), 
+            (byte) (adler >>> 8), (byte) adler};
+        byteCount += writeChunk(out, IDAT, trailer, trailer.length);
+        byteCount += writeChunk(out, IEND, trailer, 0);
+        out.flush();
+        stats.byteCount = byteCount;
+        stats.wallNanos = System.nanoTime() - start;
+        return stats;
+    }
+    
+    private static Band awaitBand(Future<Band> future) throws IOException, 
+            InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException ee) {
+            Throwable cause = ee.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("Band could not be encoded", cause);
+        }
+    }
+    
+    /**
+     * Creates an exporter with the default band height and compression level 
+     * that uses as many threads as there are processors.
+     */
+    public StreamingPngExporter() {
+        this(DEFAULT_BAND_HEIGHT, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Creates an exporter with the default compression level.
+     * @param bandHeight How many rows to render and compress at a time. For 
+     * example, 32.
+     * @param parallelism How many threads render and compress bands. For 
+     * example, 8.
+     * @throws IllegalArgumentException If {@code bandHeight} or {@code 
+     * parallelism} is not positive.
+     */
+    public StreamingPngExporter(int bandHeight, int parallelism) {
+        this(bandHeight, parallelism, Deflater.DEFAULT_COMPRESSION);
+    }
+    
+    /**
+     * Creates an exporter.
+     * @param bandHeight How many rows to render and compress at a time. For 
+     * example, 32.
+     * @param parallelism How many threads render and compress bands. For 
+     * example, 8.
+     * @param compressionLevel The deflate compression level, from 0 for no 
+     * compression to 9 for the most, or &minus;1 for the default. For 
+     * example, 6.
+     * @throws IllegalArgumentException If {@code bandHeight} or {@code 
+     * parallelism} is not positive, or if {@code compressionLevel} is out of 
+     * range.
+     */
+    public StreamingPngExporter(int bandHeight, int parallelism, 
+            int compressionLevel) {
+        if (bandHeight < 1) {
+            String excMsg = "Band height " + bandHeight + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (parallelism < 1) {
+            String excMsg = "Parallelism " + parallelism 
+                    + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION 
+                || compressionLevel > Deflater.BEST_COMPRESSION) {
+            String excMsg = "Compression level " + compressionLevel 
+                    + " should be from -1 to 9";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.bandHeight = bandHeight;
+        this.parallelism = parallelism;
+        this.maxBandsInFlight = 2 * parallelism;
+        this.compressionLevel = compressionLevel;
+    }
+    
+    private static final class Band {
+        
+        private final byte[] compressed;
+        
+        private final int length;
+        
+        private final long adler;
+        
+        private final int rawLength;
+        
+        private final long renderNanos;
+        
+        private final long deflateNanos;
+        
+        Band(byte[] compressed, int length, long adler, int rawLength, 
+                long renderNanos, long deflateNanos) {
+            this.compressed = compressed;
+            this.length = length;
+            this.adler = adler;
+            this.rawLength = rawLength;
+            this.renderNanos = renderNanos;
+            this.deflateNanos = deflateNanos;
+        }
+        
+    }
+    
+    /**
+     * Throughput and timing for a finished export. Render and deflate times 
+     * are summed over all the threads, so they can add up to more than the 
+     * wall time.
+     */
+    public static final class Statistics {
+        
+        private int width;
+        
+        private int height;
+        
+        private int bandCount;
+        
+        private int peakBandsInFlight;
+        
+        private long byteCount;
+        
+        private long wallNanos;
+        
+        private long renderNanos;
+        
+        private long deflateNanos;
+        
+        /**
+         * How many bytes of PNG were written.
+         * @return The size of the PNG. For example, 180000000.
+         */
+        public long getByteCount() {
+            return this.byteCount;
+        }
+        
+        /**
+         * How many bytes of pixels went into the PNG, three per pixel.
+         * @return The size of the image uncompressed. For example, 
+         * 805306368 for a 16384 &times; 16384 image.
+         */
+        public long getPixelByteCount() {
+            return (long) BYTES_PER_PIXEL * this.width * this.height;
+        }
+        
+        public int getBandCount() {
+            return this.bandCount;
+        }
+        
+        /**
+         * How many bands were in flight at most, rendered or being rendered 
+         * but not yet written.
+         * @return The most bands in flight at once. For example, 16.
+         */
+        public int getPeakBandsInFlight() {
+            return this.peakBandsInFlight;
+        }
+        
+        /**
+         * How long the whole export took, from start to finish.
+         * @return The elapsed time in nanoseconds.
+         */
+        public long getWallNanos() {
+            return this.wallNanos;
+        }
+        
+        /**
+         * Time spent rendering bands, summed over all threads.
+         * @return The total rendering time in nanoseconds.
+         */
+        public long getRenderNanos() {
+            return this.renderNanos;
+        }
+        
+        /**
+         * Time spent filtering and compressing bands, summed over all 
+         * threads.
+         * @return The total filtering and compressing time in nanoseconds.
+         */
+        public long getDeflateNanos() {
+            return this.deflateNanos;
+        }
+        
+        /**
+         * Gives the export throughput, in megabytes of pixels per second of 
+         * wall time. Megabytes of pixels rather than of PNG, since how well 
+         * an image compresses depends on what's in it.
+         * @return Megabytes of pixels per second. For example, 120.5.
+         */
+        public double getMegabytesPerSecond() {
+            return this.wallNanos == 0L ? 0.0 
+                    : this.getPixelByteCount() * 1.0E3 / this.wallNanos;
+        }
+        
+        private double perBandMillis(long nanos) {
+            return this.bandCount == 0 ? 0.0 
+                    : nanos / 1.0E6 / this.bandCount;
+        }
+        
+        /**
+         * Summarizes the statistics on a few lines, suitable for printing at 
+         * the end of an export.
+         * @return A summary. For example, "16384x16384 in 6.512 s (123.7 
+         * MB/s of pixels, 27.6 MB written)" followed by a line per stage and 
+         * a line on memory.
+         */
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, 
+                    "%dx%d in %.3f s (%.1f MB/s of pixels, %.1f MB written)%n" 
+                    + "  render: %.3f ms/band%n" 
+                    + "  filter and deflate: %.3f ms/band%n" 
+                    + "  at most %d of %d bands in memory", 
+                    this.width, this.height, this.wallNanos / 1.0E9, 
+                    this.getMegabytesPerSecond(), this.byteCount / 1.0E6, 
+                    this.perBandMillis(this.renderNanos), 
+                    this.perBandMillis(this.deflateNanos), 
+                    this.peakBandsInFlight, this.bandCount);
+        }
+        
+    }
+    
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.example.graphics.scene.Scene;
+
+/**
+ * Renders a scene into an image by splitting the image into square tiles and 
+ * painting the tiles in parallel on a fork-join pool. Each tile is painted 
+ * into its own small image with the scene clipped to the tile, so layers and 
+ * trees that miss the tile are culled, and then copied into place. Since 
+ * every tile is painted the same way a single thread would paint that part of 
+ * the image, the result is pixel for pixel the same as painting the whole 
+ * scene at once.
+ * <p>Optionally, each tile can be lit for the time of day with a {@link 
+ * DayNightLighting} as it's copied into place, so lighting costs no extra 
+ * pass over the image and is done in parallel too.</p>
+ * <p>Tiling only pays off when the tiles are rendered in parallel. On one 
+ * thread, painting the tiles one after the other takes longer than painting 
+ * the scene at once, since every tile goes through the scene's render queue 
+ * on its own. So this is meant for one large image with processors to spare, 
+ * not for many scenes at once, which can keep every processor busy with a 
+ * scene of its own.</p>
+ * <p>The scene must not be changed while it's being rendered.</p>
+ * @author Alonso del Arte
+ */
+public class TiledRasterizer {
+    
+    /**
+     * The default width and height of a tile, in pixels.
+     */
+    public static final int DEFAULT_TILE_SIZE = 256;
+    
+    private final int tileSize;
+    
+    private final int parallelism;
+    
+    private volatile DayNightLighting lighting = null;
+    
+    public int getTileSize() {
+        return this.tileSize;
+    }
+    
+    public int getParallelism() {
+        return this.parallelism;
+    }
+    
+    public DayNightLighting getLighting() {
+        return this.lighting;
+    }
+    
+    /**
+     * Sets the lighting to apply to rendered tiles. The lighting's time of 
+     * day should not be changed during a render.
+     * @param lighting The lighting, or null to leave colors as painted.
+     */
+    public void setLighting(DayNightLighting lighting) {
+        this.lighting = lighting;
+    }
+    
+    /**
+     * Renders a scene into a new image the size of the scene.
+     * @param scene The scene to render.
+     * @return A new image of type {@code TYPE_INT_RGB}.
+     */
+    public BufferedImage render(Scene scene) {
+        Rectangle bounds = scene.getBounds();
+        BufferedImage image = new BufferedImage(bounds.width, bounds.height, 
+                BufferedImage.TYPE_INT_RGB);
+        this.render(scene, image);
+        return image;
+    }
+    
+    /**
+     * Renders a scene into an existing image. The part of the scene that fits 
+     * in the image is rendered, starting at the top left corner.
+     * @param scene The scene to render.
+     * @param target The image to render into. It must be of type {@code 
+     * TYPE_INT_RGB} or {@code TYPE_INT_ARGB}.
+     * @throws IllegalArgumentException If {@code target} is of some other 
+     * type.
+     */
+    public void render(Scene scene, BufferedImage target) {
+        int type = target.getType();
+        if (type != BufferedImage.TYPE_INT_RGB 
+                && type != BufferedImage.TYPE_INT_ARGB) {
+            String excMsg = "Image type " + type 
+                    + " is not supported, use TYPE_INT_RGB or TYPE_INT_ARGB";
+            throw new IllegalArgumentException(excMsg);
+        }
+        int columns = (target.getWidth() + this.tileSize - 1) / this.tileSize;
+        int rows = (target.getHeight() + this.tileSize - 1) / this.tileSize;
+        int tiles = columns * rows;
+        if (this.parallelism == 1 || tiles < 2) {
+            for (int tile = 0; tile < tiles; tile++) {
+                this.renderTile(scene, target, columns, tile);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+            try {
+                pool.invoke(new TileRange(scene, target, columns, 0, tiles));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+    
+    private void renderTile(Scene scene, BufferedImage target, int columns, 
+            int tile) {
+        int tileX = (tile % columns) * this.tileSize;
+        int tileY = (tile / columns) * this.tileSize;
+        int tileWidth = Math.min(this.tileSize, target.getWidth() - tileX);
+        int tileHeight = Math.min(this.tileSize, target.getHeight() - tileY);
+        BufferedImage tileImage = new BufferedImage(tileWidth, tileHeight, 
+                target.getType());
+        Graphics2D g = tileImage.createGraphics();
+        g.translate(-tileX, -tileY);
+        scene.paint(g, new Rectangle(tileX, tileY, tileWidth, tileHeight));
+        g.dispose();
+        int[] source = ((DataBufferInt) tileImage.getRaster().getDataBuffer())
+                .getData();
+        int[] destination = ((DataBufferInt) target.getRaster()
+                .getDataBuffer()).getData();
+        int stride = target.getWidth();
+        DayNightLighting light = this.lighting;
+        for (int row = 0; row < tileHeight; row++) {
+            if (light == null) {
+                System.arraycopy(source, row * tileWidth, destination, 
+                        (tileY + row) * stride + tileX, tileWidth);
+            } else {
+                light.apply(source, row * tileWidth, destination, 
+                        (tileY + row) * stride + tileX, tileWidth);
+            }
+        }
+    }
+    
+    /**
+     * Creates a rasterizer with the default tile size that uses as many 
+     * threads as there are processors.
+     */
+    public TiledRasterizer() {
+        this(DEFAULT_TILE_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Creates a rasterizer.
+     * @param tileSize The width and height of each tile. For example, 256.
+     * @param parallelism How many threads to use. With 1, the tiles are 
+     * rendered one after the other on the calling thread. For example, 8.
+     * @throws IllegalArgumentException If {@code tileSize} or {@code 
+     * parallelism} is not positive.
+     */
+    public TiledRasterizer(int tileSize, int parallelism) {
+        if (tileSize < 1) {
+            String excMsg = "Tile size " + tileSize + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (parallelism < 1) {
+            String excMsg = "Parallelism " + parallelism 
+                    + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.tileSize = tileSize;
+        this.parallelism = parallelism;
+    }
+    
+    private class TileRange extends RecursiveAction {
+        
+        private static final long serialVersionUID = 4553241787962013191L;
+        
+        private final transient Scene scene;
+        
+        private final transient BufferedImage target;
+        
+        private final int columns;
+        
+        private final int fromTile;
+        
+        private final int toTile;
+        
+        @Override
+        protected void compute() {
+            if (this.toTile - this.fromTile == 1) {
+                TiledRasterizer.this.renderTile(this.scene, this.target, 
+                        this.columns, this.fromTile);
+            } else {
+                int middle = (this.fromTile + this.toTile) >>> 1;
+                invokeAll(new TileRange(this.scene, this.target, this.columns, 
+                        this.fromTile, middle), 
+                        new TileRange(this.scene, this.target, this.columns, 
+                                middle, this.toTile));
+            }
+        }
+        
+        TileRange(Scene scene, BufferedImage target, int columns, 
+                int fromTile, int toTile) {
+            this.scene = scene;
+            this.target = target;
+            this.columns = columns;
+            this.fromTile = fromTile;
+            this.toTile = toTile;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.example.graphics.profiling.CacheLookupEvent;
+import org.example.graphics.scene.Tree;
+import org.example.graphics.scene.TreePainter;
+
+/**
+ * Pre-rendered tree images, so that each tree can be painted with one image 
+ * copy instead of as vector shapes. Trees are grouped into buckets by leaf 
+ * color and by size: colors are reduced to a number of bits per channel, and 
+ * widths and heights are rounded to a multiple of a step. The kept bits of 
+ * each channel are repeated into the dropped bits, so that fully opaque and 
+ * fully saturated channels stay that way. Each bucket is 
+ * rasterized once, the first time it's needed.
+ * <p>The sprites are kept within a memory budget. When adding a sprite would 
+ * exceed the budget, the least recently used sprites are evicted. Hits, 
+ * misses and evictions are counted so the budget and buckets can be tuned for 
+ * a particular scene.</p>
+ * <p>One cache can be shared by several rendering threads. Lookups and 
+ * updates are synchronized, but sprites are rasterized outside the lock, so 
+ * a thread that misses doesn't hold up the threads that hit. If two threads 
+ * miss on the same bucket at once, both rasterize it, and the sprite that's 
+ * cached first is the one both get back.</p>
+ * @author Alonso del Arte
+ */
+public class TreeSpriteCache implements TreePainter {
+    
+    /**
+     * The default memory budget, 16 megabytes.
+     */
+    public static final long DEFAULT_MAX_BYTES = 16L << 20;
+    
+    /**
+     * The default number of bits kept per color channel.
+     */
+    public static final int DEFAULT_COLOR_BITS = 5;
+    
+    /**
+     * The default size bucket step, in pixels.
+     */
+    public static final int DEFAULT_SIZE_STEP = 2;
+    
+    /**
+     * The largest width or height of a sprite, once rounded to the size step. 
+     * Trees larger than this are drawn as vector shapes instead.
+     */
+    public static final int MAX_SPRITE_MEASURE = 0xFFFF;
+    
+    private static final int BYTES_PER_PIXEL = 4;
+    
+    private final long maxBytes;
+    
+    private final int[] channelBuckets = new int[256];
+    
+    private final int sizeStep;
+    
+    private final GraphicsConfiguration configuration;
+    
+    private final LinkedHashMap<Long, BufferedImage> sprites 
+            = new LinkedHashMap<>(64, 0.75F, true);
+    
+    private long byteCount = 0L;
+    
+    private long hits = 0L;
+    
+    private long misses = 0L;
+    
+    private long evictions = 0L;
+    
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+    
+    /**
+     * Tells how much memory the cached sprites take up, counting four bytes 
+     * per pixel.
+     * @return The number of bytes. For example, 1048576.
+     */
+    public synchronized long getByteCount() {
+        return this.byteCount;
+    }
+    
+    public synchronized int size() {
+        return this.sprites.size();
+    }
+    
+    public synchronized long getHits() {
+        return this.hits;
+    }
+    
+    public synchronized long getMisses() {
+        return this.misses;
+    }
+    
+    public synchronized long getEvictions() {
+        return this.evictions;
+    }
+    
+    /**
+     * Gives the fraction of lookups that found a sprite already rendered.
+     * @return A number from 0.0 to 1.0, or 0.0 if there have been no lookups.
+     */
+    public synchronized double getHitRate() {
+        long lookups = this.hits + this.misses;
+        return lookups == 0L ? 0.0 : (double) this.hits / lookups;
+    }
+    
+    /**
+     * Sets the hit, miss and eviction counts back to 0. The cached sprites 
+     * are kept.
+     */
+    public synchronized void resetStatistics() {
+        this.hits = 0L;
+        this.misses = 0L;
+        this.evictions = 0L;
+    }
+    
+    public synchronized void clear() {
+        this.sprites.clear();
+        this.byteCount = 0L;
+    }
+    
+    private int bucketColor(int argb) {
+        int[] buckets = this.channelBuckets;
+        return (buckets[argb >>> 24] << 24) 
+                | (buckets[(argb >> 16) & 0xFF] << 16) 
+                | (buckets[(argb >> 8) & 0xFF] << 8) | buckets[argb & 0xFF];
+    }
+    
+    private int bucketSize(int measure) {
+        int step = this.sizeStep;
+        return Math.max(step, (measure + step / 2) / step * step);
+    }
+    
+    private BufferedImage rasterize(int width, int height, int argb) {
+        BufferedImage image;
+        if (this.configuration == null) {
+            image = new BufferedImage(width, height, 
+                    BufferedImage.TYPE_INT_ARGB_PRE);
+        } else {
+            image = this.configuration.createCompatibleImage(width, height, 
+                    Transparency.TRANSLUCENT);
+        }
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        Tree.draw(g, 0, 0, width, height, new Color(argb, true));
+        g.dispose();
+        return image;
+    }
+    
+    private synchronized BufferedImage lookUp(long key) {
+        BufferedImage sprite = this.sprites.get(key);
+        if (sprite == null) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return sprite;
+    }
+    
+    private synchronized BufferedImage store(long key, BufferedImage sprite) {
+        BufferedImage cached = this.sprites.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long spriteBytes = (long) sprite.getWidth() * sprite.getHeight() 
+                * BYTES_PER_PIXEL;
+        if (spriteBytes <= this.maxBytes) {
+            Iterator<Map.Entry<Long, BufferedImage>> eldest 
+                    = this.sprites.entrySet().iterator();
+            while (this.byteCount + spriteBytes > this.maxBytes 
+                    && eldest.hasNext()) {
+                BufferedImage evicted = eldest.next().getValue();
+                eldest.remove();
+                this.byteCount -= (long) evicted.getWidth() 
+                        * evicted.getHeight() * BYTES_PER_PIXEL;
+                this.evictions++;
+            }
+            this.sprites.put(key, sprite);
+            this.byteCount += spriteBytes;
+        }
+        return sprite;
+    }
+    
+    private boolean fits(int width, int height) {
+        return width <= MAX_SPRITE_MEASURE && height <= MAX_SPRITE_MEASURE 
+                && this.bucketSize(width) <= MAX_SPRITE_MEASURE 
+                && this.bucketSize(height) <= MAX_SPRITE_MEASURE;
+    }
+    
+    /**
+     * Gets the sprite for a tree, rendering it if necessary. The rendering is 
+     * done without holding the cache's lock.
+     * @param width The width of the tree. For example, 47.
+     * @param height The height of the tree. For example, 93.
+     * @param leafARGB The leaf color packed as ARGB. For example, 0xFF228B22.
+     * @return The sprite for the bucket the tree falls in. Its size is the 
+     * bucket size, which may differ slightly from the requested size.
+     * @throws IllegalArgumentException If {@code width} or {@code height}, 
+     * rounded to the size step, is more than {@link #MAX_SPRITE_MEASURE}.
+     */
+    public BufferedImage getSprite(int width, int height, int leafARGB) {
+        if (!this.fits(width, height)) {
+            String excMsg = "Tree size " + width + "x" + height 
+                    + " is too large for a sprite, should be at most " 
+                    + MAX_SPRITE_MEASURE + " each way";
+            throw new IllegalArgumentException(excMsg);
+        }
+        int bucketWidth = this.bucketSize(width);
+        int bucketHeight = this.bucketSize(height);
+        int bucketARGB = this.bucketColor(leafARGB);
+        long key = ((long) bucketARGB << 32) | ((long) bucketWidth << 16) 
+                | bucketHeight;
+        CacheLookupEvent event = CacheLookupEvent.start();
+        BufferedImage sprite = this.lookUp(key);
+        if (sprite != null) {
+            event.finish(CacheLookupEvent.TREE_SPRITES, key, true);
+            return sprite;
+        }
+        sprite = this.store(key, this.rasterize(bucketWidth, bucketHeight, 
+                bucketARGB));
+        event.finish(CacheLookupEvent.TREE_SPRITES, key, false);
+        return sprite;
+    }
+    
+    /**
+     * Paints a tree by copying its sprite to the specified location. A tree 
+     * too large for a sprite is drawn as vector shapes instead.
+     * @param g The graphics context to paint on.
+     * @param x The <i>x</i> coordinate of the top left corner. For example, 
+     * 200.
+     * @param y The <i>y</i> coordinate of the top left corner. For example, 
+     * 350.
+     * @param width The width of the tree. For example, 50.
+     * @param height The height of the tree. For example, 100.
+     * @param leafARGB The leaf color packed as ARGB. For example, 0xFF228B22.
+     */
+    @Override
+    public void paint(Graphics g, int x, int y, int width, int height, 
+            int leafARGB) {
+        if (this.fits(width, height)) {
+            g.drawImage(this.getSprite(width, height, leafARGB), x, y, null);
+        } else {
+            Tree.draw(g, x, y, width, height, new Color(leafARGB, true));
+        }
+    }
+    
+    /**
+     * Creates a cache with the default budget and buckets, producing plain 
+     * ARGB images.
+     */
+    public TreeSpriteCache() {
+        this(DEFAULT_MAX_BYTES, DEFAULT_COLOR_BITS, DEFAULT_SIZE_STEP, null);
+    }
+    
+    /**
+     * Creates a cache.
+     * @param maxBytes The memory budget for the sprites, counting four bytes 
+     * per pixel. For example, 16777216.
+     * @param colorBits How many of the high bits of each color channel to 
+     * keep, from 1 to 8. With 8, every distinct color gets its own sprite. 
+     * For example, 5.
+     * @param sizeStep The size bucket step in pixels. With 1, every distinct 
+     * size gets its own sprite. For example, 2.
+     * @param configuration The graphics configuration to make sprites 
+     * compatible with, such as that of the window the scene will be shown 
+     * in. May be null, in which case plain premultiplied ARGB images are made, 
+     * as is appropriate for headless rendering.
+     * @throws IllegalArgumentException If {@code maxBytes} or {@code 
+     * sizeStep} is not positive, or if {@code colorBits} is not from 1 to 8.
+     */
+    public TreeSpriteCache(long maxBytes, int colorBits, int sizeStep, 
+            GraphicsConfiguration configuration) {
+        if (maxBytes < 1L) {
+            String excMsg = "Memory budget " + maxBytes 
+                    + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (colorBits < 1 || colorBits > 8) {
+            String excMsg = "Color bits " + colorBits 
+                    + " should be from 1 to 8";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (sizeStep < 1) {
+            String excMsg = "Size step " + sizeStep + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.maxBytes = maxBytes;
+        int channelMask = (0xFF << (8 - colorBits)) & 0xFF;
+        for (int value = 0; value < 256; value++) {
+            int kept = value & channelMask;
+            int bucket = kept;
+            for (int shift = colorBits; shift < 8; shift += colorBits) {
+                bucket |= kept >> shift;
+            }
+            this.channelBuckets[value] = bucket;
+        }
+        this.sizeStep = sizeStep;
+        this.configuration = configuration;
+    }
+    
+}
@@ -1,13 +1,300 @@
 /*
- * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
- * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
  */
 package org.example.graphics.scene;
 
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
 /**
- *
- * @author al
+ * A cloud, drawn from fractal noise shaped into a few overlapping puffs. The 
+ * noise is costly to compute, so it's turned into a translucent texture once, 
+ * the first time the cloud is drawn, and from then on drawing the cloud is a 
+ * matter of copying the texture to wherever the cloud has drifted to.
+ * <p>A cloud can drift sideways across the sky, one fixed timestep at a time, 
+ * wrapping around to the other side when it goes off the edge. As with the 
+ * ocean, stepping should not happen while the cloud is being drawn, but 
+ * several threads may draw the cloud at the same time.</p>
+ * @author Alonso del Arte
  */
 public class Cloud {
     
+    static final Color DEFAULT_COLOR = new Color(0xF0FFFFFF, true);
+    
+    static final long DEFAULT_TEXTURE_SEED = 0xC10D5L;
+    
+    private static final int SHADE_RGB = 0xC8D0DC;
+    
+    private static final int OCTAVES = 4;
+    
+    private static final float PERSISTENCE = 0.5F;
+    
+    private static final int PUFF_CELL_SIZE = 24;
+    
+    private static final double COVERAGE_BIAS = 0.25;
+    
+    private static final double EDGE_SHARPNESS = 3.0;
+    
+    private static final int FRACTION_BITS = 8;
+    
+    private final int width;
+    
+    private final int height;
+    
+    private final int y;
+    
+    private final long textureSeed;
+    
+    private int x;
+    
+    private int previousX;
+    
+    private int alpha = 1 << FRACTION_BITS;
+    
+    private int drift = 0;
+    
+    private int wrapWidth = 0;
+    
+    private volatile BufferedImage texture = null;
+    
+    private int drawnX() {
+        return (this.previousX + (((this.x - this.previousX) * this.alpha) 
+                >> FRACTION_BITS)) >> FRACTION_BITS;
+    }
+    
+    /**
+     * Tells where the cloud is drawn, taking interpolation into account.
+     * @return The bounds of the cloud. For example, 200 &times; 60 at (100, 
+     * 40).
+     */
+    public Rectangle getBounds() {
+        return new Rectangle(this.drawnX(), this.y, this.width, this.height);
+    }
+    
+    /**
+     * Sets the cloud drifting.
+     * @param pixelsPerStep How far the cloud moves in each step, which can be 
+     * a fraction of a pixel. Positive is to the right. For example, 0.25.
+     * @param skyWidth The width of the sky. Once the cloud has drifted 
+     * completely off one side, it comes back on the other. For example, 800.
+     * @throws IllegalArgumentException If {@code skyWidth} is not positive.
+     */
+    public void setDrift(double pixelsPerStep, int skyWidth) {
+        if (skyWidth < 1) {
+            String excMsg = "Sky width " + skyWidth + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.drift = (int) Math.round(pixelsPerStep * (1 << FRACTION_BITS));
+        this.wrapWidth = skyWidth;
+    }
+    
+    /**
+     * Tells how fast the cloud drifts.
+     * @return How far the cloud moves in each step, in pixels, to the nearest 
+     * 256th of a pixel. For example, 0.25. Zero if the cloud is not 
+     * drifting.
+     */
+    public double getDrift() {
+        return (double) this.drift / (1 << FRACTION_BITS);
+    }
+    
+    int getWrapWidth() {
+        return this.wrapWidth;
+    }
+    
+    public long getTextureSeed() {
+        return this.textureSeed;
+    }
+    
+    public boolean isDrifting() {
+        return this.drift != 0;
+    }
+    
+    /**
+     * Moves the cloud by one fixed timestep's worth of drift.
+     */
+    public void step() {
+        if (this.drift == 0) {
+            return;
+        }
+        this.previousX = this.x;
+        this.x += this.drift;
+        int left = -this.width << FRACTION_BITS;
+        int right = this.wrapWidth << FRACTION_BITS;
+        int span = right - left;
+        if (this.x >= right) {
+            this.x -= span;
+            this.previousX = this.x;
+        } else if (this.x < left) {
+            this.x += span;
+            this.previousX = this.x;
+        }
+    }
+    
+    /**
+     * Says how far between the previous step and the current one to draw the 
+     * cloud.
+     * @param alpha From 0.0 for the previous step to 1.0 for the current 
+     * step.
+     * @throws IllegalArgumentException If {@code alpha} is less than 0.0 or 
+     * greater than 1.0.
+     */
+    public void setInterpolation(double alpha) {
+        if (!(alpha >= 0.0 && alpha <= 1.0)) {
+            String excMsg = "Interpolation " + alpha 
+                    + " should be from 0.0 to 1.0";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.alpha = (int) Math.round(alpha * (1 << FRACTION_BITS));
+    }
+    
+    /**
+     * Copies this cloud, including where it has drifted to. The texture, if 
+     * it has been made already, is shared rather than made again.
+     * @return A copy of this cloud.
+     */
+    Cloud copy() {
+        Cloud copy = new Cloud(new Rectangle(0, this.y, this.width, 
+                this.height), this.textureSeed);
+        copy.x = this.x;
+        copy.previousX = this.previousX;
+        copy.alpha = this.alpha;
+        copy.drift = this.drift;
+        copy.wrapWidth = this.wrapWidth;
+        copy.texture = this.texture;
+        return copy;
+    }
+    
+    private static double puff(double px, double py, double cx, double cy, 
+            double rx, double ry) {
+        double dx = (px - cx) / rx;
+        double dy = (py - cy) / ry;
+        return 1.0 - dx * dx - dy * dy;
+    }
+    
+    /**
+     * Computes the cloud's texture from noise. The three puffs are where the 
+     * ovals of a plain cloud would be, and the noise eats away at their 
+     * edges.
+     * @return A premultiplied ARGB image the size of the cloud.
+     */
+    private BufferedImage makeTexture() {
+        int w = this.width;
+        int h = this.height;
+        float[] noise = new float[w * h];
+        new GradientNoise(this.textureSeed).fillFractal(noise, w, h, 
+                Math.max(1, w / PUFF_CELL_SIZE), 
+                Math.max(1, h / PUFF_CELL_SIZE), OCTAVES, PERSISTENCE);
+        BufferedImage image = new BufferedImage(w, h, 
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        int maxAlpha = DEFAULT_COLOR.getAlpha();
+        int lightR = DEFAULT_COLOR.getRed();
+        int lightG = DEFAULT_COLOR.getGreen();
+        int lightB = DEFAULT_COLOR.getBlue();
+        int shadeR = (SHADE_RGB >> 16) & 0xFF;
+        int shadeG = (SHADE_RGB >> 8) & 0xFF;
+        int shadeB = SHADE_RGB & 0xFF;
+        for (int py = 0; py < h; py++) {
+            double cy = py + 0.5;
+            for (int px = 0; px < w; px++) {
+                double cx = px + 0.5;
+                double shape = Math.max(puff(cx, cy, w / 4.0, 2.0 * h / 3.0, 
+                        w / 4.0, h / 3.0), Math.max(puff(cx, cy, w / 2.0, 
+                                h / 2.0, w / 4.0, h / 2.0), puff(cx, cy, 
+                                        3.0 * w / 4.0, 2.0 * h / 3.0, w / 4.0, 
+                                        h / 3.0)));
+                double n = 0.5 + 0.5 * noise[py * w + px];
+                double coverage = Math.clamp((n + shape - 1.0 
+                        + COVERAGE_BIAS) * EDGE_SHARPNESS, 0.0, 1.0);
+                int a = (int) Math.round(coverage * maxAlpha);
+                if (a == 0) {
+                    continue;
+                }
+                double shade = (1.0 - n) * cy / h;
+                int r = (int) (lightR + (shadeR - lightR) * shade);
+                int g = (int) (lightG + (shadeG - lightG) * shade);
+                int b = (int) (lightB + (shadeB - lightB) * shade);
+                pixels[py * w + px] = (a << 24) | ((r * a / 255) << 16) 
+                        | ((g * a / 255) << 8) | (b * a / 255);
+            }
+        }
+        return image;
+    }
+    
+    /**
+     * Gives the cloud's texture, computing it the first time. Calling this 
+     * ahead of time on a background thread keeps the first {@link 
+     * #draw(Graphics)} from having to wait for the noise.
+     * @return The texture. Callers should not change it.
+     */
+    public BufferedImage getTexture() {
+        BufferedImage image = this.texture;
+        if (image == null) {
+            synchronized (this) {
+                image = this.texture;
+                if (image == null) {
+                    image = this.makeTexture();
+                    this.texture = image;
+                }
+            }
+        }
+        return image;
+    }
+    
+    public void draw(Graphics g) {
+        g.drawImage(this.getTexture(), this.drawnX(), this.y, null);
+    }
+    
+    /**
+     * Places a cloud in the sky, with the default texture seed.
+     * @param bounds The rectangle the cloud fills. For example, 200 &times; 
+     * 60 at (100, 40).
+     * @throws IllegalArgumentException If {@code bounds} is empty.
+     */
+    public Cloud(Rectangle bounds) {
+        this(bounds, DEFAULT_TEXTURE_SEED);
+    }
+    
+    /**
+     * Places a cloud in the sky. The cloud doesn't drift until {@link 
+     * #setDrift(double, int)} is called.
+     * @param bounds The rectangle the cloud fills. For example, 200 &times; 
+     * 60 at (100, 40).
+     * @param textureSeed The seed for the noise the cloud is drawn from. The 
+     * same bounds and seed always give the same cloud. For example, 
+     * 20251017.
+     * @throws IllegalArgumentException If {@code bounds} is empty.
+     */
+    public Cloud(Rectangle bounds, long textureSeed) {
+        if (bounds.isEmpty()) {
+            String excMsg = "Cloud bounds " + bounds.toString() 
+                    + " should not be empty";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.width = bounds.width;
+        this.height = bounds.height;
+        this.y = bounds.y;
+        this.x = bounds.x << FRACTION_BITS;
+        this.previousX = this.x;
+        this.textureSeed = textureSeed;
+    }
+    
 }
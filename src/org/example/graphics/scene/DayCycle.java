@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+/**
+ * Keeps the time of day for a scene, advancing with the same fixed timestep 
+ * as the rest of the animation. The time of day is a fraction of a day: 0.0 
+ * is midnight, 0.25 sunrise, 0.5 noon and 0.75 sunset. The sun is up from 
+ * sunrise to sunset and the moon from sunset to sunrise.
+ * @author Alonso del Arte
+ */
+public class DayCycle {
+    
+    /**
+     * The default length of a day, two minutes at 60 steps a second.
+     */
+    public static final int DEFAULT_STEPS_PER_DAY = 60 * 120;
+    
+    static final double SUNRISE = 0.25;
+    
+    static final double MOONRISE = 0.75;
+    
+    private final int stepsPerDay;
+    
+    private long current;
+    
+    private long previous;
+    
+    private double alpha = 1.0;
+    
+    public int getStepsPerDay() {
+        return this.stepsPerDay;
+    }
+    
+    /**
+     * Tells the time of day, interpolated between the last two steps.
+     * @return A number from 0.0 up to but not including 1.0. For example, 
+     * 0.5 for noon.
+     */
+    public double getTimeOfDay() {
+        double steps = this.previous + (this.current - this.previous) 
+                * this.alpha;
+        double day = steps / this.stepsPerDay;
+        return day - Math.floor(day);
+    }
+    
+    /**
+     * Jumps to a time of day.
+     * @param timeOfDay The time of day. Only the fractional part is used, so 
+     * 1.25 is the same as 0.25. For example, 0.4 for mid-morning.
+     */
+    public void setTimeOfDay(double timeOfDay) {
+        double fraction = timeOfDay - Math.floor(timeOfDay);
+        this.current = Math.round(fraction * this.stepsPerDay);
+        this.previous = this.current;
+    }
+    
+    /**
+     * Advances the time of day by one fixed timestep.
+     */
+    public void step() {
+        this.previous = this.current;
+        this.current++;
+    }
+    
+    /**
+     * Says how far between the previous step and the current one the time of 
+     * day should be taken.
+     * @param alpha From 0.0 for the previous step to 1.0 for the current 
+     * step.
+     * @throws IllegalArgumentException If {@code alpha} is less than 0.0 or 
+     * greater than 1.0.
+     */
+    public void setInterpolation(double alpha) {
+        if (!(alpha >= 0.0 && alpha <= 1.0)) {
+            String excMsg = "Interpolation " + alpha 
+                    + " should be from 0.0 to 1.0";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.alpha = alpha;
+    }
+    
+    /**
+     * Copies this day cycle, including the time of day.
+     * @return A copy of this day cycle.
+     */
+    DayCycle copy() {
+        DayCycle copy = new DayCycle(this.stepsPerDay);
+        copy.current = this.current;
+        copy.previous = this.previous;
+        copy.alpha = this.alpha;
+        return copy;
+    }
+    
+    /**
+     * Tells how high the sun is at a given time of day.
+     * @param timeOfDay The time of day. For example, 0.5.
+     * @return From &minus;1.0 at midnight, through 0.0 at sunrise and sunset, 
+     * to 1.0 at noon.
+     */
+    public static double getSunElevation(double timeOfDay) {
+        return Math.sin(2.0 * Math.PI * (timeOfDay - SUNRISE));
+    }
+    
+    /**
+     * Tells how high the moon is at a given time of day. The moon is 
+     * opposite the sun.
+     * @param timeOfDay The time of day. For example, 0.0.
+     * @return From &minus;1.0 at noon to 1.0 at midnight.
+     */
+    public static double getMoonElevation(double timeOfDay) {
+        return -getSunElevation(timeOfDay);
+    }
+    
+    /**
+     * Finds where a disc should be on its arc across the sky. The disc rises 
+     * at the left edge of the sky, is highest halfway through, and sets at 
+     * the right edge; for the other half of the day it's below the horizon.
+     * @param sinceRise The fraction of a day since the disc rose. For 
+     * example, 0.25 for the highest point.
+     * @param sky The sky. The bottom edge is the horizon.
+     * @param radius The radius of the disc. For example, 40.
+     * @return The center of the disc.
+     */
+    static Point arcPosition(double sinceRise, Rectangle sky, int radius) {
+        double fraction = sinceRise - Math.floor(sinceRise);
+        int horizon = sky.y + sky.height;
+        double across = 2.0 * fraction;
+        if (across >= 1.0) {
+            return new Point(sky.x + (int) ((across - 1.0) * sky.width), 
+                    horizon + radius + 1);
+        }
+        double elevation = Math.sin(Math.PI * across);
+        int x = sky.x + (int) (across * sky.width);
+        int y = horizon - (int) Math.round(elevation 
+                * Math.max(0, sky.height - 2 * radius)) - radius;
+        return new Point(x, y);
+    }
+    
+    public DayCycle() {
+        this(DEFAULT_STEPS_PER_DAY);
+    }
+    
+    /**
+     * Sets up a day cycle starting at midnight.
+     * @param stepsPerDay How many fixed timesteps a whole day takes. For 
+     * example, 7200.
+     * @throws IllegalArgumentException If {@code stepsPerDay} is not 
+     * positive.
+     */
+    public DayCycle(int stepsPerDay) {
+        if (stepsPerDay < 1) {
+            String excMsg = "Steps per day " + stepsPerDay 
+                    + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.stepsPerDay = stepsPerDay;
+    }
+    
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+/**
+ * Tells how closely trees may be packed at each point of an area, for a 
+ * {@link PoissonDiskSampler}. For example, a field that's higher near the 
+ * shore gives a forest that thins out inland.
+ * @author Alonso del Arte
+ */
+@FunctionalInterface
+public interface DensityField {
+    
+    /**
+     * Tells how dense the trees may be at a point.
+     * @param x The <i>x</i> coordinate of the point. For example, 200.
+     * @param y The <i>y</i> coordinate of the point. For example, 350.
+     * @return The density, from 0.0 for no trees at all to 1.0 for trees 
+     * packed as closely as they'll go without overlapping. Values above 1.0 
+     * are treated as 1.0. For example, 0.75.
+     */
+    double densityAt(int x, int y);
+    
+}
@@ -0,0 +1,535 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * A collection of trees stored as parallel primitive arrays rather than as 
+ * one object per tree. The arrays grow as needed. Removing a tree moves the 
+ * last tree into its place, so removal is quick but does not preserve order, 
+ * and the index of the last tree changes.
+ * <p>Individual trees can be read and moved through {@link Tree} views. The 
+ * view from {@link #get(int)} stays tied to the index, not the tree, so after 
+ * a removal it may show a different tree. The {@link #forEach(Consumer)} 
+ * procedure reuses one view for every tree, so the consumer should not hold on 
+ * to it.</p>
+ * <p>A {@link SpatialGrid} can be attached with {@link 
+ * #attachIndex(SpatialGrid)}. The forest then keeps it up to date as trees are 
+ * added, moved and removed, and uses it for {@link #pick(int, int)} and {@link 
+ * #query(int, int, int, int, IntConsumer)}.</p>
+ * @author Alonso del Arte
+ */
+public class Forest {
+    
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    
+    private int[] xs;
+    
+    private int[] ys;
+    
+    private int[] widths;
+    
+    private int[] heights;
+    
+    private int[] leafColors;
+    
+    private int count = 0;
+    
+    private SpatialGrid index = null;
+    
+    public int size() {
+        return this.count;
+    }
+    
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+    
+    private void ensureCapacity(int minCapacity) {
+        int capacity = this.xs.length;
+        if (minCapacity > capacity) {
+            int newCapacity = Math.max(minCapacity, capacity + (capacity >> 1) 
+                    + 1);
+            this.xs = Arrays.copyOf(this.xs, newCapacity);
+            this.ys = Arrays.copyOf(this.ys, newCapacity);
+            this.widths = Arrays.copyOf(this.widths, newCapacity);
+            this.heights = Arrays.copyOf(this.heights, newCapacity);
+            this.leafColors = Arrays.copyOf(this.leafColors, newCapacity);
+        }
+    }
+    
+    /**
+     * Adds a tree to the end of this forest.
+     * @param x The <i>x</i> coordinate of the top left corner. For example, 
+     * 200.
+     * @param y The <i>y</i> coordinate of the top left corner. For example, 
+     * 350.
+     * @param width The width of the tree. For example, 50.
+     * @param height The height of the tree. For example, 100.
+     * @param leafARGB The leaf color packed as ARGB. For example, 0xFF228B22.
+     * @return The index of the new tree.
+     */
+    public int add(int x, int y, int width, int height, int leafARGB) {
+        int index = this.count;
+        this.ensureCapacity(index + 1);
+        this.xs[index] = x;
+        this.ys[index] = y;
+        this.widths[index] = width;
+        this.heights[index] = height;
+        this.leafColors[index] = leafARGB;
+        this.count++;
+        if (this.index != null) {
+            this.index.insert(index, x, y, width, height);
+        }
+        return index;
+    }
+    
+    /**
+     * Adds a copy of a tree to the end of this forest.
+     * @param tree The tree to copy. Later changes to it won't affect this 
+     * forest.
+     * @return The index of the new tree.
+     */
+    public int add(Tree tree) {
+        return this.add(tree.getX(), tree.getY(), tree.getWidth(), 
+                tree.getHeight(), tree.getLeafARGB());
+    }
+    
+    /**
+     * Adds room for more trees at the end, without filling it in. This is so 
+     * that a generator can fill in the trees from several threads. Not to be 
+     * used while a spatial index is attached.
+     * @param additional How many trees to make room for.
+     * @return The index of the first of the new trees.
+     */
+    int grow(int additional) {
+        int start = this.count;
+        this.ensureCapacity(start + additional);
+        this.count += additional;
+        return start;
+    }
+    
+    void set(int index, int x, int y, int width, int height, int leafARGB) {
+        this.xs[index] = x;
+        this.ys[index] = y;
+        this.widths[index] = width;
+        this.heights[index] = height;
+        this.leafColors[index] = leafARGB;
+    }
+    
+    /**
+     * Removes a tree by moving the last tree into its place.
+     * @param index The index of the tree to remove.
+     * @return The former index of the tree that now has index {@code index}, 
+     * or {@code index} itself if the removed tree was the last one.
+     * @throws IndexOutOfBoundsException If {@code index} is negative or not 
+     * less than {@link #size()}.
+     */
+    public int remove(int index) {
+        Objects.checkIndex(index, this.count);
+        int last = this.count - 1;
+        if (index != last) {
+            this.set(index, this.xs[last], this.ys[last], this.widths[last], 
+                    this.heights[last], this.leafColors[last]);
+        }
+        this.count = last;
+        if (this.index != null) {
+            this.index.remove(index);
+            if (index != last) {
+                this.index.renumber(last, index);
+            }
+        }
+        return last;
+    }
+    
+    public void clear() {
+        this.count = 0;
+        if (this.index != null) {
+            this.index.clear();
+        }
+    }
+    
+    /**
+     * Attaches a spatial index to this forest. The index is cleared and then 
+     * filled with the trees currently in the forest.
+     * @param grid The index to attach. If null, the current index, if any, is 
+     * detached, and picking goes back to checking every tree.
+     */
+    public void attachIndex(SpatialGrid grid) {
+        this.index = grid;
+        if (grid != null) {
+            grid.clear();
+            for (int i = 0; i < this.count; i++) {
+                grid.insert(i, this.xs[i], this.ys[i], this.widths[i], 
+                        this.heights[i]);
+            }
+        }
+    }
+    
+    public SpatialGrid getIndex() {
+        return this.index;
+    }
+    
+    /**
+     * Copies this forest, along with its spatial index if it has one. 
+     * Changes to the copy don't affect this forest, nor the other way 
+     * around.
+     * @return A copy of this forest, with no spare capacity.
+     */
+    Forest copy() {
+        Forest copy = new Forest(this.count);
+        System.arraycopy(this.xs, 0, copy.xs, 0, this.count);
+        System.arraycopy(this.ys, 0, copy.ys, 0, this.count);
+        System.arraycopy(this.widths, 0, copy.widths, 0, this.count);
+        System.arraycopy(this.heights, 0, copy.heights, 0, this.count);
+        System.arraycopy(this.leafColors, 0, copy.leafColors, 0, this.count);
+        copy.count = this.count;
+        copy.index = this.index == null ? null : this.index.copy();
+        return copy;
+    }
+    
+    public int getX(int index) {
+        Objects.checkIndex(index, this.count);
+        return this.xs[index];
+    }
+    
+    public int getY(int index) {
+        Objects.checkIndex(index, this.count);
+        return this.ys[index];
+    }
+    
+    public int getWidth(int index) {
+        Objects.checkIndex(index, this.count);
+        return this.widths[index];
+    }
+    
+    public int getHeight(int index) {
+        Objects.checkIndex(index, this.count);
+        return this.heights[index];
+    }
+    
+    public int getLeafARGB(int index) {
+        Objects.checkIndex(index, this.count);
+        return this.leafColors[index];
+    }
+    
+    /**
+     * Moves a tree so that its top left corner is at the specified point.
+     * @param index The index of the tree.
+     * @param x The new <i>x</i> coordinate. For example, 220.
+     * @param y The new <i>y</i> coordinate. For example, 340.
+     * @throws IndexOutOfBoundsException If {@code index} is negative or not 
+     * less than {@link #size()}.
+     */
+    public void moveTo(int index, int x, int y) {
+        Objects.checkIndex(index, this.count);
+        this.xs[index] = x;
+        this.ys[index] = y;
+        if (this.index != null) {
+            this.index.update(index, x, y, this.widths[index], 
+                    this.heights[index]);
+        }
+    }
+    
+    private long drawOrderAt(int i, int x, int y) {
+        return RenderQueue.treeOrder(RenderQueue.DEFAULT_BAND_HEIGHT, 
+                this.xs[i], this.ys[i], this.widths[i], this.heights[i], 
+                this.leafColors[i], x, y);
+    }
+    
+    /**
+     * Finds the topmost tree at a point, going by the order in which a 
+     * {@link Scene} paints the trees through its {@link RenderQueue}: the 
+     * tree in the deepest band of {@link RenderQueue#DEFAULT_BAND_HEIGHT} 
+     * pixels is on top, then a trunk is on top of a canopy, then the greater 
+     * color, and last of all the higher index. With a spatial index attached, 
+     * only the trees in one grid cell are checked; otherwise every tree is 
+     * checked.
+     * @param x The <i>x</i> coordinate of the point. For example, 210.
+     * @param y The <i>y</i> coordinate of the point. For example, 400.
+     * @return The index of the topmost tree containing the point, or &minus;1 
+     * if there is no tree there.
+     */
+    public int pick(int x, int y) {
+        if (this.index != null) {
+            return this.index.pick(x, y, i -> this.drawOrderAt(i, x, y));
+        }
+        int found = -1;
+        long foundOrder = 0L;
+        for (int i = this.count - 1; i > -1; i--) {
+            int left = this.xs[i];
+            int top = this.ys[i];
+            if (x >= left && x < left + this.widths[i] && y >= top 
+                    && y < top + this.heights[i]) {
+                long order = this.drawOrderAt(i, x, y);
+                if (found < 0 || order > foundOrder) {
+                    found = i;
+                    foundOrder = order;
+                }
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Finds the trees whose bounds intersect a rectangle, in no particular 
+     * order. With a spatial index attached, only the trees in the grid cells 
+     * the rectangle overlaps are checked.
+     * @param x The <i>x</i> coordinate of the top left corner of the 
+     * rectangle.
+     * @param y The <i>y</i> coordinate of the top left corner of the 
+     * rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @param action What to do with the index of each tree found.
+     * @return How many trees were found.
+     */
+    public int query(int x, int y, int width, int height, 
+            IntConsumer action) {
+        if (this.index != null) {
+            return this.index.query(x, y, width, height, action);
+        }
+        if (width < 1 || height < 1) {
+            return 0;
+        }
+        int right = x + width;
+        int bottom = y + height;
+        int found = 0;
+        for (int i = 0; i < this.count; i++) {
+            int left = this.xs[i];
+            int top = this.ys[i];
+            if (left < right && left + this.widths[i] > x && top < bottom 
+                    && top + this.heights[i] > y) {
+                action.accept(i);
+                found++;
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Gives a view of the tree at an index.
+     * @param index The index of the tree.
+     * @return A view of whichever tree is at {@code index}.
+     * @throws IndexOutOfBoundsException If {@code index} is negative or not 
+     * less than {@link #size()}.
+     */
+    public Tree get(int index) {
+        Objects.checkIndex(index, this.count);
+        TreeView view = new TreeView(this);
+        view.index = index;
+        return view;
+    }
+    
+    /**
+     * Passes each tree in index order to a consumer. The same view is reused 
+     * for each tree, so no objects are created per tree.
+     * @param action What to do with each tree. It should not add or remove 
+     * trees, nor keep a reference to the view.
+     */
+    public void forEach(Consumer<? super Tree> action) {
+        TreeView view = new TreeView(this);
+        for (int i = 0; i < this.count; i++) {
+            view.index = i;
+            action.accept(view);
+        }
+    }
+    
+    /**
+     * Draws all the trees in index order. A new {@code Color} is only created 
+     * when the leaf color differs from that of the previous tree.
+     * @param g The graphics context to draw on.
+     */
+    public void draw(Graphics g) {
+        Color leafColor = null;
+        for (int i = 0; i < this.count; i++) {
+            int argb = this.leafColors[i];
+            if (leafColor == null || leafColor.getRGB() != argb) {
+                leafColor = new Color(argb, true);
+            }
+            Tree.draw(g, this.xs[i], this.ys[i], this.widths[i], 
+                    this.heights[i], leafColor);
+        }
+    }
+    
+    /**
+     * Draws the trees that intersect a clipping rectangle, in index order so 
+     * that overlapping trees come out the same as with {@link 
+     * #draw(Graphics)}. Parts of those trees outside the rectangle may be 
+     * drawn too, unless the graphics context is clipped.
+     * @param g The graphics context to draw on.
+     * @param clip The area that needs drawing.
+     */
+    public void draw(Graphics g, Rectangle clip) {
+        IndexCollector found = new IndexCollector();
+        this.query(clip.x, clip.y, clip.width, clip.height, found);
+        int[] indices = found.indices;
+        Arrays.sort(indices, 0, found.count);
+        Color leafColor = null;
+        for (int j = 0; j < found.count; j++) {
+            int i = indices[j];
+            int argb = this.leafColors[i];
+            if (leafColor == null || leafColor.getRGB() != argb) {
+                leafColor = new Color(argb, true);
+            }
+            Tree.draw(g, this.xs[i], this.ys[i], this.widths[i], 
+                    this.heights[i], leafColor);
+        }
+    }
+    
+    /**
+     * Paints the trees that intersect a clipping rectangle, in index order, 
+     * with a specified painter rather than the default vector drawing.
+     * @param g The graphics context to paint on.
+     * @param clip The area that needs painting.
+     * @param painter What paints each tree, such as a sprite cache.
+     */
+    public void draw(Graphics g, Rectangle clip, TreePainter painter) {
+        IndexCollector found = new IndexCollector();
+        this.query(clip.x, clip.y, clip.width, clip.height, found);
+        int[] indices = found.indices;
+        Arrays.sort(indices, 0, found.count);
+        TreePainter passPainter = painter.forPass(g);
+        for (int j = 0; j < found.count; j++) {
+            int i = indices[j];
+            passPainter.paint(g, this.xs[i], this.ys[i], this.widths[i], 
+                    this.heights[i], this.leafColors[i]);
+        }
+    }
+    
+    /**
+     * Adds the trees that intersect a clipping rectangle to a render queue, 
+     * in index order.
+     * @param queue The queue to add the trees to.
+     * @param layer The layer of the queue to add the trees to. For example, 
+     * 6.
+     * @param clip The area that needs drawing.
+     * @param painter What paints each tree, such as a sprite cache. Null to 
+     * have the queue draw the trees as shapes.
+     */
+    void enqueue(RenderQueue queue, int layer, Rectangle clip, 
+            TreePainter painter) {
+        IndexCollector found = new IndexCollector();
+        this.query(clip.x, clip.y, clip.width, clip.height, found);
+        int[] indices = found.indices;
+        Arrays.sort(indices, 0, found.count);
+        for (int j = 0; j < found.count; j++) {
+            int i = indices[j];
+            if (painter == null) {
+                queue.addTree(layer, this.xs[i], this.ys[i], this.widths[i], 
+                        this.heights[i], this.leafColors[i]);
+            } else {
+                queue.addTree(layer, this.xs[i], this.ys[i], this.widths[i], 
+                        this.heights[i], this.leafColors[i], painter);
+            }
+        }
+    }
+    
+    public Forest() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+    
+    /**
+     * Creates an empty forest with room for a number of trees.
+     * @param initialCapacity How many trees to make room for before the 
+     * arrays need to grow. For example, 100000.
+     * @throws IllegalArgumentException If {@code initialCapacity} is negative.
+     */
+    public Forest(int initialCapacity) {
+        if (initialCapacity < 0) {
+            String excMsg = "Initial capacity " + initialCapacity 
+                    + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.xs = new int[initialCapacity];
+        this.ys = new int[initialCapacity];
+        this.widths = new int[initialCapacity];
+        this.heights = new int[initialCapacity];
+        this.leafColors = new int[initialCapacity];
+    }
+    
+    private static final class IndexCollector implements IntConsumer {
+        
+        private int[] indices = new int[16];
+        
+        private int count = 0;
+        
+        @Override
+        public void accept(int index) {
+            if (this.count == this.indices.length) {
+                this.indices = Arrays.copyOf(this.indices, 2 * this.count);
+            }
+            this.indices[this.count++] = index;
+        }
+        
+    }
+    
+    private static final class TreeView extends Tree {
+        
+        private final Forest forest;
+        
+        private int index;
+        
+        @Override
+        public Color getLeafColor() {
+            return new Color(this.forest.getLeafARGB(this.index), true);
+        }
+        
+        @Override
+        public int getLeafARGB() {
+            return this.forest.getLeafARGB(this.index);
+        }
+        
+        @Override
+        public int getWidth() {
+            return this.forest.getWidth(this.index);
+        }
+        
+        @Override
+        public int getHeight() {
+            return this.forest.getHeight(this.index);
+        }
+        
+        @Override
+        public int getX() {
+            return this.forest.getX(this.index);
+        }
+        
+        @Override
+        public int getY() {
+            return this.forest.getY(this.index);
+        }
+        
+        @Override
+        public void moveTo(int newX, int newY) {
+            this.forest.moveTo(this.index, newX, newY);
+        }
+        
+        TreeView(Forest forest) {
+            this.forest = forest;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.example.graphics.profiling.GenerationEvent;
+import org.example.randomness.SeededRandom;
+
+/**
+ * Generates trees from a seed, in parallel if desired, placing them within an 
+ * area. The trees are divided into chunks of {@link #CHUNK_SIZE} trees, and 
+ * each chunk draws from its own sub-stream of the seed. Since the chunk 
+ * boundaries don't depend on the number of threads, the same seed gives 
+ * exactly the same trees at any level of parallelism.
+ * @author Alonso del Arte
+ */
+public class ForestGenerator {
+    
+    /**
+     * How many trees are generated from each sub-stream. Changing this 
+     * changes which trees a given seed gives.
+     */
+    public static final int CHUNK_SIZE = 1024;
+    
+    private final long seed;
+    
+    private final Rectangle area;
+    
+    private final Dimension maxTreeSize;
+    
+    /**
+     * Gives the seed this generator was created with.
+     * @return The seed. For example, 20251017.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+    
+    /**
+     * Generates trees on the calling thread only.
+     * @param count How many trees to generate. For example, 1000.
+     * @return A forest of {@code count} trees.
+     * @throws IllegalArgumentException If {@code count} is negative.
+     */
+    public Forest generate(int count) {
+        return this.generate(count, 1);
+    }
+    
+    /**
+     * Generates trees on a fork-join pool. The result is the same as from 
+     * {@link #generate(int)}.
+     * @param count How many trees to generate. For example, 100000.
+     * @param parallelism How many threads to use. For example, 8.
+     * @return A forest of {@code count} trees.
+     * @throws IllegalArgumentException If {@code count} is negative or 
+     * {@code parallelism} is not positive.
+     */
+    public Forest generate(int count, int parallelism) {
+        if (count < 0) {
+            String excMsg = "Tree count " + count + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (parallelism < 1) {
+            String excMsg = "Parallelism " + parallelism 
+                    + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        GenerationEvent event = GenerationEvent.start();
+        Forest trees = new Forest(count);
+        trees.grow(count);
+        int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        if (parallelism == 1 || chunks < 2) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                this.generateChunk(trees, chunk);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new ChunkRange(trees, 0, chunks));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        event.finish(GenerationEvent.FOREST, this.seed, count);
+        return trees;
+    }
+    
+    private void generateChunk(Forest trees, int chunk) {
+        SeededRandom random = new SeededRandom(this.seed).substream(chunk);
+        int start = chunk * CHUNK_SIZE;
+        int end = Math.min(start + CHUNK_SIZE, trees.size());
+        for (int i = start; i < end; i++) {
+            int leafARGB = random.nextInt();
+            int height = random.nextInt(1, this.maxTreeSize.height);
+            int width = random.nextInt(1, this.maxTreeSize.width);
+            int x = this.area.x 
+                    + random.nextInt(Math.max(1, this.area.width - width));
+            int y = this.area.y 
+                    + random.nextInt(Math.max(1, this.area.height - height));
+            trees.set(i, x, y, width, height, leafARGB);
+        }
+    }
+    
+    /**
+     * Creates a generator for the specified seed.
+     * @param seed The seed. Any {@code long} is fine. For example, 20251017.
+     * @param area The area in which to place the trees. Trees are kept inside 
+     * it as far as their size allows. For example, 1920 &times; 1080.
+     * @param maxTreeSize The exclusive bound on tree width and height. For 
+     * example, 50 &times; 100.
+     * @throws IllegalArgumentException If either measure of {@code 
+     * maxTreeSize} is less than 2, or if either measure of {@code area} is 
+     * not positive.
+     */
+    public ForestGenerator(long seed, Dimension area, Dimension maxTreeSize) {
+        this(seed, new Rectangle(area), maxTreeSize);
+    }
+    
+    /**
+     * Creates a generator for the specified seed, placing trees within an 
+     * area that need not start at the origin.
+     * @param seed The seed. Any {@code long} is fine. For example, 20251017.
+     * @param area The area in which to place the trees. For example, 1200 
+     * &times; 720 at (0, 360).
+     * @param maxTreeSize The exclusive bound on tree width and height. For 
+     * example, 50 &times; 100.
+     * @throws IllegalArgumentException If either measure of {@code 
+     * maxTreeSize} is less than 2, or if {@code area} is empty.
+     */
+    public ForestGenerator(long seed, Rectangle area, Dimension maxTreeSize) {
+        if (area.width < 1 || area.height < 1) {
+            String excMsg = "Area " + area.toString() + " should not be empty";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (maxTreeSize.width < 2 || maxTreeSize.height < 2) {
+            String excMsg = "Maximum tree size " + maxTreeSize.toString() 
+                    + " should be at least 2 by 2";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.seed = seed;
+        this.area = new Rectangle(area);
+        this.maxTreeSize = new Dimension(maxTreeSize);
+    }
+    
+    private class ChunkRange extends RecursiveAction {
+        
+        private static final long serialVersionUID = 4553241787962013189L;
+        
+        private final transient Forest trees;
+        
+        private final int fromChunk;
+        
+        private final int toChunk;
+        
+        @Override
+        protected void compute() {
+            if (this.toChunk - this.fromChunk == 1) {
+                ForestGenerator.this.generateChunk(this.trees, this.fromChunk);
+            } else {
+                int middle = (this.fromChunk + this.toChunk) >>> 1;
+                invokeAll(new ChunkRange(this.trees, this.fromChunk, middle), 
+                        new ChunkRange(this.trees, middle, this.toChunk));
+            }
+        }
+        
+        ChunkRange(Forest trees, int fromChunk, int toChunk) {
+            this.trees = trees;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+        
+    }
+    
+}
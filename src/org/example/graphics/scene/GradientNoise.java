@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.util.Arrays;
+
+import org.example.randomness.SeededRandom;
+
+/**
+ * Two-dimensional gradient noise, in the manner of Ken Perlin's improved 
+ * noise. A pseudorandom gradient is picked for each integer lattice point 
+ * from a permutation table shuffled with the seed, and the noise at a point 
+ * blends the dot products with the gradients at the four corners of its 
+ * lattice cell. The lattice can be wrapped around at a given period, which 
+ * makes the noise tileable.
+ * <p>Fractal noise is made by adding up octaves of noise at doubling 
+ * frequencies and falling amplitudes. The bulk procedure {@link 
+ * #fillFractal(float[], int, int, int, int, int, float)} fills a primitive 
+ * array with it and allocates nothing per sample. Instances are immutable, so 
+ * they may be shared between threads.</p>
+ * @author Alonso del Arte
+ */
+public final class GradientNoise {
+    
+    private static final int TABLE_SIZE = 256;
+    
+    private static final int TABLE_MASK = TABLE_SIZE - 1;
+    
+    private static final int GRADIENT_MASK = 7;
+    
+    private static final double DIAGONAL = Math.sqrt(0.5);
+    
+    private static final double[] GRADIENT_X = {1.0, -1.0, 0.0, 0.0, 
+        DIAGONAL, -DIAGONAL, DIAGONAL, -DIAGONAL};
+    
+    private static final double[] GRADIENT_Y = {0.0, 0.0, 1.0, -1.0, 
+        DIAGONAL, DIAGONAL, -DIAGONAL, -DIAGONAL};
+    
+    /**
+     * Scales the output so that it can reach &plusmn;1. With unit 
+     * gradients, 2D gradient noise can't get beyond &plusmn;&radic;&frac12;.
+     */
+    private static final double SCALE = Math.sqrt(2.0);
+    
+    private final long seed;
+    
+    private final int[] permutation = new int[2 * TABLE_SIZE];
+    
+    public long getSeed() {
+        return this.seed;
+    }
+    
+    private static double fade(double t) {
+        return t * t * t * (t * (t * 6.0 - 15.0) + 10.0);
+    }
+    
+    private double gradientDot(int ix, int iy, double dx, double dy) {
+        int g = this.permutation[this.permutation[ix & TABLE_MASK] 
+                + (iy & TABLE_MASK)] & GRADIENT_MASK;
+        return GRADIENT_X[g] * dx + GRADIENT_Y[g] * dy;
+    }
+    
+    /**
+     * Samples the noise at a point, wrapping the lattice around so that the 
+     * noise repeats.
+     * @param x The <i>x</i> coordinate, in lattice cells. For example, 3.25.
+     * @param y The <i>y</i> coordinate, in lattice cells. For example, 0.5.
+     * @param periodX After how many cells the noise repeats horizontally. 
+     * For example, 8.
+     * @param periodY After how many cells the noise repeats vertically. For 
+     * example, 4.
+     * @return A number from &minus;1.0 to 1.0, and 0.0 at lattice points.
+     * @throws IllegalArgumentException If {@code periodX} or {@code periodY} 
+     * is not positive.
+     */
+    public double sample(double x, double y, int periodX, int periodY) {
+        if (periodX < 1 || periodY < 1) {
+            String excMsg = "Periods " + periodX + " and " + periodY 
+                    + " should both be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        return this.sampleWrapped(x, y, periodX, periodY);
+    }
+    
+    private double sampleWrapped(double x, double y, int periodX, 
+            int periodY) {
+        double floorX = Math.floor(x);
+        double floorY = Math.floor(y);
+        double dx = x - floorX;
+        double dy = y - floorY;
+        int x0 = Math.floorMod((long) floorX, periodX);
+        int y0 = Math.floorMod((long) floorY, periodY);
+        int x1 = x0 + 1 == periodX ? 0 : x0 + 1;
+        int y1 = y0 + 1 == periodY ? 0 : y0 + 1;
+        double u = fade(dx);
+        double v = fade(dy);
+        double bottom = this.gradientDot(x0, y0, dx, dy) + u 
+                * (this.gradientDot(x1, y0, dx - 1.0, dy) 
+                - this.gradientDot(x0, y0, dx, dy));
+        double top = this.gradientDot(x0, y1, dx, dy - 1.0) + u 
+                * (this.gradientDot(x1, y1, dx - 1.0, dy - 1.0) 
+                - this.gradientDot(x0, y1, dx, dy - 1.0));
+        return Math.clamp(SCALE * (bottom + v * (top - bottom)), -1.0, 1.0);
+    }
+    
+    /**
+     * Fills an array with tileable fractal noise. Row <i>y</i> of the 
+     * texture starts at index <i>y</i> &times; {@code width}. The lowest 
+     * octave has {@code cellsX} by {@code cellsY} lattice cells across the 
+     * whole texture, and each octave after that has twice as many each way, 
+     * so every octave repeats exactly at the edges of the texture and the 
+     * texture tiles seamlessly.
+     * @param out The array to fill. Nothing past the first {@code width} 
+     * &times; {@code height} elements is changed.
+     * @param width The width of the texture. For example, 128.
+     * @param height The height of the texture. For example, 64.
+     * @param cellsX How many lattice cells across the lowest octave has. For 
+     * example, 4.
+     * @param cellsY How many lattice cells down the lowest octave has. For 
+     * example, 2.
+     * @param octaves How many octaves to add up. For example, 4.
+     * @param persistence How much each octave's amplitude is of the one 
+     * before. For example, 0.5.
+     * @throws IllegalArgumentException If any of the sizes or the number of 
+     * octaves is not positive, or if {@code out} is too short.
+     */
+    public void fillFractal(float[] out, int width, int height, int cellsX, 
+            int cellsY, int octaves, float persistence) {
+        if (width < 1 || height < 1 || cellsX < 1 || cellsY < 1 
+                || octaves < 1) {
+            String excMsg = "Texture " + width + " by " + height + " with " 
+                    + cellsX + " by " + cellsY + " cells and " + octaves 
+                    + " octaves should have all positive sizes";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (out.length < width * height) {
+            String excMsg = "Array of length " + out.length 
+                    + " is too short for " + width + " by " + height;
+            throw new IllegalArgumentException(excMsg);
+        }
+        Arrays.fill(out, 0, width * height, 0.0F);
+        double amplitude = 1.0;
+        double totalAmplitude = 0.0;
+        for (int octave = 0; octave < octaves; octave++) {
+            int periodX = cellsX << octave;
+            int periodY = cellsY << octave;
+            double stepX = (double) periodX / width;
+            double stepY = (double) periodY / height;
+            for (int y = 0; y < height; y++) {
+                double sy = y * stepY;
+                int row = y * width;
+                for (int x = 0; x < width; x++) {
+                    out[row + x] += (float) (amplitude * this.sampleWrapped(x 
+                            * stepX, sy, periodX, periodY));
+                }
+            }
+            totalAmplitude += amplitude;
+            amplitude *= persistence;
+        }
+        float normalizer = (float) (1.0 / totalAmplitude);
+        for (int i = 0; i < width * height; i++) {
+            out[i] *= normalizer;
+        }
+    }
+    
+    /**
+     * Sets up noise with its own gradients. The same seed always gives the 
+     * same noise.
+     * @param seed The seed. For example, 20251017.
+     */
+    public GradientNoise(long seed) {
+        this.seed = seed;
+        SeededRandom random = new SeededRandom(seed);
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            this.permutation[i] = i;
+        }
+        for (int i = TABLE_SIZE - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = this.permutation[i];
+            this.permutation[i] = this.permutation[j];
+            this.permutation[j] = swap;
+        }
+        System.arraycopy(this.permutation, 0, this.permutation, TABLE_SIZE, 
+                TABLE_SIZE);
+    }
+    
+}
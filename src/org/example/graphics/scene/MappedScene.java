@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A scene file opened by mapping it into memory. Opening a file only reads the 
+ * header and the clouds. The trees are read straight from the mapped file when 
+ * asked for, and the operating system loads only the pages that are touched, 
+ * so a file with millions of trees opens almost at once. The file is not 
+ * locked, and changing it while it's mapped gives unpredictable results.
+ * <p>Reading trees does not change any state, so a mapped scene can be read 
+ * from several threads at once.</p>
+ * @author Alonso del Arte
+ */
+public class MappedScene {
+    
+    // A buffer is indexed by int, so the trees are mapped 2^26 at a time
+    private static final int SEGMENT_SHIFT = 26;
+    
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    
+    private final ByteBuffer header;
+    
+    private final MappedByteBuffer[] segments;
+    
+    private final int treeCount;
+    
+    private final int cloudCount;
+    
+    public Dimension getSize() {
+        return new Dimension(this.header.getInt(SceneFormat.SIZE_OFFSET), 
+                this.header.getInt(SceneFormat.SIZE_OFFSET + 4));
+    }
+    
+    public int getHorizon() {
+        return this.header.getInt(SceneFormat.SIZE_OFFSET + 8);
+    }
+    
+    public int getVersion() {
+        return this.header.getShort(SceneFormat.VERSION_OFFSET);
+    }
+    
+    public int getTreeCount() {
+        return this.treeCount;
+    }
+    
+    public boolean hasDayCycle() {
+        return (this.header.getShort(SceneFormat.FLAGS_OFFSET) 
+                & SceneFormat.FLAG_DAY_CYCLE) != 0;
+    }
+    
+    private MappedByteBuffer segmentOf(int index) {
+        Objects.checkIndex(index, this.treeCount);
+        return this.segments[index >>> SEGMENT_SHIFT];
+    }
+    
+    private static int offsetOf(int index) {
+        return (index & SEGMENT_MASK) * SceneFormat.TREE_RECORD_SIZE;
+    }
+    
+    public int getX(int index) {
+        return this.segmentOf(index).getInt(offsetOf(index));
+    }
+    
+    public int getY(int index) {
+        return this.segmentOf(index).getInt(offsetOf(index) + 4);
+    }
+    
+    public int getWidth(int index) {
+        return Short.toUnsignedInt(this.segmentOf(index)
+                .getShort(offsetOf(index) + 8));
+    }
+    
+    public int getHeight(int index) {
+        return Short.toUnsignedInt(this.segmentOf(index)
+                .getShort(offsetOf(index) + 10));
+    }
+    
+    public int getLeafARGB(int index) {
+        return this.segmentOf(index).getInt(offsetOf(index) + 12);
+    }
+    
+    /**
+     * Reads one tree from the file.
+     * @param index The index of the tree, in the order the trees were 
+     * written.
+     * @return A new tree, not tied to the file.
+     * @throws IndexOutOfBoundsException If {@code index} is negative or not 
+     * less than {@link #getTreeCount()}.
+     */
+    public Tree getTree(int index) {
+        return new Tree(new Color(this.getLeafARGB(index), true), 
+                new Dimension(this.getWidth(index), this.getHeight(index)), 
+                new Point(this.getX(index), this.getY(index)));
+    }
+    
+    private int headerInt(int offset) {
+        return this.header.getInt(offset);
+    }
+    
+    /**
+     * Builds a scene from the file, reading every tree into a new forest with 
+     * a spatial index attached. Each call gives a new scene, with its own 
+     * ocean, sun, moon, clouds and day cycle.
+     * @return A new scene. Its animation starts from the beginning, with the 
+     * time of day, if there's a day cycle, the same as when it was saved.
+     */
+    public Scene toScene() {
+        Dimension size = this.getSize();
+        int o = SceneFormat.OCEAN_OFFSET;
+        Ocean ocean = new Ocean(new Rectangle(this.headerInt(o), 
+                this.headerInt(o + 4), this.headerInt(o + 8), 
+                this.headerInt(o + 12)), 
+                new Color(this.headerInt(o + 16), true), 
+                this.header.getLong(SceneFormat.WAVE_SEED_OFFSET), 
+                (this.header.getShort(SceneFormat.FLAGS_OFFSET) 
+                        & SceneFormat.FLAG_WAVY_SHORE) != 0);
+        o = SceneFormat.SUN_OFFSET;
+        Sun sun = new Sun(new Point(this.headerInt(o), this.headerInt(o + 4)), 
+                this.headerInt(o + 8));
+        o = SceneFormat.MOON_OFFSET;
+        Moon moon = new Moon(new Point(this.headerInt(o), 
+                this.headerInt(o + 4)), this.headerInt(o + 8));
+        List<Cloud> clouds = new ArrayList<>(this.cloudCount);
+        for (int i = 0; i < this.cloudCount; i++) {
+            o = SceneFormat.HEADER_SIZE + i * SceneFormat.CLOUD_RECORD_SIZE;
+            Cloud cloud = new Cloud(new Rectangle(this.headerInt(o), 
+                    this.headerInt(o + 4), this.headerInt(o + 8), 
+                    this.headerInt(o + 12)), this.header.getLong(o + 16));
+            int wrapWidth = this.headerInt(o + 28);
+            if (wrapWidth > 0) {
+                cloud.setDrift(this.headerInt(o + 24) 
+                        / SceneFormat.DRIFT_SCALE, wrapWidth);
+            }
+            clouds.add(cloud);
+        }
+        Forest forest = new Forest(this.treeCount);
+        forest.grow(this.treeCount);
+        for (int i = 0; i < this.treeCount; i++) {
+            MappedByteBuffer segment = this.segmentOf(i);
+            int offset = offsetOf(i);
+            forest.set(i, segment.getInt(offset), segment.getInt(offset + 4), 
+                    Short.toUnsignedInt(segment.getShort(offset + 8)), 
+                    Short.toUnsignedInt(segment.getShort(offset + 10)), 
+                    segment.getInt(offset + 12));
+        }
+        forest.attachIndex(new SpatialGrid(new Rectangle(size), 
+                Scene.GRID_CELL_SIZE));
+        Scene scene = new Scene(size, this.getHorizon(), ocean, sun, moon, 
+                clouds, forest);
+        if (this.hasDayCycle()) {
+            int stepsPerDay = this.headerInt(SceneFormat.DAY_CYCLE_OFFSET);
+            DayCycle cycle = new DayCycle(stepsPerDay);
+            cycle.setTimeOfDay(this.header
+                    .getDouble(SceneFormat.TIME_OF_DAY_OFFSET));
+            scene.setDayCycle(cycle);
+        }
+        return scene;
+    }
+    
+    private static ByteBuffer readFully(FileChannel channel, long position, 
+            int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length)
+                .order(SceneFormat.BYTE_ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of scene file");
+            }
+        }
+        return buffer;
+    }
+    
+    /**
+     * Opens a scene file written by {@link SceneWriter}.
+     * @param path The file to open.
+     * @return The mapped scene. The file doesn't need to be closed 
+     * afterwards; the mapping lasts until the mapped scene is garbage 
+     * collected.
+     * @throws IOException If the file can't be read, isn't a scene file, was 
+     * written by a later version, was not finished or is shorter than its 
+     * header says.
+     */
+    public static MappedScene open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, 
+                StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < SceneFormat.HEADER_SIZE) {
+                throw new IOException(path + " is too short for a scene file");
+            }
+            ByteBuffer header = readFully(channel, 0, 
+                    SceneFormat.HEADER_SIZE);
+            if (header.getInt(0) != SceneFormat.MAGIC) {
+                throw new IOException(path + " is not a scene file");
+            }
+            short version = header.getShort(SceneFormat.VERSION_OFFSET);
+            if (version < 1 || version > SceneFormat.VERSION) {
+                throw new IOException(path + " has scene format version " 
+                        + version + " but only up to " + SceneFormat.VERSION 
+                        + " is supported");
+            }
+            int cloudCount = header.getInt(SceneFormat.CLOUD_COUNT_OFFSET);
+            int treeCount = header.getInt(SceneFormat.TREE_COUNT_OFFSET);
+            long treesOffset = header
+                    .getLong(SceneFormat.TREES_OFFSET_OFFSET);
+            if (treeCount < 0) {
+                throw new IOException(path + " was not finished");
+            }
+            long cloudsEnd = SceneFormat.HEADER_SIZE + (long) cloudCount 
+                    * SceneFormat.CLOUD_RECORD_SIZE;
+            if (cloudCount < 0 || treesOffset < cloudsEnd || treesOffset 
+                    + (long) treeCount * SceneFormat.TREE_RECORD_SIZE 
+                    > fileSize || cloudsEnd > Integer.MAX_VALUE) {
+                throw new IOException(path 
+                        + " is shorter than its header says");
+            }
+            header = readFully(channel, 0, (int) cloudsEnd);
+            int segmentCount = (int) (((long) treeCount + SEGMENT_MASK) 
+                    >>> SEGMENT_SHIFT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long first = (long) s << SEGMENT_SHIFT;
+                long count = Math.min(treeCount - first, 1L << SEGMENT_SHIFT);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, 
+                        treesOffset + first * SceneFormat.TREE_RECORD_SIZE, 
+                        count * SceneFormat.TREE_RECORD_SIZE);
+                segments[s].order(SceneFormat.BYTE_ORDER);
+            }
+            return new MappedScene(header, segments, treeCount, cloudCount);
+        }
+    }
+    
+    private MappedScene(ByteBuffer header, MappedByteBuffer[] segments, 
+            int treeCount, int cloudCount) {
+        this.header = header;
+        this.segments = segments;
+        this.treeCount = treeCount;
+        this.cloudCount = cloudCount;
+    }
+    
+}
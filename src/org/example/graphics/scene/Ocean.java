@@ -16,12 +16,275 @@
  */
 package org.example.graphics.scene;
 
-import java.awt.Dimension;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+
+import org.example.randomness.SeededRandom;
 
 /**
- *
+ * The body of water next to the shore. The surface is drawn as bands of waves 
+ * that get bigger and faster toward the bottom, for a bit of perspective. 
+ * Each band looks up its wave heights in a precomputed {@link WaveTable}, and 
+ * animating the waves only means advancing an offset into the table.
+ * <p>The animation runs at a fixed timestep: each call to {@link #step()} 
+ * advances the waves by one tick, however long it's been since the last one. 
+ * Drawing can happen more or less often than stepping; {@link 
+ * #setInterpolation(double)} says how far between the previous tick and the 
+ * current one to draw the waves, so that motion looks smooth either way.</p>
+ * <p>Stepping and setting the interpolation should be done on the same thread 
+ * that paints, or at least not while a paint is in progress. Several threads 
+ * may draw at the same time, though, as the tiled rasterizer does.</p>
  * @author Alonso del Arte
  */
 public class Ocean {
     
+    /**
+     * The default color of the water, a deep blue.
+     */
+    public static final Color DEFAULT_COLOR = new Color(0xFF1F5F99, true);
+    
+    static final long DEFAULT_WAVE_SEED = 0x0CEA4L;
+    
+    private static final int BAND_SPACING = 32;
+    
+    private static final int MAX_BAND_COUNT = 12;
+    
+    private static final int MAX_AMPLITUDE = 16;
+    
+    private static final int HAZE_PERCENT = 30;
+    
+    private final Rectangle bounds;
+    
+    private final Color waterColor;
+    
+    private final long waveSeed;
+    
+    private final boolean wavyShore;
+    
+    private final Shoreline shoreline;
+    
+    private final WaveTable[] tables;
+    
+    private final int[] baselines;
+    
+    private final int[] speeds;
+    
+    private final Color[] bandColors;
+    
+    private final int[] phases;
+    
+    private final int[] previousPhases;
+    
+    private int alpha = WaveTable.ONE;
+    
+    public Rectangle getBounds() {
+        return new Rectangle(this.bounds);
+    }
+    
+    public Color getWaterColor() {
+        return this.waterColor;
+    }
+    
+    public long getWaveSeed() {
+        return this.waveSeed;
+    }
+    
+    public boolean hasWavyShore() {
+        return this.wavyShore;
+    }
+    
+    /**
+     * Gives the shoreline, which tells where the water starts in each row.
+     * @return The shoreline. Straight unless this ocean was set up with a 
+     * wavy shore.
+     */
+    public Shoreline getShoreline() {
+        return this.shoreline;
+    }
+    
+    /**
+     * Advances the waves by one tick of the fixed timestep.
+     */
+    public void step() {
+        for (int k = 0; k < this.phases.length; k++) {
+            this.previousPhases[k] = this.phases[k];
+            this.phases[k] += this.speeds[k];
+        }
+    }
+    
+    /**
+     * Says how far between the previous tick and the current one the waves 
+     * should be drawn.
+     * @param alpha From 0.0 for the previous tick to 1.0 for the current 
+     * tick. Initially 1.0.
+     * @throws IllegalArgumentException If {@code alpha} is less than 0.0 or 
+     * greater than 1.0.
+     */
+    public void setInterpolation(double alpha) {
+        if (!(alpha >= 0.0 && alpha <= 1.0)) {
+            String excMsg = "Interpolation " + alpha 
+                    + " should be from 0.0 to 1.0";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.alpha = (int) Math.round(alpha * WaveTable.ONE);
+    }
+    
+    /**
+     * Copies this ocean, waves and all. The copy can be stepped without 
+     * affecting this ocean. The wave tables and the shoreline never change, 
+     * so they're shared rather than copied.
+     * @return A copy of this ocean.
+     */
+    Ocean copy() {
+        return new Ocean(this);
+    }
+    
+    private static Color haze(Color color, int percent) {
+        int keep = 100 - percent;
+        int r = (color.getRed() * keep + 255 * percent) / 100;
+        int g = (color.getGreen() * keep + 255 * percent) / 100;
+        int b = (color.getBlue() * keep + 255 * percent) / 100;
+        return new Color(r, g, b, color.getAlpha());
+    }
+    
+    /**
+     * Draws the part of the ocean that's within a clipping rectangle.
+     * @param g The graphics context to draw on.
+     * @param clip The area that needs drawing. Nothing outside it is drawn.
+     */
+    public void draw(Graphics g, Rectangle clip) {
+        Rectangle area = this.bounds.intersection(clip);
+        if (area.isEmpty()) {
+            return;
+        }
+        int areaRight = area.x + area.width;
+        int areaBottom = area.y + area.height;
+        int bandCount = this.tables.length;
+        for (int k = 0; k < bandCount; k++) {
+            int limit = k + 1 < bandCount 
+                    ? this.baselines[k + 1] + this.tables[k + 1].getAmplitude() 
+                    : this.bounds.y + this.bounds.height;
+            limit = Math.min(limit, areaBottom);
+            WaveTable table = this.tables[k];
+            int amplitude = table.getAmplitude();
+            if (limit <= area.y 
+                    || this.baselines[k] - amplitude >= areaBottom) {
+                continue;
+            }
+            g.setColor(this.bandColors[k]);
+            int phase = this.previousPhases[k] + (((this.phases[k] 
+                    - this.previousPhases[k]) * this.alpha) 
+                    >> WaveTable.FRACTION_BITS);
+            int solidTop = Math.max(this.baselines[k] + amplitude, area.y);
+            if (solidTop < limit) {
+                g.fillRect(area.x, solidTop, area.width, limit - solidTop);
+            }
+            if (amplitude == 0) {
+                continue;
+            }
+            int runStart = area.x;
+            int runTop = 0;
+            for (int x = area.x; x <= areaRight; x++) {
+                int top = runTop;
+                if (x < areaRight) {
+                    top = Math.max(this.baselines[k] + table.heightAt((x 
+                            << WaveTable.FRACTION_BITS) + phase), 
+                            Math.max(this.bounds.y, area.y));
+                }
+                if (x == areaRight || (x > runStart && top != runTop)) {
+                    int runBottom = Math.min(solidTop, limit);
+                    if (runTop < runBottom) {
+                        g.fillRect(runStart, runTop, x - runStart, 
+                                runBottom - runTop);
+                    }
+                    runStart = x;
+                }
+                runTop = top;
+            }
+        }
+    }
+    
+    public Ocean(Rectangle bounds) {
+        this(bounds, DEFAULT_COLOR);
+    }
+    
+    public Ocean(Rectangle bounds, Color waterColor) {
+        this(bounds, waterColor, DEFAULT_WAVE_SEED);
+    }
+    
+    /**
+     * Sets up an ocean with waves of its own. The same bounds and seed always 
+     * give the same waves.
+     * @param bounds Where the ocean is. For example, (480, 200) to (800, 600).
+     * @param waterColor The color of the water at the bottom of the ocean. 
+     * Bands closer to the horizon are a little lighter.
+     * @param waveSeed The seed for the wave profiles. For example, 
+     * 20251017.
+     */
+    public Ocean(Rectangle bounds, Color waterColor, long waveSeed) {
+        this(bounds, waterColor, waveSeed, false);
+    }
+    
+    /**
+     * Sets up an ocean with waves of its own and, optionally, a wavy shore. 
+     * The same bounds and seed always give the same waves and the same 
+     * shore.
+     * @param bounds Where the ocean is, beach included. For example, (480, 
+     * 200) to (800, 600).
+     * @param waterColor The color of the water at the bottom of the ocean. 
+     * Bands closer to the horizon are a little lighter.
+     * @param waveSeed The seed for the wave profiles and the shore. For 
+     * example, 20251017.
+     * @param wavyShore Whether the shore should have coves and points, as 
+     * made by {@link Shoreline#generate(long, Rectangle)}. If false, the 
+     * water starts right at the left edge of {@code bounds}.
+     */
+    public Ocean(Rectangle bounds, Color waterColor, long waveSeed, 
+            boolean wavyShore) {
+        this.bounds = new Rectangle(bounds);
+        this.waterColor = waterColor;
+        this.waveSeed = waveSeed;
+        this.wavyShore = wavyShore;
+        this.shoreline = wavyShore ? Shoreline.generate(waveSeed, bounds) 
+                : Shoreline.straight(bounds);
+        int h = Math.max(0, bounds.height);
+        int bandCount = Math.clamp(h / BAND_SPACING, 1, MAX_BAND_COUNT);
+        int maxAmplitude = Math.clamp(h / 40, 1, MAX_AMPLITUDE);
+        this.tables = new WaveTable[bandCount];
+        this.baselines = new int[bandCount];
+        this.speeds = new int[bandCount];
+        this.bandColors = new Color[bandCount];
+        this.phases = new int[bandCount];
+        this.previousPhases = new int[bandCount];
+        SeededRandom random = new SeededRandom(waveSeed);
+        for (int k = 0; k < bandCount; k++) {
+            long t = 1000L * k / bandCount;
+            this.baselines[k] = bounds.y 
+                    + (int) (h * t * (1000L + t) / 2000000L);
+            int amplitude = k == 0 ? 0 
+                    : Math.max(1, maxAmplitude * k / bandCount);
+            this.tables[k] = new WaveTable(random.substream(k), amplitude);
+            this.speeds[k] = WaveTable.ONE / 8 
+                    + WaveTable.ONE * k / (2 * bandCount);
+            this.bandColors[k] = haze(waterColor, 
+                    HAZE_PERCENT * (bandCount - k) / bandCount);
+        }
+    }
+    
+    private Ocean(Ocean other) {
+        this.bounds = other.bounds;
+        this.waterColor = other.waterColor;
+        this.waveSeed = other.waveSeed;
+        this.wavyShore = other.wavyShore;
+        this.shoreline = other.shoreline;
+        this.tables = other.tables;
+        this.baselines = other.baselines;
+        this.speeds = other.speeds;
+        this.bandColors = other.bandColors;
+        this.phases = other.phases.clone();
+        this.previousPhases = other.previousPhases.clone();
+        this.alpha = other.alpha;
+    }
+    
 }
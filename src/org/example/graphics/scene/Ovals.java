@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Graphics;
+
+/**
+ * Fills ovals one row of pixels at a time. {@code Graphics.fillOval()} can 
+ * give slightly different edge pixels depending on the clip, which would make 
+ * a scene painted in tiles or in damaged regions differ from one painted all 
+ * at once. Each row here is a {@code fillRect()} with integer coordinates 
+ * worked out from the oval alone, so the pixels don't depend on the clip.
+ * @author Alonso del Arte
+ */
+final class Ovals {
+    
+    /**
+     * Fills an oval inscribed in a rectangle, with the current color of the 
+     * graphics context. A row of pixels is filled from the left edge to the 
+     * right edge of the oval at the center of that row.
+     * @param g The graphics context to fill on.
+     * @param x The <i>x</i> coordinate of the top left corner of the 
+     * rectangle.
+     * @param y The <i>y</i> coordinate of the top left corner of the 
+     * rectangle.
+     * @param width The width of the rectangle. For example, 50.
+     * @param height The height of the rectangle. For example, 66.
+     */
+    static void fill(Graphics g, int x, int y, int width, int height) {
+        if (width < 1 || height < 1) {
+            return;
+        }
+        double radiusX = width / 2.0;
+        double radiusY = height / 2.0;
+        double centerX = x + radiusX;
+        for (int row = 0; row < height; row++) {
+            double dy = (row + 0.5 - radiusY) / radiusY;
+            double halfWidth = radiusX * Math.sqrt(1.0 - dy * dy);
+            int left = (int) Math.round(centerX - halfWidth);
+            int right = (int) Math.round(centerX + halfWidth);
+            if (right > left) {
+                g.fillRect(left, y + row, right - left, 1);
+            }
+        }
+    }
+    
+    private Ovals() {
+        // Static helper only
+    }
+    
+}
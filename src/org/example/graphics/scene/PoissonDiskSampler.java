@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+import org.example.graphics.profiling.GenerationEvent;
+import org.example.randomness.SeededRandom;
+
+/**
+ * Places trees within an area so that no two of them overlap, the way 
+ * Bridson's algorithm places Poisson-disk samples. Each tree placed becomes 
+ * active, and new trees are tried at random a little way out from active 
+ * trees until no more fit, at which point the active tree is retired. A grid 
+ * with cells the size of the largest possible tree means each try only has 
+ * to be checked against the trees in the few nearby cells, so placing 
+ * <i>n</i> trees takes time roughly proportional to <i>n</i>, unlike trying 
+ * random points across the whole area and checking each one against every 
+ * tree already placed.
+ * <p>Each tree gets its own random size, and two trees are said to overlap 
+ * if their rectangles do. An optional {@link DensityField} spreads the trees 
+ * out: where the density is 1.0 trees may touch, where it's lower a gap of 
+ * up to the maximum gap is kept around each new tree, and where it's 0.0 no 
+ * trees are placed at all.</p>
+ * <p>Unlike {@link ForestGenerator}, the sampler can't promise a particular 
+ * number of trees, only as many as fit, up to a limit. The same seed, area, 
+ * sizes and density field always give the same trees. The sampler keeps its 
+ * working arrays in fields while sampling, so an instance should only be 
+ * used on one thread at a time.</p>
+ * @author Alonso del Arte
+ */
+public final class PoissonDiskSampler {
+    
+    /**
+     * How many times a new tree is tried around an active tree before that 
+     * tree is retired. Bridson suggests 30 for points; rectangles of random 
+     * size fill in well enough with fewer.
+     */
+    public static final int DEFAULT_ATTEMPTS = 20;
+    
+    private static final int SEED_BLOCK = 4;
+    
+    private static final int SEED_ATTEMPTS = 64;
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final long seed;
+    
+    private final Rectangle area;
+    
+    private final Dimension maxTreeSize;
+    
+    private final int maxGap;
+    
+    private final DensityField density;
+    
+    private int columns;
+    
+    private int rows;
+    
+    private int[] cellHeads;
+    
+    private int[] next;
+    
+    private int[] xs;
+    
+    private int[] ys;
+    
+    private int[] widths;
+    
+    private int[] heights;
+    
+    private int[] active;
+    
+    private int count;
+    
+    private int activeCount;
+    
+    public long getSeed() {
+        return this.seed;
+    }
+    
+    private int marginAt(int x, int y) {
+        double d = this.density == null ? 1.0 
+                : Math.min(1.0, this.density.densityAt(x, y));
+        if (!(d > 0.0)) {
+            return -1;
+        }
+        return (int) Math.round(this.maxGap * (1.0 - d));
+    }
+    
+    private boolean overlapsAny(int x, int y, int width, int height, 
+            int margin) {
+        int cellWidth = this.maxTreeSize.width;
+        int cellHeight = this.maxTreeSize.height;
+        int firstColumn = Math.max(0, Math.floorDiv(x - margin - cellWidth 
+                + 1 - this.area.x, cellWidth));
+        int lastColumn = Math.min(this.columns - 1, Math.floorDiv(x + width 
+                + margin - 1 - this.area.x, cellWidth));
+        int firstRow = Math.max(0, Math.floorDiv(y - margin - cellHeight + 1 
+                - this.area.y, cellHeight));
+        int lastRow = Math.min(this.rows - 1, Math.floorDiv(y + height 
+                + margin - 1 - this.area.y, cellHeight));
+        int left = x - margin;
+        int right = x + width + margin;
+        int top = y - margin;
+        int bottom = y + height + margin;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int i = this.cellHeads[row * this.columns + column];
+                while (i >= 0) {
+                    if (this.xs[i] < right 
+                            && this.xs[i] + this.widths[i] > left 
+                            && this.ys[i] < bottom 
+                            && this.ys[i] + this.heights[i] > top) {
+                        return true;
+                    }
+                    i = this.next[i];
+                }
+            }
+        }
+        return false;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > this.xs.length) {
+            int newLength = Math.max(capacity, 2 * this.xs.length);
+            this.xs = Arrays.copyOf(this.xs, newLength);
+            this.ys = Arrays.copyOf(this.ys, newLength);
+            this.widths = Arrays.copyOf(this.widths, newLength);
+            this.heights = Arrays.copyOf(this.heights, newLength);
+            this.next = Arrays.copyOf(this.next, newLength);
+            this.active = Arrays.copyOf(this.active, newLength);
+        }
+    }
+    
+    /**
+     * Places a tree by the middle of its bottom edge, if it fits.
+     * @return True if the tree was placed, false if it would stick out of 
+     * the area, if it would overlap another tree or its gap, or if the 
+     * density there is zero.
+     */
+    private boolean tryPlace(int anchorX, int anchorY, int width, 
+            int height) {
+        int x = anchorX - width / 2;
+        int y = anchorY - height;
+        if (x < this.area.x || y < this.area.y 
+                || x + width > this.area.x + this.area.width 
+                || anchorY > this.area.y + this.area.height) {
+            return false;
+        }
+        int margin = this.marginAt(anchorX, anchorY);
+        if (margin < 0 || this.overlapsAny(x, y, width, height, margin)) {
+            return false;
+        }
+        int i = this.count;
+        this.ensureCapacity(i + 1);
+        this.xs[i] = x;
+        this.ys[i] = y;
+        this.widths[i] = width;
+        this.heights[i] = height;
+        int cell = (y - this.area.y) / this.maxTreeSize.height * this.columns 
+                + (x - this.area.x) / this.maxTreeSize.width;
+        this.next[i] = this.cellHeads[cell];
+        this.cellHeads[cell] = i;
+        this.active[this.activeCount++] = i;
+        this.count++;
+        return true;
+    }
+    
+    private boolean tryAround(SeededRandom random, int i) {
+        int anchorX = this.xs[i] + this.widths[i] / 2;
+        int anchorY = this.ys[i] + this.heights[i];
+        int margin = Math.max(0, this.marginAt(anchorX, anchorY));
+        for (int attempt = 0; attempt < DEFAULT_ATTEMPTS; attempt++) {
+            int width = random.nextInt(1, this.maxTreeSize.width);
+            int height = random.nextInt(1, this.maxTreeSize.height);
+            double angle = 2.0 * Math.PI * random.nextDouble();
+            double reach = 1.0 + random.nextDouble();
+            double radiusX = (this.widths[i] + width) / 2.0 + margin;
+            double radiusY = (this.heights[i] + height) / 2.0 + margin;
+            int candidateX = anchorX 
+                    + (int) Math.round(reach * radiusX * Math.cos(angle));
+            int candidateY = anchorY 
+                    + (int) Math.round(reach * radiusY * Math.sin(angle));
+            if (this.tryPlace(candidateX, candidateY, width, height)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Places trees until no more fit or the limit is reached. Each block of 
+     * a few grid cells gets a starting tree, tried at random spots in the 
+     * block until one fits or a few dozen tries have failed, so that areas 
+     * cut off from each other by zero density still get trees, even where 
+     * most of a block has zero density.
+     * @param maxCount The most trees to place. For example, 100000.
+     * @return A forest of the trees placed, which may be fewer than {@code 
+     * maxCount}. The leaf colors are random.
+     * @throws IllegalArgumentException If {@code maxCount} is negative.
+     */
+    public Forest sample(int maxCount) {
+        if (maxCount < 0) {
+            String excMsg = "Tree count " + maxCount 
+                    + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        GenerationEvent event = GenerationEvent.start();
+        int cellWidth = this.maxTreeSize.width;
+        int cellHeight = this.maxTreeSize.height;
+        this.columns = (this.area.width + cellWidth - 1) / cellWidth;
+        this.rows = (this.area.height + cellHeight - 1) / cellHeight;
+        this.cellHeads = new int[this.columns * this.rows];
+        Arrays.fill(this.cellHeads, -1);
+        int capacity = Math.min(maxCount, INITIAL_CAPACITY);
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.widths = new int[capacity];
+        this.heights = new int[capacity];
+        this.next = new int[capacity];
+        this.active = new int[capacity];
+        this.count = 0;
+        this.activeCount = 0;
+        SeededRandom random = new SeededRandom(this.seed);
+        int blockWidth = SEED_BLOCK * cellWidth;
+        int blockHeight = SEED_BLOCK * cellHeight;
+        for (int by = 0; by < this.area.height 
+                && this.count < maxCount; by += blockHeight) {
+            for (int bx = 0; bx < this.area.width 
+                    && this.count < maxCount; bx += blockWidth) {
+                int spanX = Math.min(blockWidth, this.area.width - bx);
+                int spanY = Math.min(blockHeight, this.area.height - by);
+                for (int attempt = 0; attempt < SEED_ATTEMPTS; attempt++) {
+                    if (this.tryPlace(this.area.x + bx 
+                            + random.nextInt(spanX), this.area.y + by 
+                            + random.nextInt(spanY) + 1, 
+                            random.nextInt(1, cellWidth), 
+                            random.nextInt(1, cellHeight))) {
+                        break;
+                    }
+                }
+            }
+        }
+        while (this.activeCount > 0 && this.count < maxCount) {
+            int slot = random.nextInt(this.activeCount);
+            if (!this.tryAround(random, this.active[slot])) {
+                this.active[slot] = this.active[--this.activeCount];
+            }
+        }
+        Forest forest = new Forest(this.count);
+        int start = forest.grow(this.count);
+        for (int i = 0; i < this.count; i++) {
+            forest.set(start + i, this.xs[i], this.ys[i], this.widths[i], 
+                    this.heights[i], random.nextInt());
+        }
+        this.cellHeads = null;
+        this.next = null;
+        this.xs = null;
+        this.ys = null;
+        this.widths = null;
+        this.heights = null;
+        this.active = null;
+        event.finish(GenerationEvent.POISSON_DISK, this.seed, forest.size());
+        return forest;
+    }
+    
+    /**
+     * Creates a sampler that packs trees evenly and as closely as they'll go 
+     * without overlapping.
+     * @param seed The seed. Any {@code long} is fine. For example, 20251017.
+     * @param area The area in which to place the trees. Trees are kept 
+     * entirely inside it. For example, 1920 &times; 1080.
+     * @param maxTreeSize The exclusive bound on tree width and height. For 
+     * example, 50 &times; 100.
+     * @throws IllegalArgumentException If either measure of {@code 
+     * maxTreeSize} is less than 2, or if {@code area} is empty.
+     */
+    public PoissonDiskSampler(long seed, Rectangle area, 
+            Dimension maxTreeSize) {
+        this(seed, area, maxTreeSize, 0, null);
+    }
+    
+    /**
+     * Creates a sampler.
+     * @param seed The seed. Any {@code long} is fine. For example, 20251017.
+     * @param area The area in which to place the trees. Trees are kept 
+     * entirely inside it. For example, 1920 &times; 1080.
+     * @param maxTreeSize The exclusive bound on tree width and height. For 
+     * example, 50 &times; 100.
+     * @param maxGap How much space to keep around a new tree where the 
+     * density is close to 0.0. Where the density is 1.0, no space is kept. 
+     * For example, 40.
+     * @param density How dense the trees may be at each point, going by the 
+     * middle of a tree's bottom edge. It's asked about many points, so it 
+     * should be quick. May be null, meaning 1.0 everywhere.
+     * @throws IllegalArgumentException If either measure of {@code 
+     * maxTreeSize} is less than 2, if {@code area} is empty, or if {@code 
+     * maxGap} is negative.
+     */
+    public PoissonDiskSampler(long seed, Rectangle area, Dimension maxTreeSize, 
+            int maxGap, DensityField density) {
+        if (maxTreeSize.width < 2 || maxTreeSize.height < 2) {
+            String excMsg = "Maximum tree size " + maxTreeSize.toString() 
+                    + " should be at least 2 by 2";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (area.isEmpty()) {
+            String excMsg = "Area " + area.toString() 
+                    + " should not be empty";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (maxGap < 0) {
+            String excMsg = "Maximum gap " + maxGap 
+                    + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.seed = seed;
+        this.area = new Rectangle(area);
+        this.maxTreeSize = new Dimension(maxTreeSize);
+        this.maxGap = maxGap;
+        this.density = density;
+    }
+    
+}
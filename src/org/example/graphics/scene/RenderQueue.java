@@ -0,0 +1,545 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.example.graphics.profiling.LayerPaintEvent;
+import org.example.graphics.profiling.RenderQueueFlushEvent;
+
+/**
+ * Collects draw commands and draws them sorted by layer, then by depth, then 
+ * by paint state, so that the color is set once per batch of commands that 
+ * share it rather than once per command. Trees are the main beneficiaries: 
+ * drawn one by one, each tree sets the color twice, once for its trunk and 
+ * once for its canopy, while through the queue all the trunks in a depth band 
+ * share one color change.
+ * <p>Depth is the <i>y</i> coordinate where an object meets the ground, so 
+ * that nearer objects are drawn over farther ones. Depths are grouped into 
+ * bands, and only the order of the bands is kept exactly: within a band, 
+ * commands are grouped by state instead. The narrower the bands, the more 
+ * exact the overlap, and the fewer commands there are to batch together. 
+ * Within a band, canopies come before trunks, so that a trunk is never 
+ * hidden by the canopy of a tree standing at about the same depth. Commands 
+ * with the same layer, depth band and state are drawn in the order they were 
+ * added.</p>
+ * <p>Each command is kept in a few primitive arrays, with its place in the 
+ * drawing order packed into a {@code long} sort key, so that sorting is a 
+ * sort of {@code long}s. The arrays are kept between flushes, so a queue 
+ * that's reused doesn't allocate once it has grown to the size of a frame. 
+ * Instances are not safe for use by more than one thread at a time.</p>
+ * @author Alonso del Arte
+ */
+public final class RenderQueue {
+    
+    /**
+     * The default height of a depth band, in pixels.
+     */
+    public static final int DEFAULT_BAND_HEIGHT = 8;
+    
+    private static final int SEQUENCE_BITS = 21;
+    
+    private static final int RANK_BITS = 21;
+    
+    private static final int BAND_BITS = 15;
+    
+    private static final int LAYER_BITS = 5;
+    
+    private static final int RANK_SHIFT = SEQUENCE_BITS;
+    
+    private static final int PASS_SHIFT = RANK_SHIFT + RANK_BITS;
+    
+    private static final int BAND_SHIFT = PASS_SHIFT + 1;
+    
+    private static final int LAYER_SHIFT = BAND_SHIFT + BAND_BITS;
+    
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1L;
+    
+    private static final int MAX_BAND = (1 << BAND_BITS) - 1;
+    
+    /**
+     * The most layers a queue can have.
+     */
+    public static final int MAX_LAYERS = 1 << LAYER_BITS;
+    
+    /**
+     * The most commands a queue can hold before it's flushed. A tree takes 
+     * two commands.
+     */
+    public static final int MAX_COMMANDS = (1 << SEQUENCE_BITS) - 1;
+    
+    private static final int INITIAL_CAPACITY = 64;
+    
+    private static final byte FILL_RECT = 0;
+    
+    private static final byte FILL_OVAL = 1;
+    
+    private static final byte PAINTED_TREE = 2;
+    
+    private static final byte CUSTOM = 3;
+    
+    private static final int CANOPY_PASS = 0;
+    
+    private static final int TRUNK_PASS = 1;
+    
+    private static final int TRUNK_ARGB = Tree.TRUNK_COLOR.getRGB();
+    
+    private final int bandHeight;
+    
+    private final String[] layerNames;
+    
+    private int count = 0;
+    
+    private long[] keys = new long[INITIAL_CAPACITY];
+    
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    
+    private int[] xs = new int[INITIAL_CAPACITY];
+    
+    private int[] ys = new int[INITIAL_CAPACITY];
+    
+    private int[] widths = new int[INITIAL_CAPACITY];
+    
+    private int[] heights = new int[INITIAL_CAPACITY];
+    
+    private int[] states = new int[INITIAL_CAPACITY];
+    
+    private int[] refs = new int[INITIAL_CAPACITY];
+    
+    private final List<Consumer<Graphics>> customDraws = new ArrayList<>();
+    
+    private final List<TreePainter> painters = new ArrayList<>();
+    
+    private int flushedCount = 0;
+    
+    private int stateChangeCount = 0;
+    
+    private int unbatchedStateChangeCount = 0;
+    
+    public int getBandHeight() {
+        return this.bandHeight;
+    }
+    
+    /**
+     * Tells how many commands are waiting to be drawn.
+     * @return The number of commands added since the last flush. For 
+     * example, 81.
+     */
+    public int size() {
+        return this.count;
+    }
+    
+    /**
+     * Tells how many commands the last flush drew.
+     * @return The number of commands. For example, 81. 0 if there hasn't 
+     * been a flush yet.
+     */
+    public int getFlushedCount() {
+        return this.flushedCount;
+    }
+    
+    /**
+     * Tells how many times the last flush set the color.
+     * @return The number of state changes. For example, 45.
+     */
+    public int getStateChangeCount() {
+        return this.stateChangeCount;
+    }
+    
+    /**
+     * Tells how many times the last flush would have set the color if it had 
+     * drawn the commands in the order they were added. Commands that set 
+     * their own state, such as custom draws, are counted as resetting the 
+     * state in both orders.
+     * @return The number of state changes without batching. For example, 80.
+     */
+    public int getUnbatchedStateChangeCount() {
+        return this.unbatchedStateChangeCount;
+    }
+    
+    /**
+     * Tells where a point on a tree comes in the drawing order, for picking 
+     * the tree that's drawn on top at that point. The tree is taken to be 
+     * added with {@link #addTree(int, int, int, int, int, int)}, so the point 
+     * is on the trunk if it's within the trunk's rectangle, and on the canopy 
+     * otherwise. Of two trees in the same layer and queue, the one with the 
+     * greater order is drawn over the other; if their orders are equal, the 
+     * one added later is.
+     * @param bandHeight The height of a depth band, in pixels. For example, 
+     * 8.
+     * @param x The <i>x</i> coordinate of the top left corner of the tree. 
+     * For example, 200.
+     * @param y The <i>y</i> coordinate of the top left corner of the tree. 
+     * For example, 300.
+     * @param width The width of the tree. For example, 40.
+     * @param height The height of the tree. For example, 66.
+     * @param leafARGB The leaf color packed as ARGB. For example, 0xFF228B22.
+     * @param pointX The <i>x</i> coordinate of the point. For example, 215.
+     * @param pointY The <i>y</i> coordinate of the point. For example, 350.
+     * @return The depth band, pass and paint state of the part of the tree 
+     * at the point, packed in that order of significance. For example, 
+     * 0x9_8022_8B22 for a canopy in band 45.
+     */
+    static long treeOrder(int bandHeight, int x, int y, int width, 
+            int height, int leafARGB, int pointX, int pointY) {
+        int band = Math.clamp(Math.floorDiv(y + height, bandHeight), 0, 
+                MAX_BAND);
+        int canopyHeight = 2 * height / 3;
+        int trunkWidth = Math.max(1, width / 5);
+        int trunkLeft = x + (width - trunkWidth) / 2;
+        boolean onTrunk = pointY >= y + canopyHeight && pointX >= trunkLeft 
+                && pointX < trunkLeft + trunkWidth;
+        int pass = onTrunk ? TRUNK_PASS : CANOPY_PASS;
+        int state = onTrunk ? TRUNK_ARGB : leafARGB;
+        // Flipping the sign bit orders the states as signed ints, the same
+        // as ranking them does
+        return ((long) band << 33) | ((long) pass << 32) 
+                | ((state ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+    
+    private void checkLayer(int layer) {
+        if (layer < 0 || layer >= this.layerNames.length) {
+            String excMsg = "Layer " + layer + " should be from 0 to " 
+                    + (this.layerNames.length - 1);
+            throw new IllegalArgumentException(excMsg);
+        }
+    }
+    
+    private int add(byte kind, int layer, int depth, int pass, int state, 
+            int x, int y, int width, int height) {
+        this.checkLayer(layer);
+        if (this.count == MAX_COMMANDS) {
+            String excMsg = "Render queue is full at " + MAX_COMMANDS 
+                    + " commands";
+            throw new IllegalStateException(excMsg);
+        }
+        if (this.count == this.keys.length) {
+            int capacity = Math.min(2 * this.count, MAX_COMMANDS);
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.kinds = Arrays.copyOf(this.kinds, capacity);
+            this.xs = Arrays.copyOf(this.xs, capacity);
+            this.ys = Arrays.copyOf(this.ys, capacity);
+            this.widths = Arrays.copyOf(this.widths, capacity);
+            this.heights = Arrays.copyOf(this.heights, capacity);
+            this.states = Arrays.copyOf(this.states, capacity);
+            this.refs = Arrays.copyOf(this.refs, capacity);
+        }
+        int band = Math.clamp(Math.floorDiv(depth, this.bandHeight), 0, 
+                MAX_BAND);
+        int i = this.count++;
+        this.keys[i] = ((long) layer << LAYER_SHIFT) 
+                | ((long) band << BAND_SHIFT) | ((long) pass << PASS_SHIFT) 
+                | i;
+        this.kinds[i] = kind;
+        this.xs[i] = x;
+        this.ys[i] = y;
+        this.widths[i] = width;
+        this.heights[i] = height;
+        this.states[i] = state;
+        return i;
+    }
+    
+    /**
+     * Adds a filled rectangle.
+     * @param layer The layer. For example, 4.
+     * @param depth The depth. For example, 0 for a background.
+     * @param argb The color packed as ARGB. For example, 0xFFC2B280.
+     * @param x The <i>x</i> coordinate of the top left corner. For example, 
+     * 0.
+     * @param y The <i>y</i> coordinate of the top left corner. For example, 
+     * 200.
+     * @param width The width. For example, 480.
+     * @param height The height. For example, 400.
+     * @throws IllegalArgumentException If {@code layer} is not one of the 
+     * queue's layers.
+     * @throws IllegalStateException If the queue is full.
+     */
+    public void addRect(int layer, int depth, int argb, int x, int y, 
+            int width, int height) {
+        this.add(FILL_RECT, layer, depth, CANOPY_PASS, argb, x, y, width, 
+                height);
+    }
+    
+    /**
+     * Adds a filled oval.
+     * @param layer The layer. For example, 6.
+     * @param depth The depth. For example, 366.
+     * @param argb The color packed as ARGB. For example, 0xFF228B22.
+     * @param x The <i>x</i> coordinate of the top left corner of the oval's 
+     * bounds. For example, 200.
+     * @param y The <i>y</i> coordinate of the top left corner of the oval's 
+     * bounds. For example, 300.
+     * @param width The width of the oval's bounds. For example, 40.
+     * @param height The height of the oval's bounds. For example, 44.
+     * @throws IllegalArgumentException If {@code layer} is not one of the 
+     * queue's layers.
+     * @throws IllegalStateException If the queue is full.
+     */
+    public void addOval(int layer, int depth, int argb, int x, int y, 
+            int width, int height) {
+        this.add(FILL_OVAL, layer, depth, CANOPY_PASS, argb, x, y, width, 
+                height);
+    }
+    
+    /**
+     * Adds a tree, as its canopy and its trunk, the same shapes as drawn by 
+     * {@link Tree#draw(Graphics, int, int, int, int, Color)}. The depth is 
+     * the bottom of the tree.
+     * @param layer The layer. For example, 6.
+     * @param x The <i>x</i> coordinate of the top left corner. For example, 
+     * 200.
+     * @param y The <i>y</i> coordinate of the top left corner. For example, 
+     * 300.
+     * @param width The width of the tree. For example, 40.
+     * @param height The height of the tree. For example, 66.
+     * @param leafARGB The leaf color packed as ARGB. For example, 0xFF228B22.
+     * @throws IllegalArgumentException If {@code layer} is not one of the 
+     * queue's layers.
+     * @throws IllegalStateException If the queue doesn't have room for two 
+     * more commands.
+     */
+    public void addTree(int layer, int x, int y, int width, int height, 
+            int leafARGB) {
+        if (this.count > MAX_COMMANDS - 2) {
+            String excMsg = "Render queue is full at " + MAX_COMMANDS 
+                    + " commands";
+            throw new IllegalStateException(excMsg);
+        }
+        int canopyHeight = 2 * height / 3;
+        int trunkWidth = Math.max(1, width / 5);
+        int depth = y + height;
+        this.add(FILL_OVAL, layer, depth, CANOPY_PASS, leafARGB, x, y, width, 
+                Math.max(1, canopyHeight));
+        this.add(FILL_RECT, layer, depth, TRUNK_PASS, TRUNK_ARGB, 
+                x + (width - trunkWidth) / 2, y + canopyHeight, trunkWidth, 
+                height - canopyHeight);
+    }
+    
+    /**
+     * Adds a tree to be painted by a tree painter, such as a sprite cache. 
+     * When the queue is flushed, the painter is asked for a painter for the 
+     * pass with {@link TreePainter#forPass(Graphics)}, and that paints the 
+     * tree. The painter may set the paint state as it likes, so the state is 
+     * treated as unknown after it. Trees with the same leaf color are still 
+     * grouped together within a depth band, which helps painters that cache 
+     * by color. The depth is the bottom of the tree.
+     * @param layer The layer. For example, 6.
+     * @param x The <i>x</i> coordinate of the top left corner. For example, 
+     * 200.
+     * @param y The <i>y</i> coordinate of the top left corner. For example, 
+     * 300.
+     * @param width The width of the tree. For example, 40.
+     * @param height The height of the tree. For example, 66.
+     * @param leafARGB The leaf color packed as ARGB. For example, 0xFF228B22.
+     * @param painter What paints the tree.
+     * @throws IllegalArgumentException If {@code layer} is not one of the 
+     * queue's layers.
+     * @throws IllegalStateException If the queue is full.
+     */
+    public void addTree(int layer, int x, int y, int width, int height, 
+            int leafARGB, TreePainter painter) {
+        int i = this.add(PAINTED_TREE, layer, y + height, CANOPY_PASS, 
+                leafARGB, x, y, width, height);
+        int last = this.painters.size() - 1;
+        if (last < 0 || this.painters.get(last) != painter) {
+            this.painters.add(painter);
+            last++;
+        }
+        this.refs[i] = last;
+    }
+    
+    /**
+     * Adds a command that draws itself, for objects that aren't simple 
+     * shapes, such as clouds with a texture. The paint state is treated as 
+     * unknown after it.
+     * @param layer The layer. For example, 3.
+     * @param depth The depth. For example, 0.
+     * @param draw What to draw. For example, {@code cloud::draw}.
+     * @throws IllegalArgumentException If {@code layer} is not one of the 
+     * queue's layers.
+     * @throws IllegalStateException If the queue is full.
+     */
+    public void addCustom(int layer, int depth, Consumer<Graphics> draw) {
+        int i = this.add(CUSTOM, layer, depth, CANOPY_PASS, 0, 0, 0, 0, 0);
+        this.refs[i] = this.customDraws.size();
+        this.customDraws.add(draw);
+    }
+    
+    private boolean hasState(int i) {
+        return this.kinds[i] == FILL_RECT || this.kinds[i] == FILL_OVAL;
+    }
+    
+    private int countUnbatchedStateChanges() {
+        int changes = 0;
+        boolean stateKnown = false;
+        int state = 0;
+        for (int i = 0; i < this.count; i++) {
+            if (!this.hasState(i)) {
+                stateKnown = false;
+            } else if (!stateKnown || this.states[i] != state) {
+                state = this.states[i];
+                stateKnown = true;
+                changes++;
+            }
+        }
+        return changes;
+    }
+    
+    // Ranks the states by value, so that two commands are ordered the same
+    // way whatever other commands are in the queue with them. This keeps
+    // overlaps the same when only part of a scene is repainted.
+    private void rankStates() {
+        int[] distinct = Arrays.copyOf(this.states, this.count);
+        Arrays.sort(distinct);
+        int distinctCount = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[distinctCount++] = distinct[i];
+            }
+        }
+        for (int i = 0; i < this.count; i++) {
+            long rank = Arrays.binarySearch(distinct, 0, distinctCount, 
+                    this.states[i]);
+            this.keys[i] |= rank << RANK_SHIFT;
+        }
+    }
+    
+    /**
+     * Draws all the commands in order and empties the queue. Each run of 
+     * commands in the same layer is timed with a {@link LayerPaintEvent}, 
+     * and the whole flush with a {@link RenderQueueFlushEvent}.
+     * @param g The graphics context to draw on. Its color is left as set by 
+     * the last command.
+     * @param area The area being drawn, for the layer events. For example, 
+     * (0, 0) to (800, 600).
+     */
+    public void flush(Graphics g, Rectangle area) {
+        RenderQueueFlushEvent flushEvent = RenderQueueFlushEvent.start();
+        int n = this.count;
+        this.unbatchedStateChangeCount = this.countUnbatchedStateChanges();
+        this.rankStates();
+        Arrays.sort(this.keys, 0, n);
+        int changes = 0;
+        boolean stateKnown = false;
+        int state = 0;
+        int layer = -1;
+        int passPainterRef = -1;
+        TreePainter passPainter = null;
+        LayerPaintEvent layerEvent = null;
+        for (int j = 0; j < n; j++) {
+            long key = this.keys[j];
+            int i = (int) (key & SEQUENCE_MASK);
+            int commandLayer = (int) (key >>> LAYER_SHIFT);
+            if (commandLayer != layer) {
+                if (layerEvent != null) {
+                    layerEvent.finish(this.layerNames[layer], area);
+                }
+                layerEvent = LayerPaintEvent.start();
+                layer = commandLayer;
+            }
+            byte kind = this.kinds[i];
+            if (kind == FILL_RECT || kind == FILL_OVAL) {
+                if (!stateKnown || this.states[i] != state) {
+                    state = this.states[i];
+                    stateKnown = true;
+                    g.setColor(new Color(state, true));
+                    changes++;
+                }
+                if (kind == FILL_RECT) {
+                    g.fillRect(this.xs[i], this.ys[i], this.widths[i], 
+                            this.heights[i]);
+                } else {
+                    Ovals.fill(g, this.xs[i], this.ys[i], this.widths[i], 
+                            this.heights[i]);
+                }
+            } else {
+                if (kind == PAINTED_TREE) {
+                    if (this.refs[i] != passPainterRef) {
+                        passPainterRef = this.refs[i];
+                        passPainter = this.painters.get(passPainterRef)
+                                .forPass(g);
+                    }
+                    passPainter.paint(g, this.xs[i], this.ys[i], 
+                            this.widths[i], this.heights[i], this.states[i]);
+                } else {
+                    this.customDraws.get(this.refs[i]).accept(g);
+                }
+                stateKnown = false;
+            }
+        }
+        if (layerEvent != null) {
+            layerEvent.finish(this.layerNames[layer], area);
+        }
+        this.flushedCount = n;
+        this.stateChangeCount = changes;
+        flushEvent.finish(n, changes, this.unbatchedStateChangeCount);
+        this.clear();
+    }
+    
+    /**
+     * Empties the queue without drawing anything.
+     */
+    public void clear() {
+        this.count = 0;
+        this.customDraws.clear();
+        this.painters.clear();
+    }
+    
+    /**
+     * Creates a queue with the default depth band height.
+     * @param layerNames The names of the layers, from back to front. For 
+     * example, "Sky", "Land", "Trees". Layer 0 is the first name, layer 1 the 
+     * second, and so on.
+     * @throws IllegalArgumentException If there are no layer names or more 
+     * than {@link #MAX_LAYERS}.
+     */
+    public RenderQueue(String... layerNames) {
+        this(DEFAULT_BAND_HEIGHT, layerNames);
+    }
+    
+    /**
+     * Creates a queue.
+     * @param bandHeight The height of a depth band, in pixels. For example, 
+     * 8. With 1, objects are drawn in exact depth order, and only objects 
+     * at the same depth are batched together.
+     * @param layerNames The names of the layers, from back to front. For 
+     * example, "Sky", "Land", "Trees".
+     * @throws IllegalArgumentException If {@code bandHeight} is not positive, 
+     * or if there are no layer names or more than {@link #MAX_LAYERS}.
+     */
+    public RenderQueue(int bandHeight, String... layerNames) {
+        if (bandHeight < 1) {
+            String excMsg = "Band height " + bandHeight 
+                    + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (layerNames.length < 1 || layerNames.length > MAX_LAYERS) {
+            String excMsg = "Layer count " + layerNames.length 
+                    + " should be from 1 to " + MAX_LAYERS;
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.bandHeight = bandHeight;
+        this.layerNames = layerNames.clone();
+    }
+    
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.example.graphics.profiling.GenerationEvent;
+import org.example.graphics.profiling.LayerPaintEvent;
+import org.example.randomness.SeededRandom;
+
+/**
+ * A shore with trees on the land, the ocean beside it, and the sun, the moon 
+ * and clouds in the sky. The layers are painted back to front: sky, sun, 
+ * moon, clouds, land, ocean, trees. Within the trees, nearer trees are 
+ * painted over farther ones.
+ * @author Alonso del Arte
+ */
+public class Scene {
+    
+    /**
+     * The color of the sky, light sky blue.
+     */
+    public static final Color SKY_COLOR = new Color(0xFF87CEEB, true);
+    
+    /**
+     * The color of the land, sand.
+     */
+    public static final Color LAND_COLOR = new Color(0xFFC2B280, true);
+    
+    /**
+     * The exclusive bound on the size of generated trees.
+     */
+    public static final Dimension MAX_TREE_SIZE = new Dimension(50, 100);
+    
+    static final int GRID_CELL_SIZE = 64;
+    
+    private static final double MIN_CLOUD_DRIFT = 0.1;
+    
+    private static final double MAX_CLOUD_DRIFT = 0.5;
+    
+    private static final int SKY_LAYER = 0;
+    
+    private static final int SUN_LAYER = 1;
+    
+    private static final int MOON_LAYER = 2;
+    
+    private static final int CLOUD_LAYER = 3;
+    
+    private static final int LAND_LAYER = 4;
+    
+    private static final int OCEAN_LAYER = 5;
+    
+    private static final int TREE_LAYER = 6;
+    
+    private static final String[] LAYER_NAMES = {LayerPaintEvent.SKY, 
+        LayerPaintEvent.SUN, LayerPaintEvent.MOON, LayerPaintEvent.CLOUDS, 
+        LayerPaintEvent.LAND, LayerPaintEvent.OCEAN, LayerPaintEvent.TREES};
+    
+    // One queue per painting thread, kept from one paint to the next so
+    // that a frame's worth of commands doesn't have to be allocated anew
+    private static final ThreadLocal<RenderQueue> QUEUES 
+            = ThreadLocal.withInitial(() -> new RenderQueue(LAYER_NAMES));
+    
+    private final int width;
+    
+    private final int height;
+    
+    private final int horizon;
+    
+    private final Ocean ocean;
+    
+    private final Sun sun;
+    
+    private final Moon moon;
+    
+    private final List<Cloud> clouds;
+    
+    private final Forest forest;
+    
+    private TreePainter treePainter = null;
+    
+    private DayCycle dayCycle = null;
+    
+    private volatile ShoreDistanceField shoreField = null;
+    
+    public Dimension getSize() {
+        return new Dimension(this.width, this.height);
+    }
+    
+    public Rectangle getBounds() {
+        return new Rectangle(0, 0, this.width, this.height);
+    }
+    
+    /**
+     * Tells where the sky ends and the land and ocean begin.
+     * @return The <i>y</i> coordinate of the horizon. For example, 240.
+     */
+    public int getHorizon() {
+        return this.horizon;
+    }
+    
+    public Ocean getOcean() {
+        return this.ocean;
+    }
+    
+    public Sun getSun() {
+        return this.sun;
+    }
+    
+    public Moon getMoon() {
+        return this.moon;
+    }
+    
+    public List<Cloud> getClouds() {
+        return this.clouds;
+    }
+    
+    /**
+     * Gives the trees of this scene. The forest is not copied, so moving a 
+     * tree in it moves the tree in the scene.
+     * @return The forest.
+     */
+    public Forest getForest() {
+        return this.forest;
+    }
+    
+    /**
+     * Gives the distance field of the shore, for quick answers to how far a 
+     * point is from the water and where the nearest land is. The field is 
+     * built the first time it's asked for, with cells of {@link 
+     * ShoreDistanceField#DEFAULT_CELL_SIZE} pixels, and kept after that. If 
+     * two threads ask at the same time before then, both may build it, but 
+     * they'll get the same answers.
+     * @return The distance field. Never null.
+     */
+    public ShoreDistanceField getShoreField() {
+        ShoreDistanceField field = this.shoreField;
+        if (field == null) {
+            field = new ShoreDistanceField(this, 
+                    ShoreDistanceField.DEFAULT_CELL_SIZE);
+            this.shoreField = field;
+        }
+        return field;
+    }
+    
+    /**
+     * Changes how the trees are painted.
+     * @param painter The painter to use for trees, such as a sprite cache. If 
+     * null, trees are drawn as vector shapes.
+     */
+    public void setTreePainter(TreePainter painter) {
+        this.treePainter = painter;
+    }
+    
+    public DayCycle getDayCycle() {
+        return this.dayCycle;
+    }
+    
+    /**
+     * Sets the time of day running, with the sun and the moon moving across 
+     * the sky to match. Lighting the scene for the time of day is up to 
+     * whoever rasterizes it, for example with {@code 
+     * org.example.graphics.render.DayNightLighting}.
+     * @param cycle The day cycle. If null, the sun and the moon stay where 
+     * they are.
+     */
+    public void setDayCycle(DayCycle cycle) {
+        this.dayCycle = cycle;
+        this.followDayCycle();
+    }
+    
+    private void followDayCycle() {
+        if (this.dayCycle != null) {
+            double timeOfDay = this.dayCycle.getTimeOfDay();
+            Rectangle sky = new Rectangle(0, 0, this.width, this.horizon);
+            this.sun.setTimeOfDay(timeOfDay, sky);
+            this.moon.setTimeOfDay(timeOfDay, sky);
+        }
+    }
+    
+    /**
+     * Copies this scene, deeply enough that stepping, moving trees or 
+     * changing the time of day in the copy doesn't affect this scene, nor the 
+     * other way around. Things that never change once made, such as the wave 
+     * tables, cloud textures and the shore distance field, are shared. So is 
+     * the tree painter.
+     * @return A copy of this scene.
+     */
+    Scene copy() {
+        List<Cloud> cloudCopies = new ArrayList<>(this.clouds.size());
+        for (Cloud cloud : this.clouds) {
+            cloudCopies.add(cloud.copy());
+        }
+        Sun sunCopy = new Sun(this.sun.getCenter(), this.sun.getRadius());
+        Moon moonCopy = new Moon(this.moon.getCenter(), 
+                this.moon.getRadius());
+        Scene copy = new Scene(this.getSize(), this.horizon, 
+                this.ocean.copy(), sunCopy, moonCopy, cloudCopies, 
+                this.forest.copy());
+        copy.treePainter = this.treePainter;
+        copy.dayCycle = this.dayCycle == null ? null : this.dayCycle.copy();
+        copy.shoreField = this.shoreField;
+        return copy;
+    }
+    
+    /**
+     * Advances the animated parts of the scene by one tick of the fixed 
+     * timestep.
+     */
+    public void step() {
+        this.ocean.step();
+        for (Cloud cloud : this.clouds) {
+            cloud.step();
+        }
+        if (this.dayCycle != null) {
+            this.dayCycle.step();
+            this.followDayCycle();
+        }
+    }
+    
+    /**
+     * Says how far between the previous tick and the current one the animated 
+     * parts of the scene should be painted.
+     * @param alpha From 0.0 for the previous tick to 1.0 for the current 
+     * tick.
+     * @throws IllegalArgumentException If {@code alpha} is less than 0.0 or 
+     * greater than 1.0.
+     */
+    public void setInterpolation(double alpha) {
+        this.ocean.setInterpolation(alpha);
+        for (Cloud cloud : this.clouds) {
+            cloud.setInterpolation(alpha);
+        }
+        if (this.dayCycle != null) {
+            this.dayCycle.setInterpolation(alpha);
+            this.followDayCycle();
+        }
+    }
+    
+    /**
+     * Tells which parts of the scene change when it's stepped, as they are 
+     * drawn now. To find everything that needs repainting after stepping, 
+     * call this both before and after.
+     * @return The bounds of the animated parts: the ocean, each cloud 
+     * that's drifting, and the sun and the moon if the time of day is 
+     * running.
+     */
+    public List<Rectangle> getAnimatedRegions() {
+        List<Rectangle> regions = new ArrayList<>(3 + this.clouds.size());
+        regions.add(this.ocean.getBounds());
+        if (this.dayCycle != null) {
+            regions.add(this.sun.getBounds());
+            regions.add(this.moon.getBounds());
+        }
+        for (Cloud cloud : this.clouds) {
+            if (cloud.isDrifting()) {
+                regions.add(cloud.getBounds());
+            }
+        }
+        return regions;
+    }
+    
+    /**
+     * Paints the whole scene.
+     * @param g The graphics context to paint on.
+     */
+    public void paint(Graphics g) {
+        this.paint(g, this.getBounds());
+    }
+    
+    /**
+     * Paints the part of the scene within a rectangle. Every object that 
+     * overlaps the rectangle goes into a {@link RenderQueue}, which paints 
+     * them by layer, back to front, with the graphics context clipped to the 
+     * rectangle. Objects that don't overlap it are skipped. Only the trees 
+     * that overlap the rectangle are looked at, so the cost depends on the 
+     * size of the rectangle rather than on the size of the scene. The trees 
+     * are painted by depth, in bands of {@link 
+     * RenderQueue#DEFAULT_BAND_HEIGHT} pixels, and within each band grouped 
+     * by color. {@link Forest#pick(int, int)} goes by the same order, so the 
+     * tree it finds at a point is the one painted there. Repainting part of 
+     * the scene gives the same result as painting the whole scene.
+     * @param g The graphics context to paint on. Its clip is restored 
+     * afterwards.
+     * @param clip The area to paint. For example, the old and new bounds of a 
+     * tree that was just dragged.
+     */
+    public void paint(Graphics g, Rectangle clip) {
+        Rectangle area = clip.intersection(this.getBounds());
+        if (area.isEmpty()) {
+            return;
+        }
+        Shape previousClip = g.getClip();
+        g.clipRect(area.x, area.y, area.width, area.height);
+        RenderQueue queue = QUEUES.get();
+        queue.clear();
+        Rectangle sky = new Rectangle(0, 0, this.width, this.horizon)
+                .intersection(area);
+        if (!sky.isEmpty()) {
+            queue.addRect(SKY_LAYER, 0, SKY_COLOR.getRGB(), sky.x, sky.y, 
+                    sky.width, sky.height);
+            if (this.sun.getBounds().intersects(area)) {
+                queue.addCustom(SUN_LAYER, 0, this.sun::draw);
+            }
+            if (this.moon.getBounds().intersects(area)) {
+                queue.addCustom(MOON_LAYER, 0, this.moon::draw);
+            }
+            for (Cloud cloud : this.clouds) {
+                if (cloud.getBounds().intersects(area)) {
+                    queue.addCustom(CLOUD_LAYER, 0, cloud::draw);
+                }
+            }
+        }
+        Rectangle land = new Rectangle(0, this.horizon, this.width, 
+                this.height - this.horizon).intersection(area);
+        if (!land.isEmpty()) {
+            queue.addRect(LAND_LAYER, 0, LAND_COLOR.getRGB(), land.x, land.y, 
+                    land.width, land.height);
+            queue.addCustom(OCEAN_LAYER, 0, 
+                    graphics -> this.ocean.draw(graphics, area));
+            queue.addCustom(OCEAN_LAYER, 0, graphics -> {
+                graphics.setColor(LAND_COLOR);
+                this.ocean.getShoreline().fillBeach(graphics, area);
+            });
+        }
+        this.forest.enqueue(queue, TREE_LAYER, area, this.treePainter);
+        queue.flush(g, area);
+        g.setClip(previousClip);
+    }
+    
+    /**
+     * Generates a scene from a seed. The horizon is a third of the way down, 
+     * the ocean takes up the right two fifths below the horizon with a wavy 
+     * shore, and the trees are placed on the land. The same seed and size 
+     * always give the same scene. The generation is timed with a {@link 
+     * GenerationEvent}.
+     * @param seed The seed. For example, 20251017.
+     * @param size The size of the scene. For example, 800 &times; 600.
+     * @param treeCount How many trees to place. For example, 40.
+     * @return A new scene, with a spatial index attached to its forest.
+     * @throws IllegalArgumentException If the scene is too small to fit a 
+     * tree on the land, or if {@code treeCount} is negative.
+     */
+    public static Scene generate(long seed, Dimension size, int treeCount) {
+        int horizon = size.height / 3;
+        int shore = 3 * size.width / 5;
+        if (shore < MAX_TREE_SIZE.width || size.height - horizon 
+                < MAX_TREE_SIZE.height / 2) {
+            String excMsg = "Scene size " + size.toString() 
+                    + " is too small for trees";
+            throw new IllegalArgumentException(excMsg);
+        }
+        GenerationEvent event = GenerationEvent.start();
+        SeededRandom random = new SeededRandom(seed);
+        int sunRadius = Math.max(4, horizon / 6);
+        Sun sun = new Sun(new Point(random.nextInt(size.width), 
+                sunRadius + random.nextInt(Math.max(1, horizon - 2 
+                        * sunRadius))), sunRadius);
+        int moonRadius = Math.max(3, 3 * sunRadius / 4);
+        Moon moon = new Moon(new Point(random.nextInt(size.width), 
+                moonRadius + random.nextInt(Math.max(1, horizon - 2 
+                        * moonRadius))), moonRadius);
+        int cloudCount = 1 + random.nextInt(4);
+        List<Rectangle> cloudBounds = new ArrayList<>(cloudCount);
+        for (int i = 0; i < cloudCount; i++) {
+            int cloudWidth = Math.max(8, size.width / 8 
+                    + random.nextInt(Math.max(1, size.width / 8)));
+            int cloudHeight = Math.max(4, cloudWidth / 3);
+            cloudBounds.add(new Rectangle(random.nextInt(size.width) 
+                    - cloudWidth / 2, random.nextInt(Math.max(1, horizon 
+                            - cloudHeight)), cloudWidth, cloudHeight));
+        }
+        Rectangle landArea = new Rectangle(0, horizon - MAX_TREE_SIZE.height 
+                / 2, shore, size.height - horizon + MAX_TREE_SIZE.height / 2);
+        Forest forest = new ForestGenerator(random.nextLong(), landArea, 
+                MAX_TREE_SIZE).generate(treeCount);
+        forest.attachIndex(new SpatialGrid(new Rectangle(size), 
+                GRID_CELL_SIZE));
+        Ocean ocean = new Ocean(new Rectangle(shore, horizon, 
+                size.width - shore, size.height - horizon), 
+                Ocean.DEFAULT_COLOR, random.nextLong(), true);
+        List<Cloud> clouds = new ArrayList<>(cloudCount);
+        for (Rectangle bounds : cloudBounds) {
+            Cloud cloud = new Cloud(bounds, random.nextLong());
+            cloud.setDrift(MIN_CLOUD_DRIFT + (MAX_CLOUD_DRIFT 
+                    - MIN_CLOUD_DRIFT) * random.nextDouble(), size.width);
+            clouds.add(cloud);
+        }
+        Scene scene = new Scene(size, horizon, ocean, sun, moon, clouds, 
+                forest);
+        event.finish(GenerationEvent.SCENE, seed, forest.size());
+        return scene;
+    }
+    
+    /**
+     * Assembles a scene from its parts.
+     * @param size The size of the scene. For example, 800 &times; 600.
+     * @param horizon The <i>y</i> coordinate of the horizon. For example, 200.
+     * @param ocean The ocean.
+     * @param sun The sun.
+     * @param moon The moon.
+     * @param clouds The clouds. The list is copied.
+     * @param forest The trees. The forest is not copied.
+     * @throws IllegalArgumentException If {@code size} is empty or {@code 
+     * horizon} is not within the scene.
+     */
+    public Scene(Dimension size, int horizon, Ocean ocean, Sun sun, Moon moon, 
+            List<Cloud> clouds, Forest forest) {
+        if (size.width < 1 || size.height < 1) {
+            String excMsg = "Scene size " + size.toString() 
+                    + " should not be empty";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (horizon < 0 || horizon > size.height) {
+            String excMsg = "Horizon " + horizon + " should be within 0 to " 
+                    + size.height;
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.width = size.width;
+        this.height = size.height;
+        this.horizon = horizon;
+        this.ocean = ocean;
+        this.sun = sun;
+        this.moon = moon;
+        this.clouds = Collections.unmodifiableList(new ArrayList<>(clouds));
+        this.forest = forest;
+    }
+    
+}
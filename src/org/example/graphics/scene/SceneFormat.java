@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.nio.ByteOrder;
+
+/**
+ * The layout of a scene file, shared by {@link SceneWriter} and {@link 
+ * MappedScene}. Everything is little-endian. A file starts with a header of 
+ * fixed size, followed by one fixed-width record per cloud and then one 
+ * fixed-width record per tree, so tree number <i>i</i> can be found without 
+ * reading the trees before it. 
+ * <table> 
+ * <caption>Header</caption> 
+ * <tr><th>Offset</th><th>Type</th><th>Contents</th></tr> 
+ * <tr><td>0</td><td>int</td><td>The magic number, the bytes "GDSC"</td></tr> 
+ * <tr><td>4</td><td>short</td><td>Format version</td></tr> 
+ * <tr><td>6</td><td>short</td><td>Flags: bit 0 for a day cycle, bit 1 for 
+ * a wavy shore</td></tr> 
+ * <tr><td>8</td><td>int &times; 3</td><td>Width, height, horizon</td></tr> 
+ * <tr><td>20</td><td>int &times; 5</td><td>Ocean bounds and ARGB 
+ * color</td></tr> 
+ * <tr><td>40</td><td>long</td><td>Ocean wave seed</td></tr> 
+ * <tr><td>48</td><td>int &times; 3</td><td>Sun center and radius</td></tr> 
+ * <tr><td>60</td><td>int &times; 3</td><td>Moon center and radius</td></tr> 
+ * <tr><td>72</td><td>int &times; 2</td><td>Day cycle steps per day, then 
+ * zero</td></tr> 
+ * <tr><td>80</td><td>double</td><td>Day cycle time of day</td></tr> 
+ * <tr><td>88</td><td>int</td><td>Cloud count</td></tr> 
+ * <tr><td>92</td><td>int</td><td>Tree count, or &minus;1 if the file was 
+ * not finished</td></tr> 
+ * <tr><td>96</td><td>long</td><td>Offset of the first tree record</td></tr> 
+ * </table>
+ * <p>A cloud record is the bounds as four ints, the texture seed as a long, 
+ * the drift in 256ths of a pixel per step as an int and the wrap width as an 
+ * int. A tree record is <i>x</i> and <i>y</i> as ints, width and height as 
+ * unsigned shorts, and the leaf color as an ARGB int.</p>
+ * @author Alonso del Arte
+ */
+final class SceneFormat {
+    
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    
+    static final int MAGIC = 'G' | 'D' << 8 | 'S' << 16 | 'C' << 24;
+    
+    static final short VERSION = 1;
+    
+    static final int FLAG_DAY_CYCLE = 1;
+    
+    static final int FLAG_WAVY_SHORE = 2;
+    
+    static final int VERSION_OFFSET = 4;
+    
+    static final int FLAGS_OFFSET = 6;
+    
+    static final int SIZE_OFFSET = 8;
+    
+    static final int OCEAN_OFFSET = 20;
+    
+    static final int WAVE_SEED_OFFSET = 40;
+    
+    static final int SUN_OFFSET = 48;
+    
+    static final int MOON_OFFSET = 60;
+    
+    static final int DAY_CYCLE_OFFSET = 72;
+    
+    static final int TIME_OF_DAY_OFFSET = 80;
+    
+    static final int CLOUD_COUNT_OFFSET = 88;
+    
+    static final int TREE_COUNT_OFFSET = 92;
+    
+    static final int TREES_OFFSET_OFFSET = 96;
+    
+    static final int HEADER_SIZE = 104;
+    
+    static final int CLOUD_RECORD_SIZE = 32;
+    
+    static final int TREE_RECORD_SIZE = 16;
+    
+    static final int MAX_TREE_DIMENSION = 0xFFFF;
+    
+    static final double DRIFT_SCALE = 256.0;
+    
+    private SceneFormat() {
+        // Constants only
+    }
+    
+}
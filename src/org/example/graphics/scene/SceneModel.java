@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Shares a scene between threads that change it and threads that paint it, 
+ * without painters ever waiting on changers. The model publishes the scene as 
+ * a series of numbered snapshots. A snapshot is never changed once published, 
+ * so any number of threads may paint it at once, and getting the latest one 
+ * is a single volatile read.
+ * <p>Changes are made by submitting edits, which are queued without locking, 
+ * and committing them. A commit copies the latest snapshot's scene, applies 
+ * all the edits queued so far to the copy, in the order they were submitted, 
+ * and publishes the copy as the next snapshot. Copying costs about as much as 
+ * the forest is large, which is why edits are batched: a frame's worth of 
+ * dragging, stepping and trees generated in the background can all go into 
+ * one commit. Commits are made one at a time; a thread that commits while 
+ * another is committing waits for it, but painters never do.</p>
+ * @author Alonso del Arte
+ */
+public final class SceneModel {
+    
+    private final AtomicReference<Snapshot> latest;
+    
+    private final Queue<Consumer<? super Scene>> pending 
+            = new ConcurrentLinkedQueue<>();
+    
+    private final ReentrantLock commitLock = new ReentrantLock();
+    
+    /**
+     * Gives the latest snapshot. This never blocks.
+     * @return The latest snapshot. Its scene should only be read and painted, 
+     * never changed.
+     */
+    public Snapshot getSnapshot() {
+        return this.latest.get();
+    }
+    
+    /**
+     * Queues an edit for the next commit. This never blocks.
+     * @param edit What to do to the scene. For example, {@code Scene::step}. 
+     * It's run on whichever thread commits, so it shouldn't depend on the 
+     * thread it was submitted from.
+     * @throws NullPointerException If {@code edit} is null.
+     */
+    public void submit(Consumer<? super Scene> edit) {
+        if (edit == null) {
+            String excMsg = "Edit should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        this.pending.add(edit);
+    }
+    
+    /**
+     * Applies all the queued edits to a copy of the latest scene and 
+     * publishes it. If nothing is queued, nothing is copied or published.
+     * @return The snapshot that's latest once the commit is done.
+     * @throws RuntimeException If an edit throws an exception. The edits of 
+     * the batch are then dropped, including any that haven't run yet, and the 
+     * latest snapshot stays as it was.
+     */
+    public Snapshot commit() {
+        this.commitLock.lock();
+        try {
+            Snapshot previous = this.latest.get();
+            List<Consumer<? super Scene>> batch = new ArrayList<>();
+            Consumer<? super Scene> edit;
+            while ((edit = this.pending.poll()) != null) {
+                batch.add(edit);
+            }
+            if (batch.isEmpty()) {
+                return previous;
+            }
+            Scene scene = previous.scene.copy();
+            for (Consumer<? super Scene> queued : batch) {
+                queued.accept(scene);
+            }
+            Snapshot next = new Snapshot(previous.version + 1, scene, 
+                    batch.size());
+            this.latest.set(next);
+            return next;
+        } finally {
+            this.commitLock.unlock();
+        }
+    }
+    
+    /**
+     * Queues an edit and commits it, along with any other queued edits.
+     * @param edit What to do to the scene. For example, {@code scene -> 
+     * scene.getForest().moveTo(0, 100, 400)}.
+     * @return The snapshot that's latest once the commit is done.
+     * @throws NullPointerException If {@code edit} is null.
+     */
+    public Snapshot edit(Consumer<? super Scene> edit) {
+        this.submit(edit);
+        return this.commit();
+    }
+    
+    /**
+     * Sets up a model starting from a scene. The scene is copied, so later 
+     * changes to it don't show up in the model.
+     * @param scene The scene to start from.
+     */
+    public SceneModel(Scene scene) {
+        this.latest = new AtomicReference<>(new Snapshot(0L, scene.copy(), 
+                0));
+    }
+    
+    /**
+     * A scene as it was after a commit. Snapshots are immutable as long as 
+     * nobody changes the scene they hold, which nobody should.
+     */
+    public static final class Snapshot {
+        
+        private final long version;
+        
+        private final Scene scene;
+        
+        private final int editCount;
+        
+        /**
+         * Tells which commit made this snapshot.
+         * @return 0 for the snapshot the model started with, 1 for the first 
+         * commit, 2 for the second, and so on.
+         */
+        public long getVersion() {
+            return this.version;
+        }
+        
+        public Scene getScene() {
+            return this.scene;
+        }
+        
+        /**
+         * Tells how many edits went into this snapshot.
+         * @return How many edits were in the batch committed to make this 
+         * snapshot. For example, 12. 0 for the snapshot the model started 
+         * with.
+         */
+        public int getEditCount() {
+            return this.editCount;
+        }
+        
+        private Snapshot(long version, Scene scene, int editCount) {
+            this.version = version;
+            this.scene = scene;
+            this.editCount = editCount;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a scene file in the layout described by {@link SceneFormat}. The 
+ * header and the clouds are written first. After that, trees are streamed 
+ * through a buffer, so a forest of any size can be saved without holding all 
+ * of it in memory at once. The tree count in the header is filled in when the 
+ * writer is closed; until then it's &minus;1, so {@link MappedScene} won't 
+ * open a file that was not finished.
+ * @author Alonso del Arte
+ */
+public class SceneWriter implements Closeable {
+    
+    private static final int BUFFER_SIZE = 1 << 16;
+    
+    private final FileChannel channel;
+    
+    private final ByteBuffer buffer;
+    
+    private int treeCount = 0;
+    
+    private boolean closed = false;
+    
+    /**
+     * Tells how many trees have been written so far.
+     * @return The number of trees. For example, 40.
+     */
+    public int getTreeCount() {
+        return this.treeCount;
+    }
+    
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+    
+    /**
+     * Writes one tree.
+     * @param x The <i>x</i> coordinate of the top left corner. For example, 
+     * 200.
+     * @param y The <i>y</i> coordinate of the top left corner. For example, 
+     * 350.
+     * @param width The width of the tree. For example, 50.
+     * @param height The height of the tree. For example, 100.
+     * @param leafARGB The leaf color packed as ARGB. For example, 0xFF228B22.
+     * @throws IOException If the file can't be written to.
+     * @throws IllegalArgumentException If {@code width} or {@code height} is 
+     * negative or greater than 65535.
+     * @throws IllegalStateException If the writer has been closed or already 
+     * holds the most trees a file can hold.
+     */
+    public void writeTree(int x, int y, int width, int height, int leafARGB) 
+            throws IOException {
+        if (width < 0 || width > SceneFormat.MAX_TREE_DIMENSION || height < 0 
+                || height > SceneFormat.MAX_TREE_DIMENSION) {
+            String excMsg = "Tree size " + width + " by " + height 
+                    + " should be from 0 to " + SceneFormat.MAX_TREE_DIMENSION;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (this.closed) {
+            throw new IllegalStateException("Scene writer is closed");
+        }
+        if (this.treeCount == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Scene file is full");
+        }
+        if (this.buffer.remaining() < SceneFormat.TREE_RECORD_SIZE) {
+            this.flush();
+        }
+        this.buffer.putInt(x).putInt(y).putShort((short) width)
+                .putShort((short) height).putInt(leafARGB);
+        this.treeCount++;
+    }
+    
+    /**
+     * Writes one tree.
+     * @param tree The tree to write.
+     * @throws IOException If the file can't be written to.
+     * @throws IllegalArgumentException If the width or height of the tree is 
+     * greater than 65535.
+     * @throws IllegalStateException If the writer has been closed or already 
+     * holds the most trees a file can hold.
+     */
+    public void writeTree(Tree tree) throws IOException {
+        this.writeTree(tree.getX(), tree.getY(), tree.getWidth(), 
+                tree.getHeight(), tree.getLeafARGB());
+    }
+    
+    /**
+     * Writes every tree of a forest, in index order.
+     * @param forest The trees to write.
+     * @throws IOException If the file can't be written to.
+     * @throws IllegalArgumentException If the width or height of any tree is 
+     * greater than 65535.
+     * @throws IllegalStateException If the writer has been closed or the 
+     * trees don't fit in one file.
+     */
+    public void writeForest(Forest forest) throws IOException {
+        int count = forest.size();
+        for (int i = 0; i < count; i++) {
+            this.writeTree(forest.getX(i), forest.getY(i), forest.getWidth(i), 
+                    forest.getHeight(i), forest.getLeafARGB(i));
+        }
+    }
+    
+    /**
+     * Writes out any buffered trees, fills in the tree count and closes the 
+     * file. Closing a writer that's already closed has no effect.
+     * @throws IOException If the file can't be written to.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try (this.channel) {
+            this.flush();
+            ByteBuffer count = ByteBuffer.allocate(Integer.BYTES)
+                    .order(SceneFormat.BYTE_ORDER).putInt(this.treeCount)
+                    .flip();
+            this.channel.write(count, SceneFormat.TREE_COUNT_OFFSET);
+        }
+    }
+    
+    /**
+     * Saves a whole scene: its size, horizon, ocean, sun, moon, clouds, day 
+     * cycle if any, and all its trees. Animation in progress, like the phase 
+     * of the waves, is not saved.
+     * @param scene The scene to save.
+     * @param path Where to save it. If there's already a file there, it's 
+     * replaced.
+     * @throws IOException If the file can't be written.
+     * @throws IllegalArgumentException If the width or height of any tree is 
+     * greater than 65535.
+     */
+    public static void save(Scene scene, Path path) throws IOException {
+        try (SceneWriter writer = new SceneWriter(path, scene)) {
+            writer.writeForest(scene.getForest());
+        }
+    }
+    
+    private void writeHeader(Scene scene) throws IOException {
+        List<Cloud> clouds = scene.getClouds();
+        DayCycle cycle = scene.getDayCycle();
+        Dimension size = scene.getSize();
+        Ocean ocean = scene.getOcean();
+        Rectangle water = ocean.getBounds();
+        Point sunCenter = scene.getSun().getCenter();
+        Point moonCenter = scene.getMoon().getCenter();
+        this.buffer.putInt(SceneFormat.MAGIC).putShort(SceneFormat.VERSION)
+                .putShort((short) ((cycle == null ? 0 
+                        : SceneFormat.FLAG_DAY_CYCLE) 
+                        | (ocean.hasWavyShore() ? SceneFormat.FLAG_WAVY_SHORE 
+                                : 0)))
+                .putInt(size.width).putInt(size.height)
+                .putInt(scene.getHorizon())
+                .putInt(water.x).putInt(water.y).putInt(water.width)
+                .putInt(water.height).putInt(ocean.getWaterColor().getRGB())
+                .putLong(ocean.getWaveSeed())
+                .putInt(sunCenter.x).putInt(sunCenter.y)
+                .putInt(scene.getSun().getRadius())
+                .putInt(moonCenter.x).putInt(moonCenter.y)
+                .putInt(scene.getMoon().getRadius())
+                .putInt(cycle == null ? 0 : cycle.getStepsPerDay()).putInt(0)
+                .putDouble(cycle == null ? 0.0 : cycle.getTimeOfDay())
+                .putInt(clouds.size()).putInt(-1)
+                .putLong(SceneFormat.HEADER_SIZE + (long) clouds.size() 
+                        * SceneFormat.CLOUD_RECORD_SIZE);
+        for (Cloud cloud : clouds) {
+            if (this.buffer.remaining() < SceneFormat.CLOUD_RECORD_SIZE) {
+                this.flush();
+            }
+            Rectangle bounds = cloud.getBounds();
+            this.buffer.putInt(bounds.x).putInt(bounds.y).putInt(bounds.width)
+                    .putInt(bounds.height).putLong(cloud.getTextureSeed())
+                    .putInt((int) Math.round(cloud.getDrift() 
+                            * SceneFormat.DRIFT_SCALE))
+                    .putInt(cloud.getWrapWidth());
+        }
+    }
+    
+    /**
+     * Starts a scene file with everything but the trees of a scene. The trees 
+     * are then written with {@link #writeTree(int, int, int, int, int)} or 
+     * {@link #writeForest(Forest)}, which need not be the trees of the scene.
+     * @param path Where to write the file. If there's already a file there, 
+     * it's replaced.
+     * @param scene The scene to take the size, horizon, ocean, sun, moon, 
+     * clouds and day cycle from.
+     * @throws IOException If the file can't be created or written to.
+     */
+    public SceneWriter(Path path, Scene scene) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, 
+                StandardOpenOption.TRUNCATE_EXISTING, 
+                StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE)
+                .order(SceneFormat.BYTE_ORDER);
+        try {
+            this.writeHeader(scene);
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+    
+}
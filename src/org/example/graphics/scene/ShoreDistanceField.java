@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Point;
+
+/**
+ * A signed distance field of a scene's shore, precomputed over a grid of 
+ * square cells, so that asking how far a point is from the water, whether 
+ * it's on land, or where the nearest land is takes constant time. Each cell 
+ * is classified by its center as water, land or sky: water is where the 
+ * {@link Shoreline} says, land is everything else below the horizon, and sky 
+ * is everything above it.
+ * <p>The field is built with two passes of the exact Euclidean distance 
+ * transform of Felzenszwalb and Huttenlocher, one along the columns and one 
+ * along the rows, which takes time proportional to the number of cells. One 
+ * transform finds the distance from each cell to the nearest water cell, and 
+ * another finds the nearest land cell to each cell along with its distance. 
+ * Distances are between cell centers, so they're only as precise as the 
+ * cell size. Instances are immutable, so they may be shared between 
+ * threads.</p>
+ * @author Alonso del Arte
+ */
+public final class ShoreDistanceField {
+    
+    /**
+     * The default cell size, in pixels.
+     */
+    public static final int DEFAULT_CELL_SIZE = 4;
+    
+    private static final double FAR = 1.0E20;
+    
+    private static final byte SKY = 0;
+    
+    private static final byte LAND = 1;
+    
+    private static final byte WATER = 2;
+    
+    private final int width;
+    
+    private final int height;
+    
+    private final int cellSize;
+    
+    private final int columns;
+    
+    private final int rows;
+    
+    private final byte[] kinds;
+    
+    private final float[] distances;
+    
+    private final int[] nearestLand;
+    
+    public Dimension getSize() {
+        return new Dimension(this.width, this.height);
+    }
+    
+    public int getCellSize() {
+        return this.cellSize;
+    }
+    
+    private int cellAt(int x, int y) {
+        int column = Math.clamp(Math.floorDiv(x, this.cellSize), 0, 
+                this.columns - 1);
+        int row = Math.clamp(Math.floorDiv(y, this.cellSize), 0, 
+                this.rows - 1);
+        return row * this.columns + column;
+    }
+    
+    /**
+     * Tells how far a point is from the water. Points outside the scene are 
+     * treated like the nearest point on its edge.
+     * @param x The <i>x</i> coordinate of the point. For example, 300.
+     * @param y The <i>y</i> coordinate of the point. For example, 400.
+     * @return The distance in pixels from the point to the nearest water if 
+     * the point is on land or in the sky, or minus the distance to the 
+     * nearest land if it's in the water. For example, 180.0 for a point well 
+     * inland, or &minus;12.0 for a point just offshore. If there's no water 
+     * in the scene at all, {@code Float.POSITIVE_INFINITY}, and if there's 
+     * no land, {@code Float.NEGATIVE_INFINITY} for points in the water.
+     */
+    public float distanceToWater(int x, int y) {
+        return this.distances[this.cellAt(x, y)];
+    }
+    
+    /**
+     * Tells whether a point is on land, that is, below the horizon and not in 
+     * the water.
+     * @param x The <i>x</i> coordinate of the point. For example, 300.
+     * @param y The <i>y</i> coordinate of the point. For example, 400.
+     * @return True if the point is within the scene and on land, false if 
+     * it's in the water, in the sky or outside the scene.
+     */
+    public boolean isLand(int x, int y) {
+        return x >= 0 && x < this.width && y >= 0 && y < this.height 
+                && this.kinds[this.cellAt(x, y)] == LAND;
+    }
+    
+    /**
+     * Finds the land point nearest to a point. For example, to keep a tree 
+     * that's being dragged from wading into the water.
+     * @param x The <i>x</i> coordinate of the point. For example, 600.
+     * @param y The <i>y</i> coordinate of the point. For example, 400.
+     * @return The point itself if it's on land. Otherwise the center of the 
+     * nearest land cell, or the point itself if there's no land in the scene 
+     * at all.
+     */
+    public Point snapToLand(int x, int y) {
+        if (this.isLand(x, y)) {
+            return new Point(x, y);
+        }
+        int cell = this.nearestLand[this.cellAt(x, y)];
+        if (cell < 0) {
+            return new Point(x, y);
+        }
+        int half = this.cellSize / 2;
+        return new Point(Math.min((cell % this.columns) * this.cellSize 
+                + half, this.width - 1), Math.min((cell / this.columns) 
+                        * this.cellSize + half, this.height - 1));
+    }
+    
+    private static double intersection(double[] f, int q, int v) {
+        return ((f[q] + (double) q * q) - (f[v] + (double) v * v)) 
+                / (2.0 * (q - v));
+    }
+    
+    // One-dimensional squared distance transform of the lower envelope of
+    // parabolas rooted at each sample. Also records which sample each
+    // distance comes from.
+    private static void transform(double[] f, int n, double[] d, int[] from, 
+            int[] vertices, double[] bounds) {
+        int k = 0;
+        vertices[0] = 0;
+        bounds[0] = Double.NEGATIVE_INFINITY;
+        bounds[1] = Double.POSITIVE_INFINITY;
+        for (int q = 1; q < n; q++) {
+            double s = intersection(f, q, vertices[k]);
+            while (s <= bounds[k]) {
+                k--;
+                s = intersection(f, q, vertices[k]);
+            }
+            k++;
+            vertices[k] = q;
+            bounds[k] = s;
+            bounds[k + 1] = Double.POSITIVE_INFINITY;
+        }
+        k = 0;
+        for (int q = 0; q < n; q++) {
+            while (bounds[k + 1] < q) {
+                k++;
+            }
+            int v = vertices[k];
+            d[q] = (double) (q - v) * (q - v) + f[v];
+            from[q] = v;
+        }
+    }
+    
+    private void transform(byte feature, double[] squares, int[] nearest) {
+        int n = Math.max(this.columns, this.rows);
+        double[] f = new double[n];
+        double[] d = new double[n];
+        int[] from = new int[n];
+        int[] vertices = new int[n];
+        double[] bounds = new double[n + 1];
+        int[] nearestRows = new int[this.kinds.length];
+        for (int column = 0; column < this.columns; column++) {
+            for (int row = 0; row < this.rows; row++) {
+                f[row] = this.kinds[row * this.columns + column] == feature 
+                        ? 0.0 : FAR;
+            }
+            transform(f, this.rows, d, from, vertices, bounds);
+            for (int row = 0; row < this.rows; row++) {
+                squares[row * this.columns + column] = d[row];
+                nearestRows[row * this.columns + column] = from[row];
+            }
+        }
+        for (int row = 0; row < this.rows; row++) {
+            int rowStart = row * this.columns;
+            System.arraycopy(squares, rowStart, f, 0, this.columns);
+            transform(f, this.columns, d, from, vertices, bounds);
+            for (int column = 0; column < this.columns; column++) {
+                int cell = rowStart + column;
+                squares[cell] = d[column];
+                if (nearest != null) {
+                    nearest[cell] = d[column] < FAR 
+                            ? nearestRows[rowStart + from[column]] 
+                            * this.columns + from[column] : -1;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Builds the distance field of a scene.
+     * @param scene The scene. Its ocean's shoreline and its horizon are 
+     * used. For example, a scene of 800 &times; 600 pixels with the horizon 
+     * at 200.
+     * @param cellSize The size of the grid cells, in pixels. Smaller cells 
+     * give more precise answers but take more memory and longer to build. 
+     * For example, 4.
+     * @throws IllegalArgumentException If {@code cellSize} is not positive.
+     */
+    public ShoreDistanceField(Scene scene, int cellSize) {
+        if (cellSize < 1) {
+            String excMsg = "Cell size " + cellSize + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        Dimension size = scene.getSize();
+        this.width = size.width;
+        this.height = size.height;
+        this.cellSize = cellSize;
+        this.columns = (this.width + cellSize - 1) / cellSize;
+        this.rows = (this.height + cellSize - 1) / cellSize;
+        int cellCount = this.columns * this.rows;
+        this.kinds = new byte[cellCount];
+        Shoreline shoreline = scene.getOcean().getShoreline();
+        int horizon = scene.getHorizon();
+        int half = cellSize / 2;
+        for (int row = 0; row < this.rows; row++) {
+            int y = Math.min(row * cellSize + half, this.height - 1);
+            for (int column = 0; column < this.columns; column++) {
+                int x = Math.min(column * cellSize + half, this.width - 1);
+                byte kind = SKY;
+                if (shoreline.isWater(x, y)) {
+                    kind = WATER;
+                } else if (y >= horizon) {
+                    kind = LAND;
+                }
+                this.kinds[row * this.columns + column] = kind;
+            }
+        }
+        double[] toWater = new double[cellCount];
+        double[] toLand = new double[cellCount];
+        this.nearestLand = new int[cellCount];
+        this.transform(WATER, toWater, null);
+        this.transform(LAND, toLand, this.nearestLand);
+        this.distances = new float[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (this.kinds[cell] == WATER) {
+                this.distances[cell] = toLand[cell] < FAR 
+                        ? (float) (-Math.sqrt(toLand[cell]) * cellSize) 
+                        : Float.NEGATIVE_INFINITY;
+            } else {
+                this.distances[cell] = toWater[cell] < FAR 
+                        ? (float) (Math.sqrt(toWater[cell]) * cellSize) 
+                        : Float.POSITIVE_INFINITY;
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Where the water of an {@link Ocean} meets the beach, as a heightmap turned 
+ * on its side: for each row of the ocean's bounds, the <i>x</i> coordinate 
+ * where the water starts. The part of the bounds to the left of that is 
+ * beach. A straight shoreline has the water start at the left edge of the 
+ * bounds in every row, while a wavy one wanders to the right of it and back. 
+ * Instances are immutable, so they may be shared between threads.
+ * @author Alonso del Arte
+ */
+public final class Shoreline {
+    
+    private static final double WAVELENGTH = 96.0;
+    
+    private static final double FINE_WEIGHT = 0.25;
+    
+    private static final int NOISE_PERIOD = 256;
+    
+    private static final int MAX_AMPLITUDE = 96;
+    
+    private final Rectangle bounds;
+    
+    private final int[] waterStarts;
+    
+    public Rectangle getBounds() {
+        return new Rectangle(this.bounds);
+    }
+    
+    /**
+     * Tells where the water starts in a row.
+     * @param y The <i>y</i> coordinate of the row. For example, 350.
+     * @return The <i>x</i> coordinate of the leftmost water pixel in the row, 
+     * from the left edge of the bounds to the right edge. Rows above or below 
+     * the bounds have no water, so for them this is the right edge.
+     */
+    public int waterStartAt(int y) {
+        int row = y - this.bounds.y;
+        if (row < 0 || row >= this.waterStarts.length) {
+            return this.bounds.x + this.bounds.width;
+        }
+        return this.waterStarts[row];
+    }
+    
+    /**
+     * Tells whether a point is in the water.
+     * @param x The <i>x</i> coordinate of the point. For example, 560.
+     * @param y The <i>y</i> coordinate of the point. For example, 350.
+     * @return True if the point is within the bounds and not to the left of 
+     * where the water starts in its row, false otherwise.
+     */
+    public boolean isWater(int x, int y) {
+        return x >= this.waterStartAt(y) 
+                && x < this.bounds.x + this.bounds.width;
+    }
+    
+    /**
+     * Fills in the beach, the part of the bounds to the left of the water, 
+     * with the current color. Rows where the water starts at the same place 
+     * are filled with one rectangle.
+     * @param g The graphics context to fill on. The color should already be 
+     * set.
+     * @param clip The area that needs filling. Nothing outside it is filled.
+     */
+    public void fillBeach(Graphics g, Rectangle clip) {
+        Rectangle area = this.bounds.intersection(clip);
+        if (area.isEmpty()) {
+            return;
+        }
+        int areaRight = area.x + area.width;
+        int areaBottom = area.y + area.height;
+        int runTop = area.y;
+        int runRight = Math.min(this.waterStartAt(area.y), areaRight);
+        for (int y = area.y + 1; y <= areaBottom; y++) {
+            int right = y < areaBottom 
+                    ? Math.min(this.waterStartAt(y), areaRight) : -1;
+            if (right != runRight) {
+                if (runRight > area.x) {
+                    g.fillRect(area.x, runTop, runRight - area.x, y - runTop);
+                }
+                runTop = y;
+                runRight = right;
+            }
+        }
+    }
+    
+    /**
+     * Makes a straight shoreline, with the water starting at the left edge of 
+     * the bounds in every row.
+     * @param bounds The bounds of the ocean. For example, (480, 200) to 
+     * (800, 600).
+     * @return A straight shoreline.
+     */
+    public static Shoreline straight(Rectangle bounds) {
+        int[] waterStarts = new int[Math.max(0, bounds.height)];
+        Arrays.fill(waterStarts, bounds.x);
+        return new Shoreline(bounds, waterStarts);
+    }
+    
+    /**
+     * Makes a wavy shoreline, with coves and points from gradient noise. The 
+     * water starts at the left edge of the bounds where the beach is 
+     * narrowest, and a quarter of the width or 96 pixels to the right of it, 
+     * whichever is less, where the beach is widest. The same seed and bounds 
+     * always give the same shoreline.
+     * @param seed The seed for the noise. For example, 20251017.
+     * @param bounds The bounds of the ocean. For example, (480, 200) to 
+     * (800, 600).
+     * @return A wavy shoreline.
+     */
+    public static Shoreline generate(long seed, Rectangle bounds) {
+        int rowCount = Math.max(0, bounds.height);
+        double[] offsets = new double[rowCount];
+        GradientNoise noise = new GradientNoise(seed);
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int row = 0; row < rowCount; row++) {
+            double t = row / WAVELENGTH;
+            double offset = noise.sample(0.5, t, NOISE_PERIOD, NOISE_PERIOD) 
+                    + FINE_WEIGHT * noise.sample(4.5, 4.0 * t, NOISE_PERIOD, 
+                            NOISE_PERIOD);
+            offsets[row] = offset;
+            min = Math.min(min, offset);
+            max = Math.max(max, offset);
+        }
+        int amplitude = Math.min(bounds.width / 4, MAX_AMPLITUDE);
+        double range = max - min;
+        int[] waterStarts = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            double t = range > 0.0 ? (offsets[row] - min) / range : 0.0;
+            waterStarts[row] = bounds.x + (int) Math.round(amplitude * t);
+        }
+        return new Shoreline(bounds, waterStarts);
+    }
+    
+    private Shoreline(Rectangle bounds, int[] waterStarts) {
+        this.bounds = new Rectangle(bounds);
+        this.waterStarts = waterStarts;
+    }
+    
+}
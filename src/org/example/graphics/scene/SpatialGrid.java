@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntToLongFunction;
+
+/**
+ * A uniform grid over a rectangular world, for quickly finding which items 
+ * are at a point or within a rectangle. Items are identified by non-negative 
+ * integers, such as the indices of trees in a {@link Forest}, and each one is 
+ * listed in every cell its bounds overlap. Items outside the world are still 
+ * found, since coordinates beyond the edges are clamped to the edge cells, but 
+ * the edge cells then get crowded.
+ * <p>Picking looks at a single cell, and a rectangle query only looks at the 
+ * cells the rectangle overlaps, so neither depends on the total number of 
+ * items as long as the items are spread out. Moving an item that stays in the 
+ * same cells only updates its stored bounds.</p>
+ * @author Alonso del Arte
+ */
+public class SpatialGrid {
+    
+    private static final int INITIAL_CELL_CAPACITY = 4;
+    
+    private static final int ABSENT = -1;
+    
+    private final int originX;
+    
+    private final int originY;
+    
+    private final int cellSize;
+    
+    private final int columns;
+    
+    private final int rows;
+    
+    private final int[][] cells;
+    
+    private final int[] cellCounts;
+    
+    private int[] lefts = new int[0];
+    
+    private int[] tops = new int[0];
+    
+    private int[] widths = new int[0];
+    
+    private int[] heights = new int[0];
+    
+    private int count = 0;
+    
+    /**
+     * Tells how many items are in the grid.
+     * @return The number of items. For example, 10000.
+     */
+    public int size() {
+        return this.count;
+    }
+    
+    public int getCellSize() {
+        return this.cellSize;
+    }
+    
+    public boolean contains(int id) {
+        return id >= 0 && id < this.widths.length 
+                && this.widths[id] != ABSENT;
+    }
+    
+    private void ensureCapacity(int minCapacity) {
+        int capacity = this.widths.length;
+        if (minCapacity > capacity) {
+            int newCapacity = Math.max(minCapacity, 2 * capacity);
+            this.lefts = Arrays.copyOf(this.lefts, newCapacity);
+            this.tops = Arrays.copyOf(this.tops, newCapacity);
+            this.widths = Arrays.copyOf(this.widths, newCapacity);
+            this.heights = Arrays.copyOf(this.heights, newCapacity);
+            Arrays.fill(this.widths, capacity, newCapacity, ABSENT);
+        }
+    }
+    
+    private int columnOf(int x) {
+        int column = Math.floorDiv(x - this.originX, this.cellSize);
+        return Math.clamp(column, 0, this.columns - 1);
+    }
+    
+    private int rowOf(int y) {
+        int row = Math.floorDiv(y - this.originY, this.cellSize);
+        return Math.clamp(row, 0, this.rows - 1);
+    }
+    
+    private void addToCell(int cell, int id) {
+        int[] entries = this.cells[cell];
+        int n = this.cellCounts[cell];
+        if (entries == null) {
+            entries = new int[INITIAL_CELL_CAPACITY];
+            this.cells[cell] = entries;
+        } else if (n == entries.length) {
+            entries = Arrays.copyOf(entries, 2 * n);
+            this.cells[cell] = entries;
+        }
+        entries[n] = id;
+        this.cellCounts[cell] = n + 1;
+    }
+    
+    private void removeFromCell(int cell, int id) {
+        int[] entries = this.cells[cell];
+        int n = this.cellCounts[cell];
+        for (int i = 0; i < n; i++) {
+            if (entries[i] == id) {
+                entries[i] = entries[n - 1];
+                this.cellCounts[cell] = n - 1;
+                return;
+            }
+        }
+    }
+    
+    private void replaceInCell(int cell, int oldId, int newId) {
+        int[] entries = this.cells[cell];
+        int n = this.cellCounts[cell];
+        for (int i = 0; i < n; i++) {
+            if (entries[i] == oldId) {
+                entries[i] = newId;
+                return;
+            }
+        }
+    }
+    
+    private void addToCells(int id) {
+        int lastColumn = this.columnOf(this.lefts[id] + this.widths[id] - 1);
+        int lastRow = this.rowOf(this.tops[id] + this.heights[id] - 1);
+        for (int row = this.rowOf(this.tops[id]); row <= lastRow; row++) {
+            int rowStart = row * this.columns;
+            for (int column = this.columnOf(this.lefts[id]); 
+                    column <= lastColumn; column++) {
+                this.addToCell(rowStart + column, id);
+            }
+        }
+    }
+    
+    private void removeFromCells(int id) {
+        int lastColumn = this.columnOf(this.lefts[id] + this.widths[id] - 1);
+        int lastRow = this.rowOf(this.tops[id] + this.heights[id] - 1);
+        for (int row = this.rowOf(this.tops[id]); row <= lastRow; row++) {
+            int rowStart = row * this.columns;
+            for (int column = this.columnOf(this.lefts[id]); 
+                    column <= lastColumn; column++) {
+                this.removeFromCell(rowStart + column, id);
+            }
+        }
+    }
+    
+    private void checkPresent(int id) {
+        if (!this.contains(id)) {
+            String excMsg = "Item " + id + " is not in the grid";
+            throw new IllegalArgumentException(excMsg);
+        }
+    }
+    
+    /**
+     * Adds an item to the grid. Empty bounds are treated as 1 &times; 1.
+     * @param id The identifier of the item. For example, the index of a tree.
+     * @param x The <i>x</i> coordinate of the top left corner. For example, 
+     * 200.
+     * @param y The <i>y</i> coordinate of the top left corner. For example, 
+     * 350.
+     * @param width The width of the item. For example, 50.
+     * @param height The height of the item. For example, 100.
+     * @throws IllegalArgumentException If {@code id} is negative or is already 
+     * in the grid.
+     */
+    public void insert(int id, int x, int y, int width, int height) {
+        if (id < 0) {
+            String excMsg = "Item ID " + id + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (this.contains(id)) {
+            String excMsg = "Item " + id + " is already in the grid";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.ensureCapacity(id + 1);
+        this.lefts[id] = x;
+        this.tops[id] = y;
+        this.widths[id] = Math.max(1, width);
+        this.heights[id] = Math.max(1, height);
+        this.addToCells(id);
+        this.count++;
+    }
+    
+    /**
+     * Changes the bounds of an item, such as when a tree is dragged. If the 
+     * item stays within the same cells, only its stored bounds change.
+     * @param id The identifier of the item.
+     * @param x The new <i>x</i> coordinate of the top left corner.
+     * @param y The new <i>y</i> coordinate of the top left corner.
+     * @param width The new width.
+     * @param height The new height.
+     * @throws IllegalArgumentException If {@code id} is not in the grid.
+     */
+    public void update(int id, int x, int y, int width, int height) {
+        this.checkPresent(id);
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        boolean sameCells 
+                = this.columnOf(x) == this.columnOf(this.lefts[id]) 
+                && this.rowOf(y) == this.rowOf(this.tops[id]) 
+                && this.columnOf(x + width - 1) 
+                        == this.columnOf(this.lefts[id] + this.widths[id] - 1) 
+                && this.rowOf(y + height - 1) 
+                        == this.rowOf(this.tops[id] + this.heights[id] - 1);
+        if (!sameCells) {
+            this.removeFromCells(id);
+        }
+        this.lefts[id] = x;
+        this.tops[id] = y;
+        this.widths[id] = width;
+        this.heights[id] = height;
+        if (!sameCells) {
+            this.addToCells(id);
+        }
+    }
+    
+    /**
+     * Removes an item from the grid.
+     * @param id The identifier of the item.
+     * @throws IllegalArgumentException If {@code id} is not in the grid.
+     */
+    public void remove(int id) {
+        this.checkPresent(id);
+        this.removeFromCells(id);
+        this.widths[id] = ABSENT;
+        this.count--;
+    }
+    
+    /**
+     * Gives an item a new identifier, keeping its bounds. This is for when a 
+     * {@link Forest} moves its last tree into the place of a removed one.
+     * @param oldId The current identifier of the item.
+     * @param newId The identifier to give it. It must not already be in use.
+     * @throws IllegalArgumentException If {@code oldId} is not in the grid or 
+     * {@code newId} is negative or already in use.
+     */
+    public void renumber(int oldId, int newId) {
+        this.checkPresent(oldId);
+        if (newId < 0 || this.contains(newId)) {
+            String excMsg = "Item ID " + newId + " is not available";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.ensureCapacity(newId + 1);
+        int lastColumn 
+                = this.columnOf(this.lefts[oldId] + this.widths[oldId] - 1);
+        int lastRow = this.rowOf(this.tops[oldId] + this.heights[oldId] - 1);
+        for (int row = this.rowOf(this.tops[oldId]); row <= lastRow; row++) {
+            int rowStart = row * this.columns;
+            for (int column = this.columnOf(this.lefts[oldId]); 
+                    column <= lastColumn; column++) {
+                this.replaceInCell(rowStart + column, oldId, newId);
+            }
+        }
+        this.lefts[newId] = this.lefts[oldId];
+        this.tops[newId] = this.tops[oldId];
+        this.widths[newId] = this.widths[oldId];
+        this.heights[newId] = this.heights[oldId];
+        this.widths[oldId] = ABSENT;
+    }
+    
+    /**
+     * Finds the item with the highest identifier whose bounds contain a point.
+     * @param x The <i>x</i> coordinate of the point. For example, 210.
+     * @param y The <i>y</i> coordinate of the point. For example, 400.
+     * @return The identifier of the item, or &minus;1 if no item contains the 
+     * point.
+     */
+    public int pick(int x, int y) {
+        return this.pick(x, y, id -> 0L);
+    }
+    
+    /**
+     * Finds the item that comes last in some order among those whose bounds 
+     * contain a point. For trees in a {@link Forest}, the order is the 
+     * drawing order, so the item found is the topmost tree.
+     * @param x The <i>x</i> coordinate of the point. For example, 210.
+     * @param y The <i>y</i> coordinate of the point. For example, 400.
+     * @param order Gives the place of an item in the order. Only called for 
+     * items that contain the point. Of two items in the same place, the one 
+     * with the higher identifier comes last.
+     * @return The identifier of the item, or &minus;1 if no item contains the 
+     * point.
+     */
+    public int pick(int x, int y, IntToLongFunction order) {
+        int cell = this.rowOf(y) * this.columns + this.columnOf(x);
+        int[] entries = this.cells[cell];
+        int n = this.cellCounts[cell];
+        int found = -1;
+        long foundOrder = 0L;
+        for (int i = 0; i < n; i++) {
+            int id = entries[i];
+            int left = this.lefts[id];
+            int top = this.tops[id];
+            if (x >= left && x < left + this.widths[id] && y >= top 
+                    && y < top + this.heights[id]) {
+                long idOrder = order.applyAsLong(id);
+                if (found < 0 || idOrder > foundOrder 
+                        || (idOrder == foundOrder && id > found)) {
+                    found = id;
+                    foundOrder = idOrder;
+                }
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Finds all the items whose bounds intersect a rectangle. Each item is 
+     * reported once, in no particular order, from the first cell of the query 
+     * that it overlaps. Since queries don't change the grid, several threads 
+     * may query at once, as long as nothing is modifying the grid.
+     * @param x The <i>x</i> coordinate of the top left corner of the 
+     * rectangle.
+     * @param y The <i>y</i> coordinate of the top left corner of the 
+     * rectangle.
+     * @param width The width of the rectangle. If not positive, nothing is 
+     * reported.
+     * @param height The height of the rectangle. If not positive, nothing is 
+     * reported.
+     * @param action What to do with the identifier of each item found.
+     * @return How many items were found.
+     */
+    public int query(int x, int y, int width, int height, IntConsumer action) {
+        if (width < 1 || height < 1) {
+            return 0;
+        }
+        int right = x + width;
+        int bottom = y + height;
+        int firstColumn = this.columnOf(x);
+        int firstRow = this.rowOf(y);
+        int lastColumn = this.columnOf(right - 1);
+        int lastRow = this.rowOf(bottom - 1);
+        int found = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            int rowStart = row * this.columns;
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int cell = rowStart + column;
+                int[] entries = this.cells[cell];
+                int n = this.cellCounts[cell];
+                for (int i = 0; i < n; i++) {
+                    int id = entries[i];
+                    int left = this.lefts[id];
+                    int top = this.tops[id];
+                    boolean firstCell 
+                            = column == Math.max(this.columnOf(left), 
+                                    firstColumn) 
+                            && row == Math.max(this.rowOf(top), firstRow);
+                    if (firstCell && left < right 
+                            && left + this.widths[id] > x && top < bottom 
+                            && top + this.heights[id] > y) {
+                        action.accept(id);
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Finds all the items whose bounds intersect a rectangle.
+     * @param area The rectangle to look in.
+     * @param action What to do with the identifier of each item found.
+     * @return How many items were found.
+     */
+    public int query(Rectangle area, IntConsumer action) {
+        return this.query(area.x, area.y, area.width, area.height, action);
+    }
+    
+    /**
+     * Copies this grid. Changes to the copy don't affect this grid, nor the 
+     * other way around.
+     * @return A copy of this grid.
+     */
+    SpatialGrid copy() {
+        return new SpatialGrid(this);
+    }
+    
+    public void clear() {
+        Arrays.fill(this.cellCounts, 0);
+        Arrays.fill(this.widths, ABSENT);
+        this.count = 0;
+    }
+    
+    /**
+     * Creates an empty grid.
+     * @param world The area the grid covers. Items may lie outside it, but 
+     * those are slower to find. For example, 0, 0, 1920, 1080.
+     * @param cellSize The width and height of each cell. A good choice is 
+     * about the size of a typical item. For example, 64.
+     * @throws IllegalArgumentException If {@code world} is empty or {@code 
+     * cellSize} is not positive.
+     */
+    public SpatialGrid(Rectangle world, int cellSize) {
+        if (world.isEmpty()) {
+            String excMsg = "World " + world.toString() + " should not be empty";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (cellSize < 1) {
+            String excMsg = "Cell size " + cellSize + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.originX = world.x;
+        this.originY = world.y;
+        this.cellSize = cellSize;
+        this.columns = (world.width + cellSize - 1) / cellSize;
+        this.rows = (world.height + cellSize - 1) / cellSize;
+        this.cells = new int[this.columns * this.rows][];
+        this.cellCounts = new int[this.columns * this.rows];
+    }
+    
+    private SpatialGrid(SpatialGrid other) {
+        this.originX = other.originX;
+        this.originY = other.originY;
+        this.cellSize = other.cellSize;
+        this.columns = other.columns;
+        this.rows = other.rows;
+        this.cells = new int[other.cells.length][];
+        for (int cell = 0; cell < this.cells.length; cell++) {
+            int[] entries = other.cells[cell];
+            if (entries != null) {
+                this.cells[cell] = entries.clone();
+            }
+        }
+        this.cellCounts = other.cellCounts.clone();
+        this.lefts = other.lefts.clone();
+        this.tops = other.tops.clone();
+        this.widths = other.widths.clone();
+        this.heights = other.heights.clone();
+        this.count = other.count;
+    }
+    
+}
@@ -1,13 +1,86 @@
 /*
- * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
- * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
  */
 package org.example.graphics.scene;
 
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+
 /**
- *
- * @author al
+ * The sun, drawn as a disc in the sky.
+ * @author Alonso del Arte
  */
 public class Sun {
     
+    static final Color DEFAULT_COLOR = new Color(0xFFFFD34D, true);
+    
+    private int centerX;
+    
+    private int centerY;
+    
+    private final int radius;
+    
+    public Point getCenter() {
+        return new Point(this.centerX, this.centerY);
+    }
+    
+    public int getRadius() {
+        return this.radius;
+    }
+    
+    public Rectangle getBounds() {
+        return new Rectangle(this.centerX - this.radius, 
+                this.centerY - this.radius, 2 * this.radius, 2 * this.radius);
+    }
+    
+    /**
+     * Moves the sun along its arc across the sky to where it is at a given 
+     * time of day.
+     * @param timeOfDay The time of day. For example, 0.5.
+     * @param sky The sky. The bottom edge is the horizon.
+     */
+    public void setTimeOfDay(double timeOfDay, Rectangle sky) {
+        Point center = DayCycle.arcPosition(timeOfDay - DayCycle.SUNRISE, sky, 
+                this.radius);
+        this.centerX = center.x;
+        this.centerY = center.y;
+    }
+    
+    public void draw(Graphics g) {
+        g.setColor(DEFAULT_COLOR);
+        Ovals.fill(g, this.centerX - this.radius, this.centerY - this.radius, 
+                2 * this.radius, 2 * this.radius);
+    }
+    
+    /**
+     * Places the sun in the sky.
+     * @param center Where the center of the sun is. For example, (600, 80).
+     * @param radius The radius of the sun. For example, 40.
+     * @throws IllegalArgumentException If {@code radius} is not positive.
+     */
+    public Sun(Point center, int radius) {
+        if (radius < 1) {
+            String excMsg = "Radius " + radius + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.centerX = center.x;
+        this.centerY = center.y;
+        this.radius = radius;
+    }
+    
 }
@@ -20,26 +20,193 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Point;
+import java.awt.Rectangle;
 
 /**
- *
+ * A tree with a trunk and a canopy of leaves. A tree can stand on its own, or 
+ * it can be a view of one of the trees stored in a {@link Forest}, in which 
+ * case reading or moving it reads or moves the tree in the forest.
  * @author Alonso del Arte
  */
 public class Tree {
     
+    static final Color TRUNK_COLOR = new Color(0xFF6B4423, true);
+    
     private final Color upperColor;
     
+    private final int width;
+    
+    private final int height;
+    
+    private int x;
+    
+    private int y;
+    
     public Color getLeafColor() {
         return this.upperColor;
     }
     
-    // TODO: Write tests for this
+    /**
+     * Gives the leaf color packed as ARGB, the same as {@code 
+     * getLeafColor().getRGB()} but without needing a {@code Color} object.
+     * @return The leaf color as ARGB. For example, 0xFF228B22 for opaque 
+     * forest green.
+     */
+    public int getLeafARGB() {
+        return this.upperColor.getRGB();
+    }
+    
     public Dimension getDimension() {
-        return new Dimension(1, 1);
+        return new Dimension(this.getWidth(), this.getHeight());
+    }
+    
+    public int getWidth() {
+        return this.width;
+    }
+    
+    public int getHeight() {
+        return this.height;
+    }
+    
+    /**
+     * Gives the location of the tree, which is the top left corner of its 
+     * bounds.
+     * @return The location. For example, (200, 350).
+     */
+    public Point getLocation() {
+        return new Point(this.getX(), this.getY());
+    }
+    
+    public int getX() {
+        return this.x;
+    }
+    
+    public int getY() {
+        return this.y;
+    }
+    
+    /**
+     * Gives the rectangle the tree occupies.
+     * @return The bounds, made up of the location and the dimension. For 
+     * example, 50 &times; 100 at (200, 350).
+     */
+    public Rectangle getBounds() {
+        return new Rectangle(this.getX(), this.getY(), this.getWidth(), 
+                this.getHeight());
+    }
+    
+    /**
+     * Tells whether a point is within the bounds of the tree.
+     * @param pointX The <i>x</i> coordinate of the point. For example, 210.
+     * @param pointY The <i>y</i> coordinate of the point. For example, 400.
+     * @return True if the point is inside the bounds, false otherwise.
+     */
+    public boolean contains(int pointX, int pointY) {
+        int left = this.getX();
+        int top = this.getY();
+        return pointX >= left && pointX < left + this.getWidth() 
+                && pointY >= top && pointY < top + this.getHeight();
+    }
+    
+    /**
+     * Moves the tree so that its top left corner is at the specified point.
+     * @param newX The new <i>x</i> coordinate. For example, 220.
+     * @param newY The new <i>y</i> coordinate. For example, 340.
+     */
+    public void moveTo(int newX, int newY) {
+        this.x = newX;
+        this.y = newY;
+    }
+    
+    public void draw(Graphics g) {
+        draw(g, this.getX(), this.getY(), this.getWidth(), this.getHeight(), 
+                this.getLeafColor());
+    }
+    
+    /**
+     * Draws a tree without needing a {@code Tree} object. The trunk takes up 
+     * the bottom third and the middle fifth of the bounds, and the canopy is 
+     * an oval over the top two thirds.
+     * @param g The graphics context to draw on.
+     * @param x The <i>x</i> coordinate of the top left corner.
+     * @param y The <i>y</i> coordinate of the top left corner.
+     * @param width The width of the tree. For example, 50.
+     * @param height The height of the tree. For example, 100.
+     * @param leafColor The color of the canopy.
+     */
+    public static void draw(Graphics g, int x, int y, int width, int height, 
+            Color leafColor) {
+        int canopyHeight = 2 * height / 3;
+        int trunkWidth = Math.max(1, width / 5);
+        g.setColor(TRUNK_COLOR);
+        g.fillRect(x + (width - trunkWidth) / 2, y + canopyHeight, trunkWidth, 
+                height - canopyHeight);
+        g.setColor(leafColor);
+        Ovals.fill(g, x, y, width, Math.max(1, canopyHeight));
+    }
+    
+    /**
+     * Draws a tree with fewer shapes, for when it's too small on screen for 
+     * the oval canopy to be worth its cost. The trunk is the same as with 
+     * {@link #draw(Graphics, int, int, int, int, Color)}, and the canopy is a 
+     * cross of three rectangles that don't overlap, so a translucent canopy 
+     * comes out evenly.
+     * @param g The graphics context to draw on.
+     * @param x The <i>x</i> coordinate of the top left corner.
+     * @param y The <i>y</i> coordinate of the top left corner.
+     * @param width The width of the tree. For example, 20.
+     * @param height The height of the tree. For example, 40.
+     * @param leafColor The color of the canopy.
+     */
+    public static void drawSimplified(Graphics g, int x, int y, int width, 
+            int height, Color leafColor) {
+        int canopyHeight = Math.max(1, 2 * height / 3);
+        int trunkWidth = Math.max(1, width / 5);
+        g.setColor(TRUNK_COLOR);
+        g.fillRect(x + (width - trunkWidth) / 2, y + canopyHeight, trunkWidth, 
+                height - canopyHeight);
+        int sideWidth = width / 4;
+        int sideTop = canopyHeight / 4;
+        g.setColor(leafColor);
+        g.fillRect(x + sideWidth, y, width - 2 * sideWidth, canopyHeight);
+        g.fillRect(x, y + sideTop, sideWidth, canopyHeight - 2 * sideTop);
+        g.fillRect(x + width - sideWidth, y + sideTop, sideWidth, 
+                canopyHeight - 2 * sideTop);
+    }
+    
+    /**
+     * Draws a tree as a single rectangle of leaf color over where the canopy 
+     * would be, for when it's only a few pixels on screen.
+     * @param g The graphics context to draw on.
+     * @param x The <i>x</i> coordinate of the top left corner.
+     * @param y The <i>y</i> coordinate of the top left corner.
+     * @param width The width of the tree. For example, 5.
+     * @param height The height of the tree. For example, 10.
+     * @param leafColor The color of the canopy.
+     */
+    public static void drawBlock(Graphics g, int x, int y, int width, 
+            int height, Color leafColor) {
+        g.setColor(leafColor);
+        g.fillRect(x, y, width, Math.max(1, 2 * height / 3));
+    }
+    
+    // For views of trees stored elsewhere, which override the getters
+    Tree() {
+        this.upperColor = null;
+        this.width = 0;
+        this.height = 0;
     }
     
     public Tree(Color leafColor, Dimension size) {
+        this(leafColor, size, new Point());
+    }
+    
+    public Tree(Color leafColor, Dimension size, Point location) {
         this.upperColor = leafColor;
+        this.width = size.width;
+        this.height = size.height;
+        this.x = location.x;
+        this.y = location.y;
     }
     
 }
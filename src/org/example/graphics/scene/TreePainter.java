@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Graphics;
+
+/**
+ * Paints a tree given as primitive values, as stored in a {@link Forest}. This 
+ * allows something other than the default vector drawing to be used, such as 
+ * a cache of pre-rendered sprites.
+ * @author Alonso del Arte
+ */
+@FunctionalInterface
+public interface TreePainter {
+    
+    /**
+     * Paints one tree.
+     * @param g The graphics context to paint on.
+     * @param x The <i>x</i> coordinate of the top left corner. For example, 
+     * 200.
+     * @param y The <i>y</i> coordinate of the top left corner. For example, 
+     * 350.
+     * @param width The width of the tree. For example, 50.
+     * @param height The height of the tree. For example, 100.
+     * @param leafARGB The leaf color packed as ARGB. For example, 0xFF228B22.
+     */
+    void paint(Graphics g, int x, int y, int width, int height, int leafARGB);
+    
+    /**
+     * Gives a painter for a run of trees painted on one graphics context 
+     * without its transform changing in between, such as all the trees of 
+     * one repaint. A painter that looks at the graphics context, or that 
+     * keeps per tree state, can work that out once here rather than once per 
+     * tree. The painter given is only to be used by the calling thread, and 
+     * only until the run is over.
+     * @param g The graphics context the trees are to be painted on.
+     * @return A painter for the run. By default, this painter.
+     */
+    default TreePainter forPass(Graphics g) {
+        return this;
+    }
+    
+}
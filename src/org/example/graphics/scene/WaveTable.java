@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import org.example.randomness.SeededRandom;
+
+/**
+ * A wave profile sampled once, so that animating it is a matter of looking up 
+ * heights at a moving offset rather than computing sines every frame. The 
+ * profile is a sum of a few sines, each of which goes through a whole number 
+ * of cycles in {@link #PERIOD} pixels, so the table wraps around seamlessly. 
+ * Heights and offsets are fixed point, with {@link #FRACTION_BITS} bits after 
+ * the binary point.
+ * @author Alonso del Arte
+ */
+final class WaveTable {
+    
+    /**
+     * How many pixels it takes for the profile to repeat. This is a power of 
+     * two so that wrapping around is a bitwise AND.
+     */
+    static final int PERIOD = 256;
+    
+    private static final int MASK = PERIOD - 1;
+    
+    static final int FRACTION_BITS = 8;
+    
+    static final int ONE = 1 << FRACTION_BITS;
+    
+    private static final int FRACTION_MASK = ONE - 1;
+    
+    private static final int HARMONIC_COUNT = 3;
+    
+    private static final int MAX_CYCLES = 6;
+    
+    private final int[] heights = new int[PERIOD];
+    
+    private final int amplitude;
+    
+    /**
+     * Tells how far the profile can go above or below its baseline.
+     * @return The amplitude in whole pixels. For example, 6.
+     */
+    int getAmplitude() {
+        return this.amplitude;
+    }
+    
+    /**
+     * Gives the height of the profile at a column, interpolating linearly 
+     * between samples.
+     * @param position The column plus the offset of the wave, in fixed point. 
+     * Any value is valid, since the profile wraps around.
+     * @return The height in whole pixels, rounded down, from 
+     * &minus;{@link #getAmplitude()} to {@link #getAmplitude()}. Positive 
+     * heights are below the baseline.
+     */
+    int heightAt(int position) {
+        int index = (position >> FRACTION_BITS) & MASK;
+        int fraction = position & FRACTION_MASK;
+        int a = this.heights[index];
+        int b = this.heights[(index + 1) & MASK];
+        return (a * (ONE - fraction) + b * fraction) >> (2 * FRACTION_BITS);
+    }
+    
+    /**
+     * Samples a random wave profile.
+     * @param random Where to get the harmonics and their phases from.
+     * @param amplitude The amplitude in whole pixels. May be 0 for a flat 
+     * profile.
+     * @throws IllegalArgumentException If {@code amplitude} is negative.
+     */
+    WaveTable(SeededRandom random, int amplitude) {
+        if (amplitude < 0) {
+            String excMsg = "Amplitude " + amplitude 
+                    + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.amplitude = amplitude;
+        int[] cycles = new int[HARMONIC_COUNT];
+        double[] phases = new double[HARMONIC_COUNT];
+        double[] weights = new double[HARMONIC_COUNT];
+        double totalWeight = 0.0;
+        for (int k = 0; k < HARMONIC_COUNT; k++) {
+            cycles[k] = k + 1 + random.nextInt(MAX_CYCLES - k);
+            phases[k] = 2.0 * Math.PI * random.nextDouble();
+            weights[k] = 1.0 / (1 << k);
+            totalWeight += weights[k];
+        }
+        double scale = amplitude * ONE / totalWeight;
+        for (int x = 0; x < PERIOD; x++) {
+            double sum = 0.0;
+            for (int k = 0; k < HARMONIC_COUNT; k++) {
+                sum += weights[k] * Math.sin(2.0 * Math.PI * cycles[k] * x 
+                        / PERIOD + phases[k]);
+            }
+            this.heights[x] = (int) Math.round(sum * scale);
+        }
+    }
+    
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.world;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+import org.example.graphics.profiling.CacheLookupEvent;
+
+/**
+ * Keeps generated chunks around for as long as memory allows, and generates 
+ * missing chunks on background threads. Asking for a chunk never waits for 
+ * it to be generated: {@link #getIfReady(long)} gives null for a chunk that's 
+ * not ready yet, and the caller paints a placeholder until the listener says 
+ * the chunk has arrived.
+ * <p>When the chunks held add up to more than the memory cap, the least 
+ * recently used chunks are evicted, except for chunks in the window last 
+ * passed to {@link #prefetch(long, long)}. Chunks requested for a window the 
+ * view has since moved away from are skipped rather than generated, so 
+ * scrolling quickly doesn't build up a backlog.</p>
+ * <p>All methods of this class are safe to call from any thread.</p>
+ * @author Alonso del Arte
+ */
+public final class ChunkCache implements AutoCloseable {
+    
+    /**
+     * The default memory cap, 64 mebibytes.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+    
+    private final LongFunction<WorldChunk> generator;
+    
+    private final long maxBytes;
+    
+    private final ExecutorService executor;
+    
+    private final LinkedHashMap<Long, WorldChunk> chunks 
+            = new LinkedHashMap<>(16, 0.75F, true);
+    
+    private final Set<Long> pending = new HashSet<>();
+    
+    private long byteCount = 0L;
+    
+    private long wantedFirst = Long.MIN_VALUE;
+    
+    private long wantedLast = Long.MAX_VALUE;
+    
+    private volatile Consumer<WorldChunk> listener = null;
+    
+    private final AtomicLong hits = new AtomicLong();
+    
+    private final AtomicLong misses = new AtomicLong();
+    
+    private final AtomicLong generated = new AtomicLong();
+    
+    private final AtomicLong evictions = new AtomicLong();
+    
+    private final AtomicLong skipped = new AtomicLong();
+    
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+    
+    /**
+     * Tells how much memory the chunks held take up, by their own estimates.
+     * @return The total in bytes. May be more than the cap when the wanted 
+     * window alone needs more. For example, 3500000.
+     */
+    public synchronized long getByteCount() {
+        return this.byteCount;
+    }
+    
+    public synchronized int size() {
+        return this.chunks.size();
+    }
+    
+    public synchronized boolean contains(long index) {
+        return this.chunks.containsKey(index);
+    }
+    
+    public long getHits() {
+        return this.hits.get();
+    }
+    
+    public long getMisses() {
+        return this.misses.get();
+    }
+    
+    public long getGeneratedCount() {
+        return this.generated.get();
+    }
+    
+    public long getEvictionCount() {
+        return this.evictions.get();
+    }
+    
+    /**
+     * Tells how many requested chunks were not generated because they were 
+     * outside the wanted window by the time a thread got to them.
+     * @return The count. For example, 12.
+     */
+    public long getSkippedCount() {
+        return this.skipped.get();
+    }
+    
+    /**
+     * Sets what gets told about each chunk as it's generated. The listener is 
+     * called on the generating thread, after the chunk is in the cache, so a 
+     * listener in a Swing program should only schedule a repaint.
+     * @param listener The listener. May be null to stop listening.
+     */
+    public void setListener(Consumer<WorldChunk> listener) {
+        this.listener = listener;
+    }
+    
+    private boolean isWanted(long index) {
+        return index >= this.wantedFirst && index <= this.wantedLast;
+    }
+    
+    // Must be called while holding the lock
+    private void request(long index) {
+        if (this.chunks.containsKey(index) || !this.pending.add(index)) {
+            return;
+        }
+        try {
+            this.executor.execute(() -> this.generate(index));
+        } catch (RejectedExecutionException ree) {
+            this.pending.remove(index);
+        }
+    }
+    
+    private void generate(long index) {
+        synchronized (this) {
+            if (!this.isWanted(index)) {
+                this.pending.remove(index);
+                this.skipped.incrementAndGet();
+                return;
+            }
+        }
+        WorldChunk chunk;
+        try {
+            chunk = this.generator.apply(index);
+        } catch (RuntimeException re) {
+            synchronized (this) {
+                this.pending.remove(index);
+            }
+            throw re;
+        }
+        synchronized (this) {
+            this.pending.remove(index);
+            WorldChunk previous = this.chunks.put(index, chunk);
+            if (previous != null) {
+                this.byteCount -= previous.getByteCount();
+            }
+            this.byteCount += chunk.getByteCount();
+            this.evict();
+        }
+        this.generated.incrementAndGet();
+        Consumer<WorldChunk> current = this.listener;
+        if (current != null) {
+            current.accept(chunk);
+        }
+    }
+    
+    // Must be called while holding the lock
+    private void evict() {
+        Iterator<Map.Entry<Long, WorldChunk>> iterator 
+                = this.chunks.entrySet().iterator();
+        while (this.byteCount > this.maxBytes && iterator.hasNext()) {
+            Map.Entry<Long, WorldChunk> entry = iterator.next();
+            if (!this.isWanted(entry.getKey())) {
+                this.byteCount -= entry.getValue().getByteCount();
+                iterator.remove();
+                this.evictions.incrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * Gives a chunk if it's ready, without waiting. If it's not ready, it's 
+     * requested, unless it has been already.
+     * @param index The index of the chunk. For example, 195.
+     * @return The chunk, or null if it's not ready yet.
+     */
+    public synchronized WorldChunk getIfReady(long index) {
+        CacheLookupEvent event = CacheLookupEvent.start();
+        WorldChunk chunk = this.chunks.get(index);
+        if (chunk == null) {
+            this.misses.incrementAndGet();
+            this.request(index);
+        } else {
+            this.hits.incrementAndGet();
+        }
+        event.finish(CacheLookupEvent.WORLD_CHUNKS, index, chunk != null);
+        return chunk;
+    }
+    
+    /**
+     * Sets the window of chunks that are wanted soon, and requests those of 
+     * them that aren't ready. Chunks in the window are never evicted, and 
+     * requests for chunks outside it that haven't been started yet will be 
+     * skipped. The chunks are requested from the middle of the window 
+     * outwards, so those most likely to be seen first come first.
+     * @param first The index of the first chunk wanted. For example, 193.
+     * @param last The index of the last chunk wanted. For example, 198.
+     * @throws IllegalArgumentException If {@code last} is less than {@code 
+     * first}.
+     */
+    public synchronized void prefetch(long first, long last) {
+        if (last < first) {
+            String excMsg = "Last chunk " + last 
+                    + " should not be less than first chunk " + first;
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.wantedFirst = first;
+        this.wantedLast = last;
+        long middle = first + (last - first) / 2;
+        this.request(middle);
+        for (long offset = 1; middle - offset >= first 
+                || middle + offset <= last; offset++) {
+            if (middle + offset <= last) {
+                this.request(middle + offset);
+            }
+            if (middle - offset >= first) {
+                this.request(middle - offset);
+            }
+        }
+        this.evict();
+    }
+    
+    /**
+     * Stops the background threads. Chunks already generated can still be 
+     * gotten, but missing chunks will no longer be generated.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+    
+    /**
+     * Creates a cache that generates chunks on daemon threads.
+     * @param generator What generates a chunk from its index, such as {@link 
+     * ShorelineWorld#generateChunk(long)}. It's called on the background 
+     * threads, so it must be safe to call from several threads at once.
+     * @param maxBytes The memory cap, in bytes. For example, 64 mebibytes.
+     * @param threads How many background threads to generate chunks on. For 
+     * example, 2.
+     * @throws IllegalArgumentException If {@code maxBytes} is negative or 
+     * {@code threads} is not positive.
+     * @throws NullPointerException If {@code generator} is null.
+     */
+    public ChunkCache(LongFunction<WorldChunk> generator, long maxBytes, 
+            int threads) {
+        if (generator == null) {
+            String excMsg = "Generator should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        if (maxBytes < 0L) {
+            String excMsg = "Memory cap " + maxBytes 
+                    + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (threads < 1) {
+            String excMsg = "Thread count " + threads + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.generator = generator;
+        this.maxBytes = maxBytes;
+        this.executor = Executors.newFixedThreadPool(threads, 
+                Thread.ofPlatform().name("world-chunk-", 0).daemon(true)
+                        .factory());
+    }
+    
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.world;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.example.graphics.profiling.GenerationEvent;
+import org.example.graphics.scene.Cloud;
+import org.example.graphics.scene.Forest;
+import org.example.graphics.scene.PoissonDiskSampler;
+import org.example.graphics.scene.Scene;
+import org.example.randomness.SeededRandom;
+
+/**
+ * A shoreline that goes on without end to the left and to the right. The sky 
+ * is above the horizon, the water is between the horizon and the shoreline, 
+ * and the land with the trees is below the shoreline. The world is split 
+ * into chunks of equal width, and each chunk is generated only when it's 
+ * asked for, from the seed and the chunk index alone. So a chunk that's 
+ * thrown away can be generated again later, and it comes out the same.
+ * <p>The shoreline rises and falls smoothly, and it's continuous from one 
+ * chunk to the next, since it's worked out from the world <i>x</i> 
+ * coordinate rather than from the chunk. Trees are placed with a {@link 
+ * PoissonDiskSampler} so that they don't overlap, closest together right by 
+ * the water and thinning out inland. They're kept within their own chunk, 
+ * but clouds may stick out past the right edge of theirs.</p>
+ * <p>Instances of this class are immutable, so chunks can be generated on 
+ * several threads at once.</p>
+ * @author Alonso del Arte
+ */
+public final class ShorelineWorld {
+    
+    /**
+     * The default width of a chunk, in pixels.
+     */
+    public static final int DEFAULT_CHUNK_WIDTH = 512;
+    
+    /**
+     * The default limit on the number of trees in a chunk.
+     */
+    public static final int DEFAULT_TREES_PER_CHUNK = 24;
+    
+    /**
+     * The smallest height a world can have and still fit trees on the land 
+     * where the shoreline is lowest.
+     */
+    public static final int MIN_HEIGHT = 4 * Scene.MAX_TREE_SIZE.height;
+    
+    private static final int COARSE_SPACING = 1024;
+    
+    private static final int FINE_SPACING = 128;
+    
+    private static final double FINE_WEIGHT = 0.3;
+    
+    private static final int MAX_CLOUDS_PER_CHUNK = 2;
+    
+    private static final double SHORE_FALLOFF = 160.0;
+    
+    private static final double MIN_INLAND_DENSITY = 0.1;
+    
+    private final long seed;
+    
+    private final int height;
+    
+    private final int horizon;
+    
+    private final int chunkWidth;
+    
+    private final int treesPerChunk;
+    
+    private final SeededRandom terrainRandom;
+    
+    private final SeededRandom chunkRandom;
+    
+    public long getSeed() {
+        return this.seed;
+    }
+    
+    public int getHeight() {
+        return this.height;
+    }
+    
+    public int getHorizon() {
+        return this.horizon;
+    }
+    
+    public int getChunkWidth() {
+        return this.chunkWidth;
+    }
+    
+    public int getTreesPerChunk() {
+        return this.treesPerChunk;
+    }
+    
+    /**
+     * Tells which chunk a point of the world is in.
+     * @param worldX The <i>x</i> coordinate in the world. May be negative. 
+     * For example, &minus;10.5.
+     * @return The chunk index. For example, &minus;1 with the default chunk 
+     * width.
+     */
+    public long chunkIndexAt(double worldX) {
+        return (long) Math.floor(worldX / this.chunkWidth);
+    }
+    
+    private double latticeValue(long k, int octave) {
+        return this.terrainRandom.substream(2 * k + octave).nextDouble();
+    }
+    
+    private double valueNoise(long worldX, int spacing, int octave) {
+        long k = Math.floorDiv(worldX, spacing);
+        double t = (double) Math.floorMod(worldX, spacing) / spacing;
+        double s = t * t * (3.0 - 2.0 * t);
+        double a = this.latticeValue(k, octave);
+        double b = this.latticeValue(k + 1, octave);
+        return a + (b - a) * s;
+    }
+    
+    /**
+     * Tells where the land begins at a given column of the world. The answer 
+     * is always somewhat below the horizon and somewhat above the bottom of 
+     * the world, and it changes by only a little from one column to the 
+     * next.
+     * @param worldX The <i>x</i> coordinate in the world. May be negative. 
+     * For example, 100000.
+     * @return The <i>y</i> coordinate of the top of the land. For example, 
+     * 330.
+     */
+    public int shoreAt(long worldX) {
+        double n = (1.0 - FINE_WEIGHT) 
+                * this.valueNoise(worldX, COARSE_SPACING, 0) 
+                + FINE_WEIGHT * this.valueNoise(worldX, FINE_SPACING, 1);
+        int top = this.horizon + this.height / 10;
+        int bottom = this.height - this.height / 4;
+        return top + (int) Math.round(n * (bottom - top));
+    }
+    
+    /**
+     * Generates a chunk of the world. The same world and chunk index always 
+     * give the same chunk, no matter which thread generates it or which 
+     * other chunks have been generated before.
+     * @param index Which chunk to generate. May be negative. For example, 
+     * 195.
+     * @return A new chunk, with its cloud textures already worked out.
+     */
+    public WorldChunk generateChunk(long index) {
+        GenerationEvent event = GenerationEvent.start();
+        long left = index * this.chunkWidth;
+        int[] shoreline = new int[this.chunkWidth];
+        for (int x = 0; x < this.chunkWidth; x++) {
+            shoreline[x] = this.shoreAt(left + x);
+        }
+        SeededRandom random = this.chunkRandom.substream(index);
+        Forest placed = new PoissonDiskSampler(random.nextLong(), 
+                new Rectangle(0, this.horizon, this.chunkWidth, 
+                        this.height - this.horizon), Scene.MAX_TREE_SIZE, 
+                Scene.MAX_TREE_SIZE.width, (x, y) -> {
+                    int depth = y - shoreline[x];
+                    if (depth <= 0) {
+                        return 0.0;
+                    }
+                    return Math.max(MIN_INLAND_DENSITY, 
+                            1.0 - depth / SHORE_FALLOFF);
+                }).sample(this.treesPerChunk);
+        int count = placed.size();
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            int treeBottom = placed.getY(i) + placed.getHeight(i);
+            order[i] = ((long) treeBottom << 32) | i;
+        }
+        Arrays.sort(order);
+        Forest forest = new Forest(count);
+        for (long key : order) {
+            int i = (int) key;
+            forest.add(placed.getX(i), placed.getY(i), placed.getWidth(i), 
+                    placed.getHeight(i), 0xFF000000 | placed.getLeafARGB(i));
+        }
+        int cloudCount = random.nextInt(MAX_CLOUDS_PER_CHUNK + 1);
+        List<Cloud> clouds = new ArrayList<>(cloudCount);
+        for (int i = 0; i < cloudCount; i++) {
+            int cloudWidth = this.chunkWidth / 4 
+                    + random.nextInt(Math.max(1, this.chunkWidth / 4));
+            int cloudHeight = Math.max(4, Math.min(cloudWidth / 3, 
+                    this.horizon / 2));
+            Rectangle bounds = new Rectangle(random.nextInt(this.chunkWidth), 
+                    random.nextInt(Math.max(1, this.horizon - cloudHeight)), 
+                    cloudWidth, cloudHeight);
+            clouds.add(new Cloud(bounds, random.nextLong()));
+        }
+        WorldChunk chunk = new WorldChunk(index, this.height, this.horizon, 
+                shoreline, forest, clouds);
+        event.finish(GenerationEvent.WORLD_CHUNK, this.seed, count);
+        return chunk;
+    }
+    
+    /**
+     * Creates a world with the default chunk width and number of trees per 
+     * chunk.
+     * @param seed The seed. Any {@code long} is fine. For example, 20251017.
+     * @param height The height of the world. For example, 600.
+     * @throws IllegalArgumentException If {@code height} is less than {@link 
+     * #MIN_HEIGHT}.
+     */
+    public ShorelineWorld(long seed, int height) {
+        this(seed, height, DEFAULT_CHUNK_WIDTH, DEFAULT_TREES_PER_CHUNK);
+    }
+    
+    /**
+     * Creates a world. The horizon is a third of the way down.
+     * @param seed The seed. Any {@code long} is fine. For example, 20251017.
+     * @param height The height of the world. For example, 600.
+     * @param chunkWidth The width of each chunk, in pixels. For example, 512.
+     * @param treesPerChunk The most trees to put in each chunk. Fewer may 
+     * fit where the land is narrow. For example, 24.
+     * @throws IllegalArgumentException If {@code height} is less than {@link 
+     * #MIN_HEIGHT}, if {@code chunkWidth} is less than the widest possible 
+     * tree, or if {@code treesPerChunk} is negative.
+     */
+    public ShorelineWorld(long seed, int height, int chunkWidth, 
+            int treesPerChunk) {
+        if (height < MIN_HEIGHT) {
+            String excMsg = "Height " + height + " should be at least " 
+                    + MIN_HEIGHT;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (chunkWidth < Scene.MAX_TREE_SIZE.width) {
+            String excMsg = "Chunk width " + chunkWidth 
+                    + " should be at least " + Scene.MAX_TREE_SIZE.width;
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (treesPerChunk < 0) {
+            String excMsg = "Trees per chunk " + treesPerChunk 
+                    + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.seed = seed;
+        this.height = height;
+        this.horizon = height / 3;
+        this.chunkWidth = chunkWidth;
+        this.treesPerChunk = treesPerChunk;
+        SeededRandom root = new SeededRandom(seed);
+        this.terrainRandom = root.split();
+        this.chunkRandom = root.split();
+    }
+    
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.world;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.example.graphics.scene.Cloud;
+import org.example.graphics.scene.Forest;
+import org.example.graphics.scene.Ocean;
+import org.example.graphics.scene.Scene;
+import org.example.graphics.scene.TreePainter;
+
+/**
+ * One vertical strip of a {@link ShorelineWorld}: its sky, the water from the 
+ * horizon down to the shoreline, the land below the shoreline, and the 
+ * clouds and trees that belong to it. Everything is in coordinates local to 
+ * the chunk, with <i>x</i> = 0 at its left edge. Trees stay within the 
+ * chunk, but clouds may stick out past its right edge, so the chunk to the 
+ * left of a visible one should be painted as well.
+ * <p>A chunk is not changed after it's generated, so it can be painted from 
+ * any thread.</p>
+ * @author Alonso del Arte
+ */
+public final class WorldChunk {
+    
+    private static final int BYTES_PER_TREE = 5 * Integer.BYTES;
+    
+    private static final int BYTES_PER_PIXEL = 4;
+    
+    private final long index;
+    
+    private final int width;
+    
+    private final int height;
+    
+    private final int horizon;
+    
+    private final int[] shoreline;
+    
+    private final Forest forest;
+    
+    private final List<Cloud> clouds;
+    
+    private final long byteCount;
+    
+    public long getIndex() {
+        return this.index;
+    }
+    
+    public int getWidth() {
+        return this.width;
+    }
+    
+    public int getHeight() {
+        return this.height;
+    }
+    
+    public int getHorizon() {
+        return this.horizon;
+    }
+    
+    /**
+     * Tells where the land begins in a column of this chunk.
+     * @param x The column, from 0 to the width of the chunk minus 1. For 
+     * example, 100.
+     * @return The <i>y</i> coordinate of the top of the land. For example, 
+     * 330.
+     * @throws IndexOutOfBoundsException If {@code x} is not a column of this 
+     * chunk.
+     */
+    public int getShoreAt(int x) {
+        return this.shoreline[x];
+    }
+    
+    /**
+     * Gives the trees of this chunk, in the order they should be painted. 
+     * The forest should not be changed.
+     * @return The trees.
+     */
+    public Forest getForest() {
+        return this.forest;
+    }
+    
+    public List<Cloud> getClouds() {
+        return this.clouds;
+    }
+    
+    /**
+     * Estimates how much memory this chunk takes up, counting the tree 
+     * arrays, the shoreline and the cloud textures.
+     * @return The estimate in bytes. For example, 150000.
+     */
+    public long getByteCount() {
+        return this.byteCount;
+    }
+    
+    /**
+     * Paints the sky, water and land of the columns of this chunk that are 
+     * within a clipping rectangle. Nothing outside the chunk's own columns is 
+     * painted, so neighboring chunks can be painted in any order.
+     * @param g The graphics context to paint on, translated so that the left 
+     * edge of the chunk is at <i>x</i> = 0.
+     * @param clip The area that needs painting, in the chunk's coordinates.
+     */
+    public void paintGround(Graphics g, Rectangle clip) {
+        int left = Math.max(0, clip.x);
+        int right = Math.min(this.width, clip.x + clip.width);
+        if (left >= right) {
+            return;
+        }
+        g.setColor(Scene.SKY_COLOR);
+        g.fillRect(left, 0, right - left, this.horizon);
+        int runStart = left;
+        for (int x = left + 1; x <= right; x++) {
+            if (x == right || this.shoreline[x] != this.shoreline[runStart]) {
+                int shore = this.shoreline[runStart];
+                g.setColor(Ocean.DEFAULT_COLOR);
+                g.fillRect(runStart, this.horizon, x - runStart, 
+                        shore - this.horizon);
+                g.setColor(Scene.LAND_COLOR);
+                g.fillRect(runStart, shore, x - runStart, this.height - shore);
+                runStart = x;
+            }
+        }
+    }
+    
+    /**
+     * Paints the clouds of this chunk that overlap a clipping rectangle.
+     * @param g The graphics context to paint on, translated so that the left 
+     * edge of the chunk is at <i>x</i> = 0.
+     * @param clip The area that needs painting, in the chunk's coordinates.
+     */
+    public void paintClouds(Graphics g, Rectangle clip) {
+        for (Cloud cloud : this.clouds) {
+            if (cloud.getBounds().intersects(clip)) {
+                cloud.draw(g);
+            }
+        }
+    }
+    
+    /**
+     * Paints the trees of this chunk that overlap a clipping rectangle.
+     * @param g The graphics context to paint on, translated so that the left 
+     * edge of the chunk is at <i>x</i> = 0.
+     * @param clip The area that needs painting, in the chunk's coordinates.
+     * @param painter What paints each tree, such as a level of detail 
+     * painter. If null, trees are drawn as vector shapes.
+     */
+    public void paintTrees(Graphics g, Rectangle clip, TreePainter painter) {
+        if (painter == null) {
+            this.forest.draw(g, clip);
+        } else {
+            this.forest.draw(g, clip, painter);
+        }
+    }
+    
+    /**
+     * Assembles a chunk. The cloud textures are worked out here if they 
+     * haven't been already, so that painting the chunk later doesn't have to 
+     * wait for them.
+     * @param index Which chunk this is. Chunk 0 starts at <i>x</i> = 0 in 
+     * the world, chunk 1 right after it, chunk &minus;1 right before it.
+     * @param height The height of the world. For example, 600.
+     * @param horizon Where the sky ends. For example, 200.
+     * @param shoreline The <i>y</i> coordinate of the top of the land in each 
+     * column. The length of the array is the width of the chunk. It's not 
+     * copied.
+     * @param forest The trees, in the order to paint them. Not copied.
+     * @param clouds The clouds. The list is copied.
+     * @throws IllegalArgumentException If {@code shoreline} is empty, or if 
+     * {@code horizon} or any shoreline value is not within 0 to {@code 
+     * height}, or a shoreline value is above the horizon.
+     */
+    public WorldChunk(long index, int height, int horizon, int[] shoreline, 
+            Forest forest, List<Cloud> clouds) {
+        if (shoreline.length == 0) {
+            String excMsg = "Shoreline should not be empty";
+            throw new IllegalArgumentException(excMsg);
+        }
+        if (horizon < 0 || horizon > height) {
+            String excMsg = "Horizon " + horizon + " should be within 0 to " 
+                    + height;
+            throw new IllegalArgumentException(excMsg);
+        }
+        for (int x = 0; x < shoreline.length; x++) {
+            if (shoreline[x] < horizon || shoreline[x] > height) {
+                String excMsg = "Shore " + shoreline[x] + " at column " + x 
+                        + " should be within " + horizon + " to " + height;
+                throw new IllegalArgumentException(excMsg);
+            }
+        }
+        this.index = index;
+        this.width = shoreline.length;
+        this.height = height;
+        this.horizon = horizon;
+        this.shoreline = shoreline;
+        this.forest = forest;
+        this.clouds = Collections.unmodifiableList(new ArrayList<>(clouds));
+        long bytes = (long) BYTES_PER_TREE * forest.size() 
+                + (long) Integer.BYTES * shoreline.length;
+        for (Cloud cloud : this.clouds) {
+            Rectangle bounds = cloud.getBounds();
+            cloud.getTexture();
+            bytes += (long) BYTES_PER_PIXEL * bounds.width * bounds.height;
+        }
+        this.byteCount = bytes;
+    }
+    
+}
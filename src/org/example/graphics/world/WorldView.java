@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.world;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+import org.example.graphics.render.LevelOfDetailPainter;
+import org.example.graphics.scene.Ocean;
+import org.example.graphics.scene.Scene;
+import org.example.graphics.scene.TreePainter;
+
+/**
+ * A window onto a {@link ShorelineWorld} that can be panned and zoomed. The 
+ * bottom of the world is kept at the bottom of the view, and the sky is 
+ * extended upwards when zoomed out far enough that the world doesn't fill the 
+ * view. Chunks come from a {@link ChunkCache}, and painting never waits for 
+ * one: a chunk that's not ready yet is painted as plain sky and water, and 
+ * painted for real once the cache's listener asks for a repaint.
+ * <p>Each time the view is painted, the visible chunks and a margin of chunks 
+ * on either side are prefetched, so that panning at a moderate pace rarely 
+ * comes across a placeholder.</p>
+ * <p>This class is meant to be used from one thread, such as the Swing event 
+ * dispatch thread.</p>
+ * @author Alonso del Arte
+ */
+public final class WorldView {
+    
+    /**
+     * The smallest zoom allowed. At this zoom, a tree is at most a few pixels 
+     * wide.
+     */
+    public static final double MIN_ZOOM = 0.125;
+    
+    /**
+     * The largest zoom allowed.
+     */
+    public static final double MAX_ZOOM = 4.0;
+    
+    /**
+     * How many chunks on either side of the visible ones are prefetched by 
+     * default.
+     */
+    public static final int DEFAULT_PREFETCH_MARGIN = 2;
+    
+    private final ShorelineWorld world;
+    
+    private final ChunkCache cache;
+    
+    private final int prefetchMargin;
+    
+    private final TreePainter painter = new LevelOfDetailPainter();
+    
+    private double left = 0.0;
+    
+    private double zoom = 1.0;
+    
+    public ShorelineWorld getWorld() {
+        return this.world;
+    }
+    
+    public ChunkCache getCache() {
+        return this.cache;
+    }
+    
+    /**
+     * Tells where the left edge of the view is in the world.
+     * @return The <i>x</i> coordinate in the world. For example, 99840.5.
+     */
+    public double getLeft() {
+        return this.left;
+    }
+    
+    public double getZoom() {
+        return this.zoom;
+    }
+    
+    /**
+     * Moves the view along the shore.
+     * @param screenDX How far to move, in pixels on screen. Positive moves 
+     * the view to the right, so that the world appears to move left. For 
+     * example, &minus;25.
+     */
+    public void pan(double screenDX) {
+        this.left += screenDX / this.zoom;
+    }
+    
+    /**
+     * Moves the view so that a point of the world is at the left edge.
+     * @param worldX The <i>x</i> coordinate in the world. For example, 
+     * 1000000.
+     */
+    public void moveTo(double worldX) {
+        this.left = worldX;
+    }
+    
+    /**
+     * Zooms in or out, keeping the point of the world under a given column 
+     * of the view in place.
+     * @param factor How much to multiply the zoom by. Greater than 1 zooms 
+     * in, less than 1 zooms out. The resulting zoom is clamped to the range 
+     * from {@link #MIN_ZOOM} to {@link #MAX_ZOOM}. For example, 1.25.
+     * @param screenX The column of the view to zoom around. For example, 400.
+     * @throws IllegalArgumentException If {@code factor} is not positive.
+     */
+    public void zoomAt(double factor, double screenX) {
+        if (!(factor > 0.0)) {
+            String excMsg = "Zoom factor " + factor + " should be positive";
+            throw new IllegalArgumentException(excMsg);
+        }
+        double anchor = this.left + screenX / this.zoom;
+        this.zoom = Math.clamp(this.zoom * factor, MIN_ZOOM, MAX_ZOOM);
+        this.left = anchor - screenX / this.zoom;
+    }
+    
+    private void paintPlaceholder(Graphics2D g, Rectangle clip) {
+        int horizon = this.world.getHorizon();
+        int left = Math.max(0, clip.x);
+        int right = Math.min(this.world.getChunkWidth(), 
+                clip.x + clip.width);
+        g.setColor(Scene.SKY_COLOR);
+        g.fillRect(left, 0, right - left, horizon);
+        g.setColor(Ocean.DEFAULT_COLOR);
+        g.fillRect(left, horizon, right - left, 
+                this.world.getHeight() - horizon);
+    }
+    
+    /**
+     * Paints what's in view. Chunks that are not ready are requested and 
+     * painted as placeholders.
+     * @param g The graphics context to paint on. Its transform and clip are 
+     * left as they were.
+     * @param viewWidth The width of the view, in pixels. For example, 800.
+     * @param viewHeight The height of the view, in pixels. For example, 600.
+     * @return How many visible chunks were painted as placeholders. For 
+     * example, 0 once everything in view has been generated.
+     */
+    public int paint(Graphics2D g, int viewWidth, int viewHeight) {
+        int chunkWidth = this.world.getChunkWidth();
+        double visibleWidth = viewWidth / this.zoom;
+        long first = this.world.chunkIndexAt(this.left);
+        long last = this.world.chunkIndexAt(this.left + visibleWidth);
+        this.cache.prefetch(first - this.prefetchMargin, 
+                last + this.prefetchMargin);
+        int count = (int) (last - first) + 2;
+        WorldChunk[] chunks = new WorldChunk[count];
+        int missing = 0;
+        for (int i = 0; i < count; i++) {
+            chunks[i] = this.cache.getIfReady(first - 1 + i);
+            if (chunks[i] == null && i > 0) {
+                missing++;
+            }
+        }
+        double worldTop = viewHeight - this.world.getHeight() * this.zoom;
+        if (worldTop > 0.0) {
+            g.setColor(Scene.SKY_COLOR);
+            g.fillRect(0, 0, viewWidth, (int) Math.ceil(worldTop));
+        }
+        Rectangle[] clips = new Rectangle[count];
+        Graphics2D[] contexts = new Graphics2D[count];
+        for (int i = 0; i < count; i++) {
+            double chunkLeft = (double) (first - 1 + i) * chunkWidth;
+            Graphics2D chunkG = (Graphics2D) g.create();
+            chunkG.translate(0.0, worldTop);
+            chunkG.scale(this.zoom, this.zoom);
+            chunkG.translate(chunkLeft - this.left, 0.0);
+            contexts[i] = chunkG;
+            clips[i] = new Rectangle((int) Math.floor(this.left - chunkLeft), 
+                    0, (int) Math.ceil(visibleWidth) + 1, 
+                    this.world.getHeight());
+        }
+        for (int i = 1; i < count; i++) {
+            if (chunks[i] == null) {
+                this.paintPlaceholder(contexts[i], clips[i]);
+            } else {
+                chunks[i].paintGround(contexts[i], clips[i]);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (chunks[i] != null) {
+                chunks[i].paintClouds(contexts[i], clips[i]);
+            }
+        }
+        for (int i = 1; i < count; i++) {
+            if (chunks[i] != null) {
+                chunks[i].paintTrees(contexts[i], clips[i], this.painter);
+            }
+        }
+        for (Graphics2D chunkG : contexts) {
+            chunkG.dispose();
+        }
+        return missing;
+    }
+    
+    /**
+     * Creates a view with the default prefetch margin, at full size, with 
+     * the left edge at <i>x</i> = 0.
+     * @param world The world to view.
+     * @param cache Where to get chunks from. Should be a cache that 
+     * generates chunks of {@code world}.
+     * @throws NullPointerException If {@code world} or {@code cache} is null.
+     */
+    public WorldView(ShorelineWorld world, ChunkCache cache) {
+        this(world, cache, DEFAULT_PREFETCH_MARGIN);
+    }
+    
+    /**
+     * Creates a view at full size, with the left edge at <i>x</i> = 0.
+     * @param world The world to view.
+     * @param cache Where to get chunks from. Should be a cache that 
+     * generates chunks of {@code world}.
+     * @param prefetchMargin How many chunks on either side of the visible 
+     * ones to prefetch. For example, 2.
+     * @throws IllegalArgumentException If {@code prefetchMargin} is negative.
+     * @throws NullPointerException If {@code world} or {@code cache} is null.
+     */
+    public WorldView(ShorelineWorld world, ChunkCache cache, 
+            int prefetchMargin) {
+        if (world == null || cache == null) {
+            String excMsg = "World and cache should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        if (prefetchMargin < 0) {
+            String excMsg = "Prefetch margin " + prefetchMargin 
+                    + " should not be negative";
+            throw new IllegalArgumentException(excMsg);
+        }
+        this.world = world;
+        this.cache = cache;
+        this.prefetchMargin = prefetchMargin;
+    }
+    
+}
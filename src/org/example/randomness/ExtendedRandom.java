@@ -19,24 +19,111 @@ package org.example.randomness;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Point;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Provides some pseudorandom items, as well as pseudorandom 32-bit integers. 
  * All of these functions are static, so it's not necessary to instantiate this 
  * class like with {@code java.util.Random}.
+ * <p>By default all threads draw from one shared {@code java.util.Random}. 
+ * When several threads generate scenes at the same time, call {@link 
+ * #setGeneratorMode(GeneratorMode)} with {@link GeneratorMode#PER_THREAD} so 
+ * that each thread gets its own generator. The mode can also be chosen at 
+ * startup with the system property {@value #GENERATOR_MODE_PROPERTY}.</p>
+ * <p>For generating large numbers of items, the bulk procedures {@link 
+ * #nextColors(int[])}, {@link #nextDimensions(long[], Dimension)}, {@link 
+ * #nextDimensions(int[], int[], Dimension)} and {@link #nextPoints(int[], 
+ * int[], Dimension)} fill arrays supplied by the caller with primitive values 
+ * rather than create one object per item.</p>
  * @author Alonso del Arte
  */
 public class ExtendedRandom {
     
+    /**
+     * The name of the system property that can be used to set the generator 
+     * mode at startup. Its value should be the name of one of the {@link 
+     * GeneratorMode} constants, in any case, e.g., "PER_THREAD" or 
+     * "per_thread". Any other value is reported on standard error and 
+     * ignored.
+     */
+    public static final String GENERATOR_MODE_PROPERTY 
+            = "org.example.randomness.generatorMode";
+    
     private static final Random RANDOM = new Random();
     
+    private static volatile GeneratorMode mode = parseGeneratorMode(
+            System.getProperty(GENERATOR_MODE_PROPERTY));
+    
+    /**
+     * Reads a generator mode from the value of {@link 
+     * #GENERATOR_MODE_PROPERTY}. This is used to set the mode when the class 
+     * is initialized, so rather than throw an exception, which would make the 
+     * class unusable, it falls back to {@link GeneratorMode#SHARED}.
+     * @param value The value of the property. For example, "per_thread". May 
+     * be null if the property is not set.
+     * @return The mode named by {@code value}, ignoring case and surrounding 
+     * whitespace. {@link GeneratorMode#SHARED} if {@code value} is null or 
+     * doesn't name a mode.
+     */
+    static GeneratorMode parseGeneratorMode(String value) {
+        if (value == null) {
+            return GeneratorMode.SHARED;
+        }
+        String name = value.trim().toUpperCase(Locale.ROOT);
+        for (GeneratorMode generatorMode : GeneratorMode.values()) {
+            if (generatorMode.name().equals(name)) {
+                return generatorMode;
+            }
+        }
+        System.err.println("Ignoring " + GENERATOR_MODE_PROPERTY + "=" 
+                + value + ", should be one of " 
+                + Arrays.toString(GeneratorMode.values()) + "; using " 
+                + GeneratorMode.SHARED.name());
+        return GeneratorMode.SHARED;
+    }
+    
+    /**
+     * Tells which generator mode the static functions are currently using.
+     * @return The current mode. Initially {@link GeneratorMode#SHARED}, 
+     * unless the system property says otherwise.
+     */
+    public static GeneratorMode getGeneratorMode() {
+        return mode;
+    }
+    
+    /**
+     * Changes where the static functions get their pseudorandom numbers from. 
+     * This takes effect immediately for all threads.
+     * @param generatorMode The mode to switch to. For example, {@link 
+     * GeneratorMode#PER_THREAD}.
+     * @throws NullPointerException If {@code generatorMode} is null.
+     */
+    public static void setGeneratorMode(GeneratorMode generatorMode) {
+        if (generatorMode == null) {
+            String excMsg = "Generator mode should not be null";
+            throw new NullPointerException(excMsg);
+        }
+        mode = generatorMode;
+    }
+    
+    private static RandomGenerator generator() {
+        if (mode == GeneratorMode.PER_THREAD) {
+            return ThreadLocalRandom.current();
+        }
+        return RANDOM;
+    }
+    
     public static int nextInt() {
-        return RANDOM.nextInt();
+        return generator().nextInt();
     }
     
     public static int nextInt(int bound) {
-        return RANDOM.nextInt(bound);
+        return generator().nextInt(bound);
     }
     
     public static int nextPowerOfTwo() {
@@ -54,15 +141,178 @@ public class ExtendedRandom {
     }
     
     public static Dimension nextDimension() {
-        int height = RANDOM.nextInt(1, 4096);
-        int width = RANDOM.nextInt(1, 4096);
+        RandomGenerator random = generator();
+        int height = random.nextInt(1, 4096);
+        int width = random.nextInt(1, 4096);
         return new Dimension(width, height);
     }
     
     public static Dimension nextDimension(Dimension bound) {
-        int height = RANDOM.nextInt(1, bound.height);
-        int width = RANDOM.nextInt(1, bound.width);
+        RandomGenerator random = generator();
+        int height = random.nextInt(1, bound.height);
+        int width = random.nextInt(1, bound.width);
         return new Dimension(width, height);
     }
     
+    /**
+     * Packs a width and a height into a single {@code long}, the format used 
+     * by {@link #nextDimensions(long[], Dimension)}.
+     * @param width The width. For example, 1920.
+     * @param height The height. For example, 1080.
+     * @return The width in the high 32 bits and the height in the low 32 bits.
+     */
+    public static long packDimension(int width, int height) {
+        return ((long) width << 32) | (height & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Gets the width out of a packed dimension.
+     * @param packed A dimension packed by {@link #packDimension(int, int)}.
+     * @return The width. For example, 1920.
+     */
+    public static int unpackWidth(long packed) {
+        return (int) (packed >>> 32);
+    }
+    
+    /**
+     * Gets the height out of a packed dimension.
+     * @param packed A dimension packed by {@link #packDimension(int, int)}.
+     * @return The height. For example, 1080.
+     */
+    public static int unpackHeight(long packed) {
+        return (int) packed;
+    }
+    
+    /**
+     * Fills an array with pseudorandom colors, each one packed as ARGB the 
+     * same way as {@code java.awt.Color.getRGB()}. The colors have the same 
+     * distribution as those given by {@link #nextColor()}.
+     * @param argbs The array to fill. Every element will be overwritten.
+     */
+    public static void nextColors(int[] argbs) {
+        nextColors(argbs, 0, argbs.length);
+    }
+    
+    /**
+     * Fills part of an array with pseudorandom colors packed as ARGB.
+     * @param argbs The array to fill.
+     * @param offset The index of the first element to overwrite.
+     * @param length How many elements to overwrite.
+     * @throws IndexOutOfBoundsException If {@code offset} and {@code length} 
+     * don't describe a range within {@code argbs}.
+     */
+    public static void nextColors(int[] argbs, int offset, int length) {
+        fillColors(generator(), argbs, offset, length);
+    }
+    
+    /**
+     * Fills an array with pseudorandom dimensions, each packed by {@link 
+     * #packDimension(int, int)}. The bounds are the same as for {@link 
+     * #nextDimension(Dimension)}: width and height are at least 1 and less 
+     * than the corresponding measure of {@code bound}.
+     * @param packed The array to fill. Every element will be overwritten.
+     * @param bound The exclusive bound on width and height. For example, 640 
+     * &times; 480.
+     * @throws IllegalArgumentException If either measure of {@code bound} is 
+     * less than 2.
+     */
+    public static void nextDimensions(long[] packed, Dimension bound) {
+        fillDimensions(generator(), packed, bound);
+    }
+    
+    /**
+     * Fills a pair of arrays with pseudorandom widths and heights. Element 
+     * <i>i</i> of {@code widths} and element <i>i</i> of {@code heights} make 
+     * up one dimension, bounded the same way as for {@link 
+     * #nextDimension(Dimension)}.
+     * @param widths The array for the widths.
+     * @param heights The array for the heights. Must be the same length as 
+     * {@code widths}.
+     * @param bound The exclusive bound on width and height. For example, 640 
+     * &times; 480.
+     * @throws IllegalArgumentException If the arrays differ in length, or if 
+     * either measure of {@code bound} is less than 2.
+     */
+    public static void nextDimensions(int[] widths, int[] heights, 
+            Dimension bound) {
+        fillDimensions(generator(), widths, heights, bound);
+    }
+    
+    /**
+     * Fills a pair of arrays with pseudorandom point coordinates. Each 
+     * <i>x</i> is at least 0 but less than the width of {@code bound}, and 
+     * each <i>y</i> is at least 0 but less than the height of {@code bound}.
+     * @param xs The array for the <i>x</i> coordinates.
+     * @param ys The array for the <i>y</i> coordinates. Must be the same 
+     * length as {@code xs}.
+     * @param bound The exclusive bound on the coordinates. For example, 640 
+     * &times; 480.
+     * @throws IllegalArgumentException If the arrays differ in length, or if 
+     * either measure of {@code bound} is not positive.
+     */
+    public static void nextPoints(int[] xs, int[] ys, Dimension bound) {
+        fillPoints(generator(), xs, ys, bound);
+    }
+    
+    static void fillColors(RandomGenerator random, int[] argbs, int offset, 
+            int length) {
+        Objects.checkFromIndexSize(offset, length, argbs.length);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            argbs[i] = random.nextInt();
+        }
+    }
+    
+    static void fillDimensions(RandomGenerator random, long[] packed, 
+            Dimension bound) {
+        checkBound(bound, 2);
+        int boundWidth = bound.width;
+        int boundHeight = bound.height;
+        for (int i = 0; i < packed.length; i++) {
+            int height = random.nextInt(1, boundHeight);
+            int width = random.nextInt(1, boundWidth);
+            packed[i] = packDimension(width, height);
+        }
+    }
+    
+    static void fillDimensions(RandomGenerator random, int[] widths, 
+            int[] heights, Dimension bound) {
+        checkSameLength(widths, heights);
+        checkBound(bound, 2);
+        int boundWidth = bound.width;
+        int boundHeight = bound.height;
+        for (int i = 0; i < widths.length; i++) {
+            heights[i] = random.nextInt(1, boundHeight);
+            widths[i] = random.nextInt(1, boundWidth);
+        }
+    }
+    
+    static void fillPoints(RandomGenerator random, int[] xs, int[] ys, 
+            Dimension bound) {
+        checkSameLength(xs, ys);
+        checkBound(bound, 1);
+        int boundWidth = bound.width;
+        int boundHeight = bound.height;
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = random.nextInt(boundWidth);
+            ys[i] = random.nextInt(boundHeight);
+        }
+    }
+    
+    private static void checkBound(Dimension bound, int minimum) {
+        if (bound.width < minimum || bound.height < minimum) {
+            String excMsg = "Bound " + bound.toString() 
+                    + " should have width and height of at least " + minimum;
+            throw new IllegalArgumentException(excMsg);
+        }
+    }
+    
+    private static void checkSameLength(int[] first, int[] second) {
+        if (first.length != second.length) {
+            String excMsg = "Arrays should be the same length, not " 
+                    + first.length + " and " + second.length;
+            throw new IllegalArgumentException(excMsg);
+        }
+    }
+    
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.randomness;
+
+/**
+ * Chooses where the static functions of {@link ExtendedRandom} get their
+ * pseudorandom numbers from.
+ * @author Alonso del Arte
+ */
+public enum GeneratorMode {
+    
+    /**
+     * One {@code java.util.Random} instance shared by all threads. This is the
+     * original behavior. It's fine for a single thread, but the seed is
+     * updated with a compare-and-set, so several threads calling at the same
+     * time slow each other down.
+     */
+    SHARED,
+    
+    /**
+     * Each thread, platform or virtual, gets its own generator state by way of
+     * {@code java.util.concurrent.ThreadLocalRandom}, so there's no contention
+     * between threads.
+     */
+    PER_THREAD
+    
+}
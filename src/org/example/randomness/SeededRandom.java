@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.randomness;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.util.SplittableRandom;
+
+/**
+ * Provides the same pseudorandom items as {@link ExtendedRandom}, but from an 
+ * instance with a known seed, so that the same seed always gives the same 
+ * items. Unlike {@code ExtendedRandom}, an instance of this class is not safe 
+ * to share between threads. Instead, each thread or each fork-join task 
+ * should get its own sub-stream, either with {@link #split()} or with {@link 
+ * #substream(long)}.
+ * <p>The sub-streams from {@code substream()} depend only on the seed and the 
+ * index, not on how many other sub-streams have been made or on which thread 
+ * makes them. That's what makes it possible to generate a scene in parallel 
+ * and get the same scene regardless of the level of parallelism.</p>
+ * @author Alonso del Arte
+ */
+public class SeededRandom {
+    
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    
+    private final long seed;
+    
+    private final SplittableRandom random;
+    
+    /**
+     * Gives the seed this instance was created with.
+     * @return The seed. For example, 20251017.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+    
+    public int nextInt() {
+        return this.random.nextInt();
+    }
+    
+    public int nextInt(int bound) {
+        return this.random.nextInt(bound);
+    }
+    
+    public int nextInt(int origin, int bound) {
+        return this.random.nextInt(origin, bound);
+    }
+    
+    public long nextLong() {
+        return this.random.nextLong();
+    }
+    
+    public double nextDouble() {
+        return this.random.nextDouble();
+    }
+    
+    public int nextPowerOfTwo() {
+        int shift = this.random.nextInt(31);
+        return 1 << shift;
+    }
+    
+    public Color nextColor() {
+        return new Color(this.random.nextInt(), true);
+    }
+    
+    public Point nextPoint(Dimension bound) {
+        int x = this.random.nextInt(bound.width);
+        int y = this.random.nextInt(bound.height);
+        return new Point(x, y);
+    }
+    
+    public Dimension nextDimension() {
+        int height = this.random.nextInt(1, 4096);
+        int width = this.random.nextInt(1, 4096);
+        return new Dimension(width, height);
+    }
+    
+    public Dimension nextDimension(Dimension bound) {
+        int height = this.random.nextInt(1, bound.height);
+        int width = this.random.nextInt(1, bound.width);
+        return new Dimension(width, height);
+    }
+    
+    /**
+     * Fills an array with colors packed as ARGB. Works the same way as {@link 
+     * ExtendedRandom#nextColors(int[])}.
+     * @param argbs The array to fill. Every element will be overwritten.
+     */
+    public void nextColors(int[] argbs) {
+        ExtendedRandom.fillColors(this.random, argbs, 0, argbs.length);
+    }
+    
+    /**
+     * Fills part of an array with colors packed as ARGB. Works the same way as 
+     * {@link ExtendedRandom#nextColors(int[], int, int)}.
+     * @param argbs The array to fill.
+     * @param offset The index of the first element to overwrite.
+     * @param length How many elements to overwrite.
+     * @throws IndexOutOfBoundsException If {@code offset} and {@code length} 
+     * don't describe a range within {@code argbs}.
+     */
+    public void nextColors(int[] argbs, int offset, int length) {
+        ExtendedRandom.fillColors(this.random, argbs, offset, length);
+    }
+    
+    /**
+     * Fills an array with packed dimensions. Works the same way as {@link 
+     * ExtendedRandom#nextDimensions(long[], Dimension)}.
+     * @param packed The array to fill. Every element will be overwritten.
+     * @param bound The exclusive bound on width and height.
+     * @throws IllegalArgumentException If either measure of {@code bound} is 
+     * less than 2.
+     */
+    public void nextDimensions(long[] packed, Dimension bound) {
+        ExtendedRandom.fillDimensions(this.random, packed, bound);
+    }
+    
+    /**
+     * Fills a pair of arrays with widths and heights. Works the same way as 
+     * {@link ExtendedRandom#nextDimensions(int[], int[], Dimension)}.
+     * @param widths The array for the widths.
+     * @param heights The array for the heights.
+     * @param bound The exclusive bound on width and height.
+     * @throws IllegalArgumentException If the arrays differ in length, or if 
+     * either measure of {@code bound} is less than 2.
+     */
+    public void nextDimensions(int[] widths, int[] heights, Dimension bound) {
+        ExtendedRandom.fillDimensions(this.random, widths, heights, bound);
+    }
+    
+    /**
+     * Fills a pair of arrays with point coordinates. Works the same way as 
+     * {@link ExtendedRandom#nextPoints(int[], int[], Dimension)}.
+     * @param xs The array for the <i>x</i> coordinates.
+     * @param ys The array for the <i>y</i> coordinates.
+     * @param bound The exclusive bound on the coordinates.
+     * @throws IllegalArgumentException If the arrays differ in length, or if 
+     * either measure of {@code bound} is not positive.
+     */
+    public void nextPoints(int[] xs, int[] ys, Dimension bound) {
+        ExtendedRandom.fillPoints(this.random, xs, ys, bound);
+    }
+    
+    /**
+     * Splits off a new generator. This advances the state of this generator, 
+     * so the result depends on how many numbers have been drawn from this 
+     * generator before the split. For sub-streams that depend only on an 
+     * index, use {@link #substream(long)} instead.
+     * @return A new generator, seeded from this one.
+     */
+    public SeededRandom split() {
+        return new SeededRandom(mix(this.random.nextLong()));
+    }
+    
+    /**
+     * Jumps to an independent sub-stream identified by an index. This does 
+     * not change the state of this generator, and the same seed and index 
+     * always give the same sub-stream.
+     * @param index The index of the sub-stream. For example, the index of a 
+     * chunk of trees.
+     * @return A new generator for the sub-stream.
+     */
+    public SeededRandom substream(long index) {
+        return new SeededRandom(mix(this.seed + (index + 1) * GOLDEN_GAMMA));
+    }
+    
+    // The finalizer from SplitMix64, so that nearby seeds and indices still 
+    // give unrelated sub-streams
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Creates a generator with the specified seed.
+     * @param seed The seed. Any {@code long} is fine. For example, 20251017.
+     */
+    public SeededRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+    
+}
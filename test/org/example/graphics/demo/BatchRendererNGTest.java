@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.example.graphics.scene.Scene;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the BatchRenderer class.
+ * @author Alonso del Arte
+ */
+public class BatchRendererNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+    
+    /**
+     * Test of the run function, of the BatchRenderer class. There should be 
+     * one PNG per seed, and each should be the same as painting the scene for 
+     * that seed directly.
+     * @throws Exception If the batch fails or the temporary directory can't be 
+     * cleaned up.
+     */
+    @Test
+    public void testRun() throws Exception {
+        System.out.println("run");
+        Dimension size = new Dimension(120 + RANDOM.nextInt(40), 
+                90 + RANDOM.nextInt(30));
+        long firstSeed = RANDOM.nextInt(1000);
+        int count = 10 + RANDOM.nextInt(10);
+        long lastSeed = firstSeed + count - 1;
+        int treeCount = 20;
+        Path dir = Files.createTempDirectory("batch");
+        try {
+            BatchRenderer renderer = new BatchRenderer(firstSeed, lastSeed, 
+                    size, treeCount, dir.resolve("out"), 2, 2);
+            BatchRenderer.Statistics stats = renderer.run();
+            assertEquals(stats.getSceneCount(), count);
+            assert stats.getByteCount() > 0L 
+                    : "Byte count should be positive";
+            for (long seed = firstSeed; seed <= lastSeed; seed++) {
+                Path file = dir.resolve("out")
+                        .resolve(BatchRenderer.fileNameFor(seed));
+                BufferedImage actual = ImageIO.read(file.toFile());
+                assertNotNull(actual, "Should be able to read " + file);
+                BufferedImage expected = new BufferedImage(size.width, 
+                        size.height, BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = expected.createGraphics();
+                Scene.generate(seed, size, treeCount).paint(g);
+                g.dispose();
+                int[] expPixels = expected.getRGB(0, 0, size.width, 
+                        size.height, null, 0, size.width);
+                int[] actPixels = actual.getRGB(0, 0, size.width, size.height, 
+                        null, 0, size.width);
+                assertEquals(actPixels, expPixels, "Pixels for seed " + seed);
+            }
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+    
+    @Test
+    public void testConstructorRejectsEmptySeedRange() {
+        Path dir = Path.of("unused");
+        Dimension size = new Dimension(100, 100);
+        long firstSeed = RANDOM.nextInt(1000) + 1;
+        assertThrows(IllegalArgumentException.class, 
+                () -> new BatchRenderer(firstSeed, firstSeed - 1, size, 10, 
+                        dir));
+    }
+    
+    @Test
+    public void testConstructorRejectsZeroQueueCapacity() {
+        Path dir = Path.of("unused");
+        Dimension size = new Dimension(100, 100);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new BatchRenderer(0L, 10L, size, 10, dir, 0, 1));
+    }
+    
+}
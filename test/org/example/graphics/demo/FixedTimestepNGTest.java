@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the FixedTimestep class.
+ * @author Alonso del Arte
+ */
+public class FixedTimestepNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final double TEST_DELTA = 0.000001;
+    
+    /**
+     * Test of the advance function, of the FixedTimestep class. The first 
+     * call should only start the clock.
+     */
+    @Test
+    public void testFirstAdvanceTakesNoSteps() {
+        FixedTimestep timestep = new FixedTimestep();
+        assertEquals(timestep.advance(RANDOM.nextLong()), 0);
+        assertEquals(timestep.getAlpha(), 0.0, TEST_DELTA);
+    }
+    
+    /**
+     * Test of the advance function, of the FixedTimestep class. Whole steps 
+     * should be taken and the remainder carried over to later frames.
+     */
+    @Test
+    public void testAdvance() {
+        System.out.println("advance");
+        long stepNanos = 1000L + RANDOM.nextInt(1000);
+        FixedTimestep timestep = new FixedTimestep(stepNanos, 
+                Integer.MAX_VALUE);
+        long now = RANDOM.nextInt(1 << 20);
+        timestep.advance(now);
+        long elapsed = 0L;
+        int totalSteps = 0;
+        for (int frame = 0; frame < 100; frame++) {
+            long delta = RANDOM.nextInt((int) (3 * stepNanos));
+            now += delta;
+            elapsed += delta;
+            totalSteps += timestep.advance(now);
+            long expectedSteps = elapsed / stepNanos;
+            assertEquals(totalSteps, expectedSteps);
+            double expectedAlpha = (double) (elapsed % stepNanos) / stepNanos;
+            assertEquals(timestep.getAlpha(), expectedAlpha, TEST_DELTA);
+        }
+    }
+    
+    /**
+     * Test of the advance function, of the FixedTimestep class. After a long 
+     * pause, no more than the maximum number of steps should be taken, and 
+     * the time beyond that should be dropped rather than carried over.
+     */
+    @Test
+    public void testAdvanceLimitsCatchUp() {
+        int maxSteps = 2 + RANDOM.nextInt(8);
+        long stepNanos = 1000L;
+        FixedTimestep timestep = new FixedTimestep(stepNanos, maxSteps);
+        timestep.advance(0L);
+        long pause = stepNanos * (maxSteps + 10 + RANDOM.nextInt(100)) + 250L;
+        assertEquals(timestep.advance(pause), maxSteps);
+        assertEquals(timestep.getAlpha(), 0.25, TEST_DELTA);
+        assertEquals(timestep.advance(pause + stepNanos), 1);
+    }
+    
+    /**
+     * Test of the reset procedure, of the FixedTimestep class.
+     */
+    @Test
+    public void testReset() {
+        System.out.println("reset");
+        FixedTimestep timestep = new FixedTimestep(1000L, 10);
+        timestep.advance(0L);
+        timestep.advance(1500L);
+        timestep.reset();
+        assertEquals(timestep.getAlpha(), 0.0, TEST_DELTA);
+        assertEquals(timestep.advance(1_000_000L), 0);
+        assertEquals(timestep.advance(1_001_000L), 1);
+    }
+    
+    @Test
+    public void testConstructorRejectsNonPositiveStep() {
+        long stepNanos = -RANDOM.nextInt(1000);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new FixedTimestep(stepNanos, 5));
+    }
+    
+}
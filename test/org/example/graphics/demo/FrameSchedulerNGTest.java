@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the FrameScheduler class.
+ * @author Alonso del Arte
+ */
+public class FrameSchedulerNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final long FRAME_NANOS = 2_000_000L;
+    
+    private static void busyWait(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+    
+    /**
+     * Test of the runFrame procedure, of the FrameScheduler class. The update 
+     * should be given the start time, then the paint should run, and both 
+     * should be timed.
+     */
+    @Test
+    public void testRunFrame() {
+        System.out.println("runFrame");
+        long[] updateTime = new long[1];
+        AtomicInteger paints = new AtomicInteger();
+        FrameScheduler scheduler = new FrameScheduler(
+                now -> updateTime[0] = now, paints::incrementAndGet, 
+                FRAME_NANOS);
+        int frames = 1 + RANDOM.nextInt(20);
+        long before = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            scheduler.runFrame();
+        }
+        assertMinimum(before, updateTime[0], 
+                "Update should get the frame start time");
+        assertEquals(paints.get(), frames);
+        assertEquals(scheduler.getUpdateTimes().getCount(), frames);
+        assertEquals(scheduler.getPaintTimes().getCount(), frames);
+        assertEquals(scheduler.getFrameTimes().getCount(), frames);
+    }
+    
+    /**
+     * Test of the getDroppedFrames function, of the FrameScheduler class. A 
+     * frame taking over twice the budget should drop at least two frames, 
+     * and the slow paint should show up at the tail.
+     */
+    @Test
+    public void testGetDroppedFrames() {
+        System.out.println("getDroppedFrames");
+        boolean[] slow = new boolean[1];
+        FrameScheduler scheduler = new FrameScheduler(now -> {}, () -> {
+            if (slow[0]) {
+                busyWait(2 * FRAME_NANOS + FRAME_NANOS / 2);
+            }
+        }, FRAME_NANOS);
+        for (int i = 0; i < 99; i++) {
+            scheduler.runFrame();
+        }
+        assertEquals(scheduler.getDroppedFrames(), 0L);
+        slow[0] = true;
+        scheduler.runFrame();
+        assertMinimum(2L, scheduler.getDroppedFrames(), 
+                "A frame over twice the budget should drop two frames");
+        assertMinimum(2 * FRAME_NANOS, 
+                scheduler.getPaintTimes().getPercentileNanos(100.0), 
+                "Slowest paint should be at the tail");
+        long p99 = scheduler.getFrameTimes().getPercentileNanos(99.0);
+        assert p99 < FRAME_NANOS : "99th percentile " + p99 
+                + " ns should be within budget";
+        scheduler.resetStatistics();
+        assertEquals(scheduler.getDroppedFrames(), 0L);
+        assertEquals(scheduler.getFrameTimes().getCount(), 0L);
+    }
+    
+    /**
+     * Test of the requestFrame procedure, of the FrameScheduler class. In 
+     * on-demand mode, several requests before the frame runs should give just 
+     * one frame.
+     * @throws Exception If waiting on the event dispatch thread fails.
+     */
+    @Test
+    public void testRequestFrameCoalesces() throws Exception {
+        System.out.println("requestFrame");
+        AtomicInteger paints = new AtomicInteger();
+        FrameScheduler scheduler = new FrameScheduler(now -> {}, 
+                paints::incrementAndGet, FRAME_NANOS);
+        int requests = 2 + RANDOM.nextInt(10);
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < requests; i++) {
+                scheduler.requestFrame();
+            }
+        });
+        SwingUtilities.invokeAndWait(() -> {});
+        assertEquals(paints.get(), 1);
+    }
+    
+    /**
+     * Test of the setMode procedure, of the FrameScheduler class. In 
+     * continuous mode, frames should keep coming without being asked for.
+     * @throws Exception If waiting on the event dispatch thread fails.
+     */
+    @Test
+    public void testSetModeContinuous() throws Exception {
+        System.out.println("setMode");
+        AtomicInteger paints = new AtomicInteger();
+        FrameScheduler scheduler = new FrameScheduler(now -> {}, 
+                paints::incrementAndGet, FRAME_NANOS);
+        SwingUtilities.invokeAndWait(() 
+                -> scheduler.setMode(RenderMode.CONTINUOUS));
+        Thread.sleep(200L);
+        SwingUtilities.invokeAndWait(() 
+                -> scheduler.setMode(RenderMode.ON_DEMAND));
+        assertMinimum(5, paints.get(), 
+                "Frames should run without being asked for");
+        int count = paints.get();
+        Thread.sleep(50L);
+        SwingUtilities.invokeAndWait(() -> {});
+        assertEquals(paints.get(), count);
+    }
+    
+    @Test
+    public void testSetModeRejectsNull() {
+        FrameScheduler scheduler = new FrameScheduler(now -> {}, () -> {});
+        assertThrows(NullPointerException.class, 
+                () -> scheduler.setMode(null));
+    }
+    
+    /**
+     * Test of the drawOverlay procedure, of the FrameScheduler class. It 
+     * should draw within the bounds it reports.
+     */
+    @Test
+    public void testDrawOverlay() {
+        System.out.println("drawOverlay");
+        FrameScheduler scheduler = new FrameScheduler(now -> {}, () -> {});
+        scheduler.runFrame();
+        BufferedImage image = new BufferedImage(400, 200, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        int x = RANDOM.nextInt(20);
+        int y = RANDOM.nextInt(20);
+        Rectangle bounds = scheduler.getOverlayBounds(g, x, y);
+        scheduler.drawOverlay(g, x, y);
+        g.dispose();
+        int drawn = 0;
+        for (int py = 0; py < image.getHeight(); py++) {
+            for (int px = 0; px < image.getWidth(); px++) {
+                if ((image.getRGB(px, py) & 0xFFFFFF) != 0) {
+                    String msg = "Pixel at (" + px + ", " + py 
+                            + ") should be within " + bounds.toString();
+                    assert bounds.contains(px, py) : msg;
+                    drawn++;
+                }
+            }
+        }
+        assertMinimum(1, drawn, "Overlay should draw something");
+    }
+    
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertInRange;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the FrameTimeHistogram class.
+ * @author Alonso del Arte
+ */
+public class FrameTimeHistogramNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    /**
+     * Test of the bucket arithmetic behind the FrameTimeHistogram class. 
+     * Every duration should land in a bucket whose top is at or above it and 
+     * within about 3% of it.
+     */
+    @Test
+    public void testBuckets() {
+        for (int i = 0; i < 10000; i++) {
+            long micros = RANDOM.nextLong(1L << (1 + RANDOM.nextInt(31)));
+            int bucket = FrameTimeHistogram.bucketFor(micros);
+            assertInRange(0, bucket, FrameTimeHistogram.BUCKET_COUNT - 1);
+            long highest = FrameTimeHistogram.highestMicrosIn(bucket);
+            String msg = micros + " microseconds in bucket " + bucket 
+                    + " topping out at " + highest;
+            assert highest >= micros : msg;
+            assert highest - micros <= micros / 32 : msg;
+            if (bucket > 0) {
+                long below = FrameTimeHistogram.highestMicrosIn(bucket - 1);
+                assert below < micros : msg;
+            }
+        }
+    }
+    
+    /**
+     * Test of the getPercentileNanos function, of the FrameTimeHistogram 
+     * class. Percentiles should be within a few percent of the exact ones.
+     */
+    @Test
+    public void testGetPercentileNanos() {
+        System.out.println("getPercentileNanos");
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        int count = 1000 + RANDOM.nextInt(1000);
+        long[] durations = new long[count];
+        for (int i = 0; i < count; i++) {
+            durations[i] = 100_000L + RANDOM.nextInt(50_000_000);
+            histogram.record(durations[i]);
+        }
+        Arrays.sort(durations);
+        for (double percentile : new double[] {50.0, 95.0, 99.0, 100.0}) {
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            long expected = durations[rank - 1];
+            long actual = histogram.getPercentileNanos(percentile);
+            String msg = "p" + percentile + " of " + count + " durations";
+            assertInRange(expected, actual, expected + expected / 32 + 1000L, 
+                    msg);
+        }
+        assertEquals(histogram.getPercentileNanos(100.0), 
+                durations[count - 1]);
+        assertEquals(histogram.getMaxNanos(), durations[count - 1]);
+        assertEquals(histogram.getCount(), count);
+    }
+    
+    @Test
+    public void testGetPercentileNanosWhenEmpty() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        assertEquals(histogram.getPercentileNanos(99.0), 0L);
+    }
+    
+    @Test
+    public void testGetPercentileNanosRejectsZero() {
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        histogram.record(RANDOM.nextInt(1_000_000));
+        assertThrows(IllegalArgumentException.class, 
+                () -> histogram.getPercentileNanos(0.0));
+    }
+    
+    /**
+     * Test of the getMeanNanos function, of the FrameTimeHistogram class.
+     */
+    @Test
+    public void testGetMeanNanos() {
+        System.out.println("getMeanNanos");
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        long a = RANDOM.nextInt(1_000_000);
+        long b = RANDOM.nextInt(1_000_000);
+        histogram.record(a);
+        histogram.record(b);
+        assertEquals(histogram.getMeanNanos(), (a + b) / 2.0, 0.000001);
+    }
+    
+    /**
+     * Test of the reset procedure, of the FrameTimeHistogram class.
+     */
+    @Test
+    public void testReset() {
+        System.out.println("reset");
+        FrameTimeHistogram histogram = new FrameTimeHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(RANDOM.nextInt(1_000_000_000));
+        }
+        histogram.reset();
+        assertEquals(histogram.getCount(), 0L);
+        assertEquals(histogram.getMaxNanos(), 0L);
+        assertEquals(histogram.getPercentileNanos(50.0), 0L);
+    }
+    
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.awt.Dimension;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the GraphicsDemo class.
+ * @author Alonso del Arte
+ */
+public class GraphicsDemoNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    /**
+     * Test of the parseSize function, of the GraphicsDemo class.
+     */
+    @Test
+    public void testParseSize() {
+        System.out.println("parseSize");
+        int w = RANDOM.nextInt(1000) + 1;
+        int h = RANDOM.nextInt(1000) + 1;
+        Dimension expected = new Dimension(w, h);
+        assertEquals(GraphicsDemo.parseSize(w + "x" + h), expected);
+        assertThrows(NumberFormatException.class, 
+                () -> GraphicsDemo.parseSize(w + "by" + h));
+        assertThrows(NumberFormatException.class, 
+                () -> GraphicsDemo.parseSize("0x" + h));
+    }
+    
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the RenderServer class.
+ * @author Alonso del Arte
+ */
+public class RenderServerNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private RenderServer server;
+    
+    private HttpClient client;
+    
+    private HttpResponse<byte[]> fetch(String pathAndQuery, 
+            String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(
+                "http://127.0.0.1:" + this.server.getPort() + pathAndQuery));
+        if (ifNoneMatch != null) {
+            builder.header("If-None-Match", ifNoneMatch);
+        }
+        return this.client.send(builder.build(), 
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+    
+    @BeforeClass
+    public void setUpClass() throws IOException {
+        this.server = new RenderServer(0, SceneImageCache.DEFAULT_MAX_BYTES, 
+                2);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1).build();
+    }
+    
+    @AfterClass
+    public void tearDownClass() {
+        this.server.close();
+    }
+    
+    /**
+     * Test of the handling of a scene request, of the RenderServer class. 
+     * The response should be a PNG of the size asked for, the same as 
+     * rendering the scene directly.
+     * @throws IOException If the request can't be sent, which should not 
+     * happen.
+     * @throws InterruptedException If the test is interrupted, which should 
+     * not happen.
+     */
+    @Test
+    public void testServeScene() throws IOException, InterruptedException {
+        System.out.println("serveScene");
+        long seed = RANDOM.nextLong();
+        int width = 320 + RANDOM.nextInt(100);
+        int height = 240 + RANDOM.nextInt(100);
+        HttpResponse<byte[]> response = this.fetch(RenderServer.PATH 
+                + "?seed=" + seed + "&width=" + width + "&height=" + height, 
+                null);
+        assertEquals(response.statusCode(), 200);
+        assertEquals(response.headers().firstValue("Content-Type")
+                .orElse(""), "image/png");
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(
+                response.body()));
+        assertEquals(image.getWidth(), width);
+        assertEquals(image.getHeight(), height);
+        byte[] expected = RenderServer.render(new SceneImageCache.Key(seed, 
+                width, height, GraphicsDemo.DEFAULT_TREE_COUNT));
+        assertEquals(response.body(), expected);
+    }
+    
+    /**
+     * Test of the handling of a conditional request, of the RenderServer 
+     * class. Sending back the entity tag should get a 304 with no body, and 
+     * the image should not be rendered again.
+     * @throws IOException If the request can't be sent, which should not 
+     * happen.
+     * @throws InterruptedException If the test is interrupted, which should 
+     * not happen.
+     */
+    @Test
+    public void testServeNotModified() throws IOException, 
+            InterruptedException {
+        String pathAndQuery = RenderServer.PATH + "?seed=" 
+                + RANDOM.nextLong() + "&width=320&height=240&trees=20";
+        HttpResponse<byte[]> first = this.fetch(pathAndQuery, null);
+        assertEquals(first.statusCode(), 200);
+        String tag = first.headers().firstValue("ETag").orElseThrow();
+        long renders = this.server.getCache().getRenderCount();
+        HttpResponse<byte[]> second = this.fetch(pathAndQuery, tag);
+        assertEquals(second.statusCode(), 304);
+        assertEquals(second.body().length, 0);
+        assertEquals(second.headers().firstValue("ETag").orElse(""), tag);
+        HttpResponse<byte[]> third = this.fetch(pathAndQuery, "\"stale\"");
+        assertEquals(third.statusCode(), 200);
+        assertEquals(third.body(), first.body());
+        assertEquals(this.server.getCache().getRenderCount(), renders);
+    }
+    
+    @Test
+    public void testServeRejectsBadRequests() throws IOException, 
+            InterruptedException {
+        assertEquals(this.fetch(RenderServer.PATH + "?width=320", null)
+                .statusCode(), 400);
+        assertEquals(this.fetch(RenderServer.PATH + "?seed=forty-two", null)
+                .statusCode(), 400);
+        assertEquals(this.fetch(RenderServer.PATH + "?seed=42&width=" 
+                + (RenderServer.MAX_DIMENSION + 1), null).statusCode(), 400);
+        assertEquals(this.fetch("/scenes?seed=42", null).statusCode(), 404);
+    }
+    
+    /**
+     * Test of the parseQuery function, of the RenderServer class.
+     */
+    @Test
+    public void testParseQuery() {
+        System.out.println("parseQuery");
+        long seed = RANDOM.nextLong();
+        Map<String, String> params = RenderServer.parseQuery("seed=" + seed 
+                + "&name=a%20b&flag");
+        assertEquals(params.get("seed"), Long.toString(seed));
+        assertEquals(params.get("name"), "a b");
+        assertEquals(params.get("flag"), "");
+        assert RenderServer.parseQuery(null).isEmpty() 
+                : "Null query should give no parameters";
+    }
+    
+    /**
+     * Test of the keyFor function, of the RenderServer class. Missing sizes 
+     * and tree counts should default to those of the demo window.
+     */
+    @Test
+    public void testKeyFor() {
+        System.out.println("keyFor");
+        long seed = RANDOM.nextLong();
+        SceneImageCache.Key expected = new SceneImageCache.Key(seed, 
+                GraphicsDemo.DEFAULT_SIZE.width, 
+                GraphicsDemo.DEFAULT_SIZE.height, 
+                GraphicsDemo.DEFAULT_TREE_COUNT);
+        assertEquals(RenderServer.keyFor(Map.of("seed", Long.toString(seed))), 
+                expected);
+        assertThrows(IllegalArgumentException.class, 
+                () -> RenderServer.keyFor(Map.of("seed", "1", "trees", "-1")));
+    }
+    
+    /**
+     * Test of the matches function, of the RenderServer class.
+     */
+    @Test
+    public void testMatches() {
+        System.out.println("matches");
+        String tag = "\"" + Integer.toHexString(RANDOM.nextInt()) + "\"";
+        assert RenderServer.matches(tag, tag) : "Same tag should match";
+        assert RenderServer.matches("\"other\", W/" + tag, tag) 
+                : "Weak tag in a list should match";
+        assert RenderServer.matches("*", tag) : "Star should match";
+        assert !RenderServer.matches("\"other\"", tag) 
+                : "Other tag should not match";
+        assert !RenderServer.matches(null, tag) 
+                : "No header should not match";
+    }
+    
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the SceneImageCache class.
+ * @author Alonso del Arte
+ */
+public class SceneImageCacheNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static SceneImageCache.Key randomKey() {
+        return new SceneImageCache.Key(RANDOM.nextLong(), 
+                1 + RANDOM.nextInt(1000), 1 + RANDOM.nextInt(1000), 
+                RANDOM.nextInt(100));
+    }
+    
+    private static Function<SceneImageCache.Key, byte[]> counting(
+            AtomicInteger calls, int length) {
+        return (SceneImageCache.Key key) -> {
+            calls.incrementAndGet();
+            byte[] bytes = new byte[length];
+            new Random(key.getSeed()).nextBytes(bytes);
+            return bytes;
+        };
+    }
+    
+    /**
+     * Test of the get function, of the SceneImageCache class. The first time 
+     * a key is asked for, the image should be rendered, and after that it 
+     * should come from the cache.
+     * @throws InterruptedException If the test is interrupted, which should 
+     * not happen.
+     */
+    @Test
+    public void testGet() throws InterruptedException {
+        System.out.println("get");
+        AtomicInteger calls = new AtomicInteger();
+        int length = 1 + RANDOM.nextInt(1000);
+        SceneImageCache cache = new SceneImageCache(counting(calls, length), 
+                SceneImageCache.DEFAULT_MAX_BYTES);
+        SceneImageCache.Key key = randomKey();
+        SceneImageCache.Entry expected = cache.get(key);
+        SceneImageCache.Entry actual = cache.get(key);
+        assertSame(actual, expected);
+        assertEquals(calls.get(), 1);
+        assertEquals(cache.getHits(), 1L);
+        assertEquals(cache.getMisses(), 1L);
+        assertEquals(cache.getRenderCount(), 1L);
+        assertEquals(cache.getByteCount(), length);
+    }
+    
+    /**
+     * Test of the get function, of the SceneImageCache class. Threads asking 
+     * for the same image at the same time should wait for one rendering 
+     * rather than each render it.
+     * @throws InterruptedException If the test is interrupted, which should 
+     * not happen.
+     */
+    @Test
+    public void testGetRendersOnceForConcurrentRequests() 
+            throws InterruptedException {
+        int threadCount = 4 + RANDOM.nextInt(12);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        SceneImageCache cache = new SceneImageCache((key) -> {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            return new byte[100];
+        }, SceneImageCache.DEFAULT_MAX_BYTES);
+        SceneImageCache.Key key = randomKey();
+        List<SceneImageCache.Entry> entries = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    SceneImageCache.Entry entry = cache.get(key);
+                    synchronized (entries) {
+                        entries.add(entry);
+                    }
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        started.await();
+        while (cache.getJoinCount() < threadCount - 1) {
+            Thread.sleep(1L);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(calls.get(), 1);
+        assertEquals(entries.size(), threadCount);
+        for (SceneImageCache.Entry entry : entries) {
+            assertSame(entry, entries.get(0));
+        }
+    }
+    
+    /**
+     * Test of the get function, of the SceneImageCache class. A failed 
+     * rendering should not be cached, so asking again should render again.
+     * @throws InterruptedException If the test is interrupted, which should 
+     * not happen.
+     */
+    @Test
+    public void testGetDoesNotCacheFailure() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        SceneImageCache cache = new SceneImageCache((key) -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IllegalArgumentException("For testing purposes");
+            }
+            return new byte[10];
+        }, SceneImageCache.DEFAULT_MAX_BYTES);
+        SceneImageCache.Key key = randomKey();
+        assertThrows(IllegalArgumentException.class, () -> cache.get(key));
+        assertFalse(cache.contains(key));
+        assertEquals(cache.get(key).getLength(), 10);
+        assertEquals(calls.get(), 2);
+    }
+    
+    /**
+     * Test of the getByteCount function, of the SceneImageCache class. The 
+     * cache should evict the least recently used images to stay under its 
+     * memory cap.
+     * @throws InterruptedException If the test is interrupted, which should 
+     * not happen.
+     */
+    @Test
+    public void testGetByteCount() throws InterruptedException {
+        System.out.println("getByteCount");
+        AtomicInteger calls = new AtomicInteger();
+        int length = 100 + RANDOM.nextInt(100);
+        int capacity = 3 + RANDOM.nextInt(5);
+        SceneImageCache cache = new SceneImageCache(counting(calls, length), 
+                (long) capacity * length);
+        SceneImageCache.Key first = randomKey();
+        cache.get(first);
+        for (int i = 0; i < capacity; i++) {
+            cache.get(randomKey());
+        }
+        assertEquals(cache.size(), capacity);
+        assertEquals(cache.getByteCount(), (long) capacity * length);
+        assertFalse(cache.contains(first));
+        assertEquals(cache.getEvictionCount(), 1L);
+    }
+    
+    /**
+     * Test of the get function, of the SceneImageCache class. An image 
+     * bigger than the memory cap should be handed out but not kept.
+     * @throws InterruptedException If the test is interrupted, which should 
+     * not happen.
+     */
+    @Test
+    public void testGetDoesNotKeepOversizedImage() 
+            throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        int length = 100 + RANDOM.nextInt(100);
+        SceneImageCache cache = new SceneImageCache(counting(calls, length), 
+                length - 1);
+        SceneImageCache.Key key = randomKey();
+        assertEquals(cache.get(key).getLength(), length);
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getByteCount(), 0L);
+    }
+    
+    /**
+     * Test of the getEntityTag function, of the SceneImageCache.Entry class. 
+     * Equal bytes should get equal tags, and different bytes different tags.
+     */
+    @Test
+    public void testGetEntityTag() {
+        System.out.println("getEntityTag");
+        byte[] bytes = new byte[1 + RANDOM.nextInt(1000)];
+        RANDOM.nextBytes(bytes);
+        SceneImageCache.Entry entry = new SceneImageCache.Entry(bytes);
+        SceneImageCache.Entry same 
+                = new SceneImageCache.Entry(bytes.clone());
+        byte[] changed = bytes.clone();
+        changed[RANDOM.nextInt(changed.length)]++;
+        SceneImageCache.Entry different = new SceneImageCache.Entry(changed);
+        String tag = entry.getEntityTag();
+        assert tag.startsWith("\"") && tag.endsWith("\"") 
+                : "Tag " + tag + " should be quoted";
+        assertEquals(same.getEntityTag(), tag);
+        assertNotEquals(different.getEntityTag(), tag);
+    }
+    
+    /**
+     * Test of the equals function, of the SceneImageCache.Key class.
+     */
+    @Test
+    public void testKeyEquals() {
+        SceneImageCache.Key key = randomKey();
+        SceneImageCache.Key same = new SceneImageCache.Key(key.getSeed(), 
+                key.getWidth(), key.getHeight(), key.getTreeCount());
+        SceneImageCache.Key different = new SceneImageCache.Key(
+                key.getSeed() + 1L, key.getWidth(), key.getHeight(), 
+                key.getTreeCount());
+        assertEquals(same, key);
+        assertEquals(same.hashCode(), key.hashCode());
+        assertNotEquals(different, key);
+    }
+    
+    @Test
+    public void testKeyRejectsBadSize() {
+        assertThrows(IllegalArgumentException.class, 
+                () -> new SceneImageCache.Key(RANDOM.nextLong(), 
+                        -RANDOM.nextInt(100), 100, 10));
+        assertThrows(IllegalArgumentException.class, 
+                () -> new SceneImageCache.Key(RANDOM.nextLong(), 100, 100, 
+                        -1 - RANDOM.nextInt(100)));
+    }
+    
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Random;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.example.graphics.render.TreeSpriteCache;
+
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the CacheLookupEvent class.
+ * @author Alonso del Arte
+ */
+public class CacheLookupEventNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final String EVENT_NAME = "org.example.graphics.CacheLookup";
+    
+    private static void lookUp(TreeSpriteCache cache, int count) {
+        for (int i = 0; i < count; i++) {
+            cache.getSprite(20 + RANDOM.nextInt(40), 40 + RANDOM.nextInt(80), 
+                    0xFF000000 | RANDOM.nextInt());
+        }
+    }
+    
+    private static List<RecordedEvent> record(Recording recording, 
+            Runnable action) throws IOException {
+        Path path = Files.createTempFile("lookups", ".jfr");
+        try (recording) {
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(path);
+            return RecordingFile.readAllEvents(path).stream()
+                    .filter(event -> event.getEventType().getName()
+                            .equals(EVENT_NAME)).toList();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+    
+    /**
+     * Test of the finish function, of the CacheLookupEvent class. When a 
+     * recording turns the event on, there should be one event per lookup, 
+     * with as many hits and misses as the cache counted.
+     * @throws IOException If the recording can't be written or read.
+     */
+    @Test
+    public void testFinish() throws IOException {
+        System.out.println("finish");
+        TreeSpriteCache cache = new TreeSpriteCache();
+        int count = 50 + RANDOM.nextInt(50);
+        long hitsBefore = Counters.getCacheHitCount();
+        long missesBefore = Counters.getCacheMissCount();
+        Recording recording = new Recording();
+        recording.enable(CacheLookupEvent.class);
+        List<RecordedEvent> events = record(recording, 
+                () -> lookUp(cache, count));
+        assertEquals(events.size(), count);
+        long hits = events.stream().filter(event -> event.getBoolean("hit"))
+                .count();
+        assertEquals(hits, cache.getHits());
+        assertEquals(count - hits, cache.getMisses());
+        assertMinimum(hitsBefore + cache.getHits(), 
+                Counters.getCacheHitCount(), "Hits should be counted");
+        assertMinimum(missesBefore + cache.getMisses(), 
+                Counters.getCacheMissCount(), "Misses should be counted");
+    }
+    
+    /**
+     * Test of the finish function, of the CacheLookupEvent class. With the 
+     * default settings, as used by {@code jcmd JFR.start}, lookups should not 
+     * be recorded, but they should still be counted.
+     * @throws IOException If the recording can't be written or read.
+     * @throws ParseException If the default settings can't be read.
+     */
+    @Test
+    public void testOffByDefault() throws IOException, ParseException {
+        TreeSpriteCache cache = new TreeSpriteCache();
+        int count = 10 + RANDOM.nextInt(10);
+        long lookupsBefore = Counters.getCacheHitCount() 
+                + Counters.getCacheMissCount();
+        Recording recording = new Recording(Configuration
+                .getConfiguration("default"));
+        List<RecordedEvent> events = record(recording, 
+                () -> lookUp(cache, count));
+        assert events.isEmpty() : "Lookups should not be recorded by default";
+        assertMinimum(lookupsBefore + count, Counters.getCacheHitCount() 
+                + Counters.getCacheMissCount(), "Lookups should be counted");
+    }
+    
+}
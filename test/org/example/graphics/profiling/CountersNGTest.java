@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Counters class.
+ * @author Alonso del Arte
+ */
+public class CountersNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final String EVENT_NAME = "org.example.graphics.Counters";
+    
+    /**
+     * Test of the countLookup function, of the Counters class. Hits and 
+     * misses should be counted separately.
+     */
+    @Test
+    public void testCountLookup() {
+        System.out.println("countLookup");
+        int hits = RANDOM.nextInt(100);
+        int misses = RANDOM.nextInt(100);
+        long hitsBefore = Counters.getCacheHitCount();
+        long missesBefore = Counters.getCacheMissCount();
+        for (int i = 0; i < hits; i++) {
+            Counters.countLookup(true);
+        }
+        for (int i = 0; i < misses; i++) {
+            Counters.countLookup(false);
+        }
+        assertMinimum(hitsBefore + hits, Counters.getCacheHitCount(), 
+                "Hits should be counted");
+        assertMinimum(missesBefore + misses, Counters.getCacheMissCount(), 
+                "Misses should be counted");
+    }
+    
+    /**
+     * Test of the countGeneration function, of the Counters class.
+     */
+    @Test
+    public void testCountGeneration() {
+        System.out.println("countGeneration");
+        int itemCount = RANDOM.nextInt(1000);
+        long countBefore = Counters.getGenerationCount();
+        long itemsBefore = Counters.getGeneratedItemCount();
+        Counters.countGeneration(itemCount);
+        assertMinimum(countBefore + 1, Counters.getGenerationCount(), 
+                "Batch should be counted");
+        assertMinimum(itemsBefore + itemCount, 
+                Counters.getGeneratedItemCount(), "Items should be counted");
+    }
+    
+    /**
+     * Test of the periodic counters event. A recording should get the 
+     * totals every period, and they should never go down.
+     * @throws IOException If the recording can't be written or read.
+     * @throws InterruptedException If the test is interrupted while waiting 
+     * for the events.
+     */
+    @Test
+    public void testCountersEvent() throws IOException, 
+            InterruptedException {
+        Counters.countFrame();
+        Path path = Files.createTempFile("counters", ".jfr");
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(CountersEvent.class)
+                    .withPeriod(Duration.ofMillis(50));
+            recording.start();
+            Thread.sleep(300L);
+            Counters.countFrame();
+            Thread.sleep(300L);
+            recording.stop();
+            recording.dump(path);
+            events = RecordingFile.readAllEvents(path).stream()
+                    .filter(event -> event.getEventType().getName()
+                            .equals(EVENT_NAME)).toList();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        assertMinimum(2, events.size(), "Should be recorded periodically");
+        long previous = 1L;
+        for (RecordedEvent event : events) {
+            long frames = event.getLong("frames");
+            assertMinimum(previous, frames, "Totals should not go down");
+            previous = frames;
+        }
+    }
+    
+}
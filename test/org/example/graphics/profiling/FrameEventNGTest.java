@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the FrameEvent class.
+ * @author Alonso del Arte
+ */
+public class FrameEventNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final String EVENT_NAME = "org.example.graphics.Frame";
+    
+    /**
+     * Test of the finish function, of the FrameEvent class. Each frame 
+     * should be recorded with its update time and dropped frames, and 
+     * counted.
+     * @throws IOException If the recording can't be written or read.
+     */
+    @Test
+    public void testFinish() throws IOException {
+        System.out.println("finish");
+        int frames = 1 + RANDOM.nextInt(20);
+        long updateNanos = 1000L + RANDOM.nextInt(1000000);
+        long dropped = RANDOM.nextInt(3);
+        long countBefore = Counters.getFrameCount();
+        Path path = Files.createTempFile("frames", ".jfr");
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(FrameEvent.class);
+            recording.start();
+            for (int i = 0; i < frames; i++) {
+                FrameEvent.start().finish(updateNanos, dropped);
+            }
+            recording.stop();
+            recording.dump(path);
+            events = RecordingFile.readAllEvents(path).stream()
+                    .filter(event -> event.getEventType().getName()
+                            .equals(EVENT_NAME)).toList();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        assertEquals(events.size(), frames);
+        for (RecordedEvent event : events) {
+            assertEquals(event.getDuration("updateTime"), 
+                    Duration.ofNanos(updateNanos));
+            assertEquals(event.getLong("droppedFrames"), dropped);
+        }
+        assertMinimum(countBefore + frames, Counters.getFrameCount(), 
+                "Frames should be counted");
+    }
+    
+    /**
+     * Test of the finish function, of the FrameEvent class. Without a 
+     * recording, frames should still be counted.
+     */
+    @Test
+    public void testFinishWithoutRecording() {
+        int frames = 1 + RANDOM.nextInt(20);
+        long countBefore = Counters.getFrameCount();
+        for (int i = 0; i < frames; i++) {
+            FrameEvent.start().finish(0L, 0L);
+        }
+        assertMinimum(countBefore + frames, Counters.getFrameCount(), 
+                "Frames should be counted");
+    }
+    
+}
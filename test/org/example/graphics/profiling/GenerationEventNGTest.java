@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import java.awt.Dimension;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.example.graphics.scene.Scene;
+
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the GenerationEvent class.
+ * @author Alonso del Arte
+ */
+public class GenerationEventNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final String EVENT_NAME = "org.example.graphics.Generation";
+    
+    private static RecordedEvent find(List<RecordedEvent> events, 
+            String kind) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(EVENT_NAME) 
+                    && event.getString("kind").equals(kind)) {
+                return event;
+            }
+        }
+        fail("No event of kind " + kind);
+        return null;
+    }
+    
+    /**
+     * Test of the finish function, of the GenerationEvent class. Generating a 
+     * scene during a recording should record the scene and, within it, its 
+     * forest, each with the number of trees.
+     * @throws IOException If the recording can't be written or read.
+     */
+    @Test
+    public void testFinish() throws IOException {
+        System.out.println("finish");
+        long seed = RANDOM.nextLong();
+        int treeCount = 10 + RANDOM.nextInt(100);
+        long countBefore = Counters.getGenerationCount();
+        long itemsBefore = Counters.getGeneratedItemCount();
+        Path path = Files.createTempFile("generation", ".jfr");
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(GenerationEvent.class);
+            recording.start();
+            Scene.generate(seed, new Dimension(400, 300), treeCount);
+            recording.stop();
+            recording.dump(path);
+            events = RecordingFile.readAllEvents(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        RecordedEvent scene = find(events, GenerationEvent.SCENE);
+        assertEquals(scene.getLong("seed"), seed);
+        assertEquals(scene.getInt("itemCount"), treeCount);
+        RecordedEvent forest = find(events, GenerationEvent.FOREST);
+        assertEquals(forest.getInt("itemCount"), treeCount);
+        assert !forest.getStartTime().isBefore(scene.getStartTime()) 
+                : "Forest should start within scene";
+        assert !forest.getEndTime().isAfter(scene.getEndTime()) 
+                : "Forest should end within scene";
+        assertMinimum(countBefore + 2, Counters.getGenerationCount(), 
+                "Scene and forest should both be counted");
+        assertMinimum(itemsBefore + 2 * treeCount, 
+                Counters.getGeneratedItemCount(), 
+                "Trees should be counted for scene and forest");
+    }
+    
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.profiling;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.example.graphics.scene.Scene;
+
+import static org.testframe.api.Asserters.assertInRange;
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the LayerPaintEvent class.
+ * @author Alonso del Arte
+ */
+public class LayerPaintEventNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final String EVENT_NAME = "org.example.graphics.LayerPaint";
+    
+    private static void paint(Scene scene, Rectangle clip) {
+        Dimension size = scene.getSize();
+        BufferedImage image = new BufferedImage(size.width, size.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        scene.paint(g, clip);
+        g.dispose();
+    }
+    
+    private static List<RecordedEvent> recordPaint(Scene scene, Rectangle clip) 
+            throws IOException {
+        Path path = Files.createTempFile("layers", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(LayerPaintEvent.class);
+            recording.start();
+            paint(scene, clip);
+            recording.stop();
+            recording.dump(path);
+            return RecordingFile.readAllEvents(path).stream()
+                    .filter(event -> event.getEventType().getName()
+                            .equals(EVENT_NAME)).toList();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+    
+    /**
+     * Test of the finish function, of the LayerPaintEvent class. Painting a 
+     * whole scene during a recording should record each layer, with areas 
+     * no bigger than the scene, and count each one.
+     * @throws IOException If the recording can't be written or read.
+     */
+    @Test
+    public void testFinish() throws IOException {
+        System.out.println("finish");
+        Dimension size = new Dimension(320 + RANDOM.nextInt(100), 
+                240 + RANDOM.nextInt(100));
+        Scene scene = Scene.generate(RANDOM.nextLong(), size, 20);
+        long countBefore = Counters.getLayerPaintCount();
+        List<RecordedEvent> events = recordPaint(scene, scene.getBounds());
+        long countAfter = Counters.getLayerPaintCount();
+        Set<String> layers = new HashSet<>();
+        long maxPixels = (long) size.width * size.height;
+        for (RecordedEvent event : events) {
+            layers.add(event.getString("layer"));
+            assertInRange(1L, event.getLong("pixelCount"), maxPixels);
+        }
+        for (String layer : new String[] {LayerPaintEvent.SKY, 
+            LayerPaintEvent.CLOUDS, LayerPaintEvent.LAND, 
+            LayerPaintEvent.OCEAN, LayerPaintEvent.TREES}) {
+            assert layers.contains(layer) : layer + " should be recorded";
+        }
+        assertMinimum(events.size(), countAfter - countBefore, 
+                "Each layer painted should be counted");
+    }
+    
+    /**
+     * Test of the finish function, of the LayerPaintEvent class. Painting 
+     * only part of the land should not record the sky layers.
+     * @throws IOException If the recording can't be written or read.
+     */
+    @Test
+    public void testFinishSkipsLayersOutsideClip() throws IOException {
+        Dimension size = new Dimension(400, 300);
+        Scene scene = Scene.generate(RANDOM.nextLong(), size, 20);
+        Rectangle clip = new Rectangle(0, size.height - 20, 40, 20);
+        List<RecordedEvent> events = recordPaint(scene, clip);
+        for (RecordedEvent event : events) {
+            String layer = event.getString("layer");
+            assertNotEquals(layer, LayerPaintEvent.SKY);
+            assertNotEquals(layer, LayerPaintEvent.CLOUDS);
+            assertInRange(1L, event.getLong("pixelCount"), 
+                    (long) clip.width * clip.height);
+        }
+    }
+    
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+
+import org.example.graphics.scene.Forest;
+import org.example.graphics.scene.Scene;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the DamageTracker class.
+ * @author Alonso del Arte
+ */
+public class DamageTrackerNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final Rectangle BOUNDS = new Rectangle(0, 0, 800, 600);
+    
+    private static BufferedImage render(Scene scene) {
+        BufferedImage image = new BufferedImage(BOUNDS.width, BOUNDS.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        scene.paint(g);
+        g.dispose();
+        return image;
+    }
+    
+    /**
+     * Test of the add procedure, of the DamageTracker class.
+     */
+    @Test
+    public void testAdd() {
+        System.out.println("add");
+        DamageTracker instance = new DamageTracker(BOUNDS);
+        instance.add(new Rectangle(10, 10, 50, 50));
+        instance.add(new Rectangle(300, 300, 50, 50));
+        assertEquals(instance.getRegions().size(), 2);
+        instance.add(new Rectangle(40, 40, 50, 50));
+        List<Rectangle> actual = instance.getRegions();
+        assertEquals(actual.size(), 2);
+        assert actual.contains(new Rectangle(10, 10, 80, 80)) 
+                : "Overlapping regions should be merged, got " + actual;
+    }
+    
+    @Test
+    public void testAddMergesTransitively() {
+        DamageTracker instance = new DamageTracker(BOUNDS);
+        instance.add(new Rectangle(0, 0, 10, 10));
+        instance.add(new Rectangle(100, 0, 10, 10));
+        instance.add(new Rectangle(5, 0, 100, 10));
+        List<Rectangle> expected = List.of(new Rectangle(0, 0, 110, 10));
+        List<Rectangle> actual = instance.getRegions();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testAddClipsToBounds() {
+        DamageTracker instance = new DamageTracker(BOUNDS);
+        instance.add(new Rectangle(-20, 590, 40, 40));
+        instance.add(new Rectangle(900, 100, 40, 40));
+        List<Rectangle> expected = List.of(new Rectangle(0, 590, 20, 10));
+        List<Rectangle> actual = instance.getRegions();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testTooManyRegionsCollapse() {
+        DamageTracker instance = new DamageTracker(BOUNDS);
+        for (int i = 0; i <= DamageTracker.MAX_REGIONS; i++) {
+            instance.add(new Rectangle(20 * i, 3 * i, 5, 5));
+        }
+        List<Rectangle> actual = instance.getRegions();
+        assertEquals(actual.size(), 1);
+    }
+    
+    /**
+     * Test of the repaint function, of the DamageTracker class. After trees 
+     * are moved and only the damaged regions are repainted, the picture 
+     * should be the same as if the whole scene had been repainted.
+     */
+    @Test
+    public void testRepaint() {
+        System.out.println("repaint");
+        Scene scene = Scene.generate(RANDOM.nextLong(), BOUNDS.getSize(), 60);
+        BufferedImage incremental = render(scene);
+        DamageTracker instance = new DamageTracker(BOUNDS);
+        Forest forest = scene.getForest();
+        for (int i = 0; i < 10; i++) {
+            int tree = RANDOM.nextInt(forest.size());
+            Rectangle oldBounds = forest.get(tree).getBounds();
+            int x = oldBounds.x + RANDOM.nextInt(-60, 60);
+            int y = oldBounds.y + RANDOM.nextInt(-60, 60);
+            forest.moveTo(tree, x, y);
+            instance.addMove(oldBounds, forest.get(tree).getBounds());
+        }
+        Graphics2D g = incremental.createGraphics();
+        instance.repaint(g, scene);
+        g.dispose();
+        assert instance.isEmpty() : "Repaint should clear the regions";
+        BufferedImage full = render(scene);
+        for (int y = 0; y < BOUNDS.height; y++) {
+            for (int x = 0; x < BOUNDS.width; x++) {
+                assertEquals(incremental.getRGB(x, y), full.getRGB(x, y), 
+                        "Pixel at (" + x + ", " + y + ")");
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the DayNightLighting class.
+ * @author Alonso del Arte
+ */
+public class DayNightLightingNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static int brightness(int argb) {
+        return ((argb >> 16) & 0xFF) + ((argb >> 8) & 0xFF) + (argb & 0xFF);
+    }
+    
+    /**
+     * Test of the light function, of the DayNightLighting class. At noon, 
+     * colors should be unchanged.
+     */
+    @Test
+    public void testLightAtNoon() {
+        System.out.println("light");
+        DayNightLighting lighting = new DayNightLighting();
+        lighting.setTimeOfDay(0.5);
+        assert lighting.isIdentity() : "Noon should be the identity";
+        for (int i = 0; i < 1000; i++) {
+            int argb = RANDOM.nextInt();
+            assertEquals(lighting.light(argb), argb);
+        }
+    }
+    
+    /**
+     * Test of the light function, of the DayNightLighting class. At midnight, 
+     * colors should be darker, and bluer than they are red, with alpha 
+     * unchanged. Bright colors should keep more of their brightness than dark 
+     * ones.
+     */
+    @Test
+    public void testLightAtMidnight() {
+        DayNightLighting lighting = new DayNightLighting();
+        lighting.setTimeOfDay(0.0);
+        assert !lighting.isIdentity() : "Midnight should not be the identity";
+        for (int i = 0; i < 1000; i++) {
+            int argb = RANDOM.nextInt() | 0x00404040;
+            int lit = lighting.light(argb);
+            assertEquals(lit >>> 24, argb >>> 24);
+            String msg = "Lit " + Integer.toHexString(lit) 
+                    + " should be darker than " + Integer.toHexString(argb);
+            assert brightness(lit) < brightness(argb) : msg;
+        }
+        int gray = lighting.light(0xFF808080);
+        assert (gray & 0xFF) > ((gray >> 16) & 0xFF) 
+                : "Night light should be bluish";
+        double whiteKept = brightness(lighting.light(0xFFFFFFFF)) / 765.0;
+        double darkKept = brightness(lighting.light(0xFF404040)) / 192.0;
+        String msg = "White kept " + whiteKept + " should beat dark kept " 
+                + darkKept;
+        assert whiteKept > darkKept : msg;
+    }
+    
+    /**
+     * Test of the setTimeOfDay function, of the DayNightLighting class. It 
+     * should say whether the table changed.
+     */
+    @Test
+    public void testSetTimeOfDay() {
+        System.out.println("setTimeOfDay");
+        int slotCount = 24 + RANDOM.nextInt(100);
+        DayNightLighting lighting = new DayNightLighting(slotCount);
+        int slot = RANDOM.nextInt(slotCount);
+        double time = (double) slot / slotCount;
+        lighting.setTimeOfDay(time);
+        assertEquals(lighting.getSlot(), slot);
+        assertFalse(lighting.setTimeOfDay(time + 0.1 / slotCount));
+        assertTrue(lighting.setTimeOfDay(time + 1.0 / slotCount));
+        assertTrue(lighting.setTimeOfDay(time - 1.0));
+        assertEquals(lighting.getSlot(), slot);
+    }
+    
+    /**
+     * Test of the apply procedure, of the DayNightLighting class. Pixels in 
+     * the region should be lit as by the light function, and the source and 
+     * the rest of the target left alone.
+     */
+    @Test
+    public void testApply() {
+        System.out.println("apply");
+        int w = 50 + RANDOM.nextInt(50);
+        int h = 50 + RANDOM.nextInt(50);
+        BufferedImage source = new BufferedImage(w, h, 
+                BufferedImage.TYPE_INT_RGB);
+        BufferedImage target = new BufferedImage(w, h, 
+                BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                source.setRGB(x, y, RANDOM.nextInt());
+            }
+        }
+        int[] original = source.getRGB(0, 0, w, h, null, 0, w);
+        DayNightLighting lighting = new DayNightLighting();
+        lighting.setTimeOfDay(RANDOM.nextDouble());
+        Rectangle region = new Rectangle(RANDOM.nextInt(w / 2), 
+                RANDOM.nextInt(h / 2), w / 2, h / 2);
+        lighting.apply(source, target, region);
+        assertEquals(source.getRGB(0, 0, w, h, null, 0, w), original);
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                int expected = region.contains(x, y) 
+                        ? lighting.light(original[y * w + x]) : 0xFF000000;
+                assertEquals(target.getRGB(x, y), expected);
+            }
+        }
+    }
+    
+    @Test
+    public void testApplyRejectsUnsupportedImageType() {
+        BufferedImage image = new BufferedImage(10, 10, 
+                BufferedImage.TYPE_3BYTE_BGR);
+        DayNightLighting lighting = new DayNightLighting();
+        Rectangle region = new Rectangle(10, 10);
+        assertThrows(IllegalArgumentException.class, 
+                () -> lighting.apply(image, image, region));
+    }
+    
+    @Test
+    public void testConstructorRejectsZeroSlots() {
+        assertThrows(IllegalArgumentException.class, 
+                () -> new DayNightLighting(0));
+    }
+    
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.example.graphics.scene.Tree;
+import org.example.graphics.scene.TreePainter;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the LevelOfDetailPainter class.
+ * @author Alonso del Arte
+ */
+public class LevelOfDetailPainterNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final int TREE_WIDTH = 40;
+    
+    private static final int TREE_HEIGHT = 80;
+    
+    private static BufferedImage paint(TreePainter painter, double scale, 
+            int leafARGB) {
+        BufferedImage image = new BufferedImage(TREE_WIDTH, TREE_HEIGHT, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.scale(scale, scale);
+        painter.paint(g, 0, 0, TREE_WIDTH, TREE_HEIGHT, leafARGB);
+        g.dispose();
+        return image;
+    }
+    
+    private static void assertSameImage(BufferedImage actual, 
+            BufferedImage expected) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(actual.getRGB(x, y), expected.getRGB(x, y), 
+                        "Pixel at (" + x + ", " + y + ")");
+            }
+        }
+    }
+    
+    /**
+     * Test of the levelFor function, of the LevelOfDetailPainter class.
+     */
+    @Test
+    public void testLevelFor() {
+        System.out.println("levelFor");
+        int blockThreshold = 2 + RANDOM.nextInt(10);
+        int fullThreshold = blockThreshold + 1 + RANDOM.nextInt(30);
+        LevelOfDetailPainter instance = new LevelOfDetailPainter(
+                new LevelOfDetailPainter(), fullThreshold, blockThreshold);
+        assertEquals(instance.levelFor(fullThreshold + RANDOM.nextDouble() 
+                * 500.0), DetailLevel.FULL);
+        assertEquals(instance.levelFor(fullThreshold), DetailLevel.FULL);
+        assertEquals(instance.levelFor(fullThreshold - 0.5), 
+                DetailLevel.SIMPLIFIED);
+        assertEquals(instance.levelFor(blockThreshold), 
+                DetailLevel.SIMPLIFIED);
+        assertEquals(instance.levelFor(blockThreshold - 0.5), 
+                DetailLevel.BLOCK);
+        assertEquals(instance.levelFor(0.0), DetailLevel.BLOCK);
+    }
+    
+    /**
+     * Test of the paint procedure, of the LevelOfDetailPainter class. At full 
+     * size, a tree should be passed on to the full detail painter.
+     */
+    @Test
+    public void testPaint() {
+        System.out.println("paint");
+        int[] calls = new int[1];
+        TreePainter counter = (g, x, y, width, height, leafARGB) -> calls[0]++;
+        LevelOfDetailPainter instance = new LevelOfDetailPainter(counter, 
+                LevelOfDetailPainter.DEFAULT_FULL_THRESHOLD, 
+                LevelOfDetailPainter.DEFAULT_BLOCK_THRESHOLD);
+        paint(instance, 1.0, 0xFF228B22);
+        assertEquals(calls[0], 1);
+        paint(instance, 0.05, 0xFF228B22);
+        assertEquals(calls[0], 1, "Tiny tree should not be painted in full");
+    }
+    
+    @Test
+    public void testPaintFullMatchesVectorDrawing() {
+        int argb = 0xFF000000 | RANDOM.nextInt(0x1000000);
+        BufferedImage expected = paint((g, x, y, width, height, leafARGB) 
+                -> Tree.draw(g, x, y, width, height, new Color(leafARGB, true)), 
+                1.0, argb);
+        BufferedImage actual = paint(new LevelOfDetailPainter(), 1.0, argb);
+        assertSameImage(actual, expected);
+    }
+    
+    @Test
+    public void testPaintSimplifiedWhenZoomedOut() {
+        int argb = 0xFF000000 | RANDOM.nextInt(0x1000000);
+        double scale = 0.15;
+        BufferedImage expected = paint((g, x, y, width, height, leafARGB) 
+                -> Tree.drawSimplified(g, x, y, width, height, 
+                        new Color(leafARGB, true)), scale, argb);
+        BufferedImage actual = paint(new LevelOfDetailPainter(), scale, argb);
+        assertSameImage(actual, expected);
+    }
+    
+    @Test
+    public void testPaintBlockWhenZoomedFarOut() {
+        int argb = 0xFF000000 | RANDOM.nextInt(0x1000000);
+        double scale = 0.05;
+        BufferedImage expected = paint((g, x, y, width, height, leafARGB) 
+                -> Tree.drawBlock(g, x, y, width, height, 
+                        new Color(leafARGB, true)), scale, argb);
+        BufferedImage actual = paint(new LevelOfDetailPainter(), scale, argb);
+        assertSameImage(actual, expected);
+    }
+    
+    /**
+     * Test of the forPass function, of the LevelOfDetailPainter class. A run 
+     * of trees of a few colors painted through the pass painter should look 
+     * the same as the trees painted one by one, at every detail level.
+     */
+    @Test
+    public void testForPass() {
+        System.out.println("forPass");
+        LevelOfDetailPainter instance = new LevelOfDetailPainter();
+        int[] argbs = {0xFF000000 | RANDOM.nextInt(0x1000000), 
+            0xFF000000 | RANDOM.nextInt(0x1000000)};
+        for (double scale : new double[]{1.0, 0.15, 0.05}) {
+            BufferedImage expected = new BufferedImage(10 * TREE_WIDTH, 
+                    TREE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            BufferedImage actual = new BufferedImage(10 * TREE_WIDTH, 
+                    TREE_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D expectedG = expected.createGraphics();
+            Graphics2D actualG = actual.createGraphics();
+            expectedG.scale(scale, scale);
+            actualG.scale(scale, scale);
+            TreePainter pass = instance.forPass(actualG);
+            for (int i = 0; i < 10; i++) {
+                int argb = argbs[i / 3 % argbs.length];
+                int x = i * TREE_WIDTH;
+                instance.paint(expectedG, x, 0, TREE_WIDTH, TREE_HEIGHT, 
+                        argb);
+                pass.paint(actualG, x, 0, TREE_WIDTH, TREE_HEIGHT, argb);
+            }
+            expectedG.dispose();
+            actualG.dispose();
+            assertSameImage(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testScaleOf() {
+        BufferedImage image = new BufferedImage(4, 4, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        assertEquals(LevelOfDetailPainter.scaleOf(g), 1.0, 0.000001);
+        double scale = 0.1 + RANDOM.nextDouble();
+        g.rotate(RANDOM.nextDouble());
+        g.scale(scale, scale / 2.0);
+        assertEquals(LevelOfDetailPainter.scaleOf(g), scale, 0.000001);
+        g.dispose();
+    }
+    
+    @Test
+    public void testConstructorRejectsBlockThresholdAboveFull() {
+        int fullThreshold = 1 + RANDOM.nextInt(30);
+        int blockThreshold = fullThreshold + 1 + RANDOM.nextInt(10);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new LevelOfDetailPainter(new LevelOfDetailPainter(), 
+                        fullThreshold, blockThreshold));
+    }
+    
+    @Test
+    public void testConstructorRejectsNullPainter() {
+        assertThrows(NullPointerException.class, 
+                () -> new LevelOfDetailPainter(null, 24, 8));
+    }
+    
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import javax.imageio.ImageIO;
+
+import org.example.graphics.scene.Scene;
+
+import static org.testframe.api.Asserters.assertInRange;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the StreamingPngExporter class.
+ * @author Alonso del Arte
+ */
+public class StreamingPngExporterNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 
+                0, image.getWidth());
+    }
+    
+    private static int[] paint(Scene scene) {
+        Dimension size = scene.getSize();
+        BufferedImage image = new BufferedImage(size.width, size.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        scene.paint(g);
+        g.dispose();
+        return pixels(image);
+    }
+    
+    private static byte[] export(StreamingPngExporter exporter, Scene scene) 
+            throws IOException, InterruptedException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamingPngExporter.Statistics stats = exporter.export(scene, out);
+        assertEquals(stats.getByteCount(), out.size());
+        return out.toByteArray();
+    }
+    
+    /**
+     * Test of the export function, of the StreamingPngExporter class. The PNG 
+     * should decode to the same pixels as painting the whole scene at once, 
+     * whatever the band height and parallelism, including when the height is 
+     * not a multiple of the band height.
+     * @throws IOException If the PNG can't be read back.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testExport() throws IOException, InterruptedException {
+        System.out.println("export");
+        Dimension size = new Dimension(300 + RANDOM.nextInt(100), 
+                200 + RANDOM.nextInt(100));
+        Scene scene = Scene.generate(RANDOM.nextLong(), size, 200);
+        int[] expected = paint(scene);
+        for (int bandHeight : new int[] {1, 7, 32, 1000}) {
+            for (int parallelism : new int[] {1, 3}) {
+                StreamingPngExporter instance 
+                        = new StreamingPngExporter(bandHeight, parallelism);
+                byte[] png = export(instance, scene);
+                BufferedImage image = ImageIO.read(
+                        new ByteArrayInputStream(png));
+                String msg = "Band height " + bandHeight + ", parallelism " 
+                        + parallelism;
+                assertEquals(image.getWidth(), size.width, msg);
+                assertEquals(image.getHeight(), size.height, msg);
+                assertEquals(pixels(image), expected, msg);
+            }
+        }
+    }
+    
+    /**
+     * Test of the export function, of the StreamingPngExporter class. Every 
+     * chunk should have the right CRC, and the image data should inflate, 
+     * with zlib checking the combined Adler-32 checksum, to exactly one row 
+     * of filtered bytes per row of the image.
+     * @throws IOException If the PNG can't be read back.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testExportChecksums() throws IOException, 
+            InterruptedException {
+        Dimension size = new Dimension(200 + RANDOM.nextInt(100), 
+                100 + RANDOM.nextInt(100));
+        Scene scene = Scene.generate(RANDOM.nextLong(), size, 50);
+        byte[] png = export(new StreamingPngExporter(8, 2), scene);
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.position(8);
+        ByteArrayOutputStream idat = new ByteArrayOutputStream();
+        int chunkCount = 0;
+        while (buffer.hasRemaining()) {
+            int length = buffer.getInt();
+            byte[] typeAndData = new byte[4 + length];
+            buffer.get(typeAndData);
+            CRC32 crc = new CRC32();
+            crc.update(typeAndData);
+            String type = new String(typeAndData, 0, 4, 
+                    StandardCharsets.US_ASCII);
+            assertEquals(buffer.getInt(), (int) crc.getValue(), 
+                    "CRC of chunk " + chunkCount + ", " + type);
+            if (type.equals("IDAT")) {
+                idat.write(typeAndData, 4, length);
+            }
+            chunkCount++;
+        }
+        try (InputStream in = new InflaterInputStream(
+                new ByteArrayInputStream(idat.toByteArray()), new Inflater())) {
+            byte[] raw = in.readAllBytes();
+            assertEquals(raw.length, size.height * (1 + 3 * size.width));
+        }
+    }
+    
+    /**
+     * Test of the combineAdler32 function, of the StreamingPngExporter class.
+     */
+    @Test
+    public void testCombineAdler32() {
+        System.out.println("combineAdler32");
+        byte[] data = new byte[1000 + RANDOM.nextInt(100000)];
+        RANDOM.nextBytes(data);
+        int split = RANDOM.nextInt(data.length);
+        Adler32 whole = new Adler32();
+        whole.update(data);
+        Adler32 first = new Adler32();
+        first.update(data, 0, split);
+        Adler32 second = new Adler32();
+        second.update(data, split, data.length - split);
+        long actual = StreamingPngExporter.combineAdler32(first.getValue(), 
+                second.getValue(), data.length - split);
+        assertEquals(actual, whole.getValue());
+    }
+    
+    /**
+     * Test of the export function, of the StreamingPngExporter class. No 
+     * more bands than allowed should be in flight at once, and the 
+     * throughput should be reported.
+     * @throws IOException If the file can't be written.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testExportToFile() throws IOException, InterruptedException {
+        Dimension size = new Dimension(400, 300 + RANDOM.nextInt(300));
+        Scene scene = Scene.generate(RANDOM.nextLong(), size, 100);
+        StreamingPngExporter instance = new StreamingPngExporter(16, 2);
+        Path path = Files.createTempFile("export", ".png");
+        try {
+            StreamingPngExporter.Statistics stats = instance.export(scene, 
+                    path);
+            assertEquals(Files.size(path), stats.getByteCount());
+            assertEquals(stats.getBandCount(), (size.height + 15) / 16);
+            assertInRange(1, stats.getPeakBandsInFlight(), 
+                    instance.getMaxBandsInFlight());
+            assert stats.getMegabytesPerSecond() > 0.0 
+                    : "Throughput should be positive";
+            assertEquals(pixels(ImageIO.read(path.toFile())), paint(scene));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+    
+    @Test
+    public void testConstructorRejectsBadBandHeight() {
+        int bandHeight = -RANDOM.nextInt(100);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new StreamingPngExporter(bandHeight, 1));
+    }
+    
+    @Test
+    public void testConstructorRejectsBadCompressionLevel() {
+        int level = 10 + RANDOM.nextInt(100);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new StreamingPngExporter(32, 1, level));
+    }
+    
+}
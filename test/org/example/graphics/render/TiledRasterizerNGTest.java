@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.example.graphics.scene.Scene;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the TiledRasterizer class.
+ * @author Alonso del Arte
+ */
+public class TiledRasterizerNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 
+                0, image.getWidth());
+    }
+    
+    private static BufferedImage renderSingleThreaded(Scene scene, int type) {
+        Dimension size = scene.getSize();
+        BufferedImage image = new BufferedImage(size.width, size.height, type);
+        Graphics2D g = image.createGraphics();
+        scene.paint(g);
+        g.dispose();
+        return image;
+    }
+    
+    /**
+     * Test of the render function, of the TiledRasterizer class. The tiled 
+     * render should be pixel for pixel the same as the single-threaded one, 
+     * whatever the tile size and parallelism.
+     */
+    @Test
+    public void testRender() {
+        System.out.println("render");
+        Dimension size = new Dimension(700 + RANDOM.nextInt(100), 
+                500 + RANDOM.nextInt(100));
+        Scene scene = Scene.generate(RANDOM.nextLong(), size, 300);
+        int[] expected = pixels(renderSingleThreaded(scene, 
+                BufferedImage.TYPE_INT_RGB));
+        for (int tileSize : new int[] {64, 100, 256, 1024}) {
+            for (int parallelism : new int[] {1, 3, 4}) {
+                TiledRasterizer instance = new TiledRasterizer(tileSize, 
+                        parallelism);
+                int[] actual = pixels(instance.render(scene));
+                String msg = "Tile size " + tileSize + ", parallelism " 
+                        + parallelism;
+                assertEquals(actual, expected, msg);
+            }
+        }
+    }
+    
+    @Test
+    public void testRenderIntoARGB() {
+        Dimension size = new Dimension(640, 480);
+        Scene scene = Scene.generate(RANDOM.nextLong(), size, 100);
+        int[] expected = pixels(renderSingleThreaded(scene, 
+                BufferedImage.TYPE_INT_ARGB));
+        BufferedImage target = new BufferedImage(size.width, size.height, 
+                BufferedImage.TYPE_INT_ARGB);
+        new TiledRasterizer(128, 2).render(scene, target);
+        assertEquals(pixels(target), expected);
+    }
+    
+    @Test
+    public void testRenderRejectsUnsupportedImageType() {
+        Scene scene = Scene.generate(RANDOM.nextLong(), 
+                new Dimension(320, 240), 10);
+        BufferedImage target = new BufferedImage(320, 240, 
+                BufferedImage.TYPE_3BYTE_BGR);
+        TiledRasterizer instance = new TiledRasterizer();
+        assertThrows(IllegalArgumentException.class, 
+                () -> instance.render(scene, target));
+    }
+    
+    /**
+     * Test of the render function, of the TiledRasterizer class, with 
+     * lighting. Lighting the tiles as they're copied should give the same 
+     * result as lighting the finished image.
+     */
+    @Test
+    public void testRenderWithLighting() {
+        Dimension size = new Dimension(640, 480);
+        Scene scene = Scene.generate(RANDOM.nextLong(), size, 100);
+        DayNightLighting lighting = new DayNightLighting();
+        lighting.setTimeOfDay(RANDOM.nextDouble());
+        BufferedImage unlit = renderSingleThreaded(scene, 
+                BufferedImage.TYPE_INT_RGB);
+        lighting.apply(unlit, unlit, scene.getBounds());
+        TiledRasterizer instance = new TiledRasterizer(128, 2);
+        instance.setLighting(lighting);
+        assertEquals(pixels(instance.render(scene)), pixels(unlit));
+    }
+    
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.render;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import org.example.graphics.scene.Tree;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the TreeSpriteCache class.
+ * @author Alonso del Arte
+ */
+public class TreeSpriteCacheNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static int opaqueColor() {
+        return 0xFF000000 | RANDOM.nextInt(0x1000000);
+    }
+    
+    /**
+     * Test of the getSprite function, of the TreeSpriteCache class.
+     */
+    @Test
+    public void testGetSprite() {
+        System.out.println("getSprite");
+        TreeSpriteCache instance = new TreeSpriteCache();
+        int argb = opaqueColor();
+        BufferedImage expected = instance.getSprite(50, 100, argb);
+        BufferedImage actual = instance.getSprite(50, 100, argb);
+        assertSame(actual, expected);
+        assertEquals(instance.getMisses(), 1L);
+        assertEquals(instance.getHits(), 1L);
+        assertEquals(instance.size(), 1);
+        assertEquals(instance.getByteCount(), 50L * 100L * 4L);
+    }
+    
+    @Test
+    public void testSimilarTreesShareSprite() {
+        TreeSpriteCache instance = new TreeSpriteCache(1L << 20, 4, 4, null);
+        BufferedImage expected = instance.getSprite(48, 96, 0xFF228B22);
+        BufferedImage actual = instance.getSprite(49, 97, 0xFF238A23);
+        assertSame(actual, expected);
+        assertEquals(actual.getWidth(), 48);
+        assertEquals(actual.getHeight(), 96);
+    }
+    
+    @Test
+    public void testOpaqueColorStaysOpaque() {
+        TreeSpriteCache instance = new TreeSpriteCache(1L << 20, 3, 1, null);
+        BufferedImage sprite = instance.getSprite(50, 90, 0xFF2A8B22);
+        int canopy = sprite.getRGB(25, 30);
+        assertEquals(canopy >>> 24, 0xFF);
+    }
+    
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        long spriteBytes = 40L * 40L * 4L;
+        TreeSpriteCache instance = new TreeSpriteCache(3 * spriteBytes, 8, 1, 
+                null);
+        int first = 0xFF110000;
+        int second = 0xFF220000;
+        int third = 0xFF330000;
+        int fourth = 0xFF440000;
+        instance.getSprite(40, 40, first);
+        instance.getSprite(40, 40, second);
+        instance.getSprite(40, 40, third);
+        instance.getSprite(40, 40, first);
+        instance.getSprite(40, 40, fourth);
+        assertEquals(instance.getEvictions(), 1L);
+        assertEquals(instance.size(), 3);
+        assert instance.getByteCount() <= instance.getMaxBytes() 
+                : "Byte count should be within budget";
+        instance.resetStatistics();
+        instance.getSprite(40, 40, first);
+        assertEquals(instance.getHits(), 1L, "First was used recently");
+        instance.getSprite(40, 40, second);
+        assertEquals(instance.getMisses(), 1L, "Second should've been evicted");
+    }
+    
+    @Test
+    public void testSpriteLargerThanBudgetIsNotCached() {
+        TreeSpriteCache instance = new TreeSpriteCache(100L, 8, 1, null);
+        BufferedImage sprite = instance.getSprite(50, 100, opaqueColor());
+        assertNotNull(sprite);
+        assertEquals(instance.size(), 0);
+        assertEquals(instance.getByteCount(), 0L);
+    }
+    
+    @Test
+    public void testSpriteLargerThanBudgetDoesNotEvict() {
+        long spriteBytes = 40L * 40L * 4L;
+        TreeSpriteCache instance = new TreeSpriteCache(2 * spriteBytes, 8, 1, 
+                null);
+        int first = 0xFF110000;
+        int second = 0xFF220000;
+        instance.getSprite(40, 40, first);
+        instance.getSprite(40, 40, second);
+        instance.getSprite(200, 200, opaqueColor());
+        assertEquals(instance.getEvictions(), 0L);
+        assertEquals(instance.size(), 2);
+        assertEquals(instance.getByteCount(), 2 * spriteBytes);
+        instance.resetStatistics();
+        instance.getSprite(40, 40, first);
+        instance.getSprite(40, 40, second);
+        assertEquals(instance.getHits(), 2L, "Both should still be cached");
+    }
+    
+    /**
+     * Test of the getSprite function, of the TreeSpriteCache class. Threads 
+     * that ask for the same sprite at once may each rasterize it, but they 
+     * should all get back the one sprite that's cached.
+     * @throws InterruptedException If the test is interrupted, which should 
+     * not happen.
+     */
+    @Test
+    public void testGetSpriteFromSeveralThreads() throws InterruptedException {
+        TreeSpriteCache instance = new TreeSpriteCache();
+        int threadCount = 4 + RANDOM.nextInt(12);
+        int argb = opaqueColor();
+        CountDownLatch start = new CountDownLatch(1);
+        List<BufferedImage> sprites = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                BufferedImage sprite = instance.getSprite(40, 80, argb);
+                synchronized (sprites) {
+                    sprites.add(sprite);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(sprites.size(), threadCount);
+        for (BufferedImage sprite : sprites) {
+            assertSame(sprite, sprites.get(0));
+        }
+        assertEquals(instance.size(), 1);
+        assertEquals(instance.getHits() + instance.getMisses(), threadCount);
+    }
+    
+    @Test
+    public void testGetSpriteRejectsTooLargeSize() {
+        TreeSpriteCache instance = new TreeSpriteCache(1L << 20, 8, 2, null);
+        int tooLarge = TreeSpriteCache.MAX_SPRITE_MEASURE + 1;
+        assertThrows(IllegalArgumentException.class, 
+                () -> instance.getSprite(tooLarge, 10, opaqueColor()));
+        int roundsUp = TreeSpriteCache.MAX_SPRITE_MEASURE;
+        assertThrows(IllegalArgumentException.class, 
+                () -> instance.getSprite(10, roundsUp, opaqueColor()));
+        BufferedImage image = new BufferedImage(20, 20, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        instance.paint(g, 0, 0, tooLarge, 10, opaqueColor());
+        g.dispose();
+        assertEquals(instance.size(), 0);
+    }
+    
+    /**
+     * Test of the paint procedure, of the TreeSpriteCache class. With full 
+     * color bits and a size step of 1, painting from the cache should give 
+     * the same pixels as drawing the tree directly.
+     */
+    @Test
+    public void testPaint() {
+        System.out.println("paint");
+        TreeSpriteCache instance = new TreeSpriteCache(1L << 20, 8, 1, null);
+        int argb = opaqueColor();
+        BufferedImage expected = new BufferedImage(120, 160, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = expected.createGraphics();
+        Tree.draw(g, 30, 20, 50, 100, new Color(argb, true));
+        g.dispose();
+        BufferedImage actual = new BufferedImage(120, 160, 
+                BufferedImage.TYPE_INT_RGB);
+        g = actual.createGraphics();
+        instance.paint(g, 30, 20, 50, 100, argb);
+        g.dispose();
+        for (int y = 0; y < 160; y++) {
+            for (int x = 0; x < 120; x++) {
+                assertEquals(actual.getRGB(x, y), expected.getRGB(x, y), 
+                        "Pixel at (" + x + ", " + y + ")");
+            }
+        }
+    }
+    
+    @Test
+    public void testConstructorRejectsBadColorBits() {
+        assertThrows(IllegalArgumentException.class, 
+                () -> new TreeSpriteCache(1L << 20, 9, 1, null));
+    }
+    
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Cloud class.
+ * @author Alonso del Arte
+ */
+public class CloudNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static Rectangle randomBounds() {
+        return new Rectangle(RANDOM.nextInt(200), RANDOM.nextInt(50), 
+                60 + RANDOM.nextInt(100), 20 + RANDOM.nextInt(40));
+    }
+    
+    private static BufferedImage render(Cloud cloud, int w, int h) {
+        BufferedImage image = new BufferedImage(w, h, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        cloud.draw(g);
+        g.dispose();
+        return image;
+    }
+    
+    /**
+     * Test of the draw procedure, of the Cloud class. The cloud should draw 
+     * something, and only within its bounds.
+     */
+    @Test
+    public void testDraw() {
+        System.out.println("draw");
+        Rectangle bounds = randomBounds();
+        Cloud cloud = new Cloud(bounds, RANDOM.nextLong());
+        BufferedImage image = render(cloud, 400, 150);
+        int drawn = 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if ((image.getRGB(x, y) & 0xFFFFFF) != 0) {
+                    String msg = "Pixel at (" + x + ", " + y 
+                            + ") should be within " + bounds.toString();
+                    assert bounds.contains(x, y) : msg;
+                    drawn++;
+                }
+            }
+        }
+        int minimum = bounds.width * bounds.height / 4;
+        assertMinimum(minimum, drawn, "Cloud should cover some of its bounds");
+    }
+    
+    /**
+     * Test of the getTexture function, of the Cloud class. The texture should 
+     * be computed once and then reused.
+     */
+    @Test
+    public void testGetTextureIsCached() {
+        Cloud cloud = new Cloud(randomBounds(), RANDOM.nextLong());
+        BufferedImage expected = cloud.getTexture();
+        render(cloud, 300, 100);
+        assertSame(cloud.getTexture(), expected);
+    }
+    
+    /**
+     * Test of the step procedure, of the Cloud class. A drifting cloud should 
+     * move by its drift each step and keep its shape.
+     */
+    @Test
+    public void testStep() {
+        System.out.println("step");
+        Rectangle bounds = randomBounds();
+        long seed = RANDOM.nextLong();
+        Cloud cloud = new Cloud(bounds, seed);
+        cloud.setDrift(1.0, 1000);
+        int steps = 1 + RANDOM.nextInt(20);
+        for (int i = 0; i < steps; i++) {
+            cloud.step();
+        }
+        Rectangle expected = new Rectangle(bounds);
+        expected.translate(steps, 0);
+        assertEquals(cloud.getBounds(), expected);
+        bounds.translate(steps, 0);
+        Cloud placed = new Cloud(bounds, seed);
+        int w = bounds.x + bounds.width;
+        int h = bounds.y + bounds.height;
+        assertEquals(render(cloud, w, h).getRGB(0, 0, w, h, null, 0, w), 
+                render(placed, w, h).getRGB(0, 0, w, h, null, 0, w));
+    }
+    
+    /**
+     * Test of the step procedure, of the Cloud class. A cloud that drifts off 
+     * the right edge of the sky should come back on the left.
+     */
+    @Test
+    public void testStepWrapsAround() {
+        Rectangle bounds = new Rectangle(90, 10, 40, 20);
+        Cloud cloud = new Cloud(bounds, RANDOM.nextLong());
+        cloud.setDrift(5.0, 100);
+        cloud.step();
+        cloud.step();
+        assertEquals(cloud.getBounds().x, -40);
+        cloud.step();
+        assertEquals(cloud.getBounds().x, -35);
+    }
+    
+    /**
+     * Test of the setInterpolation procedure, of the Cloud class.
+     */
+    @Test
+    public void testSetInterpolation() {
+        System.out.println("setInterpolation");
+        Rectangle bounds = randomBounds();
+        Cloud cloud = new Cloud(bounds, RANDOM.nextLong());
+        cloud.setDrift(4.0, 1000);
+        cloud.step();
+        cloud.setInterpolation(0.0);
+        assertEquals(cloud.getBounds().x, bounds.x);
+        cloud.setInterpolation(0.5);
+        assertEquals(cloud.getBounds().x, bounds.x + 2);
+        cloud.setInterpolation(1.0);
+        assertEquals(cloud.getBounds().x, bounds.x + 4);
+    }
+    
+    @Test
+    public void testStillCloudDoesNotMove() {
+        Rectangle bounds = randomBounds();
+        Cloud cloud = new Cloud(bounds);
+        assert !cloud.isDrifting() : "Cloud should not drift by default";
+        cloud.step();
+        assertEquals(cloud.getBounds(), bounds);
+    }
+    
+    @Test
+    public void testConstructorRejectsEmptyBounds() {
+        Rectangle bounds = new Rectangle(RANDOM.nextInt(100), 10, 0, 20);
+        assertThrows(IllegalArgumentException.class, () -> new Cloud(bounds));
+    }
+    
+}
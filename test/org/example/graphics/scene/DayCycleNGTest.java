@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the DayCycle class.
+ * @author Alonso del Arte
+ */
+public class DayCycleNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final double TEST_DELTA = 0.000001;
+    
+    /**
+     * Test of the step procedure, of the DayCycle class. Each step should 
+     * advance the time of day by one step's worth, wrapping around at 
+     * midnight.
+     */
+    @Test
+    public void testStep() {
+        System.out.println("step");
+        int stepsPerDay = 100 + RANDOM.nextInt(100);
+        DayCycle cycle = new DayCycle(stepsPerDay);
+        assertEquals(cycle.getTimeOfDay(), 0.0, TEST_DELTA);
+        int steps = stepsPerDay + RANDOM.nextInt(stepsPerDay);
+        for (int i = 0; i < steps; i++) {
+            cycle.step();
+        }
+        double expected = (double) (steps - stepsPerDay) / stepsPerDay;
+        assertEquals(cycle.getTimeOfDay(), expected, TEST_DELTA);
+    }
+    
+    /**
+     * Test of the setInterpolation procedure, of the DayCycle class.
+     */
+    @Test
+    public void testSetInterpolation() {
+        System.out.println("setInterpolation");
+        DayCycle cycle = new DayCycle(100);
+        cycle.setTimeOfDay(0.5);
+        cycle.step();
+        double alpha = RANDOM.nextDouble();
+        cycle.setInterpolation(alpha);
+        assertEquals(cycle.getTimeOfDay(), 0.5 + alpha / 100.0, TEST_DELTA);
+    }
+    
+    /**
+     * Test of the setTimeOfDay procedure, of the DayCycle class. Only the 
+     * fractional part of the time should count.
+     */
+    @Test
+    public void testSetTimeOfDay() {
+        System.out.println("setTimeOfDay");
+        DayCycle cycle = new DayCycle(1000);
+        int days = RANDOM.nextInt(10) - 5;
+        cycle.setTimeOfDay(days + 0.25);
+        assertEquals(cycle.getTimeOfDay(), 0.25, TEST_DELTA);
+    }
+    
+    /**
+     * Test of the getSunElevation function, of the DayCycle class.
+     */
+    @Test
+    public void testGetSunElevation() {
+        System.out.println("getSunElevation");
+        assertEquals(DayCycle.getSunElevation(0.5), 1.0, TEST_DELTA);
+        assertEquals(DayCycle.getSunElevation(0.0), -1.0, TEST_DELTA);
+        assertEquals(DayCycle.getSunElevation(0.25), 0.0, TEST_DELTA);
+        assertEquals(DayCycle.getMoonElevation(0.0), 1.0, TEST_DELTA);
+    }
+    
+    /**
+     * Test of the setTimeOfDay procedure, of the Sun and Moon classes. The 
+     * sun should be in the sky in the daytime and below the horizon at 
+     * night, and the other way around for the moon.
+     */
+    @Test
+    public void testSunAndMoonFollowTimeOfDay() {
+        Rectangle sky = new Rectangle(0, 0, 800, 200);
+        Sun sun = new Sun(new Point(0, 0), 30);
+        Moon moon = new Moon(new Point(0, 0), 20);
+        double daytime = 0.3 + 0.4 * RANDOM.nextDouble();
+        sun.setTimeOfDay(daytime, sky);
+        moon.setTimeOfDay(daytime, sky);
+        assert sky.contains(sun.getCenter()) : "Sun should be up at " 
+                + daytime;
+        assert moon.getBounds().y > sky.height : "Moon should be down at " 
+                + daytime;
+        sun.setTimeOfDay(0.5, sky);
+        assertEquals(sun.getBounds().y, 0);
+        double nighttime = daytime + 0.5;
+        sun.setTimeOfDay(nighttime, sky);
+        moon.setTimeOfDay(nighttime, sky);
+        assert sky.contains(moon.getCenter()) : "Moon should be up at " 
+                + nighttime;
+        assert sun.getBounds().y > sky.height : "Sun should be down at " 
+                + nighttime;
+    }
+    
+    /**
+     * Test of the setDayCycle procedure, of the Scene class. Stepping the 
+     * scene should move the sun.
+     */
+    @Test
+    public void testSceneMovesSunWithDayCycle() {
+        Scene scene = Scene.generate(RANDOM.nextLong(), 
+                new Dimension(640, 480), 10);
+        DayCycle cycle = new DayCycle(360);
+        cycle.setTimeOfDay(0.3);
+        scene.setDayCycle(cycle);
+        Point before = scene.getSun().getCenter();
+        for (int i = 0; i < 10; i++) {
+            scene.step();
+        }
+        Point after = scene.getSun().getCenter();
+        assert after.x > before.x : "Sun should move from " + before 
+                + " toward " + after;
+    }
+    
+    @Test
+    public void testConstructorRejectsZeroStepsPerDay() {
+        assertThrows(IllegalArgumentException.class, () -> new DayCycle(0));
+    }
+    
+}
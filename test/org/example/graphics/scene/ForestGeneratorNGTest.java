@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertInRange;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the ForestGenerator class.
+ * @author Alonso del Arte
+ */
+public class ForestGeneratorNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final Dimension AREA = new Dimension(1920, 1080);
+    
+    private static final Dimension MAX_TREE_SIZE = new Dimension(50, 100);
+    
+    private static void assertSameTrees(Forest actual, Forest expected, 
+            String msg) {
+        assertEquals(actual.size(), expected.size(), msg);
+        for (int i = 0; i < expected.size(); i++) {
+            String treeMsg = msg + ", tree " + i;
+            assertEquals(actual.getLeafARGB(i), expected.getLeafARGB(i), 
+                    treeMsg);
+            assertEquals(actual.getWidth(i), expected.getWidth(i), treeMsg);
+            assertEquals(actual.getHeight(i), expected.getHeight(i), treeMsg);
+            assertEquals(actual.getX(i), expected.getX(i), treeMsg);
+            assertEquals(actual.getY(i), expected.getY(i), treeMsg);
+        }
+    }
+    
+    /**
+     * Test of the generate function, of the ForestGenerator class.
+     */
+    @Test
+    public void testGenerate() {
+        System.out.println("generate");
+        int count = RANDOM.nextInt(512) + 64;
+        ForestGenerator instance = new ForestGenerator(RANDOM.nextLong(), 
+                AREA, MAX_TREE_SIZE);
+        Forest trees = instance.generate(count);
+        assertEquals(trees.size(), count);
+        trees.forEach(tree -> {
+            Dimension size = tree.getDimension();
+            assertInRange(1, size.width, MAX_TREE_SIZE.width - 1);
+            assertInRange(1, size.height, MAX_TREE_SIZE.height - 1);
+            assertInRange(0, tree.getX(), AREA.width - size.width);
+            assertInRange(0, tree.getY(), AREA.height - size.height);
+        });
+    }
+    
+    @Test
+    public void testSameSeedGivesSameTreesAtAnyParallelism() {
+        long seed = RANDOM.nextLong();
+        int count = 5 * ForestGenerator.CHUNK_SIZE + RANDOM.nextInt(1000);
+        Forest expected = new ForestGenerator(seed, AREA, MAX_TREE_SIZE)
+                .generate(count);
+        for (int parallelism : new int[] {2, 3, 4, 7}) {
+            Forest actual = new ForestGenerator(seed, AREA, MAX_TREE_SIZE)
+                    .generate(count, parallelism);
+            String msg = "Seed " + seed + " with parallelism " + parallelism;
+            assertSameTrees(actual, expected, msg);
+        }
+    }
+    
+    @Test
+    public void testDifferentSeedsGiveDifferentTrees() {
+        long seed = RANDOM.nextLong();
+        Forest treesA = new ForestGenerator(seed, AREA, MAX_TREE_SIZE)
+                .generate(16);
+        Forest treesB = new ForestGenerator(seed + 1, AREA, MAX_TREE_SIZE)
+                .generate(16);
+        int same = 0;
+        for (int i = 0; i < treesA.size(); i++) {
+            if (treesA.getLeafARGB(i) == treesB.getLeafARGB(i)) {
+                same++;
+            }
+        }
+        String msg = "Seeds " + seed + " and " + (seed + 1) 
+                + " should give different trees";
+        assert same < treesA.size() : msg;
+    }
+    
+    @Test
+    public void testGenerateRejectsNegativeCount() {
+        ForestGenerator instance = new ForestGenerator(RANDOM.nextLong(), 
+                AREA, MAX_TREE_SIZE);
+        assertThrows(IllegalArgumentException.class, 
+                () -> instance.generate(-1));
+    }
+    
+    @Test
+    public void testConstructorRejectsTooSmallMaximum() {
+        Dimension tooSmall = new Dimension(1, MAX_TREE_SIZE.height);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new ForestGenerator(RANDOM.nextLong(), AREA, 
+                        tooSmall));
+    }
+    
+}
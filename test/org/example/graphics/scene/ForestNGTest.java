@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.example.randomness.ExtendedRandom.nextColor;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Forest class.
+ * @author Alonso del Arte
+ */
+public class ForestNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static Forest makeForest(int count) {
+        Forest forest = new Forest(1);
+        for (int i = 0; i < count; i++) {
+            forest.add(10 * i, 20 * i, i + 1, 2 * i + 1, RANDOM.nextInt());
+        }
+        return forest;
+    }
+    
+    /**
+     * Test of the add function, of the Forest class.
+     */
+    @Test
+    public void testAdd() {
+        System.out.println("add");
+        Forest instance = new Forest(1);
+        int count = RANDOM.nextInt(100) + 50;
+        int[] argbs = new int[count];
+        for (int i = 0; i < count; i++) {
+            argbs[i] = RANDOM.nextInt();
+            int index = instance.add(i, -i, i + 1, i + 2, argbs[i]);
+            assertEquals(index, i);
+        }
+        assertEquals(instance.size(), count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(instance.getX(i), i);
+            assertEquals(instance.getY(i), -i);
+            assertEquals(instance.getWidth(i), i + 1);
+            assertEquals(instance.getHeight(i), i + 2);
+            assertEquals(instance.getLeafARGB(i), argbs[i]);
+        }
+    }
+    
+    @Test
+    public void testAddTree() {
+        Color leafColor = nextColor();
+        Dimension size = new Dimension(50, 100);
+        Point location = new Point(300, 400);
+        Tree tree = new Tree(leafColor, size, location);
+        Forest instance = new Forest();
+        int index = instance.add(tree);
+        Tree actual = instance.get(index);
+        assertEquals(actual.getLeafColor(), leafColor);
+        assertEquals(actual.getDimension(), size);
+        assertEquals(actual.getLocation(), location);
+    }
+    
+    /**
+     * Test of the remove function, of the Forest class.
+     */
+    @Test
+    public void testRemove() {
+        System.out.println("remove");
+        int count = 10;
+        Forest instance = makeForest(count);
+        int lastARGB = instance.getLeafARGB(count - 1);
+        int lastX = instance.getX(count - 1);
+        int moved = instance.remove(3);
+        assertEquals(moved, count - 1);
+        assertEquals(instance.size(), count - 1);
+        assertEquals(instance.getLeafARGB(3), lastARGB);
+        assertEquals(instance.getX(3), lastX);
+    }
+    
+    @Test
+    public void testRemoveLast() {
+        int count = 10;
+        Forest instance = makeForest(count);
+        int moved = instance.remove(count - 1);
+        assertEquals(moved, count - 1);
+        assertEquals(instance.size(), count - 1);
+    }
+    
+    @Test
+    public void testRemoveRejectsBadIndex() {
+        Forest instance = makeForest(5);
+        assertThrows(IndexOutOfBoundsException.class, 
+                () -> instance.remove(5));
+    }
+    
+    @Test
+    public void testGetRejectsBadIndex() {
+        Forest instance = makeForest(5);
+        assertThrows(IndexOutOfBoundsException.class, () -> instance.get(-1));
+    }
+    
+    @Test
+    public void testMoveToThroughView() {
+        Forest instance = makeForest(5);
+        Tree view = instance.get(2);
+        view.moveTo(123, 456);
+        assertEquals(instance.getX(2), 123);
+        assertEquals(instance.getY(2), 456);
+        assertEquals(view.getLocation(), new Point(123, 456));
+    }
+    
+    /**
+     * Test of the pick function, of the Forest class.
+     */
+    @Test
+    public void testPick() {
+        System.out.println("pick");
+        Forest instance = new Forest();
+        instance.add(0, 0, 50, 100, RANDOM.nextInt());
+        instance.add(25, 50, 50, 100, RANDOM.nextInt());
+        assertEquals(instance.pick(10, 10), 0);
+        assertEquals(instance.pick(30, 60), 1, "Later tree is on top");
+        assertEquals(instance.pick(70, 140), 1);
+        assertEquals(instance.pick(100, 10), -1);
+    }
+    
+    /**
+     * Test of the pick function, of the Forest class. A tree in a deeper 
+     * depth band is painted over a tree with a higher index, so it's the one 
+     * that should be picked, with or without a spatial index.
+     */
+    @Test
+    public void testPickGoesByDepth() {
+        Forest instance = new Forest();
+        int deeperARGB = 0xFF000000 | RANDOM.nextInt(0x1000000);
+        int shallowerARGB = ~deeperARGB | 0xFF000000;
+        instance.add(0, 50, 50, 100, deeperARGB);
+        instance.add(25, 0, 50, 100, shallowerARGB);
+        int x = 40;
+        int y = 60;
+        assertEquals(instance.pick(x, y), 0, "Deeper tree is on top");
+        RenderQueue queue = new RenderQueue("Trees");
+        Rectangle area = new Rectangle(0, 0, 100, 200);
+        instance.enqueue(queue, 0, area, null);
+        BufferedImage image = new BufferedImage(area.width, area.height, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        queue.flush(g, area);
+        g.dispose();
+        assertEquals(image.getRGB(x, y), deeperARGB, 
+                "Picked tree should be the one painted at the point");
+        instance.attachIndex(new SpatialGrid(area, 32));
+        assertEquals(instance.pick(x, y), 0, "Deeper tree is on top");
+    }
+    
+    /**
+     * Test of the forEach procedure, of the Forest class.
+     */
+    @Test
+    public void testForEach() {
+        System.out.println("forEach");
+        int count = RANDOM.nextInt(64) + 16;
+        Forest instance = makeForest(count);
+        Set<Integer> xs = new HashSet<>(count);
+        Set<Tree> views = new HashSet<>(1);
+        instance.forEach(tree -> {
+            xs.add(tree.getX());
+            views.add(tree);
+        });
+        assertEquals(xs.size(), count);
+        assertEquals(views.size(), 1, "Expected one reused view");
+    }
+    
+    /**
+     * Test of the copy function, of the Forest class. Moving a tree in the 
+     * copy should not move it in the original, and the copy's index should 
+     * find the tree where it was moved to.
+     */
+    @Test
+    public void testCopy() {
+        System.out.println("copy");
+        int count = RANDOM.nextInt(64) + 16;
+        Forest instance = makeForest(count);
+        instance.attachIndex(new SpatialGrid(new Rectangle(0, 0, 2000, 2000), 
+                32));
+        Forest copy = instance.copy();
+        assertEquals(copy.size(), count);
+        int index = RANDOM.nextInt(count);
+        int x = instance.getX(index);
+        int y = instance.getY(index);
+        copy.moveTo(index, 1500, 1500);
+        assertEquals(instance.getX(index), x);
+        assertEquals(instance.getY(index), y);
+        assertEquals(copy.pick(1500, 1500), index);
+        assertEquals(instance.pick(x, y), index);
+        assertEquals(instance.pick(1500, 1500), -1);
+    }
+    
+}
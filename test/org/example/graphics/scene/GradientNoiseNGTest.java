@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the GradientNoise class.
+ * @author Alonso del Arte
+ */
+public class GradientNoiseNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final double TEST_DELTA = 0.000001;
+    
+    /**
+     * Test of the sample function, of the GradientNoise class. Samples should 
+     * be from &minus;1 to 1, vary between lattice points, and be 0 at them.
+     */
+    @Test
+    public void testSample() {
+        System.out.println("sample");
+        GradientNoise noise = new GradientNoise(RANDOM.nextLong());
+        int period = 16;
+        int distinct = 0;
+        double previous = Double.NaN;
+        for (int i = 0; i < 1000; i++) {
+            double x = RANDOM.nextDouble() * 100.0;
+            double y = RANDOM.nextDouble() * 100.0;
+            double value = noise.sample(x, y, period, period);
+            String msg = "Noise at (" + x + ", " + y + ") is " + value;
+            assert value >= -1.0 && value <= 1.0 : msg;
+            if (value != previous) {
+                distinct++;
+            }
+            previous = value;
+            int ix = RANDOM.nextInt(100);
+            int iy = RANDOM.nextInt(100);
+            assertEquals(noise.sample(ix, iy, period, period), 0.0, 
+                    TEST_DELTA);
+        }
+        assertMinimum(900, distinct, "Noise should vary");
+    }
+    
+    /**
+     * Test of the sample function, of the GradientNoise class. The noise 
+     * should repeat at the given periods.
+     */
+    @Test
+    public void testSampleWrapsAround() {
+        GradientNoise noise = new GradientNoise(RANDOM.nextLong());
+        int periodX = 1 + RANDOM.nextInt(32);
+        int periodY = 1 + RANDOM.nextInt(32);
+        for (int i = 0; i < 100; i++) {
+            double x = RANDOM.nextDouble() * periodX;
+            double y = RANDOM.nextDouble() * periodY;
+            double expected = noise.sample(x, y, periodX, periodY);
+            assertEquals(noise.sample(x + periodX, y, periodX, periodY), 
+                    expected, TEST_DELTA);
+            assertEquals(noise.sample(x, y - 3 * periodY, periodX, periodY), 
+                    expected, TEST_DELTA);
+        }
+    }
+    
+    @Test
+    public void testSampleRejectsZeroPeriod() {
+        GradientNoise noise = new GradientNoise(RANDOM.nextLong());
+        assertThrows(IllegalArgumentException.class, 
+                () -> noise.sample(0.5, 0.5, 0, 4));
+    }
+    
+    /**
+     * Test of the fillFractal procedure, of the GradientNoise class. The same 
+     * seed should give the same texture, and a different seed a different 
+     * one.
+     */
+    @Test
+    public void testFillFractalIsDeterministic() {
+        System.out.println("fillFractal");
+        long seed = RANDOM.nextLong();
+        int w = 32 + RANDOM.nextInt(32);
+        int h = 16 + RANDOM.nextInt(16);
+        float[] expected = new float[w * h];
+        float[] actual = new float[w * h];
+        float[] other = new float[w * h];
+        new GradientNoise(seed).fillFractal(expected, w, h, 4, 2, 3, 0.5F);
+        new GradientNoise(seed).fillFractal(actual, w, h, 4, 2, 3, 0.5F);
+        new GradientNoise(seed + 1).fillFractal(other, w, h, 4, 2, 3, 0.5F);
+        assertEquals(actual, expected);
+        assertNotEquals(other, expected);
+    }
+    
+    /**
+     * Test of the fillFractal procedure, of the GradientNoise class. The 
+     * texture should tile seamlessly: the jump from the last column to the 
+     * first should be no bigger than jumps between neighboring columns.
+     */
+    @Test
+    public void testFillFractalTiles() {
+        GradientNoise noise = new GradientNoise(RANDOM.nextLong());
+        int w = 64;
+        int h = 64;
+        float[] texture = new float[w * h];
+        noise.fillFractal(texture, w, h, 4, 4, 4, 0.5F);
+        double maxStep = 0.0;
+        double maxSeam = 0.0;
+        for (int y = 0; y < h; y++) {
+            for (int x = 1; x < w; x++) {
+                maxStep = Math.max(maxStep, Math.abs(texture[y * w + x] 
+                        - texture[y * w + x - 1]));
+            }
+            maxSeam = Math.max(maxSeam, Math.abs(texture[y * w] 
+                    - texture[y * w + w - 1]));
+        }
+        for (int x = 0; x < w; x++) {
+            maxSeam = Math.max(maxSeam, Math.abs(texture[x] 
+                    - texture[(h - 1) * w + x]));
+        }
+        String msg = "Seam step " + maxSeam 
+                + " should be no bigger than interior step " + maxStep;
+        assert maxSeam <= 1.5 * maxStep : msg;
+    }
+    
+    @Test
+    public void testFillFractalRejectsShortArray() {
+        GradientNoise noise = new GradientNoise(RANDOM.nextLong());
+        float[] texture = new float[99];
+        assertThrows(IllegalArgumentException.class, 
+                () -> noise.fillFractal(texture, 10, 10, 2, 2, 2, 0.5F));
+    }
+    
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the MappedScene class.
+ * @author Alonso del Arte
+ */
+public class MappedSceneNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static Scene randomScene() {
+        Dimension size = new Dimension(300 + RANDOM.nextInt(200), 
+                200 + RANDOM.nextInt(100));
+        return Scene.generate(RANDOM.nextLong(), size, 50 + RANDOM.nextInt(50));
+    }
+    
+    private static void overwrite(Path path, long position, ByteBuffer bytes) 
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, 
+                StandardOpenOption.WRITE)) {
+            channel.write(bytes.flip(), position);
+        }
+    }
+    
+    /**
+     * Test of the toScene function, of the MappedScene class. A scene saved 
+     * and loaded back should have the same layout, trees and time of day.
+     * @throws IOException If the temporary file can't be used.
+     */
+    @Test
+    public void testToScene() throws IOException {
+        System.out.println("toScene");
+        Scene expected = randomScene();
+        DayCycle cycle = new DayCycle(100 + RANDOM.nextInt(1000));
+        cycle.setTimeOfDay(RANDOM.nextDouble());
+        expected.setDayCycle(cycle);
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            SceneWriter.save(expected, path);
+            Scene actual = MappedScene.open(path).toScene();
+            assertEquals(actual.getSize(), expected.getSize());
+            assertEquals(actual.getHorizon(), expected.getHorizon());
+            assertEquals(actual.getOcean().getBounds(), 
+                    expected.getOcean().getBounds());
+            assertEquals(actual.getOcean().getWaterColor(), 
+                    expected.getOcean().getWaterColor());
+            assertEquals(actual.getOcean().getWaveSeed(), 
+                    expected.getOcean().getWaveSeed());
+            assertEquals(actual.getOcean().hasWavyShore(), 
+                    expected.getOcean().hasWavyShore());
+            assertEquals(actual.getSun().getBounds(), 
+                    expected.getSun().getBounds());
+            assertEquals(actual.getMoon().getBounds(), 
+                    expected.getMoon().getBounds());
+            List<Cloud> expClouds = expected.getClouds();
+            List<Cloud> actClouds = actual.getClouds();
+            assertEquals(actClouds.size(), expClouds.size());
+            for (int i = 0; i < expClouds.size(); i++) {
+                Cloud expCloud = expClouds.get(i);
+                Cloud actCloud = actClouds.get(i);
+                assertEquals(actCloud.getBounds(), expCloud.getBounds());
+                assertEquals(actCloud.getTextureSeed(), 
+                        expCloud.getTextureSeed());
+                assertEquals(actCloud.getDrift(), expCloud.getDrift());
+            }
+            Forest expForest = expected.getForest();
+            Forest actForest = actual.getForest();
+            assertEquals(actForest.size(), expForest.size());
+            for (int i = 0; i < expForest.size(); i++) {
+                assertEquals(actForest.get(i).getBounds(), 
+                        expForest.get(i).getBounds());
+                assertEquals(actForest.getLeafARGB(i), 
+                        expForest.getLeafARGB(i));
+            }
+            assertNotNull(actForest.getIndex(), 
+                    "Loaded forest should have a spatial index");
+            assertEquals(actual.getDayCycle().getStepsPerDay(), 
+                    cycle.getStepsPerDay());
+            assertEquals(actual.getDayCycle().getTimeOfDay(), 
+                    cycle.getTimeOfDay(), 1.0 / cycle.getStepsPerDay());
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    /**
+     * Test of the toScene function, of the MappedScene class. A scene without 
+     * a day cycle should come back without one.
+     * @throws IOException If the temporary file can't be used.
+     */
+    @Test
+    public void testToSceneWithoutDayCycle() throws IOException {
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            SceneWriter.save(randomScene(), path);
+            MappedScene mapped = MappedScene.open(path);
+            assert !mapped.hasDayCycle() : "Should not have a day cycle";
+            assertNull(mapped.toScene().getDayCycle());
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    /**
+     * Test of the getTree function, of the MappedScene class. Each tree 
+     * should be read straight from the file, in the order it was written.
+     * @throws IOException If the temporary file can't be used.
+     */
+    @Test
+    public void testGetTree() throws IOException {
+        System.out.println("getTree");
+        Scene scene = randomScene();
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            SceneWriter.save(scene, path);
+            MappedScene mapped = MappedScene.open(path);
+            Forest forest = scene.getForest();
+            assertEquals(mapped.getTreeCount(), forest.size());
+            for (int i = 0; i < forest.size(); i++) {
+                Tree expected = forest.get(i);
+                Tree actual = mapped.getTree(i);
+                assertEquals(actual.getBounds(), expected.getBounds());
+                assertEquals(actual.getLeafColor(), expected.getLeafColor());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    @Test
+    public void testGetTreeRejectsBadIndex() throws IOException {
+        Scene scene = randomScene();
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            SceneWriter.save(scene, path);
+            MappedScene mapped = MappedScene.open(path);
+            int count = mapped.getTreeCount();
+            assertThrows(IndexOutOfBoundsException.class, 
+                    () -> mapped.getTree(count));
+            assertThrows(IndexOutOfBoundsException.class, 
+                    () -> mapped.getX(-1));
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    /**
+     * Test of the open function, of the MappedScene class. A file that 
+     * doesn't start with the magic number should be rejected.
+     * @throws IOException If the temporary file can't be used.
+     */
+    @Test
+    public void testOpenRejectsOtherFile() throws IOException {
+        System.out.println("open");
+        Path path = Files.createTempFile("scene", ".png");
+        try {
+            byte[] bytes = new byte[SceneFormat.HEADER_SIZE + 16];
+            RANDOM.nextBytes(bytes);
+            bytes[0] = (byte) 0x89;
+            Files.write(path, bytes);
+            assertThrows(IOException.class, () -> MappedScene.open(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    @Test
+    public void testOpenRejectsLaterVersion() throws IOException {
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            SceneWriter.save(randomScene(), path);
+            short version = (short) (SceneFormat.VERSION + 1 
+                    + RANDOM.nextInt(10));
+            overwrite(path, SceneFormat.VERSION_OFFSET, 
+                    ByteBuffer.allocate(Short.BYTES)
+                            .order(SceneFormat.BYTE_ORDER).putShort(version));
+            IOException exc = expectThrows(IOException.class, 
+                    () -> MappedScene.open(path));
+            String msg = exc.getMessage();
+            assert msg.contains(Short.toString(version)) 
+                    : "Message \"" + msg + "\" should mention version " 
+                    + version;
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    @Test
+    public void testOpenRejectsUnfinishedFile() throws IOException {
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            SceneWriter.save(randomScene(), path);
+            overwrite(path, SceneFormat.TREE_COUNT_OFFSET, 
+                    ByteBuffer.allocate(Integer.BYTES)
+                            .order(SceneFormat.BYTE_ORDER).putInt(-1));
+            assertThrows(IOException.class, () -> MappedScene.open(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    @Test
+    public void testOpenRejectsTruncatedFile() throws IOException {
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            SceneWriter.save(randomScene(), path);
+            try (FileChannel channel = FileChannel.open(path, 
+                    StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 1 
+                        - RANDOM.nextInt(SceneFormat.TREE_RECORD_SIZE));
+            }
+            assertThrows(IOException.class, () -> MappedScene.open(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.example.randomness.SeededRandom;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Ocean class.
+ * @author Alonso del Arte
+ */
+public class OceanNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final int BACKGROUND_RGB = 0xFF00FF00;
+    
+    private static Ocean makeOcean(Rectangle bounds, long seed) {
+        return new Ocean(bounds, Ocean.DEFAULT_COLOR, seed);
+    }
+    
+    private static int[] render(Ocean ocean, Rectangle canvas, 
+            Rectangle... clips) {
+        BufferedImage image = new BufferedImage(canvas.width, canvas.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(new Color(BACKGROUND_RGB, true));
+        g.fillRect(0, 0, canvas.width, canvas.height);
+        for (Rectangle clip : clips) {
+            ocean.draw(g, clip);
+        }
+        g.dispose();
+        return image.getRGB(0, 0, canvas.width, canvas.height, null, 0, 
+                canvas.width);
+    }
+    
+    private static Rectangle randomBounds() {
+        return new Rectangle(RANDOM.nextInt(50), RANDOM.nextInt(50), 
+                200 + RANDOM.nextInt(200), 150 + RANDOM.nextInt(300));
+    }
+    
+    /**
+     * Test of the draw function, of the Ocean class. The whole ocean should 
+     * be covered with water, and nothing outside it should be touched.
+     */
+    @Test
+    public void testDrawCoversBoundsOnly() {
+        System.out.println("draw");
+        Rectangle bounds = randomBounds();
+        Ocean ocean = makeOcean(bounds, RANDOM.nextLong());
+        int steps = RANDOM.nextInt(100);
+        for (int i = 0; i < steps; i++) {
+            ocean.step();
+        }
+        Rectangle canvas = new Rectangle(0, 0, bounds.x + bounds.width + 10, 
+                bounds.y + bounds.height + 10);
+        int[] pixels = render(ocean, canvas, canvas);
+        for (int y = 0; y < canvas.height; y++) {
+            for (int x = 0; x < canvas.width; x++) {
+                int rgb = pixels[y * canvas.width + x];
+                boolean inside = bounds.contains(x, y);
+                String msg = "Pixel at (" + x + ", " + y + ") inside " 
+                        + bounds.toString() + " should be water";
+                assertEquals(rgb != BACKGROUND_RGB, inside, msg);
+            }
+        }
+    }
+    
+    /**
+     * Test of the draw function, of the Ocean class. Drawing the ocean in 
+     * pieces should give the same pixels as drawing it all at once.
+     */
+    @Test
+    public void testDrawInPiecesMatchesWhole() {
+        Rectangle bounds = randomBounds();
+        Ocean ocean = makeOcean(bounds, RANDOM.nextLong());
+        ocean.step();
+        ocean.setInterpolation(RANDOM.nextDouble());
+        Rectangle canvas = new Rectangle(0, 0, bounds.x + bounds.width, 
+                bounds.y + bounds.height);
+        int[] expected = render(ocean, canvas, canvas);
+        int splitX = 1 + RANDOM.nextInt(canvas.width - 1);
+        int splitY = 1 + RANDOM.nextInt(canvas.height - 1);
+        int[] actual = render(ocean, canvas, 
+                new Rectangle(0, 0, splitX, splitY), 
+                new Rectangle(splitX, 0, canvas.width - splitX, splitY), 
+                new Rectangle(0, splitY, splitX, canvas.height - splitY), 
+                new Rectangle(splitX, splitY, canvas.width - splitX, 
+                        canvas.height - splitY));
+        assertEquals(actual, expected);
+    }
+    
+    /**
+     * Test of the step procedure, of the Ocean class. The waves should move.
+     */
+    @Test
+    public void testStep() {
+        System.out.println("step");
+        Rectangle bounds = randomBounds();
+        Ocean ocean = makeOcean(bounds, RANDOM.nextLong());
+        Rectangle canvas = new Rectangle(0, 0, bounds.x + bounds.width, 
+                bounds.y + bounds.height);
+        int[] before = render(ocean, canvas, canvas);
+        for (int i = 0; i < 10; i++) {
+            ocean.step();
+        }
+        int[] after = render(ocean, canvas, canvas);
+        assertNotEquals(after, before);
+    }
+    
+    /**
+     * Test of the setInterpolation procedure, of the Ocean class. Drawing one 
+     * step in at full interpolation should look the same as drawing two steps 
+     * in at no interpolation.
+     */
+    @Test
+    public void testSetInterpolation() {
+        System.out.println("setInterpolation");
+        Rectangle bounds = randomBounds();
+        long seed = RANDOM.nextLong();
+        Ocean oneStep = makeOcean(bounds, seed);
+        Ocean twoSteps = makeOcean(bounds, seed);
+        int steps = RANDOM.nextInt(50);
+        for (int i = 0; i < steps; i++) {
+            oneStep.step();
+            twoSteps.step();
+        }
+        oneStep.step();
+        oneStep.setInterpolation(1.0);
+        twoSteps.step();
+        twoSteps.step();
+        twoSteps.setInterpolation(0.0);
+        Rectangle canvas = new Rectangle(0, 0, bounds.x + bounds.width, 
+                bounds.y + bounds.height);
+        assertEquals(render(twoSteps, canvas, canvas), 
+                render(oneStep, canvas, canvas));
+    }
+    
+    @Test
+    public void testSetInterpolationRejectsOutOfRange() {
+        Ocean ocean = makeOcean(randomBounds(), RANDOM.nextLong());
+        double alpha = 1.0 + RANDOM.nextDouble() + Double.MIN_VALUE;
+        assertThrows(IllegalArgumentException.class, 
+                () -> ocean.setInterpolation(alpha));
+        assertThrows(IllegalArgumentException.class, 
+                () -> ocean.setInterpolation(-alpha));
+        assertThrows(IllegalArgumentException.class, 
+                () -> ocean.setInterpolation(Double.NaN));
+    }
+    
+    /**
+     * Test of the wave tables behind the Ocean class. Advancing a wave by 
+     * exactly one period should give the same heights, since the tables are 
+     * meant to wrap around seamlessly.
+     */
+    @Test
+    public void testWaveTableWrapsAround() {
+        int amplitude = 1 + RANDOM.nextInt(16);
+        WaveTable table = new WaveTable(new SeededRandom(RANDOM.nextLong()), 
+                amplitude);
+        int period = WaveTable.PERIOD << WaveTable.FRACTION_BITS;
+        for (int position = 0; position < period; position += 37) {
+            int expected = table.heightAt(position);
+            assertEquals(table.heightAt(position + period), expected);
+            assertEquals(table.heightAt(position - period), expected);
+            assert Math.abs(expected) <= amplitude : "Height " + expected 
+                    + " should be within amplitude " + amplitude;
+        }
+    }
+    
+    /**
+     * Test of the getShoreline function, of the Ocean class. Unless asked 
+     * for a wavy shore, the water should start right at the left edge.
+     */
+    @Test
+    public void testGetShoreline() {
+        System.out.println("getShoreline");
+        Rectangle bounds = new Rectangle(RANDOM.nextInt(400), 
+                RANDOM.nextInt(200), 100 + RANDOM.nextInt(300), 
+                100 + RANDOM.nextInt(300));
+        Shoreline shoreline = makeOcean(bounds, RANDOM.nextLong())
+                .getShoreline();
+        assertEquals(shoreline.getBounds(), bounds);
+        for (int y = bounds.y; y < bounds.y + bounds.height; y++) {
+            assertEquals(shoreline.waterStartAt(y), bounds.x);
+        }
+    }
+    
+    @Test
+    public void testWavyShoreIsRepeatable() {
+        Rectangle bounds = new Rectangle(RANDOM.nextInt(400), 
+                RANDOM.nextInt(200), 100 + RANDOM.nextInt(300), 
+                100 + RANDOM.nextInt(300));
+        long seed = RANDOM.nextLong();
+        Ocean expected = new Ocean(bounds, Ocean.DEFAULT_COLOR, seed, true);
+        Ocean actual = new Ocean(bounds, Ocean.DEFAULT_COLOR, seed, true);
+        assert actual.hasWavyShore() : "Ocean should have a wavy shore";
+        for (int y = bounds.y; y < bounds.y + bounds.height; y++) {
+            assertEquals(actual.getShoreline().waterStartAt(y), 
+                    expected.getShoreline().waterStartAt(y));
+        }
+    }
+    
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertInRange;
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the PoissonDiskSampler class.
+ * @author Alonso del Arte
+ */
+public class PoissonDiskSamplerNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final Dimension MAX_TREE_SIZE = new Dimension(20, 40);
+    
+    private static Rectangle randomArea() {
+        return new Rectangle(RANDOM.nextInt(200) - 100, 
+                RANDOM.nextInt(200) - 100, 300 + RANDOM.nextInt(200), 
+                200 + RANDOM.nextInt(200));
+    }
+    
+    private static void assertNoOverlaps(Forest forest, int gap) {
+        for (int i = 0; i < forest.size(); i++) {
+            Rectangle expanded = forest.get(i).getBounds();
+            expanded.grow(gap, gap);
+            for (int j = 0; j < i; j++) {
+                Rectangle other = forest.get(j).getBounds();
+                String msg = "Tree " + i + " at " + expanded.toString() 
+                        + " should not overlap tree " + j + " at " 
+                        + other.toString();
+                assertFalse(expanded.intersects(other), msg);
+            }
+        }
+    }
+    
+    /**
+     * Test of the sample function, of the PoissonDiskSampler class. The 
+     * trees should be inside the area, of sizes within the bound, and none 
+     * should overlap.
+     */
+    @Test
+    public void testSample() {
+        System.out.println("sample");
+        Rectangle area = randomArea();
+        PoissonDiskSampler sampler = new PoissonDiskSampler(RANDOM.nextLong(), 
+                area, MAX_TREE_SIZE);
+        Forest forest = sampler.sample(Integer.MAX_VALUE);
+        assertMinimum(1, forest.size(), "Sampler should place some trees");
+        for (int i = 0; i < forest.size(); i++) {
+            Rectangle bounds = forest.get(i).getBounds();
+            String msg = "Tree " + i + " at " + bounds.toString();
+            assert area.contains(bounds) : msg + " should be in " + area;
+            assertInRange(1, bounds.width, MAX_TREE_SIZE.width - 1, msg);
+            assertInRange(1, bounds.height, MAX_TREE_SIZE.height - 1, msg);
+        }
+        assertNoOverlaps(forest, 0);
+    }
+    
+    /**
+     * Test of the sample function, of the PoissonDiskSampler class. Left 
+     * to run until no more trees fit, the sampler should cover a good part 
+     * of the area, not leave big empty patches.
+     */
+    @Test
+    public void testSampleFillsArea() {
+        Rectangle area = randomArea();
+        Forest forest = new PoissonDiskSampler(RANDOM.nextLong(), area, 
+                MAX_TREE_SIZE).sample(Integer.MAX_VALUE);
+        long covered = 0L;
+        for (int i = 0; i < forest.size(); i++) {
+            covered += (long) forest.getWidth(i) * forest.getHeight(i);
+        }
+        long total = (long) area.width * area.height;
+        String msg = "Trees should cover at least a third of " + total 
+                + " square pixels";
+        assertMinimum(total / 3, covered, msg);
+    }
+    
+    @Test
+    public void testSampleStopsAtMaxCount() {
+        int maxCount = 1 + RANDOM.nextInt(50);
+        Forest forest = new PoissonDiskSampler(RANDOM.nextLong(), 
+                randomArea(), MAX_TREE_SIZE).sample(maxCount);
+        assertEquals(forest.size(), maxCount);
+    }
+    
+    @Test
+    public void testSampleIsRepeatable() {
+        long seed = RANDOM.nextLong();
+        Rectangle area = randomArea();
+        DensityField density = (x, y) -> (double) (y - area.y) / area.height;
+        Forest expected = new PoissonDiskSampler(seed, area, MAX_TREE_SIZE, 
+                10, density).sample(Integer.MAX_VALUE);
+        Forest actual = new PoissonDiskSampler(seed, area, MAX_TREE_SIZE, 
+                10, density).sample(Integer.MAX_VALUE);
+        assertEquals(actual.size(), expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(actual.get(i).getBounds(), 
+                    expected.get(i).getBounds());
+            assertEquals(actual.getLeafARGB(i), expected.getLeafARGB(i));
+        }
+    }
+    
+    /**
+     * Test of the sample function, of the PoissonDiskSampler class. Where 
+     * the density is zero, no tree should stand.
+     */
+    @Test
+    public void testSampleSkipsZeroDensity() {
+        Rectangle area = randomArea();
+        int middle = area.x + area.width / 2;
+        Forest forest = new PoissonDiskSampler(RANDOM.nextLong(), area, 
+                MAX_TREE_SIZE, 0, (x, y) -> x < middle ? 0.0 : 1.0)
+                .sample(Integer.MAX_VALUE);
+        assertMinimum(1, forest.size(), "Right half should get trees");
+        for (int i = 0; i < forest.size(); i++) {
+            int anchorX = forest.getX(i) + forest.getWidth(i) / 2;
+            String msg = "Tree " + i + " should stand in the right half";
+            assertMinimum(middle, anchorX, msg);
+        }
+    }
+    
+    /**
+     * Test of the sample function, of the PoissonDiskSampler class. Where 
+     * the density is higher, more trees should stand, and where it's less 
+     * than 1.0, the gap should be kept.
+     */
+    @Test
+    public void testSampleFollowsDensity() {
+        Rectangle area = new Rectangle(0, 0, 600, 600);
+        int maxGap = 30;
+        Forest forest = new PoissonDiskSampler(RANDOM.nextLong(), area, 
+                MAX_TREE_SIZE, maxGap, (x, y) -> y < 300 ? 1.0 : 0.2)
+                .sample(Integer.MAX_VALUE);
+        int dense = 0;
+        int sparse = 0;
+        for (int i = 0; i < forest.size(); i++) {
+            if (forest.getY(i) + forest.getHeight(i) < 300) {
+                dense++;
+            } else {
+                sparse++;
+            }
+        }
+        String msg = "Dense half got " + dense + " trees, sparse half got " 
+                + sparse;
+        assertMinimum(2 * sparse, dense, msg);
+        Forest uniform = new PoissonDiskSampler(RANDOM.nextLong(), area, 
+                MAX_TREE_SIZE, maxGap, (x, y) -> 0.5)
+                .sample(Integer.MAX_VALUE);
+        assertNoOverlaps(uniform, maxGap / 2);
+    }
+    
+    @Test
+    public void testSampleRejectsNegativeCount() {
+        PoissonDiskSampler sampler = new PoissonDiskSampler(RANDOM.nextLong(), 
+                randomArea(), MAX_TREE_SIZE);
+        int count = -1 - RANDOM.nextInt(100);
+        assertThrows(IllegalArgumentException.class, 
+                () -> sampler.sample(count));
+    }
+    
+    @Test
+    public void testConstructorRejectsTinyTrees() {
+        Dimension maxTreeSize = new Dimension(1, 2 + RANDOM.nextInt(100));
+        assertThrows(IllegalArgumentException.class, 
+                () -> new PoissonDiskSampler(RANDOM.nextLong(), randomArea(), 
+                        maxTreeSize));
+    }
+    
+    @Test
+    public void testConstructorRejectsNegativeGap() {
+        int gap = -1 - RANDOM.nextInt(100);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new PoissonDiskSampler(RANDOM.nextLong(), randomArea(), 
+                        MAX_TREE_SIZE, gap, null));
+    }
+    
+}
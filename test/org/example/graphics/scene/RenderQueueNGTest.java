@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the RenderQueue class.
+ * @author Alonso del Arte
+ */
+public class RenderQueueNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final int SIZE = 200;
+    
+    private static final Rectangle AREA = new Rectangle(0, 0, SIZE, SIZE);
+    
+    private static final String[] LAYER_NAMES = {"Back", "Middle", "Front"};
+    
+    private static BufferedImage flush(RenderQueue queue) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        queue.flush(g, AREA);
+        g.dispose();
+        return image;
+    }
+    
+    private static int opaqueColor() {
+        return 0xFF000000 | RANDOM.nextInt(0x1000000);
+    }
+    
+    /**
+     * Test of the flush procedure, of the RenderQueue class. Of two 
+     * overlapping rectangles in the same layer, the one with the greater 
+     * depth should be drawn over the other, whichever was added first.
+     */
+    @Test
+    public void testFlush() {
+        System.out.println("flush");
+        RenderQueue queue = new RenderQueue(LAYER_NAMES);
+        int nearARGB = opaqueColor();
+        int farARGB = nearARGB ^ 0xFFFFFF;
+        queue.addRect(1, 150, nearARGB, 20, 20, 100, 100);
+        queue.addRect(1, 50, farARGB, 60, 60, 100, 100);
+        assertEquals(queue.size(), 2);
+        BufferedImage image = flush(queue);
+        assertEquals(image.getRGB(80, 80), nearARGB);
+        assertEquals(image.getRGB(140, 140), farARGB);
+        assertEquals(image.getRGB(30, 30), nearARGB);
+        assertEquals(queue.size(), 0);
+        assertEquals(queue.getFlushedCount(), 2);
+    }
+    
+    /**
+     * Test of the flush procedure, of the RenderQueue class. A later layer 
+     * should be drawn over an earlier one, whatever the depths.
+     */
+    @Test
+    public void testFlushDrawsLayersBeforeDepth() {
+        RenderQueue queue = new RenderQueue(LAYER_NAMES);
+        int frontARGB = opaqueColor();
+        int backARGB = frontARGB ^ 0xFFFFFF;
+        queue.addRect(2, 0, frontARGB, 50, 50, 100, 100);
+        queue.addRect(0, 10000, backARGB, 0, 0, SIZE, SIZE);
+        BufferedImage image = flush(queue);
+        assertEquals(image.getRGB(100, 100), frontARGB);
+        assertEquals(image.getRGB(10, 10), backARGB);
+    }
+    
+    /**
+     * Test of the addTree procedure, of the RenderQueue class. A tree drawn 
+     * through the queue should look the same as one drawn directly.
+     */
+    @Test
+    public void testAddTree() {
+        System.out.println("addTree");
+        int width = 2 + RANDOM.nextInt(60);
+        int height = 2 + RANDOM.nextInt(120);
+        int x = RANDOM.nextInt(SIZE - width);
+        int y = RANDOM.nextInt(SIZE - height);
+        int leafARGB = opaqueColor();
+        BufferedImage expected = new BufferedImage(SIZE, SIZE, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = expected.createGraphics();
+        Tree.draw(g, x, y, width, height, new Color(leafARGB, true));
+        g.dispose();
+        RenderQueue queue = new RenderQueue(LAYER_NAMES);
+        queue.addTree(1, x, y, width, height, leafARGB);
+        BufferedImage actual = flush(queue);
+        for (int row = 0; row < SIZE; row++) {
+            for (int column = 0; column < SIZE; column++) {
+                assertEquals(actual.getRGB(column, row), 
+                        expected.getRGB(column, row), 
+                        "Pixel at (" + column + ", " + row + ")");
+            }
+        }
+    }
+    
+    /**
+     * Test of the getStateChangeCount function, of the RenderQueue class. 
+     * Trees in one depth band with a few leaf colors between them should 
+     * need one color change per leaf color plus one for all the trunks, 
+     * rather than two per tree.
+     */
+    @Test
+    public void testGetStateChangeCount() {
+        System.out.println("getStateChangeCount");
+        RenderQueue queue = new RenderQueue(SIZE, LAYER_NAMES);
+        int colorCount = 2 + RANDOM.nextInt(4);
+        int[] colors = new int[colorCount];
+        for (int i = 0; i < colorCount; i++) {
+            colors[i] = opaqueColor() & 0xFFFFFFF0 | i;
+        }
+        int treeCount = 20 + RANDOM.nextInt(50);
+        for (int i = 0; i < treeCount; i++) {
+            queue.addTree(2, RANDOM.nextInt(150), RANDOM.nextInt(50), 30, 60, 
+                    colors[i % colorCount]);
+        }
+        flush(queue);
+        assertEquals(queue.getFlushedCount(), 2 * treeCount);
+        assertEquals(queue.getStateChangeCount(), colorCount + 1);
+        assertEquals(queue.getUnbatchedStateChangeCount(), 2 * treeCount);
+    }
+    
+    /**
+     * Test of the addCustom procedure, of the RenderQueue class. A custom 
+     * command may change the color, so the queue should set the color again 
+     * after it even if the next command has the same color as the one 
+     * before.
+     */
+    @Test
+    public void testAddCustom() {
+        System.out.println("addCustom");
+        RenderQueue queue = new RenderQueue(LAYER_NAMES);
+        int argb = opaqueColor();
+        List<Integer> calls = new ArrayList<>();
+        queue.addRect(0, 0, argb, 0, 0, 10, 10);
+        queue.addCustom(1, 0, (Graphics g) -> {
+            calls.add(1);
+            g.setColor(new Color(argb ^ 0xFFFFFF));
+        });
+        queue.addRect(2, 0, argb, 50, 50, 10, 10);
+        BufferedImage image = flush(queue);
+        assertEquals(calls.size(), 1);
+        assertEquals(image.getRGB(55, 55), argb);
+        assertEquals(queue.getStateChangeCount(), 2);
+        assertEquals(queue.getUnbatchedStateChangeCount(), 2);
+    }
+    
+    /**
+     * Test of the addTree procedure, of the RenderQueue class, with a tree 
+     * painter. The painter should be called for each tree, nearer trees 
+     * last.
+     */
+    @Test
+    public void testAddTreeWithPainter() {
+        RenderQueue queue = new RenderQueue(1, LAYER_NAMES);
+        List<Integer> bottoms = new ArrayList<>();
+        TreePainter painter = (g, x, y, width, height, leafARGB) 
+                -> bottoms.add(y + height);
+        int treeCount = 5 + RANDOM.nextInt(20);
+        for (int i = 0; i < treeCount; i++) {
+            queue.addTree(1, RANDOM.nextInt(SIZE), RANDOM.nextInt(SIZE), 20, 
+                    40, RANDOM.nextInt(), painter);
+        }
+        flush(queue);
+        assertEquals(bottoms.size(), treeCount);
+        for (int i = 1; i < treeCount; i++) {
+            assert bottoms.get(i - 1) <= bottoms.get(i) 
+                    : "Trees should be painted far to near";
+        }
+    }
+    
+    @Test
+    public void testClear() {
+        RenderQueue queue = new RenderQueue(LAYER_NAMES);
+        queue.addRect(0, 0, opaqueColor(), 0, 0, SIZE, SIZE);
+        queue.clear();
+        assertEquals(queue.size(), 0);
+        BufferedImage image = flush(queue);
+        assertEquals(image.getRGB(SIZE / 2, SIZE / 2), 0xFF000000);
+    }
+    
+    @Test
+    public void testAddRejectsBadLayer() {
+        RenderQueue queue = new RenderQueue(LAYER_NAMES);
+        int layer = LAYER_NAMES.length + RANDOM.nextInt(10);
+        assertThrows(IllegalArgumentException.class, 
+                () -> queue.addRect(layer, 0, 0, 0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, 
+                () -> queue.addRect(-1, 0, 0, 0, 0, 1, 1));
+    }
+    
+    @Test
+    public void testConstructorRejectsBadBandHeight() {
+        int bandHeight = -RANDOM.nextInt(100);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new RenderQueue(bandHeight, LAYER_NAMES));
+    }
+    
+    @Test
+    public void testConstructorRejectsTooManyLayers() {
+        String[] layerNames = new String[RenderQueue.MAX_LAYERS + 1];
+        assertThrows(IllegalArgumentException.class, 
+                () -> new RenderQueue(layerNames));
+        assertThrows(IllegalArgumentException.class, 
+                () -> new RenderQueue());
+    }
+    
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the SceneModel class.
+ * @author Alonso del Arte
+ */
+public class SceneModelNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final Dimension SIZE = new Dimension(320, 240);
+    
+    private static final long TIMEOUT_SECONDS = 10L;
+    
+    private static Scene makeScene(int treeCount) {
+        return Scene.generate(RANDOM.nextLong(), SIZE, treeCount);
+    }
+    
+    private static void shiftTrees(Scene scene) {
+        Forest forest = scene.getForest();
+        for (int i = 0; i < forest.size(); i++) {
+            forest.moveTo(i, forest.getX(i) + 1, forest.getY(i));
+        }
+    }
+    
+    private static void paint(Scene scene) {
+        BufferedImage image = new BufferedImage(SIZE.width, SIZE.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        scene.paint(g);
+        g.dispose();
+    }
+    
+    // How far every tree has been shifted, or -1 if they've been shifted
+    // by different amounts, which would mean a batch was seen half done
+    private static int shiftOf(Forest forest, int[] startXs) {
+        int shift = forest.getX(0) - startXs[0];
+        for (int i = 1; i < startXs.length; i++) {
+            if (forest.getX(i) - startXs[i] != shift) {
+                return -1;
+            }
+        }
+        return shift;
+    }
+    
+    private static int[] xsOf(Forest forest) {
+        int[] xs = new int[forest.size()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = forest.getX(i);
+        }
+        return xs;
+    }
+    
+    /**
+     * Test of the getSnapshot function, of the SceneModel class. The model 
+     * should start from a copy of the scene, so changing the scene afterwards 
+     * doesn't change the snapshot.
+     */
+    @Test
+    public void testGetSnapshot() {
+        System.out.println("getSnapshot");
+        Scene scene = makeScene(10);
+        SceneModel model = new SceneModel(scene);
+        SceneModel.Snapshot snapshot = model.getSnapshot();
+        assertEquals(snapshot.getVersion(), 0L);
+        assertEquals(snapshot.getEditCount(), 0);
+        assertNotSame(snapshot.getScene(), scene);
+        int x = scene.getForest().getX(0);
+        scene.getForest().moveTo(0, x + 50, scene.getForest().getY(0));
+        assertEquals(snapshot.getScene().getForest().getX(0), x);
+    }
+    
+    /**
+     * Test of the commit function, of the SceneModel class. The queued edits 
+     * should go into one new snapshot, in order, while the old snapshot stays 
+     * as it was.
+     */
+    @Test
+    public void testCommit() {
+        System.out.println("commit");
+        SceneModel model = new SceneModel(makeScene(10));
+        SceneModel.Snapshot before = model.getSnapshot();
+        int x = before.getScene().getForest().getX(0);
+        int y = before.getScene().getForest().getY(0);
+        int editCount = 2 + RANDOM.nextInt(10);
+        for (int i = 0; i < editCount; i++) {
+            int newX = x + i + 1;
+            model.submit(scene -> scene.getForest().moveTo(0, newX, y));
+        }
+        assertSame(model.getSnapshot(), before, 
+                "Submitting shouldn't publish anything");
+        SceneModel.Snapshot after = model.commit();
+        assertSame(model.getSnapshot(), after);
+        assertEquals(after.getVersion(), 1L);
+        assertEquals(after.getEditCount(), editCount);
+        assertEquals(after.getScene().getForest().getX(0), x + editCount);
+        assertEquals(before.getScene().getForest().getX(0), x);
+    }
+    
+    @Test
+    public void testCommitWithNothingQueued() {
+        SceneModel model = new SceneModel(makeScene(10));
+        SceneModel.Snapshot expected = model.getSnapshot();
+        SceneModel.Snapshot actual = model.commit();
+        assertSame(actual, expected);
+    }
+    
+    /**
+     * Test of the commit function, of the SceneModel class. Stepping a 
+     * snapshot's copy should not move the waves or clouds of the snapshot.
+     */
+    @Test
+    public void testCommitStepDoesNotChangeOldSnapshot() {
+        SceneModel model = new SceneModel(makeScene(10));
+        SceneModel.Snapshot before = model.getSnapshot();
+        Cloud cloud = before.getScene().getClouds().get(0);
+        Rectangle expected = cloud.getBounds();
+        SceneModel.Snapshot after = model.edit(scene -> {
+            for (int i = 0; i < 20; i++) {
+                scene.step();
+            }
+        });
+        assertEquals(cloud.getBounds(), expected);
+        assertNotEquals(after.getScene().getClouds().get(0).getBounds(), 
+                expected, "Cloud in the new snapshot should have drifted");
+    }
+    
+    @Test
+    public void testFailedCommitKeepsSnapshot() {
+        SceneModel model = new SceneModel(makeScene(10));
+        SceneModel.Snapshot expected = model.getSnapshot();
+        model.submit(Scene::step);
+        model.submit(scene -> scene.getForest().moveTo(-1, 0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> model.commit());
+        assertSame(model.getSnapshot(), expected);
+        assertSame(model.commit(), expected, "Failed batch should be dropped");
+    }
+    
+    @Test
+    public void testSubmitRejectsNull() {
+        SceneModel model = new SceneModel(makeScene(10));
+        assertThrows(NullPointerException.class, () -> model.submit(null));
+    }
+    
+    /**
+     * Test of the getSnapshot function, of the SceneModel class. While a 
+     * commit is stuck in the middle of an edit, another thread should still 
+     * be able to get the latest snapshot and paint it.
+     * @throws Exception If the test is interrupted or a thread fails.
+     */
+    @Test
+    public void testPaintDoesNotWaitForCommit() throws Exception {
+        SceneModel model = new SceneModel(makeScene(100));
+        CountDownLatch editStarted = new CountDownLatch(1);
+        CountDownLatch releaseEdit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SceneModel.Snapshot> committed = executor.submit(() -> {
+                model.submit(scene -> {
+                    editStarted.countDown();
+                    try {
+                        releaseEdit.await();
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                return model.commit();
+            });
+            boolean started = editStarted.await(TIMEOUT_SECONDS, 
+                    TimeUnit.SECONDS);
+            assert started : "Edit should have started";
+            Future<Long> painted = executor.submit(() -> {
+                SceneModel.Snapshot snapshot = model.getSnapshot();
+                paint(snapshot.getScene());
+                return snapshot.getVersion();
+            });
+            long version = painted.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(version, 0L, "Painter should see the old snapshot");
+            assertFalse(committed.isDone(), "Commit should still be stuck");
+            releaseEdit.countDown();
+            assertEquals(committed.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .getVersion(), 1L);
+        } finally {
+            releaseEdit.countDown();
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * Test of the commit function, of the SceneModel class. With several 
+     * threads submitting and committing edits while others paint, every edit 
+     * should be applied exactly once, and painters should only ever see whole 
+     * batches, with versions that never go backwards.
+     * @throws Exception If the test is interrupted or a thread fails.
+     */
+    @Test
+    public void testConcurrentWritersAndPainters() throws Exception {
+        Scene start = makeScene(200);
+        int[] startXs = xsOf(start.getForest());
+        SceneModel model = new SceneModel(start);
+        int writerCount = 3;
+        int painterCount = 2;
+        int editsPerWriter = 200 + RANDOM.nextInt(100);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(writerCount 
+                + painterCount);
+        try {
+            List<Future<Integer>> painters = new ArrayList<>();
+            for (int p = 0; p < painterCount; p++) {
+                painters.add(executor.submit(() -> {
+                    long lastVersion = -1L;
+                    int paints = 0;
+                    do {
+                        SceneModel.Snapshot snapshot = model.getSnapshot();
+                        assertMinimum(lastVersion, snapshot.getVersion(), 
+                                "Versions should not go backwards");
+                        lastVersion = snapshot.getVersion();
+                        Scene scene = snapshot.getScene();
+                        paint(scene);
+                        int shift = shiftOf(scene.getForest(), startXs);
+                        assertMinimum(0, shift, 
+                                "Painter should only see whole edits");
+                        paints++;
+                    } while (writing.get());
+                    return paints;
+                }));
+            }
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < writerCount; w++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < editsPerWriter; i++) {
+                        model.submit(SceneModelNGTest::shiftTrees);
+                        if (i % 10 == 9) {
+                            model.commit();
+                        }
+                    }
+                    model.commit();
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(TIMEOUT_SECONDS * 6, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            for (Future<Integer> painter : painters) {
+                int paints = painter.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                assertMinimum(1, paints, "Painter should have painted");
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+        SceneModel.Snapshot last = model.getSnapshot();
+        assertEquals(shiftOf(last.getScene().getForest(), startXs), 
+                writerCount * editsPerWriter);
+        assertMinimum(writerCount, last.getVersion(), 
+                "Each writer should have committed at least once");
+    }
+    
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Scene class.
+ * @author Alonso del Arte
+ */
+public class SceneNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final Dimension SIZE = new Dimension(640, 480);
+    
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 
+                0, image.getWidth());
+    }
+    
+    /**
+     * Test of the generate function, of the Scene class.
+     */
+    @Test
+    public void testGenerate() {
+        System.out.println("generate");
+        int treeCount = RANDOM.nextInt(50) + 10;
+        Scene scene = Scene.generate(RANDOM.nextLong(), SIZE, treeCount);
+        assertEquals(scene.getSize(), SIZE);
+        assertEquals(scene.getForest().size(), treeCount);
+        assert !scene.getClouds().isEmpty() : "Scene should have clouds";
+        Rectangle ocean = scene.getOcean().getBounds();
+        assertEquals(ocean.y, scene.getHorizon());
+        assertEquals(ocean.x + ocean.width, SIZE.width);
+    }
+    
+    @Test
+    public void testSameSeedPaintsSamePicture() {
+        long seed = RANDOM.nextLong();
+        BufferedImage imageA = new BufferedImage(SIZE.width, SIZE.height, 
+                BufferedImage.TYPE_INT_RGB);
+        BufferedImage imageB = new BufferedImage(SIZE.width, SIZE.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imageA.createGraphics();
+        Scene.generate(seed, SIZE, 30).paint(g);
+        g.dispose();
+        g = imageB.createGraphics();
+        Scene.generate(seed, SIZE, 30).paint(g);
+        g.dispose();
+        assertEquals(pixels(imageB), pixels(imageA));
+    }
+    
+    /**
+     * Test of the paint procedure, of the Scene class. Painting only part of 
+     * the scene should change nothing outside that part, and inside it should 
+     * give the same pixels as painting the whole scene.
+     */
+    @Test
+    public void testPaintClipped() {
+        System.out.println("paint");
+        Scene scene = Scene.generate(RANDOM.nextLong(), SIZE, 40);
+        BufferedImage full = new BufferedImage(SIZE.width, SIZE.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = full.createGraphics();
+        scene.paint(g);
+        g.dispose();
+        BufferedImage partial = new BufferedImage(SIZE.width, SIZE.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Rectangle clip = new Rectangle(RANDOM.nextInt(SIZE.width / 2), 
+                RANDOM.nextInt(SIZE.height / 2), SIZE.width / 3, 
+                SIZE.height / 3);
+        g = partial.createGraphics();
+        scene.paint(g, clip);
+        g.dispose();
+        for (int y = 0; y < SIZE.height; y++) {
+            for (int x = 0; x < SIZE.width; x++) {
+                int expected = clip.contains(x, y) ? full.getRGB(x, y) 
+                        : 0xFF000000;
+                assertEquals(partial.getRGB(x, y), expected, 
+                        "Pixel at (" + x + ", " + y + ")");
+            }
+        }
+    }
+    
+    /**
+     * Test of the paint procedure, of the Scene class. A nearer tree should 
+     * be painted over a farther one, even if it was added first.
+     */
+    @Test
+    public void testPaintDrawsNearerTreesOver() {
+        Scene scene = Scene.generate(RANDOM.nextLong(), SIZE, 0);
+        int nearARGB = 0xFF000000 | RANDOM.nextInt(0x1000000);
+        int farARGB = nearARGB ^ 0xFFFFFF;
+        int x = RANDOM.nextInt(SIZE.width / 2);
+        int y = SIZE.height / 2;
+        scene.getForest().add(x, y, 48, 96, nearARGB);
+        scene.getForest().add(x + 8, y - 40, 48, 96, farARGB);
+        BufferedImage image = new BufferedImage(SIZE.width, SIZE.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        scene.paint(g);
+        g.dispose();
+        assertEquals(image.getRGB(x + 24, y + 20), nearARGB);
+        assertEquals(image.getRGB(x + 32, y - 20), farARGB);
+    }
+    
+    @Test
+    public void testGenerateRejectsTinySize() {
+        Dimension tiny = new Dimension(20, 20);
+        assertThrows(IllegalArgumentException.class, 
+                () -> Scene.generate(RANDOM.nextLong(), tiny, 10));
+    }
+    
+    /**
+     * Test of the getAnimatedRegions function, of the Scene class. Repainting 
+     * the regions from before and after stepping should give the same picture 
+     * as repainting everything.
+     */
+    @Test
+    public void testGetAnimatedRegions() {
+        System.out.println("getAnimatedRegions");
+        Scene scene = Scene.generate(RANDOM.nextLong(), SIZE, 20);
+        BufferedImage image = new BufferedImage(SIZE.width, SIZE.height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        scene.paint(g);
+        List<Rectangle> regions 
+                = new ArrayList<>(scene.getAnimatedRegions());
+        int steps = 1 + RANDOM.nextInt(100);
+        for (int i = 0; i < steps; i++) {
+            scene.step();
+        }
+        scene.setInterpolation(RANDOM.nextDouble());
+        regions.addAll(scene.getAnimatedRegions());
+        for (Rectangle region : regions) {
+            scene.paint(g, region);
+        }
+        g.dispose();
+        BufferedImage expected = new BufferedImage(SIZE.width, SIZE.height, 
+                BufferedImage.TYPE_INT_RGB);
+        g = expected.createGraphics();
+        scene.paint(g);
+        g.dispose();
+        assertEquals(pixels(image), pixels(expected));
+    }
+    
+}
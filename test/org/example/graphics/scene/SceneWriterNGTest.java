@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the SceneWriter class.
+ * @author Alonso del Arte
+ */
+public class SceneWriterNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static Scene emptyScene() {
+        return Scene.generate(RANDOM.nextLong(), new Dimension(400, 300), 0);
+    }
+    
+    /**
+     * Test of the writeTree procedure, of the SceneWriter class. The trees 
+     * should take up one fixed-width record each, so that more trees than 
+     * fit in the buffer come out in the order they were written.
+     * @throws IOException If the temporary file can't be used.
+     */
+    @Test
+    public void testWriteTree() throws IOException {
+        System.out.println("writeTree");
+        Scene scene = emptyScene();
+        int count = 5000 + RANDOM.nextInt(5000);
+        int[] xs = new int[count];
+        int[] colors = new int[count];
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            try (SceneWriter writer = new SceneWriter(path, scene)) {
+                for (int i = 0; i < count; i++) {
+                    xs[i] = RANDOM.nextInt();
+                    colors[i] = RANDOM.nextInt();
+                    writer.writeTree(xs[i], i, 1 + RANDOM.nextInt(65535), 
+                            1 + RANDOM.nextInt(65535), colors[i]);
+                }
+                assertEquals(writer.getTreeCount(), count);
+            }
+            long expected = SceneFormat.HEADER_SIZE + (long) scene.getClouds()
+                    .size() * SceneFormat.CLOUD_RECORD_SIZE 
+                    + (long) count * SceneFormat.TREE_RECORD_SIZE;
+            assertEquals(Files.size(path), expected);
+            MappedScene mapped = MappedScene.open(path);
+            assertEquals(mapped.getTreeCount(), count);
+            for (int i = 0; i < count; i++) {
+                assertEquals(mapped.getX(i), xs[i]);
+                assertEquals(mapped.getY(i), i);
+                assertEquals(mapped.getLeafARGB(i), colors[i]);
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    @Test
+    public void testWriteTreeKeepsLargestSize() throws IOException {
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            try (SceneWriter writer = new SceneWriter(path, emptyScene())) {
+                writer.writeTree(0, 0, 65535, 65535, 0xFF228B22);
+            }
+            MappedScene mapped = MappedScene.open(path);
+            assertEquals(mapped.getWidth(0), 65535);
+            assertEquals(mapped.getHeight(0), 65535);
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    @Test
+    public void testWriteTreeRejectsOversizeTree() throws IOException {
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try (SceneWriter writer = new SceneWriter(path, emptyScene())) {
+            int tooBig = 65536 + RANDOM.nextInt(1000);
+            assertThrows(IllegalArgumentException.class, 
+                    () -> writer.writeTree(0, 0, tooBig, 100, 0));
+            assertThrows(IllegalArgumentException.class, 
+                    () -> writer.writeTree(0, 0, 50, tooBig, 0));
+            assertThrows(IllegalArgumentException.class, 
+                    () -> writer.writeTree(0, 0, -1, 100, 0));
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+    @Test
+    public void testWriteTreeAfterCloseThrows() throws IOException {
+        Path path = Files.createTempFile("scene", ".gdsc");
+        try {
+            SceneWriter writer = new SceneWriter(path, emptyScene());
+            writer.close();
+            writer.close();
+            assertThrows(IllegalStateException.class, 
+                    () -> writer.writeTree(0, 0, 50, 100, 0));
+        } finally {
+            Files.delete(path);
+        }
+    }
+    
+}
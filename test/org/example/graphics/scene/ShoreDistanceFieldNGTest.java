@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the ShoreDistanceField class.
+ * @author Alonso del Arte
+ */
+public class ShoreDistanceFieldNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final Dimension SIZE = new Dimension(240, 180);
+    
+    private static final double TEST_DELTA = 0.001;
+    
+    private static boolean isWater(Scene scene, int x, int y) {
+        return scene.getOcean().getShoreline().isWater(x, y);
+    }
+    
+    private static boolean isLand(Scene scene, int x, int y) {
+        return y >= scene.getHorizon() && !isWater(scene, x, y);
+    }
+    
+    // The distance between cell centers, found by looking at every cell
+    private static double bruteForce(Scene scene, int cellSize, int x, int y, 
+            boolean toWater) {
+        int half = cellSize / 2;
+        int fromX = (x / cellSize) * cellSize + half;
+        int fromY = (y / cellSize) * cellSize + half;
+        double min = Double.POSITIVE_INFINITY;
+        for (int cy = half; cy < SIZE.height; cy += cellSize) {
+            for (int cx = half; cx < SIZE.width; cx += cellSize) {
+                boolean feature = toWater ? isWater(scene, cx, cy) 
+                        : isLand(scene, cx, cy);
+                if (feature) {
+                    min = Math.min(min, Math.hypot(cx - fromX, cy - fromY));
+                }
+            }
+        }
+        return min;
+    }
+    
+    /**
+     * Test of the distanceToWater function, of the ShoreDistanceField class. 
+     * The distances should match the ones found by looking at every cell, 
+     * positive on land and in the sky, negative in the water.
+     */
+    @Test
+    public void testDistanceToWater() {
+        System.out.println("distanceToWater");
+        Scene scene = Scene.generate(RANDOM.nextLong(), SIZE, 10);
+        int cellSize = 2 + RANDOM.nextInt(2) * 2;
+        ShoreDistanceField field = new ShoreDistanceField(scene, cellSize);
+        for (int i = 0; i < 200; i++) {
+            int x = RANDOM.nextInt(SIZE.width / cellSize) * cellSize 
+                    + cellSize / 2;
+            int y = RANDOM.nextInt(SIZE.height / cellSize) * cellSize 
+                    + cellSize / 2;
+            boolean water = isWater(scene, x, y);
+            double expected = water 
+                    ? -bruteForce(scene, cellSize, x, y, false) 
+                    : bruteForce(scene, cellSize, x, y, true);
+            String msg = "Distance to water from (" + x + ", " + y + ")";
+            assertEquals(field.distanceToWater(x, y), expected, TEST_DELTA, 
+                    msg);
+        }
+    }
+    
+    /**
+     * Test of the isLand function, of the ShoreDistanceField class.
+     */
+    @Test
+    public void testIsLand() {
+        System.out.println("isLand");
+        Scene scene = Scene.generate(RANDOM.nextLong(), SIZE, 10);
+        ShoreDistanceField field = new ShoreDistanceField(scene, 2);
+        for (int i = 0; i < 200; i++) {
+            int x = RANDOM.nextInt(SIZE.width / 2) * 2 + 1;
+            int y = RANDOM.nextInt(SIZE.height / 2) * 2 + 1;
+            String msg = "Point (" + x + ", " + y + ")";
+            assertEquals(field.isLand(x, y), isLand(scene, x, y), msg);
+        }
+        assert !field.isLand(-1, SIZE.height - 1) 
+                : "Point outside the scene should not be land";
+    }
+    
+    /**
+     * Test of the snapToLand function, of the ShoreDistanceField class. A 
+     * point in the water should be moved onto land, no further than the 
+     * distance the field gives plus a cell.
+     */
+    @Test
+    public void testSnapToLand() {
+        System.out.println("snapToLand");
+        Scene scene = Scene.generate(RANDOM.nextLong(), SIZE, 10);
+        ShoreDistanceField field = scene.getShoreField();
+        int cellSize = field.getCellSize();
+        for (int i = 0; i < 100; i++) {
+            int x = RANDOM.nextInt(SIZE.width);
+            int y = RANDOM.nextInt(SIZE.height);
+            Point snapped = field.snapToLand(x, y);
+            String msg = "Point (" + x + ", " + y + ") snapped to " 
+                    + snapped.toString();
+            assert field.isLand(snapped.x, snapped.y) : msg;
+            if (field.isLand(x, y)) {
+                assertEquals(snapped, new Point(x, y), msg);
+            } else if (isWater(scene, x, y)) {
+                double limit = -field.distanceToWater(x, y) + 2 * cellSize;
+                assert snapped.distance(x, y) <= limit 
+                        : msg + " should be within " + limit;
+            }
+        }
+    }
+    
+    @Test
+    public void testNoWater() {
+        Scene scene = new Scene(SIZE, SIZE.height / 3, 
+                new Ocean(new Rectangle()), 
+                new Sun(new Point(10, 10), 5), new Moon(new Point(30, 10), 4), 
+                List.of(), new Forest(0));
+        ShoreDistanceField field = new ShoreDistanceField(scene, 4);
+        assertEquals(field.distanceToWater(RANDOM.nextInt(SIZE.width), 
+                RANDOM.nextInt(SIZE.height)), Float.POSITIVE_INFINITY);
+    }
+    
+    @Test
+    public void testConstructorRejectsBadCellSize() {
+        Scene scene = Scene.generate(RANDOM.nextLong(), SIZE, 10);
+        int cellSize = -RANDOM.nextInt(100);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new ShoreDistanceField(scene, cellSize));
+    }
+    
+}
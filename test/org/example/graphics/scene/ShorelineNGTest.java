@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static org.testframe.api.Asserters.assertInRange;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the Shoreline class.
+ * @author Alonso del Arte
+ */
+public class ShorelineNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static Rectangle randomBounds() {
+        return new Rectangle(RANDOM.nextInt(200), RANDOM.nextInt(200), 
+                100 + RANDOM.nextInt(280), 200 + RANDOM.nextInt(300));
+    }
+    
+    /**
+     * Test of the generate function, of the Shoreline class. The water should 
+     * start no further right than a quarter of the way across, and the shore 
+     * should not be straight.
+     */
+    @Test
+    public void testGenerate() {
+        System.out.println("generate");
+        Rectangle bounds = randomBounds();
+        Shoreline shoreline = Shoreline.generate(RANDOM.nextLong(), bounds);
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int y = bounds.y; y < bounds.y + bounds.height; y++) {
+            int start = shoreline.waterStartAt(y);
+            String msg = "Water should start in row " + y + " within " 
+                    + bounds.toString();
+            assertInRange(bounds.x, start, bounds.x + bounds.width / 4, msg);
+            min = Math.min(min, start);
+            max = Math.max(max, start);
+        }
+        assertEquals(min, bounds.x, "Beach should be narrowest at left edge");
+        assertEquals(max, bounds.x + bounds.width / 4, 
+                "Beach should be widest a quarter of the way across");
+    }
+    
+    /**
+     * Test of the isWater function, of the Shoreline class.
+     */
+    @Test
+    public void testIsWater() {
+        System.out.println("isWater");
+        Rectangle bounds = randomBounds();
+        Shoreline shoreline = Shoreline.generate(RANDOM.nextLong(), bounds);
+        int y = bounds.y + RANDOM.nextInt(bounds.height);
+        int start = shoreline.waterStartAt(y);
+        assert shoreline.isWater(start, y) : "Water should start at " + start;
+        assert !shoreline.isWater(start - 1, y) 
+                : "Beach should end at " + (start - 1);
+        int right = bounds.x + bounds.width;
+        assert shoreline.isWater(right - 1, y) : "Right edge should be water";
+        assert !shoreline.isWater(right, y) : "Past the bounds isn't water";
+        assert !shoreline.isWater(start, bounds.y - 1) 
+                : "Above the bounds isn't water";
+    }
+    
+    /**
+     * Test of the fillBeach procedure, of the Shoreline class. Exactly the 
+     * pixels left of the water should be filled, even when clipped.
+     */
+    @Test
+    public void testFillBeach() {
+        System.out.println("fillBeach");
+        Rectangle bounds = randomBounds();
+        Shoreline shoreline = Shoreline.generate(RANDOM.nextLong(), bounds);
+        int width = bounds.x + bounds.width + 10;
+        int height = bounds.y + bounds.height + 10;
+        BufferedImage image = new BufferedImage(width, height, 
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        Rectangle clip = new Rectangle(bounds.x + RANDOM.nextInt(20), 
+                bounds.y + RANDOM.nextInt(bounds.height / 2), bounds.width, 
+                bounds.height / 2);
+        shoreline.fillBeach(g, clip);
+        g.dispose();
+        int beachRGB = Color.WHITE.getRGB();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean expected = clip.contains(x, y) 
+                        && bounds.contains(x, y) && !shoreline.isWater(x, y);
+                String msg = "Pixel at (" + x + ", " + y + ")";
+                assertEquals(image.getRGB(x, y) == beachRGB, expected, msg);
+            }
+        }
+    }
+    
+    @Test
+    public void testStraight() {
+        Rectangle bounds = randomBounds();
+        Shoreline shoreline = Shoreline.straight(bounds);
+        int y = bounds.y + RANDOM.nextInt(bounds.height);
+        assertEquals(shoreline.waterStartAt(y), bounds.x);
+        assertEquals(shoreline.waterStartAt(bounds.y + bounds.height), 
+                bounds.x + bounds.width);
+    }
+    
+}
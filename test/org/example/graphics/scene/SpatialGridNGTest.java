@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.scene;
+
+import java.awt.Rectangle;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the SpatialGrid class.
+ * @author Alonso del Arte
+ */
+public class SpatialGridNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final Rectangle WORLD = new Rectangle(0, 0, 1920, 1080);
+    
+    private static final int CELL_SIZE = 64;
+    
+    private static Forest makeForest(int count) {
+        Forest forest = new Forest(count);
+        for (int i = 0; i < count; i++) {
+            int width = RANDOM.nextInt(1, 120);
+            int height = RANDOM.nextInt(1, 200);
+            int x = RANDOM.nextInt(-100, WORLD.width + 100);
+            int y = RANDOM.nextInt(-100, WORLD.height + 100);
+            forest.add(x, y, width, height, RANDOM.nextInt());
+        }
+        return forest;
+    }
+    
+    private static Set<Integer> bruteForceQuery(Forest forest, Rectangle area) {
+        Set<Integer> found = new HashSet<>();
+        for (int i = 0; i < forest.size(); i++) {
+            if (forest.get(i).getBounds().intersects(area)) {
+                found.add(i);
+            }
+        }
+        return found;
+    }
+    
+    private static void assertSamePicks(Forest indexed, Forest unindexed) {
+        for (int i = 0; i < 500; i++) {
+            int x = RANDOM.nextInt(-150, WORLD.width + 150);
+            int y = RANDOM.nextInt(-150, WORLD.height + 150);
+            int expected = unindexed.pick(x, y);
+            int actual = indexed.pick(x, y);
+            assertEquals(actual, expected, "Pick at (" + x + ", " + y + ")");
+        }
+    }
+    
+    private static Forest copyOf(Forest forest) {
+        Forest copy = new Forest(forest.size());
+        forest.forEach(copy::add);
+        return copy;
+    }
+    
+    /**
+     * Test of the pick function, of the SpatialGrid class.
+     */
+    @Test
+    public void testPick() {
+        System.out.println("pick");
+        Forest unindexed = makeForest(2000);
+        Forest indexed = copyOf(unindexed);
+        indexed.attachIndex(new SpatialGrid(WORLD, CELL_SIZE));
+        assertSamePicks(indexed, unindexed);
+    }
+    
+    @Test
+    public void testPickOnEmptyGrid() {
+        SpatialGrid instance = new SpatialGrid(WORLD, CELL_SIZE);
+        assertEquals(instance.pick(100, 100), -1);
+    }
+    
+    /**
+     * Test of the query function, of the SpatialGrid class.
+     */
+    @Test
+    public void testQuery() {
+        System.out.println("query");
+        Forest forest = makeForest(2000);
+        SpatialGrid instance = new SpatialGrid(WORLD, CELL_SIZE);
+        forest.attachIndex(instance);
+        for (int i = 0; i < 50; i++) {
+            Rectangle area = new Rectangle(RANDOM.nextInt(-50, WORLD.width), 
+                    RANDOM.nextInt(-50, WORLD.height), RANDOM.nextInt(1, 400), 
+                    RANDOM.nextInt(1, 400));
+            Set<Integer> expected = bruteForceQuery(forest, area);
+            Set<Integer> actual = new HashSet<>();
+            int reported = instance.query(area, id -> {
+                boolean added = actual.add(id);
+                assert added : "Item " + id + " reported more than once";
+            });
+            assertEquals(actual, expected, "Query of " + area.toString());
+            assertEquals(reported, expected.size());
+        }
+    }
+    
+    /**
+     * Test of the update procedure, of the SpatialGrid class.
+     */
+    @Test
+    public void testUpdate() {
+        System.out.println("update");
+        SpatialGrid instance = new SpatialGrid(WORLD, CELL_SIZE);
+        instance.insert(0, 100, 100, 50, 100);
+        assertEquals(instance.pick(120, 150), 0);
+        instance.update(0, 110, 100, 50, 100);
+        assertEquals(instance.pick(155, 150), 0, "Moved within same cells");
+        instance.update(0, 1000, 700, 50, 100);
+        assertEquals(instance.pick(120, 150), -1, "Old position");
+        assertEquals(instance.pick(1020, 750), 0, "New position");
+    }
+    
+    @Test
+    public void testDraggingThroughForestKeepsPicksConsistent() {
+        Forest unindexed = makeForest(1000);
+        Forest indexed = copyOf(unindexed);
+        indexed.attachIndex(new SpatialGrid(WORLD, CELL_SIZE));
+        for (int i = 0; i < 300; i++) {
+            int tree = RANDOM.nextInt(indexed.size());
+            int x = indexed.getX(tree) + RANDOM.nextInt(-80, 80);
+            int y = indexed.getY(tree) + RANDOM.nextInt(-80, 80);
+            indexed.get(tree).moveTo(x, y);
+            unindexed.moveTo(tree, x, y);
+        }
+        assertSamePicks(indexed, unindexed);
+    }
+    
+    @Test
+    public void testRemovingFromForestKeepsPicksConsistent() {
+        Forest unindexed = makeForest(1000);
+        Forest indexed = copyOf(unindexed);
+        SpatialGrid grid = new SpatialGrid(WORLD, CELL_SIZE);
+        indexed.attachIndex(grid);
+        for (int i = 0; i < 400; i++) {
+            int tree = RANDOM.nextInt(indexed.size());
+            indexed.remove(tree);
+            unindexed.remove(tree);
+        }
+        assertEquals(grid.size(), indexed.size());
+        assertSamePicks(indexed, unindexed);
+    }
+    
+    @Test
+    public void testInsertRejectsDuplicate() {
+        SpatialGrid instance = new SpatialGrid(WORLD, CELL_SIZE);
+        instance.insert(5, 0, 0, 10, 10);
+        assertThrows(IllegalArgumentException.class, 
+                () -> instance.insert(5, 20, 20, 10, 10));
+    }
+    
+    @Test
+    public void testRemoveRejectsAbsent() {
+        SpatialGrid instance = new SpatialGrid(WORLD, CELL_SIZE);
+        assertThrows(IllegalArgumentException.class, 
+                () -> instance.remove(3));
+    }
+    
+    @Test
+    public void testConstructorRejectsEmptyWorld() {
+        Rectangle empty = new Rectangle(0, 0, 0, 100);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new SpatialGrid(empty, CELL_SIZE));
+    }
+    
+}
@@ -20,6 +20,8 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
 
 import static org.example.randomness.ExtendedRandom.nextColor;
 
@@ -47,4 +49,149 @@ public class TreeNGTest {
         assertEquals(actual, expected);
     }
     
+    @Test
+    public void testGetDimension() {
+        Dimension expected = new Dimension(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        Tree instance = new Tree(nextColor(), expected);
+        Dimension actual = instance.getDimension();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testGetDimensionIsDefensiveCopy() {
+        Dimension size = new Dimension(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        Tree instance = new Tree(nextColor(), size);
+        size.setSize(DEFAULT_WIDTH + 1, DEFAULT_HEIGHT + 1);
+        instance.getDimension().setSize(1, 1);
+        Dimension expected = DEFAULT_DIMENSION;
+        Dimension actual = instance.getDimension();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testGetLeafARGB() {
+        Color color = nextColor();
+        Tree instance = new Tree(color, DEFAULT_DIMENSION);
+        int expected = color.getRGB();
+        int actual = instance.getLeafARGB();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testGetLocationDefaultsToOrigin() {
+        Tree instance = new Tree(nextColor(), DEFAULT_DIMENSION);
+        Point expected = new Point(0, 0);
+        Point actual = instance.getLocation();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testGetLocation() {
+        Point expected = new Point(120, 340);
+        Tree instance = new Tree(nextColor(), DEFAULT_DIMENSION, expected);
+        Point actual = instance.getLocation();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testMoveTo() {
+        System.out.println("moveTo");
+        Tree instance = new Tree(nextColor(), DEFAULT_DIMENSION);
+        Point expected = new Point(75, 210);
+        instance.moveTo(expected.x, expected.y);
+        Point actual = instance.getLocation();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testGetBounds() {
+        Point location = new Point(40, 60);
+        Tree instance = new Tree(nextColor(), DEFAULT_DIMENSION, location);
+        Rectangle expected = new Rectangle(location, DEFAULT_DIMENSION);
+        Rectangle actual = instance.getBounds();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testContains() {
+        Point location = new Point(40, 60);
+        Tree instance = new Tree(nextColor(), DEFAULT_DIMENSION, location);
+        assert instance.contains(40, 60) : "Top left corner should be inside";
+        assert instance.contains(40 + DEFAULT_WIDTH - 1, 
+                60 + DEFAULT_HEIGHT - 1) : "Bottom right pixel should be inside";
+        assert !instance.contains(40 + DEFAULT_WIDTH, 60) 
+                : "Point just past right edge should be outside";
+        assert !instance.contains(40, 59) 
+                : "Point just above top edge should be outside";
+    }
+    
+    @Test
+    public void testDraw() {
+        System.out.println("draw");
+        Color leafColor = new Color(0xFF228B22, true);
+        Tree instance = new Tree(leafColor, DEFAULT_DIMENSION);
+        BufferedImage image = new BufferedImage(DEFAULT_WIDTH, DEFAULT_HEIGHT, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics g = image.createGraphics();
+        instance.draw(g);
+        g.dispose();
+        int canopyCenter = image.getRGB(DEFAULT_WIDTH / 2, DEFAULT_HEIGHT / 3);
+        assertEquals(canopyCenter, leafColor.getRGB(), "Canopy color");
+        int trunk = image.getRGB(DEFAULT_WIDTH / 2, DEFAULT_HEIGHT - 1);
+        assertEquals(trunk, Tree.TRUNK_COLOR.getRGB(), "Trunk color");
+        int corner = image.getRGB(0, DEFAULT_HEIGHT - 1);
+        assertEquals(corner, 0, "Corner should be transparent");
+    }
+    
+    /**
+     * Test of the drawSimplified procedure, of the Tree class. The canopy 
+     * rectangles shouldn't overlap, so a translucent leaf color comes out the 
+     * same everywhere in the canopy.
+     */
+    @Test
+    public void testDrawSimplified() {
+        System.out.println("drawSimplified");
+        Color leafColor = new Color(0x80228B22, true);
+        BufferedImage image = new BufferedImage(DEFAULT_WIDTH + 2, 
+                DEFAULT_HEIGHT + 2, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.createGraphics();
+        Tree.drawSimplified(g, 1, 1, DEFAULT_WIDTH, DEFAULT_HEIGHT, leafColor);
+        g.dispose();
+        int leaf = image.getRGB(1 + DEFAULT_WIDTH / 2, 1 + DEFAULT_HEIGHT / 3);
+        assertNotEquals(leaf, 0xFF000000, "Canopy should be drawn");
+        int trunk = image.getRGB(1 + DEFAULT_WIDTH / 2, DEFAULT_HEIGHT);
+        assertEquals(trunk, Tree.TRUNK_COLOR.getRGB(), "Trunk color");
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int rgb = image.getRGB(x, y);
+                boolean inside = x > 0 && x <= DEFAULT_WIDTH && y > 0 
+                        && y <= DEFAULT_HEIGHT;
+                String msg = "Pixel at (" + x + ", " + y + ")";
+                assert inside || rgb == 0xFF000000 
+                        : msg + " should be blank outside the tree";
+                assert rgb == 0xFF000000 || rgb == leaf 
+                        || rgb == Tree.TRUNK_COLOR.getRGB() 
+                        : msg + " should be leaf, trunk or blank";
+            }
+        }
+    }
+    
+    @Test
+    public void testDrawBlock() {
+        Color leafColor = new Color(0xFF228B22, true);
+        BufferedImage image = new BufferedImage(8, 12, 
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics g = image.createGraphics();
+        Tree.drawBlock(g, 1, 1, 6, 9, leafColor);
+        g.dispose();
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int expected = x > 0 && x < 7 && y > 0 && y < 7 
+                        ? leafColor.getRGB() : 0;
+                assertEquals(image.getRGB(x, y), expected, 
+                        "Pixel at (" + x + ", " + y + ")");
+            }
+        }
+    }
+    
 }
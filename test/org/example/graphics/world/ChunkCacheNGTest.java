@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.world;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongFunction;
+
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the ChunkCache class.
+ * @author Alonso del Arte
+ */
+public class ChunkCacheNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final long TIMEOUT_MILLIS = 10_000L;
+    
+    private static ShorelineWorld smallWorld() {
+        return new ShorelineWorld(RANDOM.nextLong(), ShorelineWorld.MIN_HEIGHT, 
+                128, 8);
+    }
+    
+    private static void awaitCondition(BooleanSupplier condition, String msg) 
+            throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > end) {
+                fail(msg);
+            }
+            Thread.sleep(5L);
+        }
+    }
+    
+    private static LongFunction<WorldChunk> blockedBy(CountDownLatch gate, 
+            ShorelineWorld world, AtomicInteger calls) {
+        return index -> {
+            calls.incrementAndGet();
+            try {
+                gate.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            return world.generateChunk(index);
+        };
+    }
+    
+    /**
+     * Test of the getIfReady function, of the ChunkCache class. Asking for a 
+     * chunk that's still being generated should give null right away, and 
+     * asking again after the listener hears of it should give the chunk.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testGetIfReady() throws InterruptedException {
+        System.out.println("getIfReady");
+        ShorelineWorld world = smallWorld();
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch arrived = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        long index = RANDOM.nextInt();
+        try (ChunkCache cache = new ChunkCache(blockedBy(gate, world, calls), 
+                ChunkCache.DEFAULT_MAX_BYTES, 1)) {
+            cache.setListener(chunk -> arrived.countDown());
+            for (int i = 0; i < 10; i++) {
+                assertNull(cache.getIfReady(index));
+            }
+            gate.countDown();
+            boolean heard = arrived.await(TIMEOUT_MILLIS, 
+                    TimeUnit.MILLISECONDS);
+            assert heard : "Listener should hear of chunk " + index;
+            WorldChunk chunk = cache.getIfReady(index);
+            assertNotNull(chunk);
+            assertEquals(chunk.getIndex(), index);
+            assertEquals(calls.get(), 1, "Chunk should be generated once");
+            assertEquals(cache.getMisses(), 10L);
+            assertEquals(cache.getHits(), 1L);
+            assertEquals(cache.getByteCount(), chunk.getByteCount());
+        }
+    }
+    
+    /**
+     * Test of the prefetch procedure, of the ChunkCache class. Every chunk 
+     * in the window should be generated.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testPrefetch() throws InterruptedException {
+        System.out.println("prefetch");
+        ShorelineWorld world = smallWorld();
+        long first = RANDOM.nextInt();
+        long last = first + 2 + RANDOM.nextInt(6);
+        try (ChunkCache cache = new ChunkCache(world::generateChunk, 
+                ChunkCache.DEFAULT_MAX_BYTES, 2)) {
+            cache.prefetch(first, last);
+            awaitCondition(() -> cache.getGeneratedCount() == last - first + 1, 
+                    "All chunks in window should be generated");
+            for (long index = first; index <= last; index++) {
+                assert cache.contains(index) : "Chunk " + index;
+            }
+            assertEquals(cache.size(), (int) (last - first + 1));
+        }
+    }
+    
+    /**
+     * Test of the prefetch procedure, of the ChunkCache class. Chunks asked 
+     * for in a window that the view has moved away from before they're 
+     * started should be skipped.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testPrefetchSkipsStaleRequests() throws InterruptedException {
+        ShorelineWorld world = smallWorld();
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        try (ChunkCache cache = new ChunkCache(blockedBy(gate, world, calls), 
+                ChunkCache.DEFAULT_MAX_BYTES, 1)) {
+            cache.prefetch(0L, 9L);
+            awaitCondition(() -> calls.get() == 1, 
+                    "First chunk should be started");
+            cache.prefetch(1000L, 1000L);
+            gate.countDown();
+            awaitCondition(() -> cache.contains(1000L), 
+                    "Chunk in new window should be generated");
+            assertEquals(calls.get(), 2, 
+                    "Only the started chunk and the new one should be made");
+            assertEquals(cache.getSkippedCount(), 9L);
+        }
+    }
+    
+    /**
+     * Test of the getByteCount function, of the ChunkCache class. However far 
+     * the window is moved, the chunks held should stay under the cap.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testByteCountStaysUnderCap() throws InterruptedException {
+        System.out.println("getByteCount");
+        ShorelineWorld world = smallWorld();
+        long minChunkBytes = (long) Integer.BYTES * world.getChunkWidth();
+        long maxChunkBytes = minChunkBytes + 5L * Integer.BYTES 
+                * world.getTreesPerChunk() + 2L * 4 * world.getChunkWidth() 
+                * world.getChunkWidth();
+        long cap = 4 * minChunkBytes;
+        int window = 3;
+        try (ChunkCache cache = new ChunkCache(world::generateChunk, cap, 2)) {
+            long first = RANDOM.nextInt();
+            for (int step = 0; step < 40; step++) {
+                long start = first + step * window;
+                cache.prefetch(start, start + window - 1);
+                awaitCondition(() -> cache.contains(start + window - 1) 
+                        && cache.contains(start), "Window at " + start);
+                long bytes = cache.getByteCount();
+                assert bytes <= cap + window * maxChunkBytes : "Held " + bytes 
+                        + " bytes with cap " + cap;
+                assert cache.size() <= cap / minChunkBytes + window 
+                        : "Held " + cache.size() + " chunks";
+            }
+            assertMinimum(1L, cache.getEvictionCount(), 
+                    "Scrolling far should evict chunks");
+        }
+    }
+    
+    @Test
+    public void testPrefetchRejectsBackwardsWindow() {
+        try (ChunkCache cache = new ChunkCache(smallWorld()::generateChunk, 
+                ChunkCache.DEFAULT_MAX_BYTES, 1)) {
+            long first = RANDOM.nextInt();
+            assertThrows(IllegalArgumentException.class, 
+                    () -> cache.prefetch(first, first - 1 - RANDOM.nextInt(8)));
+        }
+    }
+    
+    @Test
+    public void testConstructorRejectsNullGenerator() {
+        assertThrows(NullPointerException.class, 
+                () -> new ChunkCache(null, ChunkCache.DEFAULT_MAX_BYTES, 1));
+    }
+    
+    @Test
+    public void testConstructorRejectsNoThreads() {
+        assertThrows(IllegalArgumentException.class, 
+                () -> new ChunkCache(smallWorld()::generateChunk, 
+                        ChunkCache.DEFAULT_MAX_BYTES, -RANDOM.nextInt(4)));
+    }
+    
+}
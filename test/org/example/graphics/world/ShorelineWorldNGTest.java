@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.world;
+
+import java.util.Random;
+
+import org.example.graphics.scene.Forest;
+import org.example.graphics.scene.Scene;
+
+import static org.testframe.api.Asserters.assertInRange;
+import static org.testframe.api.Asserters.assertMinimum;
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the ShorelineWorld class.
+ * @author Alonso del Arte
+ */
+public class ShorelineWorldNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static ShorelineWorld randomWorld() {
+        return new ShorelineWorld(RANDOM.nextLong(), ShorelineWorld.MIN_HEIGHT 
+                + RANDOM.nextInt(400));
+    }
+    
+    /**
+     * Test of the shoreAt function, of the ShorelineWorld class. The shore 
+     * should stay between the horizon and the bottom, and it should not jump 
+     * from one column to the next, not even across chunks.
+     */
+    @Test
+    public void testShoreAt() {
+        System.out.println("shoreAt");
+        ShorelineWorld world = randomWorld();
+        long start = RANDOM.nextLong() >> 16;
+        int previous = world.shoreAt(start);
+        for (long x = start + 1; x < start + 8192; x++) {
+            int shore = world.shoreAt(x);
+            String msg = "Shore at " + x;
+            assertInRange(world.getHorizon() + 1, shore, 
+                    world.getHeight() - 1, msg);
+            assertInRange(-2, shore - previous, 2, msg);
+            previous = shore;
+        }
+    }
+    
+    @Test
+    public void testShoreAtDependsOnSeed() {
+        long seed = RANDOM.nextLong();
+        ShorelineWorld world = new ShorelineWorld(seed, 600);
+        ShorelineWorld same = new ShorelineWorld(seed, 600);
+        ShorelineWorld other = new ShorelineWorld(seed + 1, 600);
+        boolean differs = false;
+        for (long x = 0; x < 4096; x += 16) {
+            assertEquals(same.shoreAt(x), world.shoreAt(x));
+            differs |= other.shoreAt(x) != world.shoreAt(x);
+        }
+        assert differs : "Different seeds should give different shores";
+    }
+    
+    /**
+     * Test of the chunkIndexAt function, of the ShorelineWorld class.
+     */
+    @Test
+    public void testChunkIndexAt() {
+        System.out.println("chunkIndexAt");
+        ShorelineWorld world = randomWorld();
+        int width = world.getChunkWidth();
+        long index = RANDOM.nextInt() >> 4;
+        double left = (double) index * width;
+        assertEquals(world.chunkIndexAt(left), index);
+        assertEquals(world.chunkIndexAt(left + width - 0.5), index);
+        assertEquals(world.chunkIndexAt(left - 0.5), index - 1);
+        assertEquals(world.chunkIndexAt(-0.5), -1L);
+    }
+    
+    /**
+     * Test of the generateChunk function, of the ShorelineWorld class. The 
+     * chunk's shoreline should match the world's, and its trees should stand 
+     * on land within the chunk without overlapping, sorted so that nearer 
+     * trees are painted later.
+     */
+    @Test
+    public void testGenerateChunk() {
+        System.out.println("generateChunk");
+        ShorelineWorld world = randomWorld();
+        long index = RANDOM.nextInt();
+        WorldChunk chunk = world.generateChunk(index);
+        int width = world.getChunkWidth();
+        assertEquals(chunk.getIndex(), index);
+        assertEquals(chunk.getWidth(), width);
+        assertEquals(chunk.getHeight(), world.getHeight());
+        for (int x = 0; x < width; x += 7) {
+            assertEquals(chunk.getShoreAt(x), 
+                    world.shoreAt(index * width + x));
+        }
+        Forest forest = chunk.getForest();
+        assertInRange(1, forest.size(), world.getTreesPerChunk());
+        int previousBottom = Integer.MIN_VALUE;
+        for (int i = 0; i < forest.size(); i++) {
+            int x = forest.getX(i);
+            int treeWidth = forest.getWidth(i);
+            int bottom = forest.getY(i) + forest.getHeight(i);
+            String msg = "Tree " + i + " in chunk " + index;
+            assertInRange(0, x, width - treeWidth, msg);
+            assertInRange(chunk.getShoreAt(x + treeWidth / 2) + 1, bottom, 
+                    world.getHeight(), msg);
+            assert treeWidth < Scene.MAX_TREE_SIZE.width : msg;
+            assert bottom >= previousBottom : msg + " should be in order";
+            previousBottom = bottom;
+            for (int j = 0; j < i; j++) {
+                assertFalse(forest.get(i).getBounds()
+                        .intersects(forest.get(j).getBounds()), 
+                        msg + " should not overlap tree " + j);
+            }
+        }
+        assertInRange(0, chunk.getClouds().size(), 2);
+    }
+    
+    /**
+     * Test of the generateChunk function, of the ShorelineWorld class. Even 
+     * at the smallest height, where the strip of land below the lowest 
+     * shore is only as tall as the tallest tree, every chunk should get at 
+     * least one tree.
+     */
+    @Test
+    public void testGenerateChunkAtMinHeightHasTrees() {
+        ShorelineWorld world = new ShorelineWorld(RANDOM.nextLong(), 
+                ShorelineWorld.MIN_HEIGHT);
+        long start = RANDOM.nextInt();
+        for (long index = start; index < start + 100; index++) {
+            assertMinimum(1, world.generateChunk(index).getForest().size(), 
+                    "Chunk " + index + " should have trees");
+        }
+    }
+    
+    @Test
+    public void testGenerateChunkIsRepeatable() {
+        ShorelineWorld world = randomWorld();
+        long index = RANDOM.nextInt();
+        WorldChunk chunk = world.generateChunk(index);
+        world.generateChunk(index + 1);
+        WorldChunk again = new ShorelineWorld(world.getSeed(), 
+                world.getHeight()).generateChunk(index);
+        Forest expected = chunk.getForest();
+        Forest actual = again.getForest();
+        assertEquals(actual.size(), expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(actual.getX(i), expected.getX(i));
+            assertEquals(actual.getY(i), expected.getY(i));
+            assertEquals(actual.getWidth(i), expected.getWidth(i));
+            assertEquals(actual.getHeight(i), expected.getHeight(i));
+            assertEquals(actual.getLeafARGB(i), expected.getLeafARGB(i));
+        }
+        assertEquals(again.getClouds().size(), chunk.getClouds().size());
+        for (int i = 0; i < chunk.getClouds().size(); i++) {
+            assertEquals(again.getClouds().get(i).getBounds(), 
+                    chunk.getClouds().get(i).getBounds());
+        }
+        assertEquals(again.getByteCount(), chunk.getByteCount());
+    }
+    
+    @Test
+    public void testConstructorRejectsShortWorld() {
+        int height = RANDOM.nextInt(ShorelineWorld.MIN_HEIGHT);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new ShorelineWorld(RANDOM.nextLong(), height));
+    }
+    
+    @Test
+    public void testConstructorRejectsNarrowChunks() {
+        int width = RANDOM.nextInt(Scene.MAX_TREE_SIZE.width);
+        assertThrows(IllegalArgumentException.class, 
+                () -> new ShorelineWorld(RANDOM.nextLong(), 600, width, 10));
+    }
+    
+}
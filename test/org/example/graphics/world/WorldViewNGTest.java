@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.graphics.world;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.example.graphics.scene.Scene;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the WorldView class.
+ * @author Alonso del Arte
+ */
+public class WorldViewNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final double TEST_DELTA = 0.000001;
+    
+    private static final long TIMEOUT_MILLIS = 10_000L;
+    
+    private static ChunkCache makeCache(ShorelineWorld world) {
+        return new ChunkCache(world::generateChunk, 
+                ChunkCache.DEFAULT_MAX_BYTES, 2);
+    }
+    
+    /**
+     * Test of the pan procedure, of the WorldView class.
+     */
+    @Test
+    public void testPan() {
+        System.out.println("pan");
+        ShorelineWorld world = new ShorelineWorld(RANDOM.nextLong(), 600);
+        try (ChunkCache cache = makeCache(world)) {
+            WorldView view = new WorldView(world, cache);
+            double start = RANDOM.nextInt() / 2.0;
+            view.moveTo(start);
+            view.zoomAt(0.5, 0.0);
+            double dx = RANDOM.nextInt(200) - 100;
+            view.pan(dx);
+            assertEquals(view.getLeft(), start + 2.0 * dx, TEST_DELTA);
+        }
+    }
+    
+    /**
+     * Test of the zoomAt procedure, of the WorldView class. The point of the 
+     * world under the anchor column should stay put.
+     */
+    @Test
+    public void testZoomAt() {
+        System.out.println("zoomAt");
+        ShorelineWorld world = new ShorelineWorld(RANDOM.nextLong(), 600);
+        try (ChunkCache cache = makeCache(world)) {
+            WorldView view = new WorldView(world, cache);
+            view.moveTo(RANDOM.nextInt(100000));
+            double screenX = RANDOM.nextInt(800);
+            double anchor = view.getLeft() + screenX / view.getZoom();
+            double factor = 0.5 + RANDOM.nextDouble();
+            view.zoomAt(factor, screenX);
+            assertEquals(view.getZoom(), factor, TEST_DELTA);
+            assertEquals(view.getLeft() + screenX / view.getZoom(), anchor, 
+                    TEST_DELTA);
+        }
+    }
+    
+    @Test
+    public void testZoomAtClamps() {
+        ShorelineWorld world = new ShorelineWorld(RANDOM.nextLong(), 600);
+        try (ChunkCache cache = makeCache(world)) {
+            WorldView view = new WorldView(world, cache);
+            view.zoomAt(1000.0, RANDOM.nextInt(800));
+            assertEquals(view.getZoom(), WorldView.MAX_ZOOM, TEST_DELTA);
+            view.zoomAt(0.00001, RANDOM.nextInt(800));
+            assertEquals(view.getZoom(), WorldView.MIN_ZOOM, TEST_DELTA);
+        }
+    }
+    
+    /**
+     * Test of the paint function, of the WorldView class. The first paint 
+     * should not wait for chunks, and once they arrive, the view should be 
+     * painted with land where the world's shore says.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    public void testPaint() throws InterruptedException {
+        System.out.println("paint");
+        int width = 400 + RANDOM.nextInt(400);
+        int height = 600;
+        ShorelineWorld world = new ShorelineWorld(RANDOM.nextLong(), height, 
+                ShorelineWorld.DEFAULT_CHUNK_WIDTH, 0);
+        try (ChunkCache cache = makeCache(world)) {
+            WorldView view = new WorldView(world, cache);
+            long left = RANDOM.nextInt(1 << 20);
+            view.moveTo(left);
+            BufferedImage image = new BufferedImage(width, height, 
+                    BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            int missing = view.paint(g, width, height);
+            while (missing > 0 && System.currentTimeMillis() < end) {
+                Thread.sleep(10L);
+                missing = view.paint(g, width, height);
+            }
+            g.dispose();
+            assertEquals(missing, 0, "All visible chunks should arrive");
+            int landRGB = Scene.LAND_COLOR.getRGB();
+            for (int x = 0; x < width; x += 11) {
+                int shore = world.shoreAt(left + x);
+                String msg = "Column " + x;
+                assertEquals(image.getRGB(x, shore), landRGB, msg);
+                assertEquals(image.getRGB(x, height - 1), landRGB, msg);
+                assertNotEquals(image.getRGB(x, shore - 1), landRGB, msg);
+            }
+        }
+    }
+    
+    @Test
+    public void testPaintFillsSkyWhenZoomedOut() {
+        int height = 600;
+        ShorelineWorld world = new ShorelineWorld(RANDOM.nextLong(), height);
+        try (ChunkCache cache = makeCache(world)) {
+            WorldView view = new WorldView(world, cache);
+            view.zoomAt(0.25, 0.0);
+            BufferedImage image = new BufferedImage(200, height, 
+                    BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            view.paint(g, 200, height);
+            g.dispose();
+            int skyRGB = Scene.SKY_COLOR.getRGB();
+            for (int x = 0; x < 200; x += 13) {
+                assertEquals(image.getRGB(x, 0), skyRGB);
+                assertEquals(image.getRGB(x, height / 2), skyRGB);
+            }
+        }
+    }
+    
+    @Test
+    public void testConstructorRejectsNegativeMargin() {
+        ShorelineWorld world = new ShorelineWorld(RANDOM.nextLong(), 600);
+        try (ChunkCache cache = makeCache(world)) {
+            assertThrows(IllegalArgumentException.class, 
+                    () -> new WorldView(world, cache, -1 - RANDOM.nextInt(4)));
+        }
+    }
+    
+}
@@ -19,10 +19,13 @@ package org.example.randomness;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Point;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.testframe.api.Asserters.assertInRange;
 import static org.testframe.api.Asserters.assertMaximum;
@@ -333,6 +336,226 @@ public class ExtendedRandomNGTest {
         }
     }
     
+    @Test
+    public void testPackDimension() {
+        System.out.println("packDimension");
+        int expectedWidth = RANDOM.nextInt(1, Integer.MAX_VALUE);
+        int expectedHeight = RANDOM.nextInt(1, Integer.MAX_VALUE);
+        long packed = ExtendedRandom.packDimension(expectedWidth, 
+                expectedHeight);
+        assertEquals(ExtendedRandom.unpackWidth(packed), expectedWidth);
+        assertEquals(ExtendedRandom.unpackHeight(packed), expectedHeight);
+    }
+    
+    /**
+     * Test of the nextColors procedure, of the ExtendedRandom class.
+     */
+    @Test
+    public void testNextColors() {
+        System.out.println("nextColors");
+        int minimum = 224;
+        int numberOfColors = 4096;
+        int[] argbs = new int[numberOfColors];
+        ExtendedRandom.nextColors(argbs);
+        Set<DownsampledColor> colors = new HashSet<>(minimum);
+        for (int argb : argbs) {
+            colors.add(new DownsampledColor(new Color(argb, true)));
+        }
+        int actual = colors.size();
+        String msg = "Expected at least " + minimum 
+                + " downsampled colors, got " + actual;
+        assertMinimum(minimum, actual, msg);
+    }
+    
+    @Test
+    public void testNextColorsOnlyOverwritesRange() {
+        int length = RANDOM.nextInt(64) + 64;
+        int[] argbs = new int[length + 32];
+        int marker = RANDOM.nextInt();
+        Arrays.fill(argbs, marker);
+        int offset = 16;
+        ExtendedRandom.nextColors(argbs, offset, length);
+        for (int i = 0; i < offset; i++) {
+            assertEquals(argbs[i], marker, "Element " + i);
+        }
+        for (int i = offset + length; i < argbs.length; i++) {
+            assertEquals(argbs[i], marker, "Element " + i);
+        }
+    }
+    
+    @Test
+    public void testNextColorsRejectsBadRange() {
+        int[] argbs = new int[16];
+        assertThrows(IndexOutOfBoundsException.class, 
+                () -> ExtendedRandom.nextColors(argbs, 8, 9));
+    }
+    
+    /**
+     * Test of the nextDimensions procedure, of the ExtendedRandom class.
+     */
+    @Test
+    public void testNextDimensionsPackedIsWithinBounds() {
+        System.out.println("nextDimensions");
+        Dimension bound = makeDimension();
+        long[] packed = new long[128 + RANDOM.nextInt(32)];
+        ExtendedRandom.nextDimensions(packed, bound);
+        Set<Long> distinct = new HashSet<>(packed.length);
+        String msgPart = " to be bounded by " + bound.toString();
+        for (long dimension : packed) {
+            int width = ExtendedRandom.unpackWidth(dimension);
+            int height = ExtendedRandom.unpackHeight(dimension);
+            String msg = "Expecting " + width + " \u00D7 " + height + msgPart;
+            assertInRange(1, width, bound.width - 1, msg);
+            assertInRange(1, height, bound.height - 1, msg);
+            distinct.add(dimension);
+        }
+        int minimum = 3 * packed.length / 5;
+        String msg = "Expected at least " + minimum + " distinct dimensions";
+        assertMinimum(minimum, distinct.size(), msg);
+    }
+    
+    @Test
+    public void testNextDimensionsParallelIsWithinBounds() {
+        Dimension bound = makeDimension();
+        int length = 128 + RANDOM.nextInt(32);
+        int[] widths = new int[length];
+        int[] heights = new int[length];
+        ExtendedRandom.nextDimensions(widths, heights, bound);
+        Set<Integer> distinctWidths = new HashSet<>(length);
+        Set<Integer> distinctHeights = new HashSet<>(length);
+        for (int i = 0; i < length; i++) {
+            assertInRange(1, widths[i], bound.width - 1);
+            assertInRange(1, heights[i], bound.height - 1);
+            distinctWidths.add(widths[i]);
+            distinctHeights.add(heights[i]);
+        }
+        int minimum = 3 * length / 5;
+        String msg = "Expected at least " + minimum 
+                + " distinct widths and distinct heights";
+        assertMinimum(minimum, distinctWidths.size(), msg);
+        assertMinimum(minimum, distinctHeights.size(), msg);
+    }
+    
+    @Test
+    public void testNextDimensionsRejectsMismatchedArrays() {
+        Dimension bound = makeDimension();
+        int[] widths = new int[10];
+        int[] heights = new int[11];
+        assertThrows(IllegalArgumentException.class, 
+                () -> ExtendedRandom.nextDimensions(widths, heights, bound));
+    }
+    
+    @Test
+    public void testNextDimensionsRejectsTooSmallBound() {
+        Dimension bound = new Dimension(1, MIN_WIDTH_OR_HEIGHT);
+        long[] packed = new long[10];
+        assertThrows(IllegalArgumentException.class, 
+                () -> ExtendedRandom.nextDimensions(packed, bound));
+    }
+    
+    /**
+     * Test of the nextPoints procedure, of the ExtendedRandom class.
+     */
+    @Test
+    public void testNextPoints() {
+        System.out.println("nextPoints");
+        Dimension bound = makeDimension();
+        int length = 128 + RANDOM.nextInt(32);
+        int[] xs = new int[length];
+        int[] ys = new int[length];
+        ExtendedRandom.nextPoints(xs, ys, bound);
+        Set<Point> points = new HashSet<>(length);
+        for (int i = 0; i < length; i++) {
+            assertInRange(0, xs[i], bound.width - 1);
+            assertInRange(0, ys[i], bound.height - 1);
+            points.add(new Point(xs[i], ys[i]));
+        }
+        int minimum = 3 * length / 5;
+        String msg = "Expected at least " + minimum + " distinct points";
+        assertMinimum(minimum, points.size(), msg);
+    }
+    
+    /**
+     * Test of the setGeneratorMode procedure, of the ExtendedRandom class.
+     */
+    @Test
+    public void testSetGeneratorMode() {
+        System.out.println("setGeneratorMode");
+        GeneratorMode original = ExtendedRandom.getGeneratorMode();
+        try {
+            for (GeneratorMode expected : GeneratorMode.values()) {
+                ExtendedRandom.setGeneratorMode(expected);
+                GeneratorMode actual = ExtendedRandom.getGeneratorMode();
+                assertEquals(actual, expected);
+            }
+        } finally {
+            ExtendedRandom.setGeneratorMode(original);
+        }
+    }
+    
+    /**
+     * Test of the parseGeneratorMode function, of the ExtendedRandom class. 
+     * Case and surrounding whitespace should not matter, and a value that 
+     * doesn't name a mode should give the shared mode rather than an 
+     * exception.
+     */
+    @Test
+    public void testParseGeneratorMode() {
+        System.out.println("parseGeneratorMode");
+        for (GeneratorMode expected : GeneratorMode.values()) {
+            String name = expected.name();
+            assertEquals(ExtendedRandom.parseGeneratorMode(name), expected);
+            assertEquals(ExtendedRandom.parseGeneratorMode(" " 
+                    + name.toLowerCase() + " "), expected);
+        }
+        assertEquals(ExtendedRandom.parseGeneratorMode(null), 
+                GeneratorMode.SHARED);
+        assertEquals(ExtendedRandom.parseGeneratorMode("PER-THREAD"), 
+                GeneratorMode.SHARED);
+    }
+    
+    @Test
+    public void testSetGeneratorModeRejectsNull() {
+        GeneratorMode expected = ExtendedRandom.getGeneratorMode();
+        assertThrows(NullPointerException.class, 
+                () -> ExtendedRandom.setGeneratorMode(null));
+        GeneratorMode actual = ExtendedRandom.getGeneratorMode();
+        String msg = "Null mode should not have changed the generator mode";
+        assertEquals(actual, expected, msg);
+    }
+    
+    @Test
+    public void testPerThreadModeFromSeveralVirtualThreads() 
+            throws InterruptedException {
+        GeneratorMode original = ExtendedRandom.getGeneratorMode();
+        ExtendedRandom.setGeneratorMode(GeneratorMode.PER_THREAD);
+        int numberOfThreads = 8;
+        int callsPerThread = 1024;
+        Set<Integer> numbers = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>(numberOfThreads);
+        try {
+            for (int t = 0; t < numberOfThreads; t++) {
+                threads.add(Thread.ofVirtual().start(() -> {
+                    for (int i = 0; i < callsPerThread; i++) {
+                        numbers.add(ExtendedRandom.nextInt());
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            ExtendedRandom.setGeneratorMode(original);
+        }
+        int numberOfCalls = numberOfThreads * callsPerThread;
+        int minimum = 15 * numberOfCalls / 16;
+        int actual = numbers.size();
+        String msg = "Expected at least " + minimum 
+                + " distinct integers out of " + numberOfCalls 
+                + " from " + numberOfThreads + " threads, got " + actual;
+        assertMinimum(minimum, actual, msg);
+    }
+    
     private final static class DownsampledColor {
         
         private final byte value;
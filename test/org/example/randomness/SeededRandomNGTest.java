@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 Alonso del Arte
+ *
+ * This program is free software: you can redistribute it and/or modify it under 
+ * the terms of the GNU General Public License as published by the Free Software 
+ * Foundation, either version 3 of the License, or (at your option) any later 
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT 
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS 
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more 
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with 
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.example.randomness;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.testframe.api.Asserters.assertInRange;
+import static org.testframe.api.Asserters.assertMinimum;
+
+import static org.testng.Assert.*;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of the SeededRandom class.
+ * @author Alonso del Arte
+ */
+public class SeededRandomNGTest {
+    
+    private static final Random RANDOM = new Random(System.currentTimeMillis());
+    
+    private static final Dimension BOUND = new Dimension(640, 480);
+    
+    private static int[] drawInts(SeededRandom random, int count) {
+        int[] numbers = new int[count];
+        for (int i = 0; i < count; i++) {
+            numbers[i] = random.nextInt();
+        }
+        return numbers;
+    }
+    
+    @Test
+    public void testGetSeed() {
+        System.out.println("getSeed");
+        long expected = RANDOM.nextLong();
+        SeededRandom instance = new SeededRandom(expected);
+        long actual = instance.getSeed();
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testSameSeedGivesSameSequence() {
+        long seed = RANDOM.nextLong();
+        int[] expected = drawInts(new SeededRandom(seed), 256);
+        int[] actual = drawInts(new SeededRandom(seed), 256);
+        assertEquals(actual, expected);
+    }
+    
+    @Test
+    public void testDifferentSeedsGiveDifferentSequences() {
+        long seed = RANDOM.nextLong();
+        int[] sequenceA = drawInts(new SeededRandom(seed), 256);
+        int[] sequenceB = drawInts(new SeededRandom(seed + 1), 256);
+        String msg = "Seeds " + seed + " and " + (seed + 1) 
+                + " should give different sequences";
+        assert !Arrays.equals(sequenceA, sequenceB) : msg;
+    }
+    
+    @Test
+    public void testNextColorsMatchesNextColor() {
+        long seed = RANDOM.nextLong();
+        SeededRandom one = new SeededRandom(seed);
+        SeededRandom bulk = new SeededRandom(seed);
+        int[] argbs = new int[64];
+        bulk.nextColors(argbs);
+        for (int i = 0; i < argbs.length; i++) {
+            Color expected = one.nextColor();
+            Color actual = new Color(argbs[i], true);
+            assertEquals(actual, expected);
+        }
+    }
+    
+    @Test
+    public void testNextDimensionIsWithinBounds() {
+        SeededRandom instance = new SeededRandom(RANDOM.nextLong());
+        for (int i = 0; i < 128; i++) {
+            Dimension actual = instance.nextDimension(BOUND);
+            assertInRange(1, actual.width, BOUND.width - 1);
+            assertInRange(1, actual.height, BOUND.height - 1);
+        }
+    }
+    
+    /**
+     * Test of the substream function, of the SeededRandom class.
+     */
+    @Test
+    public void testSubstream() {
+        System.out.println("substream");
+        long seed = RANDOM.nextLong();
+        long index = RANDOM.nextInt(1024);
+        SeededRandom instance = new SeededRandom(seed);
+        int[] expected = drawInts(instance.substream(index), 64);
+        drawInts(instance, 100);
+        instance.substream(index + 1);
+        int[] actual = drawInts(instance.substream(index), 64);
+        String msg = "Substream " + index 
+                + " should not depend on use of parent";
+        assertEquals(actual, expected, msg);
+    }
+    
+    @Test
+    public void testSubstreamsDiffer() {
+        SeededRandom instance = new SeededRandom(RANDOM.nextLong());
+        int numberOfSubstreams = 64;
+        Set<Integer> firsts = new HashSet<>(numberOfSubstreams);
+        for (int i = 0; i < numberOfSubstreams; i++) {
+            firsts.add(instance.substream(i).nextInt());
+        }
+        int minimum = numberOfSubstreams - 1;
+        String msg = "Expected at least " + minimum 
+                + " distinct first numbers from " + numberOfSubstreams 
+                + " substreams";
+        assertMinimum(minimum, firsts.size(), msg);
+    }
+    
+    /**
+     * Test of the split function, of the SeededRandom class.
+     */
+    @Test
+    public void testSplit() {
+        System.out.println("split");
+        long seed = RANDOM.nextLong();
+        int[] expected = drawInts(new SeededRandom(seed).split(), 64);
+        int[] actual = drawInts(new SeededRandom(seed).split(), 64);
+        assertEquals(actual, expected);
+        SeededRandom parent = new SeededRandom(seed);
+        int[] fromChild = drawInts(parent.split(), 64);
+        int[] fromParent = drawInts(parent, 64);
+        String msg = "Child stream should differ from parent stream";
+        assert !Arrays.equals(fromChild, fromParent) : msg;
+    }
+    
+}